@@ -0,0 +1,155 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.backends.opensearch;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public final class BulkIndexingConfiguration {
+    public static final int DEFAULT_MAX_OPERATIONS = 500;
+    public static final long DEFAULT_MAX_BYTES = 5L * 1024 * 1024;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(100);
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final BulkIndexingConfiguration DEFAULT = builder().build();
+
+    public static class Builder {
+        private Optional<Integer> maxOperations = Optional.empty();
+        private Optional<Long> maxBytes = Optional.empty();
+        private Optional<Duration> maxDelay = Optional.empty();
+        private Optional<Integer> maxRetries = Optional.empty();
+
+        public Builder maxOperations(int maxOperations) {
+            this.maxOperations = Optional.of(maxOperations);
+            return this;
+        }
+
+        public Builder maxOperations(Optional<Integer> maxOperations) {
+            this.maxOperations = maxOperations;
+            return this;
+        }
+
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = Optional.of(maxBytes);
+            return this;
+        }
+
+        public Builder maxBytes(Optional<Long> maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = Optional.of(maxDelay);
+            return this;
+        }
+
+        public Builder maxDelay(Optional<Duration> maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = Optional.of(maxRetries);
+            return this;
+        }
+
+        public Builder maxRetries(Optional<Integer> maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public BulkIndexingConfiguration build() {
+            int operations = maxOperations.orElse(DEFAULT_MAX_OPERATIONS);
+            long bytes = maxBytes.orElse(DEFAULT_MAX_BYTES);
+            Duration delay = maxDelay.orElse(DEFAULT_MAX_DELAY);
+            int retries = maxRetries.orElse(DEFAULT_MAX_RETRIES);
+
+            Preconditions.checkArgument(operations > 0, "'maxOperations' needs to be strictly positive");
+            Preconditions.checkArgument(bytes > 0, "'maxBytes' needs to be strictly positive");
+            Preconditions.checkArgument(!delay.isNegative() && !delay.isZero(), "'maxDelay' needs to be strictly positive");
+            Preconditions.checkArgument(retries >= 0, "'maxRetries' needs to be positive");
+
+            return new BulkIndexingConfiguration(operations, bytes, delay, retries);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int maxOperations;
+    private final long maxBytes;
+    private final Duration maxDelay;
+    private final int maxRetries;
+
+    private BulkIndexingConfiguration(int maxOperations, long maxBytes, Duration maxDelay, int maxRetries) {
+        this.maxOperations = maxOperations;
+        this.maxBytes = maxBytes;
+        this.maxDelay = maxDelay;
+        this.maxRetries = maxRetries;
+    }
+
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof BulkIndexingConfiguration) {
+            BulkIndexingConfiguration that = (BulkIndexingConfiguration) o;
+
+            return Objects.equals(this.maxOperations, that.maxOperations)
+                && Objects.equals(this.maxBytes, that.maxBytes)
+                && Objects.equals(this.maxDelay, that.maxDelay)
+                && Objects.equals(this.maxRetries, that.maxRetries);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxOperations, maxBytes, maxDelay, maxRetries);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxOperations", maxOperations)
+            .add("maxBytes", maxBytes)
+            .add("maxDelay", maxDelay)
+            .add("maxRetries", maxRetries)
+            .toString();
+    }
+}
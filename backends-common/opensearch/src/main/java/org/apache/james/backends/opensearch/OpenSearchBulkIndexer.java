@@ -0,0 +1,294 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.backends.opensearch;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.james.metrics.api.MetricFactory;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Batches index, update and delete operations submitted concurrently into _bulk requests.
+ *
+ * Operations are spread by document id over a fixed count of lanes. In each lane, a batch is flushed once it holds
+ * {@link BulkIndexingConfiguration#getMaxOperations()} operations or once {@link BulkIndexingConfiguration#getMaxDelay()}
+ * elapsed since its first operation, then split so that no request exceeds {@link BulkIndexingConfiguration#getMaxBytes()}.
+ *
+ * Each submitted operation is acknowledged individually: items rejected with a transient status (429, 5xx) are retried
+ * with an exponential backoff, other failures are only reported to the caller of the failed operation.
+ *
+ * Operations on a given document reach OpenSearch in submission order: a lane sends its batches one after the other,
+ * and retries of a batch are done before the next batch of the lane is sent. A retried item is retried together with
+ * the following operations of its batch on the same document.
+ *
+ * Should the pipeline fail, the operations it holds are failed and it resumes with the operations submitted since.
+ */
+public class OpenSearchBulkIndexer {
+    public static class BulkItemFailureException extends RuntimeException {
+        private final int status;
+
+        BulkItemFailureException(BulkResponseItem item) {
+            super("Bulk operation on " + item.id() + " failed with status " + item.status() + ": "
+                + item.error().type() + " " + item.error().reason());
+            this.status = item.status();
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private record PendingOperation(String documentId, BulkOperation operation, long estimatedSize, Sinks.One<Void> result) {
+
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenSearchBulkIndexer.class);
+    private static final int CONCURRENT_BULK_REQUESTS = 4;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+    private static final long OPERATION_METADATA_ESTIMATED_SIZE = 128;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+    private static final Sinks.EmitFailureHandler EMIT_FAILURE_HANDLER = Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1));
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    public static final String BULK_REQUESTS_METRIC = "opensearch_bulk_requests";
+    public static final String BULK_OPERATIONS_METRIC = "opensearch_bulk_operations";
+    public static final String BULK_RETRIED_OPERATIONS_METRIC = "opensearch_bulk_retried_operations";
+    public static final String BULK_FAILED_OPERATIONS_METRIC = "opensearch_bulk_failed_operations";
+    public static final String BULK_LATENCY_METRIC = "opensearch_bulk_latency";
+
+    private final OpenSearchIndexer indexer;
+    private final BulkIndexingConfiguration configuration;
+    private final MetricFactory metricFactory;
+    private final Sinks.Many<PendingOperation> pendingOperations;
+    private final Set<PendingOperation> dispatchedOperations;
+    private final Sinks.Empty<Void> terminated;
+    private final Disposable pipeline;
+
+    public OpenSearchBulkIndexer(OpenSearchIndexer indexer, BulkIndexingConfiguration configuration, MetricFactory metricFactory) {
+        this.indexer = indexer;
+        this.configuration = configuration;
+        this.metricFactory = metricFactory;
+        // Multicast so that the pipeline can subscribe again after a failure, keeping the operations not dispatched yet
+        this.pendingOperations = Sinks.many().multicast().onBackpressureBuffer(Integer.MAX_VALUE, false);
+        this.dispatchedOperations = ConcurrentHashMap.newKeySet();
+        this.terminated = Sinks.empty();
+
+        this.pipeline = pendingOperations.asFlux()
+            .doOnNext(dispatchedOperations::add)
+            .groupBy(operation -> Math.floorMod(operation.documentId().hashCode(), CONCURRENT_BULK_REQUESTS))
+            .flatMap(lane -> lane
+                .bufferTimeout(configuration.getMaxOperations(), configuration.getMaxDelay(), true)
+                .concatMapIterable(this::splitBySize)
+                .concatMap(this::executeSafely), CONCURRENT_BULK_REQUESTS)
+            .retryWhen(Retry.indefinitely()
+                .doBeforeRetry(signal -> failDispatchedOperations(signal.failure())))
+            .doFinally(signal -> terminated.tryEmitEmpty())
+            .subscribe();
+    }
+
+    /**
+     * Sends pending operations then stops the pipeline. Operations submitted afterward are rejected.
+     */
+    @PreDestroy
+    public void close() {
+        pendingOperations.tryEmitComplete();
+        terminated.asMono()
+            .timeout(CLOSE_TIMEOUT)
+            .onErrorResume(e -> {
+                LOGGER.warn("Pending bulk operations were not sent within {}", CLOSE_TIMEOUT);
+                return Mono.empty();
+            })
+            .block();
+        pipeline.dispose();
+    }
+
+    public Mono<Void> index(DocumentId id, String content, RoutingKey routingKey) {
+        Preconditions.checkArgument(content != null, "content should be provided");
+        Preconditions.checkNotNull(routingKey);
+
+        return submit(BulkOperation.of(op -> op.index(idx -> idx
+                .id(id.asString())
+                .document(new RawValue(content))
+                .routing(routingKey.asString()))),
+            id, content.length());
+    }
+
+    public Mono<Void> update(UpdatedRepresentation updatedDocumentPart, RoutingKey routingKey) {
+        Preconditions.checkNotNull(updatedDocumentPart);
+        Preconditions.checkNotNull(routingKey);
+
+        return submit(BulkOperation.of(op -> op.update(idx -> idx
+                .id(updatedDocumentPart.getId().asString())
+                .document(new RawValue(updatedDocumentPart.getUpdatedDocumentPart()))
+                .routing(routingKey.asString()))),
+            updatedDocumentPart.getId(), updatedDocumentPart.getUpdatedDocumentPart().length());
+    }
+
+    public Mono<Void> delete(DocumentId id, RoutingKey routingKey) {
+        Preconditions.checkNotNull(id);
+        Preconditions.checkNotNull(routingKey);
+
+        return submit(BulkOperation.of(op -> op.delete(idx -> idx
+                .id(id.asString())
+                .routing(routingKey.asString()))),
+            id, 0);
+    }
+
+    private Mono<Void> submit(BulkOperation operation, DocumentId id, long documentSize) {
+        return Mono.defer(() -> {
+            Sinks.One<Void> result = Sinks.one();
+            pendingOperations.emitNext(new PendingOperation(id.asString(), operation, documentSize + OPERATION_METADATA_ESTIMATED_SIZE, result),
+                EMIT_FAILURE_HANDLER);
+            return result.asMono();
+        });
+    }
+
+    private List<List<PendingOperation>> splitBySize(List<PendingOperation> operations) {
+        ImmutableList.Builder<List<PendingOperation>> batches = ImmutableList.builder();
+        List<PendingOperation> currentBatch = new ArrayList<>();
+        long currentBatchSize = 0;
+        for (PendingOperation operation : operations) {
+            if (!currentBatch.isEmpty() && currentBatchSize + operation.estimatedSize() > configuration.getMaxBytes()) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentBatchSize = 0;
+            }
+            currentBatch.add(operation);
+            currentBatchSize += operation.estimatedSize();
+        }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches.build();
+    }
+
+    private Mono<Void> executeSafely(List<PendingOperation> batch) {
+        return Mono.defer(() -> execute(batch, 0))
+            .onErrorResume(e -> {
+                LOGGER.error("Unexpected error while executing a bulk request of {} operations", batch.size(), e);
+                batch.forEach(operation -> fail(operation, e));
+                return Mono.empty();
+            });
+    }
+
+    private void failDispatchedOperations(Throwable error) {
+        LOGGER.error("Bulk indexing pipeline failed, failing its {} pending operations", dispatchedOperations.size(), error);
+        ImmutableList.copyOf(dispatchedOperations)
+            .forEach(operation -> fail(operation, error));
+    }
+
+    private Mono<Void> execute(List<PendingOperation> batch, int attempt) {
+        metricFactory.generate(BULK_REQUESTS_METRIC).increment();
+        metricFactory.generate(BULK_OPERATIONS_METRIC).add(batch.size());
+
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BULK_LATENCY_METRIC,
+                indexer.bulk(batch.stream()
+                    .map(PendingOperation::operation)
+                    .collect(toImmutableList()))))
+            .onErrorResume(e -> retryOrFail(batch, attempt, e).then(Mono.empty()))
+            .flatMap(response -> handleResponse(batch, response, attempt));
+    }
+
+    private Mono<Void> handleResponse(List<PendingOperation> batch, BulkResponse response, int attempt) {
+        List<BulkResponseItem> items = response.items();
+        if (items.size() != batch.size()) {
+            batch.forEach(operation -> fail(operation, new IllegalStateException("Expecting " + batch.size()
+                + " items in the bulk response but got " + items.size())));
+            return Mono.empty();
+        }
+
+        ImmutableList.Builder<PendingOperation> retriableOperations = ImmutableList.builder();
+        Set<String> retriedDocuments = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOperation operation = batch.get(i);
+            BulkResponseItem item = items.get(i);
+            // Operations following a retried one on the same document are retried too, even when they succeeded,
+            // so that the retried operation does not overtake them
+            boolean followsRetriedOperation = retriedDocuments.contains(operation.documentId());
+            boolean transientFailure = item.error() != null && isTransient(item.status()) && attempt < configuration.getMaxRetries();
+            if (followsRetriedOperation || transientFailure) {
+                retriableOperations.add(operation);
+                retriedDocuments.add(operation.documentId());
+            } else if (item.error() == null) {
+                succeed(operation);
+            } else {
+                fail(operation, new BulkItemFailureException(item));
+            }
+        }
+        return retry(retriableOperations.build(), attempt);
+    }
+
+    private Mono<Void> retryOrFail(List<PendingOperation> batch, int attempt, Throwable error) {
+        if (attempt < configuration.getMaxRetries()) {
+            LOGGER.warn("Bulk request of {} operations failed, retrying (attempt {})", batch.size(), attempt + 1, error);
+            return retry(batch, attempt);
+        }
+        LOGGER.error("Bulk request of {} operations failed after {} attempts", batch.size(), attempt + 1, error);
+        batch.forEach(operation -> fail(operation, error));
+        return Mono.empty();
+    }
+
+    private Mono<Void> retry(List<PendingOperation> operations, int attempt) {
+        if (operations.isEmpty()) {
+            return Mono.empty();
+        }
+        metricFactory.generate(BULK_RETRIED_OPERATIONS_METRIC).add(operations.size());
+        return Mono.delay(RETRY_BACKOFF.multipliedBy(1L << attempt))
+            .then(Mono.defer(() -> execute(operations, attempt + 1)));
+    }
+
+    private void succeed(PendingOperation operation) {
+        dispatchedOperations.remove(operation);
+        operation.result().tryEmitEmpty();
+    }
+
+    private void fail(PendingOperation operation, Throwable error) {
+        dispatchedOperations.remove(operation);
+        if (operation.result().tryEmitError(error).isSuccess()) {
+            metricFactory.generate(BULK_FAILED_OPERATIONS_METRIC).increment();
+        }
+    }
+
+    private boolean isTransient(int status) {
+        return status == TOO_MANY_REQUESTS || status >= INTERNAL_SERVER_ERROR;
+    }
+}
@@ -29,6 +29,7 @@ import org.opensearch.client.opensearch.core.GetRequest;
 import org.opensearch.client.opensearch.core.GetResponse;
 import org.opensearch.client.opensearch.core.IndexRequest;
 import org.opensearch.client.opensearch.core.IndexResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -121,6 +122,28 @@ public class OpenSearchIndexer {
         }
     }
 
+    /**
+     * Submits heterogeneous operations in a single _bulk request against the write alias.
+     *
+     * Operations are expected not to specify their target index.
+     */
+    public Mono<BulkResponse> bulk(List<BulkOperation> operations) {
+        Preconditions.checkNotNull(operations);
+
+        if (operations.isEmpty()) {
+            return Mono.empty();
+        }
+
+        try {
+            return client.bulk(new BulkRequest.Builder()
+                .index(aliasName.getValue())
+                .operations(operations)
+                .build());
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+    }
+
     public Mono<Void> deleteAllMatchingQuery(Query query, RoutingKey routingKey) {
         return deleteByQueryPerformer.perform(query, routingKey);
     }
@@ -0,0 +1,316 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.backends.opensearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch._types.ErrorCause;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class OpenSearchBulkIndexerTest {
+    private static final RoutingKey ROUTING = RoutingKey.fromString("routing");
+    private static final BulkIndexingConfiguration CONFIGURATION = BulkIndexingConfiguration.builder()
+        .maxOperations(10)
+        .maxDelay(Duration.ofMillis(50))
+        .maxRetries(2)
+        .build();
+
+    private OpenSearchIndexer indexer;
+    private RecordingMetricFactory metricFactory;
+    private OpenSearchBulkIndexer testee;
+
+    @BeforeEach
+    void setUp() {
+        indexer = mock(OpenSearchIndexer.class);
+        metricFactory = new RecordingMetricFactory();
+        testee = new OpenSearchBulkIndexer(indexer, CONFIGURATION, metricFactory);
+    }
+
+    @Test
+    void concurrentOperationsShouldBeGroupedInASingleBulkRequest() {
+        when(indexer.bulk(any())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        Flux.range(0, 5)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{}", ROUTING))
+            .then()
+            .block();
+
+        verify(indexer, times(1)).bulk(any());
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_REQUESTS_METRIC)).isEqualTo(1);
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_OPERATIONS_METRIC)).isEqualTo(5);
+    }
+
+    @Test
+    void batchesShouldBeBoundedByMaxOperations() {
+        when(indexer.bulk(any())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        Flux.range(0, 25)
+            .flatMap(i -> testee.delete(DocumentId.fromString(String.valueOf(i)), ROUTING))
+            .then()
+            .block();
+
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_REQUESTS_METRIC)).isEqualTo(3);
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_OPERATIONS_METRIC)).isEqualTo(25);
+    }
+
+    @Test
+    void batchesShouldBeBoundedByMaxBytes() {
+        OpenSearchBulkIndexer testee = new OpenSearchBulkIndexer(indexer, BulkIndexingConfiguration.builder()
+                .maxOperations(10)
+                .maxBytes(1000)
+                .maxDelay(Duration.ofMillis(50))
+                .build(),
+            metricFactory);
+        when(indexer.bulk(any())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+        String content = "{\"text\":\"" + "a".repeat(600) + "\"}";
+
+        Flux.range(0, 3)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), content, ROUTING))
+            .then()
+            .block();
+
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_REQUESTS_METRIC)).isEqualTo(3);
+    }
+
+    @Test
+    void transientItemFailuresShouldBeRetried() {
+        when(indexer.bulk(any()))
+            .thenAnswer(invocation -> respond(invocation.getArgument(0), 429))
+            .thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        testee.index(DocumentId.fromString("1"), "{}", ROUTING).block();
+
+        verify(indexer, times(2)).bulk(any());
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_RETRIED_OPERATIONS_METRIC)).isEqualTo(1);
+    }
+
+    @Test
+    void transientItemFailuresShouldFailOnceRetriesAreExhausted() {
+        when(indexer.bulk(any())).thenAnswer(invocation -> respond(invocation.getArgument(0), 503));
+
+        assertThatThrownBy(() -> testee.index(DocumentId.fromString("1"), "{}", ROUTING).block())
+            .isInstanceOf(OpenSearchBulkIndexer.BulkItemFailureException.class);
+
+        verify(indexer, times(3)).bulk(any());
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_FAILED_OPERATIONS_METRIC)).isEqualTo(1);
+    }
+
+    @Test
+    void permanentItemFailuresShouldOnlyFailTheMatchingOperation() {
+        when(indexer.bulk(any())).thenAnswer(invocation -> {
+            List<BulkOperation> operations = invocation.getArgument(0);
+            return Mono.just(response(operations.stream()
+                .map(operation -> operation.index().id().equals("bad") ? failedItem(operation.index().id(), 400) : succeededItem(operation.index().id()))
+                .collect(ImmutableList.toImmutableList())));
+        });
+
+        Mono<Void> good = testee.index(DocumentId.fromString("good"), "{}", ROUTING);
+        Mono<Void> bad = testee.index(DocumentId.fromString("bad"), "{}", ROUTING);
+
+        List<Boolean> results = Flux.merge(
+                good.thenReturn(true).onErrorReturn(false),
+                bad.thenReturn(true).onErrorReturn(false))
+            .collectList()
+            .block();
+
+        assertThat(results).containsExactlyInAnyOrder(true, false);
+        verify(indexer, times(1)).bulk(any());
+    }
+
+    @Test
+    void requestFailuresShouldBeRetried() {
+        when(indexer.bulk(any()))
+            .thenReturn(Mono.error(new IOException("connection reset")))
+            .thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        testee.update(new UpdatedRepresentation(DocumentId.fromString("1"), "{}"), ROUTING).block();
+
+        verify(indexer, times(2)).bulk(any());
+    }
+
+    @Test
+    void operationsOnTheSameDocumentShouldBeRetriedAlongWithTheFailedOne() {
+        List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+        when(indexer.bulk(any()))
+            .thenAnswer(invocation -> {
+                List<BulkOperation> operations = invocation.getArgument(0);
+                requestSizes.add(operations.size());
+                return Mono.just(response(ImmutableList.of(failedItem("1", 429), succeededItem("1"))));
+            })
+            .thenAnswer(invocation -> {
+                List<BulkOperation> operations = invocation.getArgument(0);
+                requestSizes.add(operations.size());
+                return succeed(operations);
+            });
+
+        Flux.merge(
+                testee.index(DocumentId.fromString("1"), "{}", ROUTING),
+                testee.delete(DocumentId.fromString("1"), ROUTING))
+            .then()
+            .block();
+
+        assertThat(requestSizes).containsExactly(2, 2);
+    }
+
+    @Test
+    void operationsOnTheSameDocumentShouldWaitForPendingRetries() {
+        OpenSearchBulkIndexer testee = new OpenSearchBulkIndexer(indexer, BulkIndexingConfiguration.builder()
+                .maxOperations(1)
+                .maxDelay(Duration.ofMillis(50))
+                .maxRetries(2)
+                .build(),
+            metricFactory);
+        List<BulkOperation.Kind> sentOperations = new CopyOnWriteArrayList<>();
+        when(indexer.bulk(any()))
+            .thenAnswer(invocation -> {
+                List<BulkOperation> operations = invocation.getArgument(0);
+                operations.forEach(operation -> sentOperations.add(operation._kind()));
+                return respond(operations, 429);
+            })
+            .thenAnswer(invocation -> {
+                List<BulkOperation> operations = invocation.getArgument(0);
+                operations.forEach(operation -> sentOperations.add(operation._kind()));
+                return succeed(operations);
+            });
+
+        Flux.merge(
+                testee.index(DocumentId.fromString("1"), "{}", ROUTING),
+                testee.delete(DocumentId.fromString("1"), ROUTING))
+            .then()
+            .block();
+
+        assertThat(sentOperations).containsExactly(BulkOperation.Kind.Index, BulkOperation.Kind.Index, BulkOperation.Kind.Delete);
+    }
+
+    @Test
+    void unexpectedErrorsShouldFailTheBatchWithoutStoppingTheIndexer() {
+        when(indexer.bulk(any()))
+            .thenThrow(new IllegalStateException("unexpected"))
+            .thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        assertThatThrownBy(() -> testee.index(DocumentId.fromString("1"), "{}", ROUTING).block())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatCode(() -> testee.index(DocumentId.fromString("2"), "{}", ROUTING).block())
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void slowBulkRequestsShouldNotOverflowTheBatches() {
+        OpenSearchBulkIndexer testee = new OpenSearchBulkIndexer(indexer, BulkIndexingConfiguration.builder()
+                .maxOperations(1)
+                .maxDelay(Duration.ofMillis(1))
+                .build(),
+            metricFactory);
+        when(indexer.bulk(any())).thenAnswer(invocation -> Mono.delay(Duration.ofMillis(1))
+            .then(succeed(invocation.getArgument(0))));
+
+        assertThatCode(() -> Flux.range(0, 500)
+                .flatMap(i -> testee.delete(DocumentId.fromString("1"), ROUTING), 500)
+                .then()
+                .block())
+            .doesNotThrowAnyException();
+        assertThatCode(() -> testee.delete(DocumentId.fromString("1"), ROUTING).block())
+            .doesNotThrowAnyException();
+        assertThat(metricFactory.countFor(OpenSearchBulkIndexer.BULK_OPERATIONS_METRIC)).isEqualTo(501);
+    }
+
+    @Test
+    void closeShouldSendPendingOperations() {
+        OpenSearchBulkIndexer testee = new OpenSearchBulkIndexer(indexer, BulkIndexingConfiguration.builder()
+                .maxDelay(Duration.ofMinutes(1))
+                .build(),
+            metricFactory);
+        when(indexer.bulk(any())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+
+        CompletableFuture<Void> pending = testee.index(DocumentId.fromString("1"), "{}", ROUTING).toFuture();
+        testee.close();
+
+        assertThat(pending).isCompleted();
+    }
+
+    @Test
+    void operationsSubmittedAfterCloseShouldBeRejected() {
+        testee.close();
+
+        assertThatThrownBy(() -> testee.index(DocumentId.fromString("1"), "{}", ROUTING).block(Duration.ofSeconds(5)))
+            .isInstanceOf(Sinks.EmissionException.class);
+    }
+
+    private static Mono<BulkResponse> succeed(List<BulkOperation> operations) {
+        return Mono.just(response(IntStream.range(0, operations.size())
+            .mapToObj(i -> succeededItem(String.valueOf(i)))
+            .collect(ImmutableList.toImmutableList())));
+    }
+
+    private static Mono<BulkResponse> respond(List<BulkOperation> operations, int status) {
+        return Mono.just(response(IntStream.range(0, operations.size())
+            .mapToObj(i -> failedItem(String.valueOf(i), status))
+            .collect(ImmutableList.toImmutableList())));
+    }
+
+    private static BulkResponse response(List<BulkResponseItem> items) {
+        return BulkResponse.of(response -> response
+            .errors(items.stream().anyMatch(item -> item.error() != null))
+            .took(1)
+            .items(items));
+    }
+
+    private static BulkResponseItem succeededItem(String id) {
+        return BulkResponseItem.of(item -> item
+            .operationType(OperationType.Index)
+            .index("index")
+            .id(id)
+            .status(200));
+    }
+
+    private static BulkResponseItem failedItem(String id, int status) {
+        return BulkResponseItem.of(item -> item
+            .operationType(OperationType.Index)
+            .index("index")
+            .id(id)
+            .status(status)
+            .error(ErrorCause.of(error -> error.type("error").reason("failure"))));
+    }
+}
@@ -26,6 +26,7 @@ import static org.awaitility.Durations.ONE_HUNDRED_MILLISECONDS;
 
 import java.io.IOException;
 
+import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.awaitility.Awaitility;
 import org.awaitility.Durations;
 import org.awaitility.core.ConditionFactory;
@@ -38,11 +39,16 @@ import org.opensearch.client.opensearch._types.query_dsl.MatchAllQuery;
 import org.opensearch.client.opensearch._types.query_dsl.MatchQuery;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch._types.query_dsl.TermQuery;
+import org.opensearch.client.opensearch.core.BulkResponse;
 import org.opensearch.client.opensearch.core.GetResponse;
 import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Flux;
+
 class OpenSearchIndexerTest {
     public static RoutingKey useDocumentId(DocumentId documentId) {
         return RoutingKey.fromString(documentId.asString());
@@ -235,6 +241,66 @@ class OpenSearchIndexerTest {
         assertThat(getResponse.source().toString()).isEqualTo(content);
     }
 
+    @Test
+    void bulkShouldApplyMixedOperationsOnTheSameDocumentInOrder() {
+        RoutingKey routingKey = useDocumentId(DOCUMENT_ID);
+
+        BulkResponse response = testee.bulk(ImmutableList.of(
+                indexOperation(DOCUMENT_ID, "{\"message\":\"first\"}", routingKey),
+                deleteOperation(DOCUMENT_ID, routingKey),
+                indexOperation(DOCUMENT_ID, "{\"message\":\"second\",\"flag\":false}", routingKey),
+                updateOperation(DOCUMENT_ID, "{\"flag\":true}", routingKey)))
+            .block();
+
+        assertThat(response.errors()).isFalse();
+        assertThat(testee.get(DOCUMENT_ID, routingKey).block().source().toString())
+            .isEqualTo("{\"message\":\"second\",\"flag\":true}");
+    }
+
+    @Test
+    void bulkShouldLeaveDocumentsDeletedLastDeleted() {
+        DocumentId deletedId = DocumentId.fromString("1");
+        DocumentId keptId = DocumentId.fromString("2");
+
+        testee.bulk(ImmutableList.of(
+                indexOperation(deletedId, "{\"message\":\"deleted\"}", ROUTING),
+                indexOperation(keptId, "{\"message\":\"kept\"}", ROUTING),
+                updateOperation(deletedId, "{\"flag\":true}", ROUTING),
+                deleteOperation(deletedId, ROUTING)))
+            .block();
+
+        awaitForOpenSearch(new MatchAllQuery.Builder().build().toQuery(), 1L);
+        awaitForOpenSearch(new MatchQuery.Builder()
+            .field("message")
+            .query(new FieldValue.Builder().stringValue("kept").build())
+            .build()
+            .toQuery(), 1L);
+    }
+
+    @Test
+    void bulkIndexerShouldKeepTheOrderOfOperationsOnTheSameDocumentAcrossBatches() {
+        RoutingKey routingKey = useDocumentId(DOCUMENT_ID);
+        OpenSearchBulkIndexer bulkIndexer = new OpenSearchBulkIndexer(testee, BulkIndexingConfiguration.builder()
+                .maxOperations(1)
+                .build(),
+            new RecordingMetricFactory());
+
+        try {
+            Flux.merge(
+                    bulkIndexer.index(DOCUMENT_ID, "{\"message\":\"first\"}", routingKey),
+                    bulkIndexer.update(new UpdatedRepresentation(DOCUMENT_ID, "{\"flag\":true}"), routingKey),
+                    bulkIndexer.delete(DOCUMENT_ID, routingKey),
+                    bulkIndexer.index(DOCUMENT_ID, "{\"message\":\"second\"}", routingKey))
+                .then()
+                .block();
+        } finally {
+            bulkIndexer.close();
+        }
+
+        assertThat(testee.get(DOCUMENT_ID, routingKey).block().source().toString())
+            .isEqualTo("{\"message\":\"second\"}");
+    }
+
     @Test
     void getShouldThrowWhenIdIsNull() {
         assertThatThrownBy(() -> testee.get(null, ROUTING).block())
@@ -247,6 +313,26 @@ class OpenSearchIndexerTest {
             .isInstanceOf(NullPointerException.class);
     }
 
+    private static BulkOperation indexOperation(DocumentId id, String content, RoutingKey routingKey) {
+        return BulkOperation.of(op -> op.index(idx -> idx
+            .id(id.asString())
+            .document(new RawValue(content))
+            .routing(routingKey.asString())));
+    }
+
+    private static BulkOperation updateOperation(DocumentId id, String content, RoutingKey routingKey) {
+        return BulkOperation.of(op -> op.update(idx -> idx
+            .id(id.asString())
+            .document(new RawValue(content))
+            .routing(routingKey.asString())));
+    }
+
+    private static BulkOperation deleteOperation(DocumentId id, RoutingKey routingKey) {
+        return BulkOperation.of(op -> op.delete(idx -> idx
+            .id(id.asString())
+            .routing(routingKey.asString())));
+    }
+
     private void awaitForOpenSearch(Query query, long totalHits) {
         CALMLY_AWAIT.atMost(Durations.TEN_SECONDS)
             .untilAsserted(() -> assertThat(client.search(
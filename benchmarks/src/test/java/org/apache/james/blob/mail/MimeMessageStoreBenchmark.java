@@ -0,0 +1,103 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.mail;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.internet.MimeMessage;
+
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.PlainBlobId;
+import org.apache.james.blob.api.Store;
+import org.apache.james.blob.memory.MemoryBlobStoreFactory;
+import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.util.MimeMessageUtil;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.google.common.base.Strings;
+
+public class MimeMessageStoreBenchmark {
+    @State(Scope.Benchmark)
+    public static class StoreState {
+        Store<MimeMessage, MimeMessagePartsId> store;
+        MimeMessage message;
+        MimeMessagePartsId savedMessage;
+
+        @Setup
+        public void setUp() throws Exception {
+            BlobStore blobStore = MemoryBlobStoreFactory.builder()
+                .blobIdFactory(new PlainBlobId.Factory())
+                .defaultBucketName()
+                .passthrough();
+            store = MimeMessageStore.factory(blobStore).mimeMessageStore();
+            message = MimeMessageBuilder.mimeMessageBuilder()
+                .addFrom("alice@domain.tld")
+                .addToRecipient("bob@domain.tld")
+                .setSubject("Benchmark")
+                .setText(Strings.repeat("Lorem ipsum dolor sit amet, consectetur adipiscing elit.\r\n", 1000))
+                .build();
+            savedMessage = store.save(message).block();
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Object measure_save(StoreState state) {
+        return state.store.save(state.message).block();
+    }
+
+    @Benchmark
+    public void measure_read(StoreState state, Blackhole bh) throws Exception {
+        MimeMessage read = state.store.read(state.savedMessage).block();
+        bh.consume(MimeMessageUtil.asBytes(read));
+    }
+}
@@ -0,0 +1,85 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public class MailAddressBenchmark {
+    private static final String SIMPLE_ADDRESS = "bob.smith@domain.tld";
+    private static final String SUB_ADDRESS = "bob+folder@sub.domain.tld";
+    private static final String QUOTED_ADDRESS = "\"bob smith\"@domain.tld";
+    private static final String DOMAIN_LITERAL_ADDRESS = "bob@[192.168.0.1]";
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public MailAddress measure_simple_address() throws Exception {
+        return new MailAddress(SIMPLE_ADDRESS);
+    }
+
+    @Benchmark
+    public MailAddress measure_sub_address() throws Exception {
+        return new MailAddress(SUB_ADDRESS);
+    }
+
+    @Benchmark
+    public MailAddress measure_quoted_address() throws Exception {
+        return new MailAddress(QUOTED_ADDRESS);
+    }
+
+    @Benchmark
+    public MailAddress measure_domain_literal_address() throws Exception {
+        return new MailAddress(DOMAIN_LITERAL_ADDRESS);
+    }
+
+    @Benchmark
+    public String measure_parse_then_as_string() throws Exception {
+        return new MailAddress(SIMPLE_ADDRESS).asString();
+    }
+}
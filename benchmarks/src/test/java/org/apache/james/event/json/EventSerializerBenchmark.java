@@ -0,0 +1,160 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.event.json;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.google.common.collect.ImmutableList;
+
+public class EventSerializerBenchmark {
+    @State(Scope.Benchmark)
+    public static class EventState {
+        @Param({"1", "100", "5000"})
+        int messageCount;
+
+        @Param({"ADDED", "FLAGS_UPDATED"})
+        String eventType;
+
+        MailboxEventSerializer jsonSerializer;
+        CompactMailboxEventSerializer compactSerializer;
+        Event event;
+        byte[] json;
+        byte[] compact;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            jsonSerializer = new MailboxEventSerializer(new TestId.Factory(), new TestMessageId.Factory(),
+                new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+            compactSerializer = new CompactMailboxEventSerializer(jsonSerializer, new TestId.Factory(), new TestMessageId.Factory(), true);
+            event = generateEvent();
+            json = jsonSerializer.toJsonBytes(event);
+            compact = compactSerializer.toBytes(event);
+        }
+
+        private Event generateEvent() {
+            Username username = Username.of("bob@domain.tld");
+            MailboxPath path = new MailboxPath(MailboxConstants.USER_NAMESPACE, username, "INBOX");
+            Flags flags = FlagsBuilder.builder()
+                .add(Flags.Flag.SEEN, Flags.Flag.RECENT)
+                .add("$Forwarded")
+                .build();
+            if (eventType.equals("ADDED")) {
+                SortedMap<MessageUid, MessageMetaData> added = new TreeMap<>();
+                for (int i = 1; i <= messageCount; i++) {
+                    TestMessageId messageId = TestMessageId.of(100000L + i);
+                    added.put(MessageUid.of(i), new MessageMetaData(MessageUid.of(i), ModSeq.of(1000 + i), flags, 75000 + i,
+                        Date.from(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(i)), Optional.empty(), messageId,
+                        ThreadId.fromBaseMessageId(messageId)));
+                }
+                return new Added(MailboxSession.SessionId.of(42), username, path, TestId.of(18), added, Event.EventId.random(),
+                    Added.IS_DELIVERY, !Added.IS_APPENDED, Optional.empty());
+            }
+            ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builder();
+            for (int i = 1; i <= messageCount; i++) {
+                updatedFlags.add(UpdatedFlags.builder()
+                    .uid(MessageUid.of(i))
+                    .modSeq(ModSeq.of(5000 + i))
+                    .messageId(TestMessageId.of(100000L + i))
+                    .oldFlags(new Flags(Flags.Flag.RECENT))
+                    .newFlags(flags)
+                    .build());
+            }
+            return new FlagsUpdated(MailboxSession.SessionId.of(42), username, path, TestId.of(18), updatedFlags.build(), Event.EventId.random());
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public byte[] measure_json_serialize(EventState state) {
+        return state.jsonSerializer.toJsonBytes(state.event);
+    }
+
+    @Benchmark
+    public byte[] measure_compact_serialize(EventState state) {
+        return state.compactSerializer.toBytes(state.event);
+    }
+
+    @Benchmark
+    public Event measure_json_deserialize(EventState state) {
+        return state.jsonSerializer.fromBytes(state.json);
+    }
+
+    @Benchmark
+    public Event measure_compact_deserialize(EventState state) {
+        return state.compactSerializer.fromBytes(state.compact, CompactMailboxEventSerializer.COMPACT_ENCODING);
+    }
+}
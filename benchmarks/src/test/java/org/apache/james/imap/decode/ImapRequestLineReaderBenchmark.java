@@ -0,0 +1,87 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.decode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public class ImapRequestLineReaderBenchmark {
+    private static final byte[] FETCH_LINE = "a42 UID FETCH 1:100,150,200:300,400:* (FLAGS UID BODY.PEEK[HEADER.FIELDS (From To Subject Date)])\r\n"
+        .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] APPEND_LINE = "a43 APPEND \"INBOX/Sub folder\" (\\Seen \\Flagged $Forwarded) \"17-Jul-1996 02:44:25 -0700\" {310}\r\n"
+        .getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void measure_uid_fetch_line(Blackhole bh) throws Exception {
+        ImapRequestLineReader reader = new ImapRequestStreamLineReader(new ByteArrayInputStream(FETCH_LINE), new ByteArrayOutputStream());
+
+        bh.consume(reader.tag());
+        bh.consume(reader.atom());
+        bh.consume(reader.atom());
+        bh.consume(reader.parseUidRange());
+        reader.consumeLine();
+    }
+
+    @Benchmark
+    public void measure_append_line(Blackhole bh) throws Exception {
+        ImapRequestLineReader reader = new ImapRequestStreamLineReader(new ByteArrayInputStream(APPEND_LINE), new ByteArrayOutputStream());
+
+        bh.consume(reader.tag());
+        bh.consume(reader.atom());
+        bh.consume(reader.mailbox());
+        bh.consume(reader.flagList());
+        bh.consume(reader.dateTime());
+        reader.consumeLine();
+    }
+}
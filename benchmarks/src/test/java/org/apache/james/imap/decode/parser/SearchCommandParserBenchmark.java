@@ -0,0 +1,91 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.decode.parser;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public class SearchCommandParserBenchmark {
+    private static final byte[] SIMPLE_SEARCH = "UNSEEN\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMPOSITE_SEARCH = ("UID 1:100,200:* NOT DELETED OR FROM \"Smith And Jones\" TO bob@example.com " +
+            "SINCE 11-Jan-2001 HEADER Mailing-List \"server-dev@james.apache.org\" LARGER 1024 SUBJECT urgent\r\n")
+        .getBytes(StandardCharsets.US_ASCII);
+
+    @State(Scope.Benchmark)
+    public static class ParserState {
+        SearchCommandParser parser;
+
+        @Setup
+        public void setUp() {
+            parser = new SearchCommandParser(mock(StatusResponseFactory.class));
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void measure_simple_search(ParserState state, Blackhole bh) throws Exception {
+        bh.consume(state.parser.decode(null, new ImapRequestStreamLineReader(new ByteArrayInputStream(SIMPLE_SEARCH), new ByteArrayOutputStream())));
+    }
+
+    @Benchmark
+    public void measure_composite_search(ParserState state, Blackhole bh) throws Exception {
+        bh.consume(state.parser.decode(null, new ImapRequestStreamLineReader(new ByteArrayInputStream(COMPOSITE_SEARCH), new ByteArrayOutputStream())));
+    }
+}
@@ -0,0 +1,99 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.encode;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.imap.encode.base.ByteImapResponseWriter;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.message.response.FetchResponse;
+import org.apache.james.mailbox.MessageSequenceNumber;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public class FetchResponseEncoderBenchmark {
+    private static final int RESPONSE_COUNT = 1000;
+
+    @State(Scope.Benchmark)
+    public static class EncoderState {
+        FetchResponseEncoder encoder;
+        FetchResponse[] flagsAndUids;
+
+        @Setup
+        public void setUp() {
+            encoder = new FetchResponseEncoder(false);
+            Flags flags = new Flags(Flags.Flag.SEEN);
+            flags.add(Flags.Flag.FLAGGED);
+            flags.add("$Forwarded");
+            flagsAndUids = new FetchResponse[RESPONSE_COUNT];
+            for (int i = 0; i < RESPONSE_COUNT; i++) {
+                flagsAndUids[i] = new FetchResponse(MessageSequenceNumber.of(i + 1), flags, MessageUid.of(i + 1000), null,
+                    ModSeq.of(i + 36), null, 4096L, null, null, null, null, null, null);
+            }
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void measure_fetch_flags_uid_modseq_size(EncoderState state, Blackhole bh) throws Exception {
+        ByteImapResponseWriter writer = new ByteImapResponseWriter();
+        ImapResponseComposer composer = new ImapResponseComposerImpl(writer);
+        for (FetchResponse response : state.flagsAndUids) {
+            state.encoder.encode(response, composer);
+        }
+        composer.flush();
+        bh.consume(writer.getBytes());
+    }
+}
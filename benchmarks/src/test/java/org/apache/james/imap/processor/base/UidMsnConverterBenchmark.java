@@ -0,0 +1,113 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.apache.james.imap.api.ImapConfiguration;
+import org.apache.james.mailbox.MessageUid;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.google.common.collect.ImmutableList;
+
+public class UidMsnConverterBenchmark {
+    @State(Scope.Benchmark)
+    public static class ConverterState {
+        @Param({"1000", "500000"})
+        int messageCount;
+
+        @Param({"SYNCHRONIZED", "RUN_LENGTH"})
+        ImapConfiguration.UidMsnConverterMode mode;
+
+        UidMsnConverter converter;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            converter = UidMsnConverter.of(mode);
+            // Leave holes in the UID space, as expunges do
+            converter.addAll(LongStream.rangeClosed(1, messageCount)
+                .map(i -> i * 2)
+                .mapToObj(MessageUid::of)
+                .collect(ImmutableList.toImmutableList()));
+        }
+
+        MessageUid randomExistingUid() {
+            return MessageUid.of(2L * ThreadLocalRandom.current().nextInt(1, messageCount + 1));
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.Throughput)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(4)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Object measure_getMsn(ConverterState state) {
+        return state.converter.getMsn(state.randomExistingUid());
+    }
+
+    @Benchmark
+    public Object measure_getUid(ConverterState state) {
+        return state.converter.getUid(ThreadLocalRandom.current().nextInt(1, state.messageCount + 1));
+    }
+
+    @Benchmark
+    public Object measure_getLastUid(ConverterState state) {
+        return state.converter.getLastUid();
+    }
+
+    @Benchmark
+    public void measure_remove_then_add(ConverterState state) {
+        MessageUid uid = state.randomExistingUid();
+        state.converter.remove(uid);
+        state.converter.addUid(uid);
+    }
+}
@@ -0,0 +1,121 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.google.common.base.Strings;
+
+public class StoreMessageManagerAppendBenchmark {
+    private static final Username USERNAME = Username.of("bob@domain.tld");
+    private static final byte[] SIMPLE_MESSAGE = ("From: alice@domain.tld\r\n" +
+            "To: bob@domain.tld\r\n" +
+            "Subject: benchmark\r\n" +
+            "Message-ID: <1234@domain.tld>\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "\r\n" +
+            Strings.repeat("Lorem ipsum dolor sit amet, consectetur adipiscing elit.\r\n", 50))
+        .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MULTIPART_MESSAGE = ("From: alice@domain.tld\r\n" +
+            "To: bob@domain.tld\r\n" +
+            "Subject: benchmark with attachment\r\n" +
+            "MIME-Version: 1.0\r\n" +
+            "Content-Type: multipart/mixed; boundary=\"boundary\"\r\n" +
+            "\r\n" +
+            "--boundary\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "\r\n" +
+            "See attached.\r\n" +
+            "--boundary\r\n" +
+            "Content-Type: application/octet-stream; name=\"data.bin\"\r\n" +
+            "Content-Disposition: attachment; filename=\"data.bin\"\r\n" +
+            "Content-Transfer-Encoding: base64\r\n" +
+            "\r\n" +
+            Strings.repeat("QUJDREVGR0hJSktMTU5PUFFSU1RVVldYWVphYmNkZWZnaGlqa2xtbm9wcXJzdHV2d3h5ejAx\r\n", 1000) +
+            "--boundary--\r\n")
+        .getBytes(StandardCharsets.UTF_8);
+
+    @State(Scope.Benchmark)
+    public static class MailboxState {
+        MessageManager messageManager;
+        MailboxSession session;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws Exception {
+            InMemoryMailboxManager mailboxManager = InMemoryIntegrationResources.defaultResources().getMailboxManager();
+            session = mailboxManager.createSystemSession(USERNAME);
+            MailboxPath inbox = MailboxPath.inbox(USERNAME);
+            mailboxManager.createMailbox(inbox, session);
+            messageManager = mailboxManager.getMailbox(inbox, session);
+        }
+    }
+
+    @Test
+    @Disabled
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".measure*")
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(5))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Object measure_append_simple_message(MailboxState state) throws Exception {
+        return state.messageManager.appendMessage(MessageManager.AppendCommand.builder().build(SIMPLE_MESSAGE), state.session);
+    }
+
+    @Benchmark
+    public Object measure_append_multipart_message(MailboxState state) throws Exception {
+        return state.messageManager.appendMessage(MessageManager.AppendCommand.builder().build(MULTIPART_MESSAGE), state.session);
+    }
+}
@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.List;
 
 public interface EventSerializer {
+    String JSON_ENCODING = "json";
+
     String toJson(Event event);
 
     String toJson(Collection<Event> event);
@@ -47,4 +49,36 @@ public interface EventSerializer {
     default List<Event> asEventsFromBytes(byte[] serialized) {
         return asEvents(new String(serialized, StandardCharsets.UTF_8));
     }
+
+    /**
+     * Encoding of the payloads produced by {@link #toBytes(Event)}. Transports carry it alongside the payload so that
+     * consumers can pick the matching decoder, payloads without encoding being JSON.
+     */
+    default String encoding() {
+        return JSON_ENCODING;
+    }
+
+    default byte[] toBytes(Event event) {
+        return toJsonBytes(event);
+    }
+
+    default byte[] toBytes(Collection<Event> events) {
+        return toJsonBytes(events);
+    }
+
+    default Event fromBytes(byte[] serialized, String encoding) {
+        checkJsonEncoding(encoding);
+        return fromBytes(serialized);
+    }
+
+    default List<Event> asEventsFromBytes(byte[] serialized, String encoding) {
+        checkJsonEncoding(encoding);
+        return asEventsFromBytes(serialized);
+    }
+
+    private static void checkJsonEncoding(String encoding) {
+        if (!JSON_ENCODING.equals(encoding)) {
+            throw new IllegalArgumentException("Unsupported event encoding: " + encoding);
+        }
+    }
 }
@@ -29,6 +29,7 @@ import static org.apache.james.backends.rabbitmq.Constants.evaluateAutoDelete;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateDurable;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateExclusive;
 import static org.apache.james.events.RabbitMQEventBus.EVENT_BUS_ID;
+import static org.apache.james.events.RabbitMQEventBus.EVENT_ENCODING;
 
 import java.time.Duration;
 import java.util.Collection;
@@ -81,7 +82,8 @@ public class EventDispatcher {
         this.sender = sender;
         this.localListenerRegistry = localListenerRegistry;
         this.basicProperties = new AMQP.BasicProperties.Builder()
-            .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
+            .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString(),
+                EVENT_ENCODING, eventSerializer.encoding()))
             .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
             .priority(PERSISTENT_TEXT_PLAIN.getPriority())
             .contentType(PERSISTENT_TEXT_PLAIN.getContentType())
@@ -180,7 +182,7 @@ public class EventDispatcher {
             .flatMap(event -> event.keys().stream())
             .collect(ImmutableSet.toImmutableSet());
 
-        return Mono.fromCallable(() -> eventSerializer.toJsonBytes(underlyingEvents))
+        return Mono.fromCallable(() -> eventSerializer.toBytes(underlyingEvents))
             .flatMap(serializedEvent -> Mono.zipDelayError(
                 remoteGroupsDispatch(serializedEvent, underlyingEvents),
                 remoteKeysDispatch(serializedEvent, keys)))
@@ -258,6 +260,6 @@ public class EventDispatcher {
     }
 
     private byte[] serializeEvent(Event event) {
-        return eventSerializer.toJsonBytes(event);
+        return eventSerializer.toBytes(event);
     }
 }
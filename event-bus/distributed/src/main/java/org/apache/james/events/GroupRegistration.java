@@ -26,6 +26,7 @@ import static org.apache.james.backends.rabbitmq.Constants.REQUEUE;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateAutoDelete;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateDurable;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateExclusive;
+import static org.apache.james.events.RabbitMQEventBus.eventEncoding;
 
 import java.util.List;
 import java.util.Objects;
@@ -152,7 +153,7 @@ class GroupRegistration implements Registration {
         byte[] eventAsBytes = acknowledgableDelivery.getBody();
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
 
-        return deserializeEvent(eventAsBytes)
+        return deserializeEvent(eventAsBytes, eventEncoding(acknowledgableDelivery.getProperties()))
             .flatMap(event -> delayGenerator.delayIfHaveTo(currentRetryCount)
                 .flatMap(any -> runListenerReliably(currentRetryCount, event))
                 .then(Mono.<Void>fromRunnable(acknowledgableDelivery::ack).subscribeOn(Schedulers.boundedElastic())))
@@ -176,8 +177,8 @@ class GroupRegistration implements Registration {
                 .then());
     }
 
-    private Mono<Event> deserializeEvent(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.fromBytes(eventAsBytes))
+    private Mono<Event> deserializeEvent(byte[] eventAsBytes, String encoding) {
+        return Mono.fromCallable(() -> eventSerializer.fromBytes(eventAsBytes, encoding))
             .subscribeOn(Schedulers.parallel());
     }
 
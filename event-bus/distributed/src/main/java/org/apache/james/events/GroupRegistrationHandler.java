@@ -28,6 +28,7 @@ import static org.apache.james.backends.rabbitmq.Constants.evaluateAutoDelete;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateDurable;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateExclusive;
 import static org.apache.james.events.GroupRegistration.DEFAULT_RETRY_COUNT;
+import static org.apache.james.events.RabbitMQEventBus.eventEncoding;
 
 import java.util.Collection;
 import java.util.List;
@@ -135,7 +136,7 @@ public class GroupRegistrationHandler {
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
         byte[] eventAsBytes = acknowledgableDelivery.getBody();
 
-        return deserializeEvents(eventAsBytes)
+        return deserializeEvents(eventAsBytes, eventEncoding(acknowledgableDelivery.getProperties()))
             .flatMapIterable(events -> groupRegistrations.values()
                 .stream()
                 .map(group -> Pair.of(group, events))
@@ -151,8 +152,8 @@ public class GroupRegistrationHandler {
             });
     }
 
-    private Mono<List<Event>> deserializeEvents(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.asEventsFromBytes(eventAsBytes));
+    private Mono<List<Event>> deserializeEvents(byte[] eventAsBytes, String encoding) {
+        return Mono.fromCallable(() -> eventSerializer.asEventsFromBytes(eventAsBytes, encoding));
     }
 
     void stop() {
@@ -25,6 +25,7 @@ import static org.apache.james.backends.rabbitmq.Constants.evaluateAutoDelete;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateDurable;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateExclusive;
 import static org.apache.james.events.RabbitMQEventBus.EVENT_BUS_ID;
+import static org.apache.james.events.RabbitMQEventBus.eventEncoding;
 
 import java.time.Duration;
 import java.util.List;
@@ -216,6 +217,10 @@ class KeyRegistrationHandler {
 
     private List<Event> toEvent(Delivery deliver) {
         byte[] bodyAsBytes = deliver.getBody();
+        String encoding = eventEncoding(deliver.getProperties());
+        if (!EventSerializer.JSON_ENCODING.equals(encoding)) {
+            return eventSerializer.asEventsFromBytes(bodyAsBytes, encoding);
+        }
         // if the json is an array, we have multiple events
         if (bodyAsBytes != null && bodyAsBytes.length > 0 && bodyAsBytes[0] == '[') {
             return eventSerializer.asEventsFromBytes(bodyAsBytes);
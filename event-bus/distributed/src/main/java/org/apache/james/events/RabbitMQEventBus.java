@@ -36,6 +36,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.rabbitmq.client.AMQP;
 
 import reactor.core.publisher.Mono;
 import reactor.rabbitmq.Sender;
@@ -65,6 +66,14 @@ public class RabbitMQEventBus implements EventBus, Startable {
     private static final Set<RegistrationKey> NO_KEY = ImmutableSet.of();
     private static final String NOT_RUNNING_ERROR_MESSAGE = "Event Bus is not running";
     static final String EVENT_BUS_ID = "eventBusId";
+    static final String EVENT_ENCODING = "eventEncoding";
+
+    static String eventEncoding(AMQP.BasicProperties properties) {
+        return Optional.ofNullable(properties.getHeaders())
+            .flatMap(headers -> Optional.ofNullable(headers.get(EVENT_ENCODING)))
+            .map(Object::toString)
+            .orElse(EventSerializer.JSON_ENCODING);
+    }
 
     public record Configurations(RabbitMQConfiguration rabbitMQConfiguration, RetryBackoffConfiguration retryBackoff, EventBus.Configuration eventBusConfiguration) {
         public Configurations(RabbitMQConfiguration rabbitMQConfiguration, RetryBackoffConfiguration retryBackoff) {
@@ -44,6 +44,11 @@ public interface AttachmentManager extends AttachmentContentLoader {
 
     Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, MailboxSession mailboxSession);
 
+    /**
+     * Loads at most length bytes of an attachment content, starting at offset.
+     */
+    Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, MailboxSession mailboxSession, long offset, long length);
+
     @Override
     default InputStream load(AttachmentMetadata attachment, MailboxSession mailboxSession) throws IOException, AttachmentNotFoundException {
         return loadAttachmentContent(attachment.getAttachmentId(), mailboxSession);
@@ -54,4 +59,8 @@ public interface AttachmentManager extends AttachmentContentLoader {
         return loadAttachmentContentReactive(attachment.getAttachmentId(), mailboxSession);
     }
 
+    default Mono<InputStream> loadReactive(AttachmentMetadata attachment, MailboxSession mailboxSession, long offset, long length) {
+        return loadAttachmentContentReactive(attachment.getAttachmentId(), mailboxSession, offset, length);
+    }
+
 }
@@ -0,0 +1,575 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.event.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.events.EventSerializer;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Compact binary encoding of the mailbox events dominating event bus traffic: {@link Added}, {@link Expunged} and
+ * {@link FlagsUpdated}. Other events are embedded as JSON.
+ *
+ * A payload holds a format version, a dictionary of the strings shared by its events (usernames, mailbox ids, mailbox
+ * path parts, user flags) then the events. UIDs and modseqs are delta encoded as variable length integers, system
+ * flags as a bitset.
+ *
+ * JSON is still used by the JSON methods and always decoded. Compact payloads are only produced by
+ * {@link #toBytes(Event)} when <code>emitCompact</code> is set, which should only be done once every consumer
+ * supports {@link #COMPACT_ENCODING}.
+ */
+public class CompactMailboxEventSerializer implements EventSerializer {
+    public static final String COMPACT_ENCODING = "mailbox-compact-v1";
+
+    private static final byte VERSION = 1;
+    private static final byte JSON_EVENT = 0;
+    private static final byte ADDED_EVENT = 1;
+    private static final byte EXPUNGED_EVENT = 2;
+    private static final byte FLAGS_UPDATED_EVENT = 3;
+    private static final Flags.Flag[] SYSTEM_FLAGS = {Flags.Flag.ANSWERED, Flags.Flag.DELETED, Flags.Flag.DRAFT,
+        Flags.Flag.FLAGGED, Flags.Flag.RECENT, Flags.Flag.SEEN, Flags.Flag.USER};
+    private static final int IS_DELIVERY = 1;
+    private static final int IS_APPENDED = 1 << 1;
+    private static final int HAS_MOVE_MAILBOX = 1 << 2;
+    private static final int NO_STRING = 0;
+    private static final int SAME_AS_MESSAGE_ID = 0;
+    private static final int EXPLICIT_THREAD_ID = 1;
+
+    private final EventSerializer jsonSerializer;
+    private final MailboxId.Factory mailboxIdFactory;
+    private final MessageId.Factory messageIdFactory;
+    private final boolean emitCompact;
+
+    public CompactMailboxEventSerializer(EventSerializer jsonSerializer, MailboxId.Factory mailboxIdFactory,
+                                         MessageId.Factory messageIdFactory, boolean emitCompact) {
+        this.jsonSerializer = jsonSerializer;
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+        this.emitCompact = emitCompact;
+    }
+
+    @Override
+    public String toJson(Event event) {
+        return jsonSerializer.toJson(event);
+    }
+
+    @Override
+    public String toJson(Collection<Event> events) {
+        return jsonSerializer.toJson(events);
+    }
+
+    @Override
+    public byte[] toJsonBytes(Event event) {
+        return jsonSerializer.toJsonBytes(event);
+    }
+
+    @Override
+    public byte[] toJsonBytes(Collection<Event> events) {
+        return jsonSerializer.toJsonBytes(events);
+    }
+
+    @Override
+    public Event asEvent(String serialized) {
+        return jsonSerializer.asEvent(serialized);
+    }
+
+    @Override
+    public List<Event> asEvents(String serialized) {
+        return jsonSerializer.asEvents(serialized);
+    }
+
+    @Override
+    public Event fromBytes(byte[] serialized) {
+        return jsonSerializer.fromBytes(serialized);
+    }
+
+    @Override
+    public List<Event> asEventsFromBytes(byte[] serialized) {
+        return jsonSerializer.asEventsFromBytes(serialized);
+    }
+
+    @Override
+    public String encoding() {
+        if (emitCompact) {
+            return COMPACT_ENCODING;
+        }
+        return jsonSerializer.encoding();
+    }
+
+    @Override
+    public byte[] toBytes(Event event) {
+        if (emitCompact) {
+            return encode(ImmutableList.of(event));
+        }
+        return jsonSerializer.toBytes(event);
+    }
+
+    @Override
+    public byte[] toBytes(Collection<Event> events) {
+        if (emitCompact) {
+            return encode(events);
+        }
+        return jsonSerializer.toBytes(events);
+    }
+
+    @Override
+    public Event fromBytes(byte[] serialized, String encoding) {
+        if (COMPACT_ENCODING.equals(encoding)) {
+            List<Event> events = decode(serialized);
+            if (events.size() != 1) {
+                throw new IllegalArgumentException("Expecting a single event but got " + events.size());
+            }
+            return events.get(0);
+        }
+        return jsonSerializer.fromBytes(serialized, encoding);
+    }
+
+    @Override
+    public List<Event> asEventsFromBytes(byte[] serialized, String encoding) {
+        if (COMPACT_ENCODING.equals(encoding)) {
+            return decode(serialized);
+        }
+        return jsonSerializer.asEventsFromBytes(serialized, encoding);
+    }
+
+    private byte[] encode(Collection<Event> events) {
+        Dictionary dictionary = new Dictionary();
+        Output body = new Output(64 * events.size());
+        body.writeVarLong(events.size());
+        events.forEach(event -> encodeEvent(event, dictionary, body));
+
+        Output output = new Output(body.size() + 16 * dictionary.strings.size() + 1);
+        output.writeByte(VERSION);
+        output.writeVarLong(dictionary.strings.size());
+        dictionary.strings.forEach(output::writeString);
+        output.writeBytes(body.buffer, body.size());
+        return output.toByteArray();
+    }
+
+    private void encodeEvent(Event event, Dictionary dictionary, Output output) {
+        if (event instanceof Added added) {
+            output.writeByte(ADDED_EVENT);
+            encodeMailboxEvent(added, dictionary, output);
+            int bits = (added.isDelivery() ? IS_DELIVERY : 0)
+                | (added.isAppended() ? IS_APPENDED : 0)
+                | (added.movedFromMailboxId().isPresent() ? HAS_MOVE_MAILBOX : 0);
+            output.writeByte(bits);
+            added.movedFromMailboxId().ifPresent(id -> output.writeVarLong(dictionary.index(id.serialize())));
+            encodeMetaData(added.getAdded().values(), dictionary, output);
+        } else if (event instanceof Expunged expunged) {
+            output.writeByte(EXPUNGED_EVENT);
+            encodeMailboxEvent(expunged, dictionary, output);
+            output.writeByte(expunged.movedToMailboxId().isPresent() ? HAS_MOVE_MAILBOX : 0);
+            expunged.movedToMailboxId().ifPresent(id -> output.writeVarLong(dictionary.index(id.serialize())));
+            encodeMetaData(expunged.getExpunged().values(), dictionary, output);
+        } else if (event instanceof FlagsUpdated flagsUpdated) {
+            output.writeByte(FLAGS_UPDATED_EVENT);
+            encodeMailboxEvent(flagsUpdated, dictionary, output);
+            encodeUpdatedFlags(flagsUpdated.getUpdatedFlags(), dictionary, output);
+        } else {
+            output.writeByte(JSON_EVENT);
+            byte[] json = jsonSerializer.toJsonBytes(event);
+            output.writeVarLong(json.length);
+            output.writeBytes(json, json.length);
+        }
+    }
+
+    private void encodeMailboxEvent(MailboxEvent event, Dictionary dictionary, Output output) {
+        UUID eventId = event.getEventId().getId();
+        output.writeLong(eventId.getMostSignificantBits());
+        output.writeLong(eventId.getLeastSignificantBits());
+        output.writeZigZag(event.getSessionId().getValue());
+        output.writeVarLong(dictionary.index(event.getUsername().asString()));
+        MailboxPath path = event.getMailboxPath();
+        output.writeVarLong(dictionary.nullableIndex(path.getNamespace()));
+        output.writeVarLong(dictionary.nullableIndex(Optional.ofNullable(path.getUser()).map(Username::asString).orElse(null)));
+        output.writeVarLong(dictionary.nullableIndex(path.getName()));
+        output.writeVarLong(dictionary.index(event.getMailboxId().serialize()));
+    }
+
+    private void encodeMetaData(Collection<MessageMetaData> metaData, Dictionary dictionary, Output output) {
+        output.writeVarLong(metaData.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        for (MessageMetaData message : metaData) {
+            output.writeZigZag(message.getUid().asLong() - previousUid);
+            output.writeZigZag(message.getModSeq().asLong() - previousModSeq);
+            previousUid = message.getUid().asLong();
+            previousModSeq = message.getModSeq().asLong();
+            encodeFlags(message.getFlags(), dictionary, output);
+            output.writeVarLong(message.getSize());
+            output.writeZigZag(message.getInternalDate().getTime());
+            output.writeByte(message.getSaveDate().isPresent() ? 1 : 0);
+            message.getSaveDate().ifPresent(saveDate -> output.writeZigZag(saveDate.getTime()));
+            output.writeString(message.getMessageId().serialize());
+            if (message.getThreadId().getBaseMessageId().equals(message.getMessageId())) {
+                output.writeByte(SAME_AS_MESSAGE_ID);
+            } else {
+                output.writeByte(EXPLICIT_THREAD_ID);
+                output.writeString(message.getThreadId().serialize());
+            }
+        }
+    }
+
+    private void encodeUpdatedFlags(List<UpdatedFlags> updatedFlags, Dictionary dictionary, Output output) {
+        output.writeVarLong(updatedFlags.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        for (UpdatedFlags updated : updatedFlags) {
+            output.writeZigZag(updated.getUid().asLong() - previousUid);
+            output.writeZigZag(updated.getModSeq().asLong() - previousModSeq);
+            previousUid = updated.getUid().asLong();
+            previousModSeq = updated.getModSeq().asLong();
+            output.writeByte(updated.getMessageId().isPresent() ? 1 : 0);
+            updated.getMessageId().ifPresent(messageId -> output.writeString(messageId.serialize()));
+            encodeFlags(updated.getOldFlags(), dictionary, output);
+            encodeFlags(updated.getNewFlags(), dictionary, output);
+        }
+    }
+
+    private void encodeFlags(Flags flags, Dictionary dictionary, Output output) {
+        int bits = 0;
+        for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+            if (flags.contains(SYSTEM_FLAGS[i])) {
+                bits |= 1 << i;
+            }
+        }
+        output.writeByte(bits);
+        String[] userFlags = flags.getUserFlags();
+        output.writeVarLong(userFlags.length);
+        for (String userFlag : userFlags) {
+            output.writeVarLong(dictionary.index(userFlag));
+        }
+    }
+
+    private List<Event> decode(byte[] serialized) {
+        try {
+            Input input = new Input(serialized);
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported compact event format version " + version);
+            }
+            int dictionarySize = input.readVarInt();
+            List<String> dictionary = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary.add(input.readString());
+            }
+            int eventCount = input.readVarInt();
+            ImmutableList.Builder<Event> events = ImmutableList.builderWithExpectedSize(eventCount);
+            for (int i = 0; i < eventCount; i++) {
+                events.add(decodeEvent(input, dictionary));
+            }
+            return events.build();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid compact event payload", e);
+        }
+    }
+
+    private Event decodeEvent(Input input, List<String> dictionary) {
+        byte type = input.readByte();
+        switch (type) {
+            case JSON_EVENT:
+                return jsonSerializer.fromBytes(input.readBytes(input.readVarInt()));
+            case ADDED_EVENT: {
+                Header header = decodeHeader(input, dictionary);
+                int bits = input.readByte();
+                Optional<MailboxId> movedFrom = decodeMoveMailbox(bits, input, dictionary);
+                TreeMap<MessageUid, MessageMetaData> added = new TreeMap<>();
+                decodeMetaData(input, dictionary).forEach(message -> added.put(message.getUid(), message));
+                return new Added(header.sessionId, header.username, header.path, header.mailboxId, added, header.eventId,
+                    (bits & IS_DELIVERY) != 0, (bits & IS_APPENDED) != 0, movedFrom);
+            }
+            case EXPUNGED_EVENT: {
+                Header header = decodeHeader(input, dictionary);
+                Optional<MailboxId> movedTo = decodeMoveMailbox(input.readByte(), input, dictionary);
+                ImmutableMap.Builder<MessageUid, MessageMetaData> expunged = ImmutableMap.builder();
+                decodeMetaData(input, dictionary).forEach(message -> expunged.put(message.getUid(), message));
+                return new Expunged(header.sessionId, header.username, header.path, header.mailboxId, expunged.build(),
+                    header.eventId, movedTo);
+            }
+            case FLAGS_UPDATED_EVENT: {
+                Header header = decodeHeader(input, dictionary);
+                return new FlagsUpdated(header.sessionId, header.username, header.path, header.mailboxId,
+                    decodeUpdatedFlags(input, dictionary), header.eventId);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown compact event type " + type);
+        }
+    }
+
+    private record Header(Event.EventId eventId, MailboxSession.SessionId sessionId, Username username, MailboxPath path,
+                          MailboxId mailboxId) {
+
+    }
+
+    private Header decodeHeader(Input input, List<String> dictionary) {
+        Event.EventId eventId = Event.EventId.of(new UUID(input.readLong(), input.readLong()));
+        MailboxSession.SessionId sessionId = MailboxSession.SessionId.of(input.readZigZag());
+        Username username = Username.of(dictionary.get(input.readVarInt()));
+        String namespace = nullableString(input.readVarInt(), dictionary);
+        String pathUser = nullableString(input.readVarInt(), dictionary);
+        String name = nullableString(input.readVarInt(), dictionary);
+        MailboxPath path = new MailboxPath(namespace, Optional.ofNullable(pathUser).map(Username::of).orElse(null), name);
+        MailboxId mailboxId = mailboxIdFactory.fromString(dictionary.get(input.readVarInt()));
+        return new Header(eventId, sessionId, username, path, mailboxId);
+    }
+
+    private Optional<MailboxId> decodeMoveMailbox(int bits, Input input, List<String> dictionary) {
+        if ((bits & HAS_MOVE_MAILBOX) != 0) {
+            return Optional.of(mailboxIdFactory.fromString(dictionary.get(input.readVarInt())));
+        }
+        return Optional.empty();
+    }
+
+    private List<MessageMetaData> decodeMetaData(Input input, List<String> dictionary) {
+        int count = input.readVarInt();
+        List<MessageMetaData> messages = new ArrayList<>(count);
+        long uid = 0;
+        long modSeq = 0;
+        for (int i = 0; i < count; i++) {
+            uid += input.readZigZag();
+            modSeq += input.readZigZag();
+            Flags flags = decodeFlags(input, dictionary);
+            long size = input.readVarLong();
+            Date internalDate = new Date(input.readZigZag());
+            Optional<Date> saveDate = Optional.empty();
+            if (input.readByte() != 0) {
+                saveDate = Optional.of(new Date(input.readZigZag()));
+            }
+            MessageId messageId = messageIdFactory.fromString(input.readString());
+            ThreadId threadId = ThreadId.fromBaseMessageId(messageId);
+            if (input.readByte() == EXPLICIT_THREAD_ID) {
+                threadId = ThreadId.fromBaseMessageId(messageIdFactory.fromString(input.readString()));
+            }
+            messages.add(new MessageMetaData(MessageUid.of(uid), ModSeq.of(modSeq), flags, size, internalDate, saveDate, messageId, threadId));
+        }
+        return messages;
+    }
+
+    private List<UpdatedFlags> decodeUpdatedFlags(Input input, List<String> dictionary) {
+        int count = input.readVarInt();
+        ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builderWithExpectedSize(count);
+        long uid = 0;
+        long modSeq = 0;
+        for (int i = 0; i < count; i++) {
+            uid += input.readZigZag();
+            modSeq += input.readZigZag();
+            Optional<MessageId> messageId = Optional.empty();
+            if (input.readByte() != 0) {
+                messageId = Optional.of(messageIdFactory.fromString(input.readString()));
+            }
+            updatedFlags.add(UpdatedFlags.builder()
+                .uid(MessageUid.of(uid))
+                .modSeq(ModSeq.of(modSeq))
+                .messageId(messageId)
+                .oldFlags(decodeFlags(input, dictionary))
+                .newFlags(decodeFlags(input, dictionary))
+                .build());
+        }
+        return updatedFlags.build();
+    }
+
+    private Flags decodeFlags(Input input, List<String> dictionary) {
+        Flags flags = new Flags();
+        int bits = input.readByte();
+        for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+            if ((bits & (1 << i)) != 0) {
+                flags.add(SYSTEM_FLAGS[i]);
+            }
+        }
+        int userFlagCount = input.readVarInt();
+        for (int i = 0; i < userFlagCount; i++) {
+            flags.add(dictionary.get(input.readVarInt()));
+        }
+        return flags;
+    }
+
+    private static String nullableString(int index, List<String> dictionary) {
+        if (index == NO_STRING) {
+            return null;
+        }
+        return dictionary.get(index - 1);
+    }
+
+    private static class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int index(String value) {
+            return indexes.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        int nullableIndex(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            return index(value) + 1;
+        }
+    }
+
+    private static class Output {
+        private byte[] buffer;
+        private int position;
+
+        Output(int initialCapacity) {
+            this.buffer = new byte[Math.max(initialCapacity, 16)];
+        }
+
+        int size() {
+            return position;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, position, length);
+            position += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    private static class Input {
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+
+        int readVarInt() {
+            return Math.toIntExact(readVarLong());
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = readVarInt();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+}
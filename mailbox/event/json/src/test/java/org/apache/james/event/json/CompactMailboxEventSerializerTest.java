@@ -0,0 +1,214 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+package org.apache.james.event.json;
+
+import static org.apache.james.event.json.SerializerFixture.EVENT_ID;
+import static org.apache.james.event.json.SerializerFixture.EVENT_SERIALIZER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.events.EventSerializer;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxAdded;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+class CompactMailboxEventSerializerTest {
+    private static final Username USERNAME = Username.of("user");
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(-42);
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath(MailboxConstants.USER_NAMESPACE, USERNAME, "mailboxName");
+    private static final Instant INSTANT = Instant.parse("2018-12-14T09:41:51.541Z");
+    private static final Flags FLAGS = FlagsBuilder.builder()
+        .add(Flags.Flag.ANSWERED, Flags.Flag.DRAFT)
+        .add("User Custom Flag", "$Forwarded")
+        .build();
+
+    private static final CompactMailboxEventSerializer COMPACT = new CompactMailboxEventSerializer(EVENT_SERIALIZER,
+        new TestId.Factory(), new TestMessageId.Factory(), true);
+    private static final CompactMailboxEventSerializer JSON = new CompactMailboxEventSerializer(EVENT_SERIALIZER,
+        new TestId.Factory(), new TestMessageId.Factory(), false);
+
+    private static MessageMetaData metaData(long uid) {
+        TestMessageId messageId = TestMessageId.of(uid + 1000);
+        return new MessageMetaData(MessageUid.of(uid), ModSeq.of(uid + 7), FLAGS, 1024 + uid, Date.from(INSTANT),
+            Optional.of(Date.from(INSTANT.plusSeconds(uid))), messageId, ThreadId.fromBaseMessageId(messageId));
+    }
+
+    private static Added added(int messageCount) {
+        SortedMap<MessageUid, MessageMetaData> added = new TreeMap<>();
+        IntStream.rangeClosed(1, messageCount)
+            .mapToObj(CompactMailboxEventSerializerTest::metaData)
+            .forEach(message -> added.put(message.getUid(), message));
+        return new Added(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, added, EVENT_ID,
+            Added.IS_DELIVERY, !Added.IS_APPENDED, Optional.empty());
+    }
+
+    @Test
+    void addedShouldRoundTrip() {
+        Added event = added(50);
+
+        assertThat(COMPACT.fromBytes(COMPACT.toBytes(event), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void addedWithMoveAndDistinctThreadIdShouldRoundTrip() {
+        TestMessageId messageId = TestMessageId.of(42);
+        MessageMetaData message = new MessageMetaData(MessageUid.of(3), ModSeq.of(35), new Flags(), 45, Date.from(INSTANT),
+            Optional.empty(), messageId, ThreadId.fromBaseMessageId(TestMessageId.of(100)));
+        Added event = new Added(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, new TreeMap<>(ImmutableMap.of(message.getUid(), message)),
+            EVENT_ID, !Added.IS_DELIVERY, Added.IS_APPENDED, Optional.of(TestId.of(28)));
+
+        assertThat(COMPACT.fromBytes(COMPACT.toBytes(event), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void expungedShouldRoundTrip() {
+        Expunged event = new Expunged(SESSION_ID, USERNAME, new MailboxPath(MailboxConstants.USER_NAMESPACE, null, "shared"), MAILBOX_ID,
+            ImmutableMap.of(MessageUid.of(5), metaData(5), MessageUid.of(2), metaData(2)), EVENT_ID, Optional.of(TestId.of(28)));
+
+        assertThat(COMPACT.fromBytes(COMPACT.toBytes(event), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void flagsUpdatedShouldRoundTrip() {
+        FlagsUpdated event = new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, ImmutableList.of(
+            UpdatedFlags.builder()
+                .uid(MessageUid.of(10))
+                .modSeq(ModSeq.of(100))
+                .messageId(TestMessageId.of(10))
+                .oldFlags(new Flags())
+                .newFlags(FLAGS)
+                .build(),
+            UpdatedFlags.builder()
+                .uid(MessageUid.of(4))
+                .modSeq(ModSeq.of(101))
+                .oldFlags(FLAGS)
+                .newFlags(new Flags(Flags.Flag.SEEN))
+                .build()),
+            EVENT_ID);
+
+        assertThat(COMPACT.fromBytes(COMPACT.toBytes(event), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void otherEventsShouldBeEmbeddedAsJson() {
+        MailboxAdded mailboxAdded = new MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, EVENT_ID);
+        ImmutableList<Event> events = ImmutableList.of(mailboxAdded, added(3), mailboxAdded);
+
+        assertThat(COMPACT.asEventsFromBytes(COMPACT.toBytes(events), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .containsExactlyElementsOf(events);
+    }
+
+    @Test
+    void compactPayloadsShouldBeSmallerThanJson() {
+        Added event = added(500);
+
+        assertThat(COMPACT.toBytes(event).length)
+            .isLessThan(EVENT_SERIALIZER.toJsonBytes(event).length / 4);
+    }
+
+    @Test
+    void compactFlagsUpdatedPayloadsShouldBeSmallerThanJson() {
+        FlagsUpdated event = new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, IntStream.rangeClosed(1, 500)
+            .mapToObj(uid -> UpdatedFlags.builder()
+                .uid(MessageUid.of(uid))
+                .modSeq(ModSeq.of(uid + 7))
+                .messageId(TestMessageId.of(uid + 1000))
+                .oldFlags(new Flags(Flags.Flag.RECENT))
+                .newFlags(FLAGS)
+                .build())
+            .collect(ImmutableList.toImmutableList()),
+            EVENT_ID);
+
+        assertThat(COMPACT.toBytes(event).length)
+            .isLessThan(EVENT_SERIALIZER.toJsonBytes(event).length / 4);
+    }
+
+    @Test
+    void jsonShouldBeEmittedWhenCompactIsNotEnabled() {
+        Added event = added(2);
+
+        assertThat(JSON.encoding()).isEqualTo(EventSerializer.JSON_ENCODING);
+        assertThat(EVENT_SERIALIZER.fromBytes(JSON.toBytes(event))).isEqualTo(event);
+    }
+
+    @Test
+    void compactPayloadsShouldBeDecodedWhenCompactIsNotEnabled() {
+        Added event = added(2);
+
+        assertThat(JSON.fromBytes(COMPACT.toBytes(event), CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void jsonPayloadsShouldBeDecodedWhenCompactIsEnabled() {
+        Added event = added(2);
+
+        assertThat(COMPACT.fromBytes(EVENT_SERIALIZER.toJsonBytes(event), EventSerializer.JSON_ENCODING))
+            .isEqualTo(event);
+    }
+
+    @Test
+    void unknownEncodingShouldBeRejected() {
+        assertThatThrownBy(() -> COMPACT.fromBytes(new byte[] {1, 0, 0}, "unknown"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void truncatedPayloadShouldBeRejected() {
+        byte[] serialized = COMPACT.toBytes(added(2));
+        byte[] truncated = new byte[serialized.length / 2];
+        System.arraycopy(serialized, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> COMPACT.fromBytes(truncated, CompactMailboxEventSerializer.COMPACT_ENCODING))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
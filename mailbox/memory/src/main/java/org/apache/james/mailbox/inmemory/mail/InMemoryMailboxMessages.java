@@ -0,0 +1,125 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.inmemory.mail;
+
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+
+/**
+ * Messages of a single mailbox, sorted by UID, along with secondary indexes for \Recent, \Deleted and unseen messages.
+ *
+ * Reads are lock free. Writes are serialized so that the secondary indexes and the unseen count stay consistent with
+ * the messages they index.
+ */
+class InMemoryMailboxMessages {
+    private final ConcurrentSkipListMap<Long, MailboxMessage> messagesByUid = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Long> recentUids = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Long> deletedUids = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Long> unseenUids = new ConcurrentSkipListSet<>();
+    private final AtomicLong unseenCount = new AtomicLong();
+
+    synchronized void put(MailboxMessage message) {
+        long uid = message.getUid().asLong();
+        messagesByUid.put(uid, message);
+        index(uid, recentUids, message.isRecent());
+        index(uid, deletedUids, message.isDeleted());
+        if (index(uid, unseenUids, !message.isSeen())) {
+            unseenCount.addAndGet(message.isSeen() ? -1 : 1);
+        }
+    }
+
+    synchronized Optional<MailboxMessage> remove(MessageUid messageUid) {
+        long uid = messageUid.asLong();
+        recentUids.remove(uid);
+        deletedUids.remove(uid);
+        if (unseenUids.remove(uid)) {
+            unseenCount.decrementAndGet();
+        }
+        return Optional.ofNullable(messagesByUid.remove(uid));
+    }
+
+    long count() {
+        return messagesByUid.size();
+    }
+
+    long countUnseen() {
+        return unseenCount.get();
+    }
+
+    Collection<MailboxMessage> all() {
+        return messagesByUid.values();
+    }
+
+    /**
+     * @return messages within the range, sorted by UID
+     */
+    Stream<MailboxMessage> inRange(MessageRange range) {
+        return inRange(messagesByUid, range).values().stream();
+    }
+
+    Stream<MessageUid> recentUids() {
+        return recentUids.stream().map(MessageUid::of);
+    }
+
+    Optional<MessageUid> firstUnseenUid() {
+        return Optional.ofNullable(unseenUids.ceiling(MessageUid.MIN_VALUE.asLong()))
+            .map(MessageUid::of);
+    }
+
+    Stream<MessageUid> deletedUids(MessageRange range) {
+        return inRange(deletedUids, range).stream().map(MessageUid::of);
+    }
+
+    /**
+     * @return true when the index content changed
+     */
+    private boolean index(long uid, NavigableSet<Long> index, boolean present) {
+        if (present) {
+            return index.add(uid);
+        }
+        return index.remove(uid);
+    }
+
+    private static <T> NavigableMap<Long, T> inRange(NavigableMap<Long, T> map, MessageRange range) {
+        return switch (range.getType()) {
+            case ALL -> map;
+            case FROM -> map.tailMap(range.getUidFrom().asLong(), true);
+            case ONE, RANGE -> map.subMap(range.getUidFrom().asLong(), true, range.getUidTo().asLong(), true);
+        };
+    }
+
+    private static NavigableSet<Long> inRange(NavigableSet<Long> set, MessageRange range) {
+        return switch (range.getType()) {
+            case ALL -> set;
+            case FROM -> set.tailSet(range.getUidFrom().asLong(), true);
+            case ONE, RANGE -> set.subSet(range.getUidFrom().asLong(), true, range.getUidTo().asLong(), true);
+        };
+    }
+}
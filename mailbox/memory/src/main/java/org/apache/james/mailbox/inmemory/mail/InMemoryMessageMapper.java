@@ -20,14 +20,12 @@
 package org.apache.james.mailbox.inmemory.mail;
 
 import java.time.Clock;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import jakarta.mail.Flags;
 import jakarta.mail.Flags.Flag;
@@ -52,7 +50,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 public class InMemoryMessageMapper extends AbstractMessageMapper {
-    private final Map<InMemoryId, Map<MessageUid, MailboxMessage>> mailboxByUid;
+    private final Map<InMemoryId, InMemoryMailboxMessages> mailboxByUid;
     private static final int INITIAL_SIZE = 256;
 
     public InMemoryMessageMapper(MailboxSession session, UidProvider uidProvider,
@@ -61,21 +59,21 @@ public class InMemoryMessageMapper extends AbstractMessageMapper {
         this.mailboxByUid = new ConcurrentHashMap<>(INITIAL_SIZE);
     }
 
-    private Map<MessageUid, MailboxMessage> getMembershipByUidForMailbox(Mailbox mailbox) {
+    private InMemoryMailboxMessages getMembershipByUidForMailbox(Mailbox mailbox) {
         return getMembershipByUidForMailbox(mailbox.getMailboxId());
     }
 
-    private Map<MessageUid, MailboxMessage> getMembershipByUidForMailbox(MailboxId mailboxId) {
+    private InMemoryMailboxMessages getMembershipByUidForMailbox(MailboxId mailboxId) {
         return getMembershipByUidForId((InMemoryId) mailboxId);
     }
 
-    private Map<MessageUid, MailboxMessage> getMembershipByUidForId(InMemoryId id) {
-        Map<MessageUid, MailboxMessage> membershipByUid = mailboxByUid.get(id);
-        if (membershipByUid == null) {
-            membershipByUid = new ConcurrentHashMap<>(INITIAL_SIZE);
-            mailboxByUid.put(id, membershipByUid);
-        }
-        return membershipByUid;
+    private InMemoryMailboxMessages getMembershipByUidForId(InMemoryId id) {
+        return mailboxByUid.computeIfAbsent(id, any -> new InMemoryMailboxMessages());
+    }
+
+    @Override
+    public boolean supportsConcurrentReads() {
+        return true;
     }
 
     @Override
@@ -84,8 +82,8 @@ public class InMemoryMessageMapper extends AbstractMessageMapper {
         return countMessagesInMailbox(mailboxId);
     }
 
-    private int countMessagesInMailbox(MailboxId mailboxId) {
-        return getMembershipByUidForMailbox(mailboxId).size();
+    private long countMessagesInMailbox(MailboxId mailboxId) {
+        return getMembershipByUidForMailbox(mailboxId).count();
     }
 
     @Override
@@ -95,10 +93,7 @@ public class InMemoryMessageMapper extends AbstractMessageMapper {
     }
 
     private long countUnseenMessagesInMailbox(MailboxId mailboxId) {
-        return getMembershipByUidForMailbox(mailboxId).values()
-            .stream()
-            .filter(Predicate.not(MailboxMessage::isSeen))
-            .count();
+        return getMembershipByUidForMailbox(mailboxId).countUnseen();
     }
 
     @Override
@@ -117,65 +112,45 @@ public class InMemoryMessageMapper extends AbstractMessageMapper {
 
     @Override
     public Iterator<MailboxMessage> findInMailbox(Mailbox mailbox, MessageRange set, FetchType ftype, int max) {
-        List<MailboxMessage> results = new ArrayList<>(getMembershipByUidForMailbox(mailbox).values());
-        results.removeIf(mailboxMessage -> !set.includes(mailboxMessage.getUid()));
-        
-        Collections.sort(results);
-
-        if (max > 0 && results.size() > max) {
-            results = results.subList(0, max);
+        Stream<MailboxMessage> results = getMembershipByUidForMailbox(mailbox).inRange(set);
+        if (max > 0) {
+            results = results.limit(max);
         }
-        return results.iterator();
+        return results
+            .collect(ImmutableList.toImmutableList())
+            .iterator();
     }
 
     @Override
     public List<MessageUid> findRecentMessageUidsInMailbox(Mailbox mailbox) {
-        return getMembershipByUidForMailbox(mailbox).values()
-            .stream()
-            .filter(MailboxMessage::isRecent)
-            .map(MailboxMessage::getUid)
-            .sorted()
+        return getMembershipByUidForMailbox(mailbox).recentUids()
             .collect(ImmutableList.toImmutableList());
     }
 
     @Override
     public MessageUid findFirstUnseenMessageUid(Mailbox mailbox) {
-        List<MailboxMessage> memberships = new ArrayList<>(getMembershipByUidForMailbox(mailbox).values());
-        Collections.sort(memberships);
-        return memberships.stream()
-            .filter(Predicate.not(MailboxMessage::isSeen))
-            .findFirst()
-            .map(MailboxMessage::getUid)
+        return getMembershipByUidForMailbox(mailbox).firstUnseenUid()
             .orElse(null);
     }
 
     @Override
     public List<MessageUid> retrieveMessagesMarkedForDeletion(Mailbox mailbox, MessageRange messageRange) {
-        List<MessageUid> filteredResult = new ArrayList<>();
-
-        Iterator<MailboxMessage> it = findInMailbox(mailbox, messageRange, FetchType.METADATA, UNLIMITED);
-
-        while (it.hasNext()) {
-            MailboxMessage member = it.next();
-            if (member.isDeleted()) {
-                filteredResult.add(member.getUid());
-            }
-        }
-        return filteredResult;
+        return getMembershipByUidForMailbox(mailbox).deletedUids(messageRange)
+            .collect(ImmutableList.toImmutableList());
     }
 
     @Override
     public Map<MessageUid, MessageMetaData> deleteMessages(Mailbox mailbox, List<MessageUid> uids) {
-        return getMembershipByUidForMailbox(mailbox).values()
-            .stream()
-            .filter(message -> uids.contains(message.getUid()))
-            .peek(message -> delete(mailbox, message))
+        InMemoryMailboxMessages messages = getMembershipByUidForMailbox(mailbox);
+        return uids.stream()
+            .distinct()
+            .flatMap(uid -> messages.remove(uid).stream())
             .collect(ImmutableMap.toImmutableMap(MailboxMessage::getUid, MailboxMessage::metaData));
     }
 
     @Override
     public Flags getApplicableFlag(Mailbox mailbox) {
-        return new ApplicableFlagCalculator(getMembershipByUidForId((InMemoryId) mailbox.getMailboxId()).values())
+        return new ApplicableFlagCalculator(getMembershipByUidForId((InMemoryId) mailbox.getMailboxId()).all())
             .computeApplicableFlags();
     }
 
@@ -203,7 +178,7 @@ public class InMemoryMessageMapper extends AbstractMessageMapper {
         copy.setUid(message.getUid());
         copy.setModSeq(message.getModSeq());
         copy.setSaveDate(Date.from(clock.instant()));
-        getMembershipByUidForMailbox(mailbox).put(message.getUid(), copy);
+        getMembershipByUidForMailbox(mailbox).put(copy);
 
         return copy.metaData();
     }
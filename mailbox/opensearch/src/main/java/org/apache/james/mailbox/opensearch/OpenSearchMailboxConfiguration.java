@@ -23,10 +23,13 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
+import org.apache.james.backends.opensearch.BulkIndexingConfiguration;
 import org.apache.james.backends.opensearch.IndexName;
 import org.apache.james.backends.opensearch.ReadAliasName;
 import org.apache.james.backends.opensearch.WriteAliasName;
 import org.apache.james.mailbox.opensearch.json.MessageToOpenSearchJson.IndexUser;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.Size;
 
 public class OpenSearchMailboxConfiguration {
 
@@ -41,6 +44,7 @@ public class OpenSearchMailboxConfiguration {
         private Optional<Boolean> useQueryStringQuery;
         private Optional<IndexBody> indexBody;
         private Optional<IndexUser> indexUser;
+        private Optional<BulkIndexingConfiguration> bulkIndexing;
 
         Builder() {
             indexMailboxName = Optional.empty();
@@ -53,6 +57,7 @@ public class OpenSearchMailboxConfiguration {
             useQueryStringQuery = Optional.empty();
             indexBody = Optional.empty();
             indexUser = Optional.empty();
+            bulkIndexing = Optional.empty();
         }
 
         public Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -106,6 +111,11 @@ public class OpenSearchMailboxConfiguration {
             return this;
         }
 
+        public Builder bulkIndexing(Optional<BulkIndexingConfiguration> bulkIndexing) {
+            this.bulkIndexing = bulkIndexing;
+            return this;
+        }
+
         public OpenSearchMailboxConfiguration build() {
             return new OpenSearchMailboxConfiguration(
                 indexMailboxName.orElse(MailboxOpenSearchConstants.DEFAULT_MAILBOX_INDEX),
@@ -117,7 +127,8 @@ public class OpenSearchMailboxConfiguration {
                 textFuzzinessSearch.orElse(DEFAULT_TEXT_FUZZINESS_SEARCH),
                 useQueryStringQuery.orElse(DEFAULT_USE_SIMPLE_TEXT_QUERY),
                 indexBody.orElse(IndexBody.YES),
-                indexUser.orElse(IndexUser.NO));
+                indexUser.orElse(IndexUser.NO),
+                bulkIndexing);
         }
     }
 
@@ -138,6 +149,11 @@ public class OpenSearchMailboxConfiguration {
     private static final String OPENSEARCH_TEXT_STRING_QUERY = "opensearch.text.string.query";
     private static final String OPENSEARCH_INDEX_BODY = "opensearch.indexBody";
     private static final String OPENSEARCH_INDEX_USER = "opensearch.indexUser";
+    private static final String OPENSEARCH_BULK_ENABLED = "opensearch.indexer.bulk.enabled";
+    private static final String OPENSEARCH_BULK_MAX_OPERATIONS = "opensearch.indexer.bulk.max.operations";
+    private static final String OPENSEARCH_BULK_MAX_SIZE = "opensearch.indexer.bulk.max.size";
+    private static final String OPENSEARCH_BULK_MAX_DELAY = "opensearch.indexer.bulk.max.delay";
+    private static final String OPENSEARCH_BULK_MAX_RETRIES = "opensearch.indexer.bulk.max.retries";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
     private static final boolean DEFAULT_INDEX_HEADERS = true;
     public static final boolean DEFAULT_OPTIMIZE_MOVES = false;
@@ -145,6 +161,7 @@ public class OpenSearchMailboxConfiguration {
     public static final boolean DEFAULT_USE_SIMPLE_TEXT_QUERY = false;
     public static final boolean DEFAULT_INDEX_BODY = true;
     public static final boolean DEFAULT_INDEX_USER = false;
+    public static final boolean DEFAULT_BULK_ENABLED = false;
     public static final OpenSearchMailboxConfiguration DEFAULT_CONFIGURATION = builder().build();
 
     public static OpenSearchMailboxConfiguration fromProperties(Configuration configuration) {
@@ -159,6 +176,7 @@ public class OpenSearchMailboxConfiguration {
             .useQueryStringQuery(configuration.getBoolean(OPENSEARCH_TEXT_STRING_QUERY, null))
             .indexBody(provideIndexBody(configuration))
             .indexUser(provideIndexUser(configuration))
+            .bulkIndexing(provideBulkIndexing(configuration))
             .build();
     }
 
@@ -211,6 +229,21 @@ public class OpenSearchMailboxConfiguration {
         return IndexUser.NO;
     }
 
+    static Optional<BulkIndexingConfiguration> provideBulkIndexing(Configuration configuration) {
+        if (!configuration.getBoolean(OPENSEARCH_BULK_ENABLED, DEFAULT_BULK_ENABLED)) {
+            return Optional.empty();
+        }
+        return Optional.of(BulkIndexingConfiguration.builder()
+            .maxOperations(Optional.ofNullable(configuration.getInteger(OPENSEARCH_BULK_MAX_OPERATIONS, null)))
+            .maxBytes(Optional.ofNullable(configuration.getString(OPENSEARCH_BULK_MAX_SIZE, null))
+                .map(Size::parse)
+                .map(Size::asBytes))
+            .maxDelay(Optional.ofNullable(configuration.getString(OPENSEARCH_BULK_MAX_DELAY, null))
+                .map(DurationParser::parse))
+            .maxRetries(Optional.ofNullable(configuration.getInteger(OPENSEARCH_BULK_MAX_RETRIES, null)))
+            .build());
+    }
+
     private final IndexName indexMailboxName;
     private final ReadAliasName readAliasMailboxName;
     private final WriteAliasName writeAliasMailboxName;
@@ -221,11 +254,12 @@ public class OpenSearchMailboxConfiguration {
     private final boolean useQueryStringQuery;
     private final IndexBody indexBody;
     private final IndexUser indexUser;
+    private final Optional<BulkIndexingConfiguration> bulkIndexing;
 
     private OpenSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
                                            WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
                                            IndexHeaders indexHeaders, boolean optimiseMoves, boolean textFuzzinessSearch, boolean useSimpleTextQuery,
-                                           IndexBody indexBody, IndexUser indexUser) {
+                                           IndexBody indexBody, IndexUser indexUser, Optional<BulkIndexingConfiguration> bulkIndexing) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
@@ -236,6 +270,7 @@ public class OpenSearchMailboxConfiguration {
         this.useQueryStringQuery = useSimpleTextQuery;
         this.indexBody = indexBody;
         this.indexUser = indexUser;
+        this.bulkIndexing = bulkIndexing;
     }
 
     public IndexName getIndexMailboxName() {
@@ -278,6 +313,10 @@ public class OpenSearchMailboxConfiguration {
         return useQueryStringQuery;
     }
 
+    public Optional<BulkIndexingConfiguration> getBulkIndexing() {
+        return bulkIndexing;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof OpenSearchMailboxConfiguration) {
@@ -292,7 +331,8 @@ public class OpenSearchMailboxConfiguration {
                 && Objects.equals(this.useQueryStringQuery, that.useQueryStringQuery)
                 && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
                 && Objects.equals(this.indexBody, that.indexBody)
-                && Objects.equals(this.indexUser, that.indexUser);
+                && Objects.equals(this.indexUser, that.indexUser)
+                && Objects.equals(this.bulkIndexing, that.bulkIndexing);
         }
         return false;
     }
@@ -300,6 +340,6 @@ public class OpenSearchMailboxConfiguration {
     @Override
     public final int hashCode() {
         return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, indexHeaders,
-            writeAliasMailboxName, optimiseMoves, textFuzzinessSearch, useQueryStringQuery, indexBody, indexUser);
+            writeAliasMailboxName, optimiseMoves, textFuzzinessSearch, useQueryStringQuery, indexBody, indexUser, bulkIndexing);
     }
 }
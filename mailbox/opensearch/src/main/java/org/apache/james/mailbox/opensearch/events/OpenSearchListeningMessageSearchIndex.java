@@ -36,11 +36,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.mail.Flags;
 
 import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.OpenSearchBulkIndexer;
 import org.apache.james.backends.opensearch.OpenSearchIndexer;
 import org.apache.james.backends.opensearch.RoutingKey;
 import org.apache.james.backends.opensearch.UpdatedRepresentation;
@@ -246,7 +248,10 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     private static final ImmutableList<String> MESSAGE_ID_FIELD = ImmutableList.of(MESSAGE_ID);
     private static final ImmutableList<String> UID_FIELD = ImmutableList.of(UID);
 
+    private static final int DOCUMENT_MISSING_STATUS = 404;
+
     private final OpenSearchIndexer openSearchIndexer;
+    private final Optional<OpenSearchBulkIndexer> bulkIndexer;
     private final OpenSearchSearcher searcher;
     private final MessageToOpenSearchJson messageToOpenSearchJson;
     private final RoutingKey.Factory<MailboxId> routingKeyFactory;
@@ -270,6 +275,8 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
         this.sessionProvider = sessionProvider;
         this.factory = factory;
         this.openSearchIndexer = indexer;
+        this.bulkIndexer = configuration.getBulkIndexing()
+            .map(bulkIndexingConfiguration -> new OpenSearchBulkIndexer(indexer, bulkIndexingConfiguration, metricFactory));
         this.messageToOpenSearchJson = messageToOpenSearchJson;
         this.searcher = searcher;
         this.routingKeyFactory = routingKeyFactory;
@@ -283,7 +290,13 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
         this.indexBody = configuration.getIndexBody();
         this.reIndexNotFoundMetric = metricFactory.generate("opensearch_reindex_not_found");
 
-        LOGGER.info("OpenSearchMessageSearchIndex activated with index strategy: {}", indexingStrategy.getClass().getSimpleName());
+        LOGGER.info("OpenSearchMessageSearchIndex activated with index strategy: {}, bulk indexing: {}",
+            indexingStrategy.getClass().getSimpleName(), configuration.getBulkIndexing().map(Object::toString).orElse("disabled"));
+    }
+
+    @PreDestroy
+    public void close() {
+        bulkIndexer.ifPresent(OpenSearchBulkIndexer::close);
     }
 
     @Override
@@ -389,8 +402,9 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     private Mono<Void> add(MailboxId mailboxId, MessageUid messageUid, String jsonContent) {
         RoutingKey from = routingKeyFactory.from(mailboxId);
         DocumentId id = indexIdFor(mailboxId, messageUid);
-        return openSearchIndexer.index(id, jsonContent, from)
-            .then();
+        return bulkIndexer.map(bulk -> bulk.index(id, jsonContent, from))
+            .orElseGet(() -> openSearchIndexer.index(id, jsonContent, from)
+                .then());
     }
 
     private Mono<String> generateIndexedJson(Mailbox mailbox, MailboxMessage message, MailboxSession session) {
@@ -408,6 +422,12 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
 
     @Override
     public Mono<Void> delete(MailboxSession session, MailboxId mailboxId, Collection<MessageUid> expungedUids) {
+        if (bulkIndexer.isPresent()) {
+            RoutingKey routingKey = routingKeyFactory.from(mailboxId);
+            return Flux.fromIterable(expungedUids)
+                .flatMap(uid -> bulkIndexer.get().delete(indexIdFor(mailboxId, uid), routingKey))
+                .then();
+        }
         return openSearchIndexer
             .delete(expungedUids.stream()
                 .map(uid ->  indexIdFor(mailboxId, uid))
@@ -430,10 +450,24 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     public Mono<Void> update(MailboxSession session, MailboxId mailboxId, List<UpdatedFlags> updatedFlagsList) {
         RoutingKey routingKey = routingKeyFactory.from(mailboxId);
 
-        return Flux.fromIterable(updatedFlagsList)
+        Flux<UpdatedRepresentation> updatedRepresentations = Flux.fromIterable(updatedFlagsList)
             .map(Throwing.<UpdatedFlags, UpdatedRepresentation>function(
                 updatedFlags -> createUpdatedDocumentPartFromUpdatedFlags(mailboxId, updatedFlags))
-                .sneakyThrow())
+                .sneakyThrow());
+
+        if (bulkIndexer.isPresent()) {
+            // Like the plain bulk update, flags updates on messages not indexed yet are ignored
+            return updatedRepresentations
+                .flatMap(update -> bulkIndexer.get().update(update, routingKey)
+                    .onErrorResume(OpenSearchBulkIndexer.BulkItemFailureException.class, e -> {
+                        if (e.getStatus() == DOCUMENT_MISSING_STATUS) {
+                            return Mono.empty();
+                        }
+                        return Mono.error(e);
+                    }))
+                .then();
+        }
+        return updatedRepresentations
             .window(FLAGS_UPDATE_PROCESSING_WINDOW_SIZE)
             .concatMap(flux -> flux.collect(toImmutableList())
                 .flatMap(updates -> openSearchIndexer.update(updates, routingKey)))
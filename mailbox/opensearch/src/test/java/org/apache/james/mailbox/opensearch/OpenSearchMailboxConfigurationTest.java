@@ -21,7 +21,10 @@ package org.apache.james.mailbox.opensearch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.backends.opensearch.BulkIndexingConfiguration;
 import org.apache.james.backends.opensearch.IndexName;
 import org.apache.james.backends.opensearch.ReadAliasName;
 import org.apache.james.backends.opensearch.WriteAliasName;
@@ -284,4 +287,39 @@ class OpenSearchMailboxConfigurationTest {
         assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).textFuzzinessSearchEnable())
             .isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void bulkIndexingShouldBeDisabledByDefault() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIndexing())
+            .isEmpty();
+    }
+
+    @Test
+    void bulkIndexingShouldUseDefaultValuesWhenOnlyEnabled() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.indexer.bulk.enabled", true);
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIndexing())
+            .contains(BulkIndexingConfiguration.DEFAULT);
+    }
+
+    @Test
+    void bulkIndexingShouldReturnConfiguredValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.indexer.bulk.enabled", true);
+        configuration.addProperty("opensearch.indexer.bulk.max.operations", 100);
+        configuration.addProperty("opensearch.indexer.bulk.max.size", "1M");
+        configuration.addProperty("opensearch.indexer.bulk.max.delay", "50ms");
+        configuration.addProperty("opensearch.indexer.bulk.max.retries", 5);
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIndexing())
+            .contains(BulkIndexingConfiguration.builder()
+                .maxOperations(100)
+                .maxBytes(1024 * 1024)
+                .maxDelay(Duration.ofMillis(50))
+                .maxRetries(5)
+                .build());
+    }
+}
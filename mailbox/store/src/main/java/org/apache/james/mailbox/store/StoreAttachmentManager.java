@@ -126,4 +126,15 @@ public class StoreAttachmentManager implements AttachmentManager {
                     return attachmentMapperFactory.getAttachmentMapper(mailboxSession).loadAttachmentContentReactive(attachmentId);
                 });
     }
+
+    @Override
+    public Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, MailboxSession mailboxSession, long offset, long length) {
+        return existsReactive(attachmentId, mailboxSession)
+            .flatMap(exist -> {
+                    if (!exist) {
+                        return Mono.error(new AttachmentNotFoundException(attachmentId.getId()));
+                    }
+                    return attachmentMapperFactory.getAttachmentMapper(mailboxSession).loadAttachmentContentReactive(attachmentId, offset, length);
+                });
+    }
 }
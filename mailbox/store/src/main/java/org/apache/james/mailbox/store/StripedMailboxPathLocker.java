@@ -0,0 +1,227 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Inject;
+
+import org.apache.james.mailbox.MailboxPathLocker;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
+import org.reactivestreams.Publisher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * {@link MailboxPathLocker} implementation relying on a fixed set of asynchronous read-write locks, the lock
+ * used for a {@link MailboxPath} being chosen according to its hash.
+ *
+ * Unlike {@link JVMMailboxPathLocker}, waiting for a lock does not hold any thread: reactive executions are
+ * subscribed once the lock is granted. Locks are granted in FIFO order so that writers do not starve.
+ *
+ * Locks are not reentrant. Like with other lockers, only usable in a single JVM.
+ */
+public final class StripedMailboxPathLocker implements MailboxPathLocker {
+    public static final int DEFAULT_STRIPES = 1024;
+    public static final String LOCK_WAIT_METRIC_PREFIX = "mailboxPathLockWait:";
+
+    private final MetricFactory metricFactory;
+    private final AsyncReadWriteLock[] stripes;
+
+    @Inject
+    public StripedMailboxPathLocker(MetricFactory metricFactory) {
+        this(metricFactory, DEFAULT_STRIPES);
+    }
+
+    public StripedMailboxPathLocker(MetricFactory metricFactory, int stripeCount) {
+        Preconditions.checkArgument(stripeCount > 0 && Integer.bitCount(stripeCount) == 1, "'stripeCount' needs to be a strictly positive power of 2");
+        this.metricFactory = metricFactory;
+        this.stripes = new AsyncReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AsyncReadWriteLock();
+        }
+    }
+
+    @Override
+    public <T> T executeWithLock(MailboxPath path, LockAwareExecution<T> execution, LockType lockType) throws MailboxException {
+        AsyncReadWriteLock lock = stripe(path);
+        acquire(lock, lockType).toFuture().join();
+        try {
+            return execution.execute();
+        } finally {
+            lock.release(lockType);
+        }
+    }
+
+    @Override
+    public <T> Publisher<T> executeReactiveWithLockReactive(MailboxPath path, Publisher<T> execution, LockType lockType) {
+        AsyncReadWriteLock lock = stripe(path);
+        return Flux.usingWhen(acquire(lock, lockType).thenReturn(lock),
+            any -> execution,
+            any -> Mono.fromRunnable(() -> lock.release(lockType)));
+    }
+
+    private Mono<Void> acquire(AsyncReadWriteLock lock, LockType lockType) {
+        return Mono.defer(() -> {
+            TimeMetric timeMetric = metricFactory.timer(LOCK_WAIT_METRIC_PREFIX + lockType.name());
+            return lock.acquire(lockType)
+                .doOnSuccess(any -> timeMetric.stopAndPublish());
+        });
+    }
+
+    @VisibleForTesting
+    AsyncReadWriteLock stripe(MailboxPath path) {
+        int hash = path.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    @VisibleForTesting
+    static final class AsyncReadWriteLock {
+        private enum State {
+            WAITING,
+            GRANTED,
+            CANCELLED
+        }
+
+        private record Waiter(LockType lockType, MonoSink<Void> sink, AtomicReference<State> state) {
+            boolean grant() {
+                return state.compareAndSet(State.WAITING, State.GRANTED);
+            }
+
+            boolean cancel() {
+                return state.compareAndSet(State.WAITING, State.CANCELLED);
+            }
+        }
+
+        /**
+         * Waiters granted by the current thread, that it still needs to notify.
+         *
+         * Notifying a waiter runs its execution on the notifying thread, and a synchronous execution releases the
+         * lock before returning. Notifications are thus drained in a loop: a release happening while the thread is
+         * notifying waiters only queues the newly granted ones, instead of nesting their executions on the stack.
+         */
+        private static final ThreadLocal<Deque<Waiter>> PENDING_NOTIFICATIONS = new ThreadLocal<>();
+
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int readers = 0;
+        private boolean writing = false;
+
+        Mono<Void> acquire(LockType lockType) {
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(lockType, sink, new AtomicReference<>(State.WAITING));
+                sink.onCancel(() -> onCancel(waiter));
+                List<Waiter> granted;
+                synchronized (this) {
+                    waiters.addLast(waiter);
+                    granted = grantWaiters();
+                }
+                // Only the subscribing waiter can be granted here: it is notified right away as callers of
+                // executeWithLock block on this thread until they get the lock
+                granted.forEach(grantedWaiter -> grantedWaiter.sink().success());
+            });
+        }
+
+        void release(LockType lockType) {
+            List<Waiter> granted;
+            synchronized (this) {
+                switch (lockType) {
+                    case Read -> readers--;
+                    case Write -> writing = false;
+                }
+                granted = grantWaiters();
+            }
+            notifyGranted(granted);
+        }
+
+        synchronized boolean isFree() {
+            return readers == 0 && !writing && waiters.isEmpty();
+        }
+
+        private void onCancel(Waiter waiter) {
+            if (waiter.cancel()) {
+                List<Waiter> granted;
+                synchronized (this) {
+                    waiters.remove(waiter);
+                    granted = grantWaiters();
+                }
+                notifyGranted(granted);
+            } else {
+                // The lock was granted but the subscriber went away before being notified
+                release(waiter.lockType());
+            }
+        }
+
+        private static void notifyGranted(List<Waiter> granted) {
+            if (granted.isEmpty()) {
+                return;
+            }
+            Deque<Waiter> pending = PENDING_NOTIFICATIONS.get();
+            if (pending != null) {
+                pending.addAll(granted);
+                return;
+            }
+            pending = new ArrayDeque<>(granted);
+            PENDING_NOTIFICATIONS.set(pending);
+            try {
+                Waiter grantedWaiter;
+                while ((grantedWaiter = pending.pollFirst()) != null) {
+                    grantedWaiter.sink().success();
+                }
+            } finally {
+                PENDING_NOTIFICATIONS.remove();
+            }
+        }
+
+        private List<Waiter> grantWaiters() {
+            List<Waiter> granted = new ArrayList<>();
+            while (!waiters.isEmpty()) {
+                Waiter head = waiters.peekFirst();
+                boolean available = switch (head.lockType()) {
+                    case Read -> !writing;
+                    case Write -> !writing && readers == 0;
+                };
+                if (!available) {
+                    break;
+                }
+                waiters.pollFirst();
+                if (head.grant()) {
+                    switch (head.lockType()) {
+                        case Read -> readers++;
+                        case Write -> writing = true;
+                    }
+                    granted.add(head);
+                }
+            }
+            return granted;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.AttachmentId;
@@ -33,6 +34,9 @@ import org.apache.james.mailbox.model.ParsedAttachment;
 import org.apache.james.mailbox.store.transaction.Mapper;
 import org.apache.james.util.ReactorUtils;
 
+import com.github.fge.lambdas.Throwing;
+import com.google.common.io.ByteStreams;
+
 import reactor.core.publisher.Mono;
 
 public interface AttachmentMapper extends Mapper {
@@ -44,6 +48,19 @@ public interface AttachmentMapper extends Mapper {
             .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER);
     }
 
+    /**
+     * Loads at most length bytes of an attachment content, starting at offset.
+     *
+     * Implementations backed by a blob store should rely on its ranged reads rather than reading the full content.
+     */
+    default Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length) {
+        return loadAttachmentContentReactive(attachmentId)
+            .map(Throwing.<InputStream, InputStream>function(stream -> {
+                IOUtils.skip(stream, offset);
+                return ByteStreams.limit(stream, length);
+            }).sneakyThrow());
+    }
+
     AttachmentMetadata getAttachment(AttachmentId attachmentId) throws AttachmentNotFoundException;
 
     default Mono<AttachmentMetadata> getAttachmentReactive(AttachmentId attachmentId) {
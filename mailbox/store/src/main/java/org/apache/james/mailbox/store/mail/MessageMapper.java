@@ -285,6 +285,15 @@ public interface MessageMapper extends Mapper {
      */
     Flux<MessageUid> listAllMessageUids(Mailbox mailbox);
 
+    /**
+     * Whether the {@link MailboxMessage}s returned by this mapper can be read from several threads concurrently.
+     *
+     * Defaults to false as messages might be loaded lazily through a session that is not thread safe.
+     */
+    default boolean supportsConcurrentReads() {
+        return false;
+    }
+
     /**
      * Specify what data needs to get filled in a {@link MailboxMessage} before returning it
      * 
@@ -0,0 +1,127 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.store.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.james.mailbox.model.AttachmentId;
+import org.apache.james.mailbox.model.AttachmentMetadata;
+import org.apache.james.mailbox.model.Header;
+import org.apache.james.mailbox.store.ResultUtils;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.apache.james.mime4j.dom.address.AddressList;
+import org.apache.james.mime4j.field.address.LenientAddressParser;
+import org.apache.james.mime4j.util.MimeUtil;
+
+import com.google.common.collect.ImmutableListMultimap;
+
+/**
+ * Lazily computed parts of a {@link MailboxMessage} that {@link MessageSearches} evaluates criteria against.
+ *
+ * Each feature is computed at most once, so that a query made of several criteria reading the same message (for
+ * instance the header and body criteria generated by a JMAP text filter) parses the message only once.
+ *
+ * Instances are bound to the evaluation of a single message and are not thread safe.
+ */
+final class MessageSearchFeatures {
+    private final MailboxMessage message;
+    private ImmutableListMultimap<String, String> headerValues;
+    private final Map<String, Optional<AddressList>> addressLists;
+    private final Map<AttachmentId, List<String>> attachmentTexts;
+    private byte[] fullContent;
+
+    MessageSearchFeatures(MailboxMessage message) {
+        this.message = message;
+        this.addressLists = new HashMap<>();
+        this.attachmentTexts = new HashMap<>();
+    }
+
+    MailboxMessage message() {
+        return message;
+    }
+
+    /**
+     * @return raw values of the headers with the given (case insensitive) name, in message order
+     */
+    List<String> headerValues(String headerName) throws IOException {
+        if (headerValues == null) {
+            ImmutableListMultimap.Builder<String, String> builder = ImmutableListMultimap.builder();
+            for (Header header : ResultUtils.createHeaders(message)) {
+                builder.put(normalize(header.getName()), header.getValue());
+            }
+            headerValues = builder.build();
+        }
+        return headerValues.get(normalize(headerName));
+    }
+
+    Optional<String> firstUnscrambledHeaderValue(String headerName) throws IOException {
+        return headerValues(headerName).stream()
+            .findFirst()
+            .map(MimeUtil::unscrambleHeaderValue);
+    }
+
+    /**
+     * @return the addresses held by the first header with the given name
+     */
+    Optional<AddressList> firstAddressList(String headerName) throws IOException {
+        String key = normalize(headerName);
+        Optional<AddressList> addressList = addressLists.get(key);
+        if (addressList == null) {
+            addressList = headerValues(headerName).stream()
+                .findFirst()
+                .map(LenientAddressParser.DEFAULT::parseAddressList);
+            addressLists.put(key, addressList);
+        }
+        return addressList;
+    }
+
+    InputStream fullContent() throws IOException {
+        if (fullContent == null) {
+            try (InputStream inputStream = message.getFullContent()) {
+                fullContent = inputStream.readAllBytes();
+            }
+        }
+        return new ByteArrayInputStream(fullContent);
+    }
+
+    /**
+     * Textual content of the attachments, extracted on demand: extraction stops as soon as the consumer is
+     * satisfied and already extracted attachments are not extracted again.
+     */
+    Stream<String> attachmentTexts(Function<AttachmentMetadata, List<String>> extractor) {
+        return message.getAttachments()
+            .stream()
+            .flatMap(attachment -> attachmentTexts.computeIfAbsent(attachment.getAttachmentId(),
+                any -> extractor.apply(attachment.getAttachment())).stream());
+    }
+
+    private static String normalize(String headerName) {
+        return headerName.toLowerCase(Locale.US);
+    }
+}
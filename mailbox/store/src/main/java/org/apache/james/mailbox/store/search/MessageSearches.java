@@ -26,13 +26,13 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.TimeZone;
-import java.util.stream.Stream;
 
 import jakarta.mail.Flags;
 
@@ -44,13 +44,11 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.UnsupportedSearchException;
 import org.apache.james.mailbox.extractor.TextExtractor;
 import org.apache.james.mailbox.model.AttachmentMetadata;
-import org.apache.james.mailbox.model.Header;
 import org.apache.james.mailbox.model.MessageAttachmentMetadata;
 import org.apache.james.mailbox.model.SearchQuery;
 import org.apache.james.mailbox.model.SearchQuery.AddressType;
 import org.apache.james.mailbox.model.SearchQuery.DateResolution;
 import org.apache.james.mailbox.model.SearchQuery.UidRange;
-import org.apache.james.mailbox.store.ResultUtils;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.comparator.CombinedComparator;
 import org.apache.james.mime4j.MimeException;
@@ -61,77 +59,164 @@ import org.apache.james.mime4j.dom.address.Mailbox;
 import org.apache.james.mime4j.dom.address.MailboxList;
 import org.apache.james.mime4j.dom.datetime.DateTime;
 import org.apache.james.mime4j.field.address.AddressFormatter;
-import org.apache.james.mime4j.field.address.LenientAddressParser;
 import org.apache.james.mime4j.field.datetime.parser.DateTimeParser;
 import org.apache.james.mime4j.field.datetime.parser.ParseException;
 import org.apache.james.mime4j.util.MimeUtil;
 import org.apache.james.mime4j.utils.search.MessageMatcher;
+import org.apache.james.util.ReactorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Utility methods to help perform search operations.
+ *
+ * Within a query, criteria are evaluated cheapest first (metadata, then headers, then content) and what is read from
+ * a message is parsed at most once (see {@link MessageSearchFeatures}).
+ *
+ * When the messages are supplied already sorted according to the query, results are computed lazily, allowing
+ * callers only interested in the first results to stop early.
  */
 public class MessageSearches implements Iterable<SimpleMessageSearchIndex.SearchResult> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageSearches.class);
 
+    private static final int METADATA_COST = 0;
+    private static final int HEADERS_COST = 1;
+    private static final int CONTENT_COST = 2;
+
     private final Iterator<MailboxMessage> messages;
     private final SearchQuery query;
     private final TextExtractor textExtractor;
     private final AttachmentContentLoader attachmentContentLoader;
     private final MailboxSession mailboxSession;
+    private final boolean messagesSorted;
 
     public MessageSearches(Iterator<MailboxMessage> messages, SearchQuery query, TextExtractor textExtractor, AttachmentContentLoader attachmentContentLoader, MailboxSession mailboxSession) {
+        this(messages, query, textExtractor, attachmentContentLoader, mailboxSession, false);
+    }
+
+    /**
+     * @param messagesSorted true if messages are already sorted according to the query sorts: results are then not
+     *                       sorted again and are computed lazily
+     */
+    public MessageSearches(Iterator<MailboxMessage> messages, SearchQuery query, TextExtractor textExtractor, AttachmentContentLoader attachmentContentLoader, MailboxSession mailboxSession, boolean messagesSorted) {
         this.messages = messages;
         this.query = query;
         this.textExtractor = textExtractor;
         this.attachmentContentLoader = attachmentContentLoader;
         this.mailboxSession = mailboxSession;
+        this.messagesSorted = messagesSorted;
     }
 
     @Override
     public Iterator<SimpleMessageSearchIndex.SearchResult> iterator() {
-        ImmutableList.Builder<MailboxMessage> builder = ImmutableList.builder();
-        while (messages.hasNext()) {
-            MailboxMessage m = messages.next();
-            try {
-                if (isMatch(m)) {
-                    builder.add(m);
-                }
-            } catch (MailboxException e) {
-                LOGGER.error("Unable to search message {}", m.getUid(), e);
-            }
+        List<SearchQuery.Criterion> criteria = criteria();
+        Iterator<MailboxMessage> matchingMessages = Iterators.filter(messages, message -> isMatchLoggingErrors(message, criteria));
+        if (messagesSorted) {
+            return Iterators.transform(matchingMessages, MessageSearches::asSearchResult);
         }
-        return builder.build()
-            .stream()
+        return Streams.stream(matchingMessages)
             .sorted(CombinedComparator.create(query.getSorts()))
-            .map(mailboxMessage -> new SimpleMessageSearchIndex.SearchResult(
-                Optional.of(mailboxMessage.getMessageId()),
-                mailboxMessage.getMailboxId(),
-                mailboxMessage.getUid()))
+            .map(MessageSearches::asSearchResult)
             .iterator();
     }
 
+    /**
+     * Evaluates messages concurrently, without blocking, while preserving their order.
+     *
+     * Only suitable for messages that can be read from several threads, see
+     * {@link org.apache.james.mailbox.store.mail.MessageMapper#supportsConcurrentReads()}.
+     */
+    public Flux<SimpleMessageSearchIndex.SearchResult> searchConcurrently() {
+        List<SearchQuery.Criterion> criteria = criteria();
+        Flux<MailboxMessage> matchingMessages = Flux.fromIterable(() -> messages)
+            .flatMapSequential(message -> Mono.just(message)
+                .filter(any -> isMatchLoggingErrors(message, criteria))
+                .subscribeOn(Schedulers.boundedElastic()), ReactorUtils.DEFAULT_CONCURRENCY);
+        if (messagesSorted) {
+            return matchingMessages.map(MessageSearches::asSearchResult);
+        }
+        return matchingMessages
+            .sort(CombinedComparator.create(query.getSorts()))
+            .map(MessageSearches::asSearchResult);
+    }
+
+    private List<SearchQuery.Criterion> criteria() {
+        return Optional.ofNullable(query.getCriteria())
+            .map(MessageSearches::cheapestFirst)
+            .orElse(ImmutableList.of());
+    }
+
+    private boolean isMatchLoggingErrors(MailboxMessage message, List<SearchQuery.Criterion> criteria) {
+        try {
+            return isMatch(message, criteria);
+        } catch (MailboxException e) {
+            LOGGER.error("Unable to search message {}", message.getUid(), e);
+            return false;
+        }
+    }
+
+    private static SimpleMessageSearchIndex.SearchResult asSearchResult(MailboxMessage mailboxMessage) {
+        return new SimpleMessageSearchIndex.SearchResult(
+            Optional.of(mailboxMessage.getMessageId()),
+            mailboxMessage.getMailboxId(),
+            mailboxMessage.getUid());
+    }
+
+    /**
+     * Orders criteria so that the ones that can be evaluated without reading the message are evaluated first.
+     * As criteria have no side effects, this does not change the result of conjunctions.
+     */
+    private static List<SearchQuery.Criterion> cheapestFirst(List<SearchQuery.Criterion> criteria) {
+        return criteria.stream()
+            .sorted(Comparator.comparingInt(MessageSearches::cost))
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private static int cost(SearchQuery.Criterion criterion) {
+        if (criterion instanceof SearchQuery.ConjunctionCriterion conjunctionCriterion) {
+            return conjunctionCriterion.getCriteria()
+                .stream()
+                .mapToInt(MessageSearches::cost)
+                .max()
+                .orElse(METADATA_COST);
+        }
+        if (criterion instanceof SearchQuery.TextCriterion) {
+            return CONTENT_COST;
+        }
+        if (criterion instanceof SearchQuery.HeaderCriterion
+            || criterion instanceof SearchQuery.MimeMessageIDCriterion
+            || criterion instanceof SearchQuery.SubjectCriterion) {
+            return HEADERS_COST;
+        }
+        return METADATA_COST;
+    }
+
     /**
      * Does the row match the given criteria?
      *
      * @param message
      *            <code>MailboxMessage</code>, not null
+     * @param criteria
+     *            criteria of the query, cheapest first
      * @return <code>true</code> if the row matches the given criteria,
      *         <code>false</code> otherwise
      */
-    private boolean isMatch(MailboxMessage message) throws MailboxException {
-        final List<SearchQuery.Criterion> criteria = query.getCriteria();
+    private boolean isMatch(MailboxMessage message, List<SearchQuery.Criterion> criteria) throws MailboxException {
         final Collection<MessageUid> recentMessageUids = query.getRecentMessageUids();
-        if (criteria != null) {
-            for (SearchQuery.Criterion criterion : criteria) {
-                if (!isMatch(criterion, message, recentMessageUids)) {
-                    return false;
-                }
+        MessageSearchFeatures features = new MessageSearchFeatures(message);
+        for (SearchQuery.Criterion criterion : criteria) {
+            if (!isMatch(criterion, features, recentMessageUids)) {
+                return false;
             }
         }
         return true;
@@ -151,13 +236,19 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
      */
     public boolean isMatch(SearchQuery.Criterion criterion, MailboxMessage message,
             final Collection<MessageUid> recentMessageUids) throws MailboxException {
+        return isMatch(criterion, new MessageSearchFeatures(message), recentMessageUids);
+    }
+
+    private boolean isMatch(SearchQuery.Criterion criterion, MessageSearchFeatures features,
+            final Collection<MessageUid> recentMessageUids) throws MailboxException {
+        MailboxMessage message = features.message();
         if (criterion instanceof SearchQuery.InternalDateCriterion) {
             return matches((SearchQuery.InternalDateCriterion) criterion, message);
         } else if (criterion instanceof SearchQuery.SizeCriterion) {
             return matches((SearchQuery.SizeCriterion) criterion, message);
         } else if (criterion instanceof SearchQuery.HeaderCriterion) {
             try {
-                return matches((SearchQuery.HeaderCriterion) criterion, message);
+                return matches((SearchQuery.HeaderCriterion) criterion, features);
             } catch (IOException e) {
                 throw new MailboxException("Unable to search header", e);
             }
@@ -170,21 +261,21 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         } else if (criterion instanceof SearchQuery.CustomFlagCriterion) {
             return matches((SearchQuery.CustomFlagCriterion) criterion, message);
         } else if (criterion instanceof SearchQuery.TextCriterion) {
-            return matches((SearchQuery.TextCriterion) criterion, message);
+            return matches((SearchQuery.TextCriterion) criterion, features);
         } else if (criterion instanceof SearchQuery.AllCriterion) {
             return true;
         } else if (criterion instanceof SearchQuery.ConjunctionCriterion) {
-            return matches((SearchQuery.ConjunctionCriterion) criterion, message, recentMessageUids);
+            return matches((SearchQuery.ConjunctionCriterion) criterion, features, recentMessageUids);
         } else if (criterion instanceof SearchQuery.AttachmentCriterion) {
             return matches((SearchQuery.AttachmentCriterion) criterion, message);
         } else if (criterion instanceof SearchQuery.ModSeqCriterion) {
             return matches((SearchQuery.ModSeqCriterion) criterion, message);
         } else if (criterion instanceof SearchQuery.MimeMessageIDCriterion) {
             SearchQuery.MimeMessageIDCriterion mimeMessageIDCriterion = (SearchQuery.MimeMessageIDCriterion) criterion;
-            return isMatch(mimeMessageIDCriterion.asHeaderCriterion(), message, recentMessageUids);
+            return isMatch(mimeMessageIDCriterion.asHeaderCriterion(), features, recentMessageUids);
         } else if (criterion instanceof SearchQuery.SubjectCriterion) {
             SearchQuery.SubjectCriterion subjectCriterion = (SearchQuery.SubjectCriterion) criterion;
-            return isMatch(subjectCriterion.asHeaderCriterion(), message, recentMessageUids);
+            return isMatch(subjectCriterion.asHeaderCriterion(), features, recentMessageUids);
         } else if (criterion instanceof SearchQuery.ThreadIdCriterion) {
             SearchQuery.ThreadIdCriterion threadIdCriterion = (SearchQuery.ThreadIdCriterion) criterion;
             return matches(threadIdCriterion, message);
@@ -195,20 +286,20 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         }
     }
 
-    private boolean matches(SearchQuery.TextCriterion criterion, MailboxMessage message)
+    private boolean matches(SearchQuery.TextCriterion criterion, MessageSearchFeatures features)
             throws MailboxException {
         try {
             final SearchQuery.ContainsOperator operator = criterion.getOperator();
             final String value = operator.getValue();
             switch (criterion.getType()) {
             case BODY:
-                return bodyContains(value, message);
+                return bodyContains(value, features);
             case FULL:
-                return messageContains(value, message);
+                return messageContains(value, features);
             case ATTACHMENTS:
-                return attachmentsContain(value, message);
+                return attachmentsContain(value, features);
             case ATTACHMENT_FILE_NAME:
-                return hasFileName(value, message);
+                return hasFileName(value, features.message());
             }
             throw new UnsupportedSearchException();
         } catch (IOException | MimeException e) {
@@ -216,8 +307,8 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         }
     }
 
-    private boolean bodyContains(String value, MailboxMessage message) throws IOException, MimeException {
-        final InputStream input = message.getFullContent();
+    private boolean bodyContains(String value, MessageSearchFeatures features) throws IOException, MimeException {
+        final InputStream input = features.fullContent();
         return isInMessage(value, input, false);
     }
 
@@ -231,14 +322,14 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
             .messageMatches(input);
     }
 
-    private boolean messageContains(String value, MailboxMessage message) throws IOException, MimeException {
-        final InputStream input = message.getFullContent();
+    private boolean messageContains(String value, MessageSearchFeatures features) throws IOException, MimeException {
+        final InputStream input = features.fullContent();
         return isInMessage(value, input, true);
     }
 
-    private boolean attachmentsContain(String value, MailboxMessage message) throws IOException, MimeException {
-        List<MessageAttachmentMetadata> attachments = message.getAttachments();
-        return isInAttachments(value, attachments);
+    private boolean attachmentsContain(String value, MessageSearchFeatures features) {
+        return features.attachmentTexts(attachment -> toAttachmentContent(attachment, mailboxSession))
+            .anyMatch(string -> string.contains(value));
     }
 
     private boolean hasFileName(String value, MailboxMessage message) throws IOException, MimeException {
@@ -248,46 +339,40 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
             .anyMatch(nameOptional -> nameOptional.map(value::equals).orElse(false));
     }
 
-    private boolean isInAttachments(String value, List<MessageAttachmentMetadata> attachments) {
-        return attachments.stream()
-            .map(MessageAttachmentMetadata::getAttachment)
-            .flatMap(attachment -> toAttachmentContent(attachment, mailboxSession))
-            .anyMatch(string -> string.contains(value));
-    }
-
-    private Stream<String> toAttachmentContent(AttachmentMetadata attachment, MailboxSession mailboxSession) {
+    private List<String> toAttachmentContent(AttachmentMetadata attachment, MailboxSession mailboxSession) {
         try (InputStream rawData = attachmentContentLoader.load(attachment, mailboxSession)) {
             return textExtractor
                     .extractContent(
                         rawData,
                         attachment.getType())
                     .getTextualContent()
-                    .stream();
+                    .stream()
+                    .collect(ImmutableList.toImmutableList());
         } catch (Exception e) {
             LOGGER.error("Error while parsing attachment content", e);
-            return Stream.of();
+            return ImmutableList.of();
         }
     }
     
-    private boolean matches(SearchQuery.ConjunctionCriterion criterion, MailboxMessage message,
+    private boolean matches(SearchQuery.ConjunctionCriterion criterion, MessageSearchFeatures features,
             final Collection<MessageUid> recentMessageUids) throws MailboxException {
-        final List<SearchQuery.Criterion> criteria = criterion.getCriteria();
+        final List<SearchQuery.Criterion> criteria = cheapestFirst(criterion.getCriteria());
         switch (criterion.getType()) {
         case NOR:
-            return nor(criteria, message, recentMessageUids);
+            return nor(criteria, features, recentMessageUids);
         case OR:
-            return or(criteria, message, recentMessageUids);
+            return or(criteria, features, recentMessageUids);
         case AND:
-            return and(criteria, message, recentMessageUids);
+            return and(criteria, features, recentMessageUids);
         default:
             return false;
         }
     }
 
-    private boolean and(List<SearchQuery.Criterion> criteria, MailboxMessage message,
+    private boolean and(List<SearchQuery.Criterion> criteria, MessageSearchFeatures features,
                         Collection<MessageUid> recentMessageUids) throws MailboxException {
         for (SearchQuery.Criterion criterion : criteria) {
-            boolean matches = isMatch(criterion, message, recentMessageUids);
+            boolean matches = isMatch(criterion, features, recentMessageUids);
             if (!matches) {
                 return false;
             }
@@ -295,10 +380,10 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         return true;
     }
 
-    private boolean or(List<SearchQuery.Criterion> criteria, MailboxMessage message,
+    private boolean or(List<SearchQuery.Criterion> criteria, MessageSearchFeatures features,
                        Collection<MessageUid> recentMessageUids) throws MailboxException {
         for (SearchQuery.Criterion criterion : criteria) {
-            boolean matches = isMatch(criterion, message, recentMessageUids);
+            boolean matches = isMatch(criterion, features, recentMessageUids);
             if (matches) {
                 return true;
             }
@@ -306,10 +391,10 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         return false;
     }
 
-    private boolean nor(List<SearchQuery.Criterion> criteria, MailboxMessage message,
+    private boolean nor(List<SearchQuery.Criterion> criteria, MessageSearchFeatures features,
                         Collection<MessageUid> recentMessageUids) throws MailboxException {
         for (SearchQuery.Criterion criterion : criteria) {
-            boolean matches = isMatch(criterion, message, recentMessageUids);
+            boolean matches = isMatch(criterion, features, recentMessageUids);
             if (matches) {
                 return false;
             }
@@ -355,18 +440,18 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
             .anyMatch(numericRange -> numericRange.isIn(uid));
     }
 
-    private boolean matches(SearchQuery.HeaderCriterion criterion, MailboxMessage message)
+    private boolean matches(SearchQuery.HeaderCriterion criterion, MessageSearchFeatures features)
             throws MailboxException, IOException {
         SearchQuery.HeaderOperator operator = criterion.getOperator();
         String headerName = criterion.getHeaderName();
         if (operator instanceof SearchQuery.DateOperator) {
-            return matches((SearchQuery.DateOperator) operator, headerName, message);
+            return matches((SearchQuery.DateOperator) operator, headerName, features);
         } else if (operator instanceof SearchQuery.ContainsOperator) {
-            return matches((SearchQuery.ContainsOperator) operator, headerName, message);
+            return matches((SearchQuery.ContainsOperator) operator, headerName, features);
         } else if (operator instanceof SearchQuery.ExistsOperator) {
-            return exists(headerName, message);
+            return exists(headerName, features);
         } else if (operator instanceof SearchQuery.AddressOperator) {
-            return matchesAddress((SearchQuery.AddressOperator) operator, headerName, message);
+            return matchesAddress((SearchQuery.AddressOperator) operator, headerName, features);
         } else {
             throw new UnsupportedSearchException();
         }
@@ -377,23 +462,17 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
      * @return containsAddress
      */
     private boolean matchesAddress(SearchQuery.AddressOperator operator, String headerName,
-                                   MailboxMessage message) throws MailboxException, IOException {
+                                   MessageSearchFeatures features) throws IOException {
         String text = operator.getAddress();
-        List<Header> headers = ResultUtils.createHeaders(message);
-        for (Header header : headers) {
-            String name = header.getName();
-            if (headerName.equalsIgnoreCase(name)) {
-                String value = header.getValue();
-                AddressList addressList = LenientAddressParser.DEFAULT.parseAddressList(value);
-                if (matchesAddress(addressList, text)) {
-                    return true;
-                }
-
-                // Also try to match against raw header now
-                return value.toUpperCase(Locale.US).contains(text.toUpperCase(Locale.US));
-            }
+        Optional<String> value = features.headerValues(headerName).stream().findFirst();
+        if (value.isEmpty()) {
+            return false;
         }
-        return false;
+        if (features.firstAddressList(headerName).map(addressList -> matchesAddress(addressList, text)).orElse(false)) {
+            return true;
+        }
+        // Also try to match against raw header now
+        return value.get().toUpperCase(Locale.US).contains(text.toUpperCase(Locale.US));
     }
 
     private boolean matchesAddress(AddressList addressList, String valueToMatch) {
@@ -426,39 +505,31 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
             AddressFormatter.DEFAULT.encode(mailbox));
     }
 
-    private boolean exists(String headerName, MailboxMessage message) throws MailboxException, IOException {
-        List<Header> headers = ResultUtils.createHeaders(message);
-
-        return headers.stream()
-            .map(Header::getName)
-            .anyMatch(headerName::equalsIgnoreCase);
+    private boolean exists(String headerName, MessageSearchFeatures features) throws IOException {
+        return !features.headerValues(headerName).isEmpty();
     }
 
     private boolean matches(SearchQuery.ContainsOperator operator, String headerName,
-            MailboxMessage message) throws MailboxException, IOException {
+            MessageSearchFeatures features) throws IOException {
         String text = operator.getValue().toUpperCase(Locale.US);
-        List<Header> headers = ResultUtils.createHeaders(message);
-        for (Header header : headers) {
-            String name = header.getName();
-            if (headerName.equalsIgnoreCase(name)) {
-                String value = MimeUtil.unscrambleHeaderValue(header.getValue());
-                if (value != null) {
-                    if (value.toUpperCase(Locale.US).contains(text)) {
-                        return true;
-                    }
+        for (String rawValue : features.headerValues(headerName)) {
+            String value = MimeUtil.unscrambleHeaderValue(rawValue);
+            if (value != null) {
+                if (value.toUpperCase(Locale.US).contains(text)) {
+                    return true;
                 }
             }
         }
         return false;
     }
 
-    private boolean matches(SearchQuery.DateOperator operator, String headerName, MailboxMessage message)
+    private boolean matches(SearchQuery.DateOperator operator, String headerName, MessageSearchFeatures features)
             throws MailboxException {
 
         Date date = operator.getDate();
         DateResolution res = operator.getDateResultion();
         try {
-            final String value = headerValue(headerName, message);
+            final String value = features.firstUnscrambledHeaderValue(headerName).orElse(null);
             if (value == null) {
                 return false;
             } else {
@@ -484,17 +555,6 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
         }
     }
 
-    private String headerValue(String headerName, MailboxMessage message) throws MailboxException, IOException {
-        List<Header> headers = ResultUtils.createHeaders(message);
-        for (Header header : headers) {
-            String name = header.getName();
-            if (headerName.equalsIgnoreCase(name)) {
-                return MimeUtil.unscrambleHeaderValue(header.getValue());
-            }
-        }
-        return null;
-    }
-
     private Date toISODate(String value) throws ParseException {
         StringReader reader = new StringReader(value);
         DateTime dateTime = new DateTimeParser(reader).parseAll();
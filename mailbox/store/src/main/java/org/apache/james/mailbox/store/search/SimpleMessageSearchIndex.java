@@ -227,10 +227,20 @@ public class SimpleMessageSearchIndex implements MessageSearchIndex {
                 .flatMapMany(Flux::fromStream)
                 .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER))
             .collectSortedList(CombinedComparator.create(query.getSorts()))
-            .flatMapMany(list -> Iterators.toFlux(new MessageSearches(list.iterator(), query, textExtractor, attachmentContentLoader, session).iterator()))
+            .flatMapMany(list -> search(new MessageSearches(list.iterator(), query, textExtractor, attachmentContentLoader, session, true), session))
             .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER);
     }
 
+    private Flux<SearchResult> search(MessageSearches messageSearches, MailboxSession session) {
+        return Mono.fromCallable(() -> messageMapperFactory.getMessageMapper(session).supportsConcurrentReads())
+            .flatMapMany(concurrentReads -> {
+                if (concurrentReads) {
+                    return messageSearches.searchConcurrently();
+                }
+                return Iterators.toFlux(messageSearches.iterator());
+            });
+    }
+
     private Stream<MailboxMessage> getSearchResultStream(MailboxSession session, SearchQuery query, Mailbox mailbox) {
         try {
             return searchResults(session, mailbox, query).stream();
@@ -0,0 +1,215 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxPathLocker;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.util.concurrency.ConcurrentTestRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+class StripedMailboxPathLockerTest {
+    private static final MailboxPath PATH = MailboxPath.inbox(Username.of("bob"));
+
+    private RecordingMetricFactory metricFactory;
+    private StripedMailboxPathLocker testee;
+
+    @BeforeEach
+    void setUp() {
+        metricFactory = new RecordingMetricFactory();
+        testee = new StripedMailboxPathLocker(metricFactory, 16);
+    }
+
+    @Test
+    void constructorShouldRejectStripeCountNotBeingAPowerOfTwo() {
+        assertThatThrownBy(() -> new StripedMailboxPathLocker(metricFactory, 12))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @RepeatedTest(20)
+    void writeLockShouldBeExclusive() throws Exception {
+        AtomicInteger concurrentExecutions = new AtomicInteger(0);
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+
+        ConcurrentTestRunner.builder()
+            .operation((a, b) -> Mono.from(testee.executeReactiveWithLockReactive(PATH,
+                    Mono.fromCallable(() -> {
+                        if (concurrentExecutions.incrementAndGet() > 1) {
+                            overlapped.set(true);
+                        }
+                        Thread.sleep(1);
+                        concurrentExecutions.decrementAndGet();
+                        return a;
+                    }).subscribeOn(Schedulers.boundedElastic()), MailboxPathLocker.LockType.Write))
+                .block())
+            .threadCount(20)
+            .operationCount(10)
+            .runSuccessfullyWithin(Duration.ofMinutes(1));
+
+        assertThat(overlapped.get()).isFalse();
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void readLocksShouldBeShared() {
+        Sinks.Empty<Void> firstReadRelease = Sinks.empty();
+        AtomicBoolean firstReadStarted = new AtomicBoolean(false);
+        Disposable firstRead = Mono.from(testee.executeReactiveWithLockReactive(PATH,
+                Mono.fromRunnable(() -> firstReadStarted.set(true)).then(firstReadRelease.asMono()), MailboxPathLocker.LockType.Read))
+            .subscribe();
+
+        assertThat(firstReadStarted.get()).isTrue();
+        assertThat(Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.just("second"), MailboxPathLocker.LockType.Read))
+            .block(Duration.ofSeconds(5)))
+            .isEqualTo("second");
+
+        firstReadRelease.tryEmitEmpty();
+        firstRead.dispose();
+    }
+
+    @Test
+    void writeShouldWaitForOngoingRead() {
+        Sinks.Empty<Void> readRelease = Sinks.empty();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, readRelease.asMono(), MailboxPathLocker.LockType.Read))
+            .subscribe();
+
+        AtomicBoolean written = new AtomicBoolean(false);
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.fromRunnable(() -> written.set(true)), MailboxPathLocker.LockType.Write))
+            .subscribe();
+
+        assertThat(written.get()).isFalse();
+
+        readRelease.tryEmitEmpty();
+
+        assertThat(written.get()).isTrue();
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void readShouldNotOvertakeQueuedWrite() {
+        Sinks.Empty<Void> readRelease = Sinks.empty();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, readRelease.asMono(), MailboxPathLocker.LockType.Read))
+            .subscribe();
+        Sinks.Empty<Void> writeRelease = Sinks.empty();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, writeRelease.asMono(), MailboxPathLocker.LockType.Write))
+            .subscribe();
+
+        AtomicBoolean secondRead = new AtomicBoolean(false);
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.fromRunnable(() -> secondRead.set(true)), MailboxPathLocker.LockType.Read))
+            .subscribe();
+        assertThat(secondRead.get()).isFalse();
+
+        readRelease.tryEmitEmpty();
+        assertThat(secondRead.get()).isFalse();
+
+        writeRelease.tryEmitEmpty();
+        assertThat(secondRead.get()).isTrue();
+    }
+
+    @Test
+    void releasingShouldNotNestTheExecutionsOfQueuedSynchronousWaiters() {
+        Sinks.Empty<Void> writeRelease = Sinks.empty();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, writeRelease.asMono(), MailboxPathLocker.LockType.Write))
+            .subscribe();
+
+        int queuedExecutions = 5000;
+        AtomicInteger executed = new AtomicInteger(0);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int i = 0; i < queuedExecutions; i++) {
+            Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.fromCallable(executed::incrementAndGet), MailboxPathLocker.LockType.Write))
+                .doOnError(error::set)
+                .subscribe();
+        }
+
+        writeRelease.tryEmitEmpty();
+
+        assertThat(error.get()).isNull();
+        assertThat(executed.get()).isEqualTo(queuedExecutions);
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void cancellingAWaitingExecutionShouldNotLeakTheLock() {
+        Sinks.Empty<Void> writeRelease = Sinks.empty();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, writeRelease.asMono(), MailboxPathLocker.LockType.Write))
+            .subscribe();
+
+        AtomicBoolean cancelledExecuted = new AtomicBoolean(false);
+        Disposable waiting = Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.fromRunnable(() -> cancelledExecuted.set(true)), MailboxPathLocker.LockType.Write))
+            .subscribe();
+        waiting.dispose();
+
+        writeRelease.tryEmitEmpty();
+
+        assertThat(cancelledExecuted.get()).isFalse();
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void lockShouldBeReleasedUponError() {
+        assertThatThrownBy(() -> Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.error(new RuntimeException()), MailboxPathLocker.LockType.Write))
+            .block())
+            .isInstanceOf(RuntimeException.class);
+
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void reactiveExecutionShouldReturnAllElements() {
+        assertThat(Flux.from(testee.executeReactiveWithLockReactive(PATH, Flux.just(1, 2, 3), MailboxPathLocker.LockType.Write))
+            .collectList()
+            .block())
+            .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void executeWithLockShouldReleaseTheLock() throws Exception {
+        assertThat(testee.executeWithLock(PATH, () -> "result", MailboxPathLocker.LockType.Write))
+            .isEqualTo("result");
+
+        assertThat(testee.stripe(PATH).isFree()).isTrue();
+    }
+
+    @Test
+    void lockWaitShouldBeRecorded() {
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.just(1), MailboxPathLocker.LockType.Write)).block();
+        Mono.from(testee.executeReactiveWithLockReactive(PATH, Mono.just(1), MailboxPathLocker.LockType.Read)).block();
+
+        assertThat(metricFactory.executionTimesFor(StripedMailboxPathLocker.LOCK_WAIT_METRIC_PREFIX + "Write")).hasSize(1);
+        assertThat(metricFactory.executionTimesFor(StripedMailboxPathLocker.LOCK_WAIT_METRIC_PREFIX + "Read")).hasSize(1);
+    }
+}
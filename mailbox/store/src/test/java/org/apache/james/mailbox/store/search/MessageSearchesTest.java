@@ -0,0 +1,174 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.mailbox.store.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.store.MessageBuilder;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+class MessageSearchesTest {
+    private static final int MESSAGE_COUNT = 300;
+
+    private static List<MailboxMessage> messages() {
+        return IntStream.rangeClosed(1, MESSAGE_COUNT)
+            .mapToObj(MessageSearchesTest::message)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private static MailboxMessage message(int uid) {
+        try {
+            MessageBuilder builder = new MessageBuilder()
+                .uid(MessageUid.of(uid))
+                .header("Subject", "message " + uid)
+                .body(("body " + uid + "\r\n").getBytes());
+            if (uid % 2 == 0) {
+                builder.flags(new Flags(Flags.Flag.SEEN));
+            }
+            return builder.build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<MessageUid> uids(Iterator<SimpleMessageSearchIndex.SearchResult> results) {
+        return Lists.newArrayList(Iterators.transform(results, SimpleMessageSearchIndex.SearchResult::getMessageUid));
+    }
+
+    @Test
+    void searchShouldReturnMatchingMessagesInOrderWhenMessagesAreSorted() {
+        SearchQuery query = SearchQuery.of(SearchQuery.flagIsSet(Flags.Flag.SEEN));
+
+        List<MessageUid> result = uids(new MessageSearches(messages().iterator(), query, null, null, null, true).iterator());
+
+        assertThat(result)
+            .hasSize(MESSAGE_COUNT / 2)
+            .isSortedAccordingTo(MessageUid::compareTo)
+            .allMatch(uid -> uid.asLong() % 2 == 0);
+    }
+
+    @Test
+    void searchShouldSortResultsWhenMessagesAreNotSorted() {
+        SearchQuery query = SearchQuery.builder()
+            .andCriteria(SearchQuery.flagIsSet(Flags.Flag.SEEN))
+            .sorts(new SearchQuery.Sort(SearchQuery.Sort.SortClause.Uid, SearchQuery.Sort.Order.REVERSE))
+            .build();
+
+        List<MessageUid> result = uids(new MessageSearches(messages().iterator(), query, null, null, null).iterator());
+
+        assertThat(result.get(0)).isEqualTo(MessageUid.of(MESSAGE_COUNT));
+        assertThat(result).hasSize(MESSAGE_COUNT / 2);
+    }
+
+    @Test
+    void searchConcurrentlyShouldReturnMatchingMessagesInOrderWhenMessagesAreSorted() {
+        SearchQuery query = SearchQuery.of(SearchQuery.headerContains("Subject", "message"), SearchQuery.flagIsSet(Flags.Flag.SEEN));
+
+        List<MessageUid> result = new MessageSearches(messages().iterator(), query, null, null, null, true)
+            .searchConcurrently()
+            .map(SimpleMessageSearchIndex.SearchResult::getMessageUid)
+            .collectList()
+            .block();
+
+        assertThat(result)
+            .hasSize(MESSAGE_COUNT / 2)
+            .isSortedAccordingTo(MessageUid::compareTo)
+            .allMatch(uid -> uid.asLong() % 2 == 0);
+    }
+
+    @Test
+    void searchConcurrentlyShouldSortResultsWhenMessagesAreNotSorted() {
+        SearchQuery query = SearchQuery.builder()
+            .andCriteria(SearchQuery.flagIsSet(Flags.Flag.SEEN))
+            .sorts(new SearchQuery.Sort(SearchQuery.Sort.SortClause.Uid, SearchQuery.Sort.Order.REVERSE))
+            .build();
+
+        List<MessageUid> result = new MessageSearches(messages().iterator(), query, null, null, null)
+            .searchConcurrently()
+            .map(SimpleMessageSearchIndex.SearchResult::getMessageUid)
+            .collectList()
+            .block();
+
+        assertThat(result.get(0)).isEqualTo(MessageUid.of(MESSAGE_COUNT));
+        assertThat(result).hasSize(MESSAGE_COUNT / 2);
+    }
+
+    @Test
+    void searchShouldNotEvaluateAllMessagesWhenOnlyFirstResultIsConsumed() {
+        AtomicInteger consumedMessages = new AtomicInteger(0);
+        Iterator<MailboxMessage> messages = Iterators.transform(messages().iterator(), message -> {
+            consumedMessages.incrementAndGet();
+            return message;
+        });
+
+        Iterator<SimpleMessageSearchIndex.SearchResult> results = new MessageSearches(messages,
+            SearchQuery.of(SearchQuery.headerContains("Subject", "message")), null, null, null, true)
+            .iterator();
+
+        assertThat(results.next().getMessageUid()).isEqualTo(MessageUid.of(1));
+        assertThat(consumedMessages.get()).isLessThan(MESSAGE_COUNT);
+    }
+
+    @Test
+    void searchShouldEvaluateCheapCriteriaBeforeReadingContent() throws Exception {
+        MailboxMessage unreadableMessage = spy(message(1));
+        doThrow(new IOException("content should not be read")).when(unreadableMessage).getFullContent();
+
+        SearchQuery query = SearchQuery.of(
+            SearchQuery.or(SearchQuery.bodyContains("body"), SearchQuery.headerContains("Subject", "message")),
+            SearchQuery.flagIsSet(Flags.Flag.SEEN));
+
+        assertThat(uids(new MessageSearches(ImmutableList.of(unreadableMessage, message(2)).iterator(), query, null, null, null, true).iterator()))
+            .containsExactly(MessageUid.of(2));
+    }
+
+    @Test
+    void searchShouldMatchSeveralCriteriaReadingTheSameHeaders() {
+        SearchQuery query = SearchQuery.of(
+            SearchQuery.headerContains("Subject", "message 1"),
+            SearchQuery.headerExists("subject"),
+            SearchQuery.bodyContains("body 1"),
+            SearchQuery.mailContains("message 1"));
+
+        List<MailboxMessage> messages = IntStream.rangeClosed(1, 12)
+            .mapToObj(MessageSearchesTest::message)
+            .collect(ImmutableList.toImmutableList());
+
+        assertThat(uids(new MessageSearches(messages.iterator(), query, null, null, null, true).iterator()))
+            .containsExactly(MessageUid.of(1), MessageUid.of(10), MessageUid.of(11), MessageUid.of(12));
+    }
+}
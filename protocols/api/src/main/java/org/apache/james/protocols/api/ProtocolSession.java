@@ -254,6 +254,15 @@ public interface ProtocolSession extends CommandDetectionSession {
      */
     void popLineHandler();
 
+    /**
+     * Hand the next <code>length</code> received bytes to the current {@link LineHandler} without line framing
+     *
+     * @see ProtocolTransport#readRawBytes(long)
+     */
+    default void readRawBytes(long length) {
+        throw new RuntimeException("Not supported");
+    }
+
     default void schedule(Runnable runnable, Duration waitDelay) {
         throw new RuntimeException("Not supported");
     }
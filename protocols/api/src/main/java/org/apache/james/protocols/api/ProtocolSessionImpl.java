@@ -238,6 +238,11 @@ public class ProtocolSessionImpl implements ProtocolSession {
         transport.pushLineHandler(overrideCommandHandler, this);
     }
 
+    @Override
+    public void readRawBytes(long length) {
+        transport.readRawBytes(length);
+    }
+
     @Override
     public void schedule(Runnable runnable, Duration waitDelay) {
         transport.schedule(runnable, waitDelay);
@@ -88,6 +88,14 @@ public interface ProtocolTransport {
      */
     void pushLineHandler(LineHandler<? extends ProtocolSession> overrideCommandHandler, ProtocolSession session);
     
+    /**
+     * Hand the next <code>length</code> received bytes to the current {@link LineHandler} as they arrive, without
+     * splitting them into lines. The {@link LineHandler} can then be called with buffers not ending with a line
+     * delimiter. Line framing resumes once <code>length</code> bytes were delivered.
+     */
+    default void readRawBytes(long length) {
+        throw new RuntimeException("Not supported");
+    }
     
     /**
      * Set the {@link ProtocolTransport} readable or not. If its not readable then no new lines should get processed
@@ -21,6 +21,7 @@ package org.apache.james.imap.api;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -43,6 +44,29 @@ public class ImapConfiguration {
     public static final int DEFAULT_CONCURRENT_REQUESTS = 128;
     public static final int DEFAULT_QUEUE_SIZE = 4096;
     public static final boolean DEFAULT_PROVISION_DEFAULT_MAILBOXES = true;
+    public static final UidMsnConverterMode DEFAULT_UID_MSN_CONVERTER_MODE = UidMsnConverterMode.SYNCHRONIZED;
+
+    /**
+     * How selected mailboxes keep track of their Message Sequence Number to UID mapping.
+     *
+     * SYNCHRONIZED stores each UID in a primitive list guarded by the selected mailbox monitor.
+     *
+     * RUN_LENGTH stores ranges of contiguous UIDs and serves lookups without locking. It saves heap and contention
+     * for mailboxes with mostly contiguous UIDs selected by many sessions, but a range costs 16 bytes against 4 bytes
+     * per UID for SYNCHRONIZED: mailboxes with sparse UIDs use more heap.
+     */
+    public enum UidMsnConverterMode {
+        SYNCHRONIZED,
+        RUN_LENGTH;
+
+        public static UidMsnConverterMode parse(String value) {
+            return switch (value.toLowerCase(Locale.US).trim()) {
+                case "synchronized" -> SYNCHRONIZED;
+                case "run-length", "run_length" -> RUN_LENGTH;
+                default -> throw new IllegalArgumentException("UidMsnConverterMode: unsupported value '" + value + "'");
+            };
+        }
+    }
 
     public static Builder builder() {
         return new Builder();
@@ -69,6 +93,7 @@ public class ImapConfiguration {
         private ImmutableSet<String> additionalConnectionChecks;
         private ImmutableList<String> adminUsers;
         private ImmutableMap<String, String> idFieldsResponse;
+        private Optional<UidMsnConverterMode> uidMsnConverterMode;
 
         private Builder() {
             this.appendLimit = Optional.empty();
@@ -84,6 +109,7 @@ public class ImapConfiguration {
             this.additionalConnectionChecks = ImmutableSet.of();
             this.idFieldsResponse = ImmutableMap.of();
             this.adminUsers = ImmutableList.of();
+            this.uidMsnConverterMode = Optional.empty();
         }
 
         public Builder idleTimeInterval(long idleTimeInterval) {
@@ -173,6 +199,11 @@ public class ImapConfiguration {
             return this;
         }
 
+        public Builder uidMsnConverterMode(UidMsnConverterMode uidMsnConverterMode) {
+            this.uidMsnConverterMode = Optional.of(uidMsnConverterMode);
+            return this;
+        }
+
         public ImapConfiguration build() {
             ImmutableSet<Capability> normalizeDisableCaps = disabledCaps.stream()
                 .filter(Builder::noBlankString)
@@ -193,7 +224,8 @@ public class ImapConfiguration {
                 customProperties.orElseGet(Properties::new),
                 additionalConnectionChecks,
                 adminUsers,
-                idFieldsResponse);
+                idFieldsResponse,
+                uidMsnConverterMode.orElse(DEFAULT_UID_MSN_CONVERTER_MODE));
         }
     }
 
@@ -210,6 +242,7 @@ public class ImapConfiguration {
     private final ImmutableSet<String> additionalConnectionChecks;
     private final List<String> adminUsers;
     private final ImmutableMap<String, String> idFieldsResponse;
+    private final UidMsnConverterMode uidMsnConverterMode;
 
     private ImapConfiguration(Optional<Long> appendLimit,
                               boolean enableIdle,
@@ -223,7 +256,8 @@ public class ImapConfiguration {
                               Properties customProperties,
                               ImmutableSet<String> additionalConnectionChecks,
                               List<String> adminUsers,
-                              ImmutableMap<String, String> idFieldsResponse) {
+                              ImmutableMap<String, String> idFieldsResponse,
+                              UidMsnConverterMode uidMsnConverterMode) {
         this.appendLimit = appendLimit;
         this.enableIdle = enableIdle;
         this.idleTimeInterval = idleTimeInterval;
@@ -237,6 +271,7 @@ public class ImapConfiguration {
         this.additionalConnectionChecks = additionalConnectionChecks;
         this.adminUsers = adminUsers;
         this.idFieldsResponse = idFieldsResponse;
+        this.uidMsnConverterMode = uidMsnConverterMode;
     }
 
     public Optional<Long> getAppendLimit() {
@@ -295,6 +330,10 @@ public class ImapConfiguration {
         return adminUsers;
     }
 
+    public UidMsnConverterMode getUidMsnConverterMode() {
+        return uidMsnConverterMode;
+    }
+
     @Override
     public final boolean equals(Object obj) {
         if (obj instanceof ImapConfiguration that) {
@@ -310,7 +349,8 @@ public class ImapConfiguration {
                 && Objects.equal(that.isCondstoreEnable(), isCondstoreEnable)
                 && Objects.equal(that.getAdditionalConnectionChecks(), additionalConnectionChecks)
                 && Objects.equal(that.getIdFieldsResponse(), idFieldsResponse)
-                && Objects.equal(that.getAdminUsers(), adminUsers);
+                && Objects.equal(that.getAdminUsers(), adminUsers)
+                && Objects.equal(that.getUidMsnConverterMode(), uidMsnConverterMode);
         }
         return false;
     }
@@ -319,7 +359,7 @@ public class ImapConfiguration {
     public final int hashCode() {
         return Objects.hashCode(enableIdle, idleTimeInterval, idleTimeIntervalUnit, disabledCaps, isCondstoreEnable,
             concurrentRequests, maxQueueSize, appendLimit, provisionDefaultMailboxes, customProperties, additionalConnectionChecks,
-            idFieldsResponse, adminUsers);
+            idFieldsResponse, adminUsers, uidMsnConverterMode);
     }
 
     @Override
@@ -338,6 +378,7 @@ public class ImapConfiguration {
                 .add("additionalConnectionChecks", additionalConnectionChecks)
                 .add("idFieldsResponse", idFieldsResponse)
                 .add("adminUsers", adminUsers)
+                .add("uidMsnConverterMode", uidMsnConverterMode)
                 .toString();
     }
 }
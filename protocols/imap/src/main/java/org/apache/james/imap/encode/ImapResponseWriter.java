@@ -20,6 +20,7 @@
 package org.apache.james.imap.encode;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.james.imap.message.Literal;
 
@@ -49,4 +50,26 @@ public interface ImapResponseWriter {
      */
     void write(byte[] buffer) throws IOException;
 
+    /**
+     * Write a slice of a byte[] to the client. The caller is free to reuse the
+     * array once this method returns.
+     *
+     * @param buffer
+     *            <code>byte array</code> holding the data to be written, not null
+     * @param offset
+     *            start of the data within the buffer
+     * @param length
+     *            length of the data
+     */
+    default void write(byte[] buffer, int offset, int length) throws IOException {
+        write(Arrays.copyOfRange(buffer, offset, offset + length));
+    }
+
+    /**
+     * Ensures previously written data is sent to the client. Implementations
+     * are free to buffer written data until then.
+     */
+    default void flush() throws IOException {
+
+    }
 }
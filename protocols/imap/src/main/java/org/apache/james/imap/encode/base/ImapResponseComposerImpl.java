@@ -95,8 +95,9 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
 
     @Override
     public ImapResponseComposer continuationResponse() throws IOException {
-        flush();
+        writeBuffer();
         writer.write(CONTINUATION_BYTES);
+        writer.flush();
         return this;
     }
 
@@ -140,14 +141,20 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
     public ImapResponseComposer end() throws IOException {
         buffer.write(LINE_END_BYTES);
         if (buffer.size() > FLUSH_BUFFER_SIZE) {
-            flush();
+            writeBuffer();
         }
         return this;
     }
 
+    @Override
     public void flush() throws IOException {
+        writeBuffer();
+        writer.flush();
+    }
+
+    private void writeBuffer() throws IOException {
         if (buffer.size() > 0) {
-            writer.write(buffer.toByteArray());
+            writer.write(buffer.internalBuffer(), 0, buffer.size());
             buffer.reset();
         }
     }
@@ -317,6 +324,7 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
         buffer.write(BYTE_CLOSE_BRACE);
         end();
         if (size > 0) {
+            writeBuffer();
             writer.write(literal);
         }
         return this;
@@ -33,6 +33,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.events.EventBus;
+import org.apache.james.imap.api.ImapConfiguration;
 import org.apache.james.imap.api.ImapConstants;
 import org.apache.james.imap.api.ImapMessage;
 import org.apache.james.imap.api.display.HumanReadableText;
@@ -52,6 +53,7 @@ import org.apache.james.imap.message.request.AbstractMailboxSelectionRequest.Cli
 import org.apache.james.imap.message.response.ExistsResponse;
 import org.apache.james.imap.message.response.RecentResponse;
 import org.apache.james.imap.processor.base.SelectedMailboxImpl;
+import org.apache.james.imap.processor.base.SharedMailboxRegistrations;
 import org.apache.james.mailbox.MailboxCounterCorrector;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
@@ -89,20 +91,33 @@ abstract class AbstractSelectionProcessor<R extends AbstractMailboxSelectionRequ
 
     private final PathConverter.Factory pathConverterFactory;
     private final boolean openReadOnly;
-    private final EventBus eventBus;
+    private final SharedMailboxRegistrations registrations;
     private final MailboxCounterCorrector mailboxCounterCorrector;
+    private ImapConfiguration.UidMsnConverterMode uidMsnConverterMode = ImapConfiguration.DEFAULT_UID_MSN_CONVERTER_MODE;
 
     public AbstractSelectionProcessor(Class<R> acceptableClass, MailboxManager mailboxManager, StatusResponseFactory statusResponseFactory, PathConverter.Factory pathConverterFactory, boolean openReadOnly,
                                       MetricFactory metricFactory, EventBus eventBus, MailboxCounterCorrector mailboxCounterCorrector) {
+        this(acceptableClass, mailboxManager, statusResponseFactory, pathConverterFactory, openReadOnly, metricFactory,
+            new SharedMailboxRegistrations(eventBus), mailboxCounterCorrector);
+    }
+
+    public AbstractSelectionProcessor(Class<R> acceptableClass, MailboxManager mailboxManager, StatusResponseFactory statusResponseFactory, PathConverter.Factory pathConverterFactory, boolean openReadOnly,
+                                      MetricFactory metricFactory, SharedMailboxRegistrations registrations, MailboxCounterCorrector mailboxCounterCorrector) {
         super(acceptableClass, mailboxManager, statusResponseFactory, metricFactory);
         this.statusResponseFactory = statusResponseFactory;
         this.pathConverterFactory = pathConverterFactory;
         this.openReadOnly = openReadOnly;
 
-        this.eventBus = eventBus;
+        this.registrations = registrations;
         this.mailboxCounterCorrector = mailboxCounterCorrector;
     }
 
+    @Override
+    public void configure(ImapConfiguration imapConfiguration) {
+        super.configure(imapConfiguration);
+        this.uidMsnConverterMode = imapConfiguration.getUidMsnConverterMode();
+    }
+
     @Override
     protected Mono<Void> processRequestReactive(R request, ImapSession session, Responder responder) {
         String mailboxName = request.getMailboxName();
@@ -457,7 +472,7 @@ abstract class AbstractSelectionProcessor<R extends AbstractMailboxSelectionRequ
                 responder.respond(getStatusResponseFactory()
                     .untaggedOk(HumanReadableText.QRESYNC_CLOSED, ResponseCode.closed()));
             }
-            SelectedMailboxImpl selectedMailbox = new SelectedMailboxImpl(getMailboxManager(), eventBus, session.getMailboxSession(), mailbox);
+            SelectedMailboxImpl selectedMailbox = new SelectedMailboxImpl(getMailboxManager(), registrations, session.getMailboxSession(), mailbox, uidMsnConverterMode);
 
             return session.selected(selectedMailbox)
                 .then(selectedMailbox.finishInit())
@@ -30,6 +30,7 @@ import org.apache.james.imap.api.message.UidRange;
 import org.apache.james.imap.api.message.response.StatusResponseFactory;
 import org.apache.james.imap.main.PathConverter;
 import org.apache.james.imap.message.request.SelectRequest;
+import org.apache.james.imap.processor.base.SharedMailboxRegistrations;
 import org.apache.james.mailbox.MailboxCounterCorrector;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.metrics.api.MetricFactory;
@@ -37,12 +38,17 @@ import org.apache.james.util.MDCBuilder;
 
 public class SelectProcessor extends AbstractSelectionProcessor<SelectRequest> {
 
-    @Inject
     public SelectProcessor(MailboxManager mailboxManager, EventBus eventBus, StatusResponseFactory statusResponseFactory,
                            MetricFactory metricFactory, PathConverter.Factory pathConverterFactory, MailboxCounterCorrector mailboxCounterCorrector) {
         super(SelectRequest.class, mailboxManager, statusResponseFactory, pathConverterFactory, false, metricFactory, eventBus, mailboxCounterCorrector);
     }
 
+    @Inject
+    public SelectProcessor(MailboxManager mailboxManager, SharedMailboxRegistrations registrations, StatusResponseFactory statusResponseFactory,
+                           MetricFactory metricFactory, PathConverter.Factory pathConverterFactory, MailboxCounterCorrector mailboxCounterCorrector) {
+        super(SelectRequest.class, mailboxManager, statusResponseFactory, pathConverterFactory, false, metricFactory, registrations, mailboxCounterCorrector);
+    }
+
     @Override
     protected MDCBuilder mdc(SelectRequest message) {
         return MDCBuilder.create()
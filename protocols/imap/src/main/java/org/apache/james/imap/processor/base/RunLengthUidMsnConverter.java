@@ -0,0 +1,345 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.NullableMessageSequenceNumber;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * {@link UidMsnConverter} storing UIDs as sorted runs of contiguous UIDs.
+ *
+ * Mailboxes are mostly made of contiguous UIDs with a few holes left by expunges, thus a handful
+ * of runs are enough to represent hundreds of thousands of messages. Each run records its first UID,
+ * its length and the number of messages preceding it, allowing both MSN and UID lookups by binary search.
+ *
+ * A run costs 16 bytes whereas {@link SynchronizedUidMsnConverter} costs 4 bytes per UID: sparse mailboxes, where
+ * expunges leave most UIDs isolated, end up using up to four times more memory with this implementation.
+ *
+ * Reads are optimistic and do not block: they are retried under a read lock only when a concurrent
+ * write was detected.
+ */
+public class RunLengthUidMsnConverter implements UidMsnConverter {
+    private static final int FIRST_MSN = 1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] runStarts;
+    private int[] runLengths;
+    private int[] runOffsets;
+    private int runCount;
+    private int size;
+
+    public RunLengthUidMsnConverter() {
+        this.runStarts = new long[INITIAL_CAPACITY];
+        this.runLengths = new int[INITIAL_CAPACITY];
+        this.runOffsets = new int[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void addAll(Collection<MessageUid> addedUids) {
+        long[] sortedUids = addedUids.stream()
+            .mapToLong(MessageUid::asLong)
+            .sorted()
+            .toArray();
+
+        long stamp = lock.writeLock();
+        try {
+            for (long uid : sortedUids) {
+                addUnsynchronized(uid);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addUid(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            addUnsynchronized(uid.asLong());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void remove(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            removeUnsynchronized(uid.asLong());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public NullableMessageSequenceNumber getAndRemove(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            NullableMessageSequenceNumber result = msnOf(uid.asLong(), runStarts, runLengths, runOffsets, runCount);
+            removeUnsynchronized(uid.asLong());
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            runStarts = new long[INITIAL_CAPACITY];
+            runLengths = new int[INITIAL_CAPACITY];
+            runOffsets = new int[INITIAL_CAPACITY];
+            runCount = 0;
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public NullableMessageSequenceNumber getMsn(MessageUid uid) {
+        long value = uid.asLong();
+        return read(() -> msnOf(value, runStarts, runLengths, runOffsets, runCount));
+    }
+
+    @Override
+    public Optional<MessageUid> getUid(int msn) {
+        return read(() -> uidOf(msn, runStarts, runLengths, runOffsets, runCount, size));
+    }
+
+    @Override
+    public Optional<MessageUid> getFirstUid() {
+        return getUid(FIRST_MSN);
+    }
+
+    @Override
+    public Optional<MessageUid> getLastUid() {
+        return read(() -> uidOf(size, runStarts, runLengths, runOffsets, runCount, size));
+    }
+
+    @Override
+    public int getNumMessage() {
+        return read(() -> size);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getNumMessage() == 0;
+    }
+
+    @Override
+    public List<MessageUid> allUids() {
+        long stamp = lock.readLock();
+        try {
+            ImmutableList.Builder<MessageUid> result = ImmutableList.builderWithExpectedSize(size);
+            for (int run = 0; run < runCount; run++) {
+                for (int i = 0; i < runLengths[run]; i++) {
+                    result.add(MessageUid.of(runStarts[run] + i));
+                }
+            }
+            return result.build();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int getRunCount() {
+        return read(() -> runCount);
+    }
+
+    /**
+     * Writers mutate the arrays in place: an optimistic reader can observe a torn state. The lookups
+     * are written to stay within array bounds whatever the observed state, and their result is
+     * discarded when a write happened meanwhile.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            T result = reader.get();
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static NullableMessageSequenceNumber msnOf(long uid, long[] starts, int[] lengths, int[] offsets, int count) {
+        int boundedCount = boundedCount(starts, lengths, offsets, count);
+        int run = runContaining(uid, starts, boundedCount);
+        if (run < 0 || uid - starts[run] >= lengths[run]) {
+            return NullableMessageSequenceNumber.noMessage();
+        }
+        return NullableMessageSequenceNumber.of(offsets[run] + (int) (uid - starts[run]) + 1);
+    }
+
+    private static Optional<MessageUid> uidOf(int msn, long[] starts, int[] lengths, int[] offsets, int count, int size) {
+        if (msn <= 0 || msn > size) {
+            return Optional.empty();
+        }
+        int boundedCount = boundedCount(starts, lengths, offsets, count);
+        int position = Arrays.binarySearch(offsets, 0, boundedCount, msn - 1);
+        int run = position >= 0 ? position : -position - 2;
+        if (run < 0) {
+            return Optional.empty();
+        }
+        int indexInRun = msn - 1 - offsets[run];
+        if (indexInRun >= lengths[run]) {
+            return Optional.empty();
+        }
+        return Optional.of(MessageUid.of(starts[run] + indexInRun));
+    }
+
+    private static int boundedCount(long[] starts, int[] lengths, int[] offsets, int count) {
+        return Math.min(count, Math.min(starts.length, Math.min(lengths.length, offsets.length)));
+    }
+
+    /**
+     * @return the index of the last run starting at or before the given UID, -1 if none
+     */
+    private static int runContaining(long uid, long[] starts, int count) {
+        int position = Arrays.binarySearch(starts, 0, count, uid);
+        if (position >= 0) {
+            return position;
+        }
+        return -position - 2;
+    }
+
+    private void addUnsynchronized(long uid) {
+        if (runCount == 0 || uid > lastUid()) {
+            append(uid);
+            return;
+        }
+        int run = runContaining(uid, runStarts, runCount);
+        if (run >= 0 && uid - runStarts[run] < runLengths[run]) {
+            return;
+        }
+        boolean extendsPrevious = run >= 0 && runStarts[run] + runLengths[run] == uid;
+        boolean extendsNext = run + 1 < runCount && runStarts[run + 1] == uid + 1;
+        if (extendsPrevious && extendsNext) {
+            runLengths[run] += 1 + runLengths[run + 1];
+            removeRun(run + 1);
+            updateOffsetsFrom(run + 1);
+        } else if (extendsPrevious) {
+            runLengths[run]++;
+            updateOffsetsFrom(run + 1);
+        } else if (extendsNext) {
+            runStarts[run + 1] = uid;
+            runLengths[run + 1]++;
+            updateOffsetsFrom(run + 2);
+        } else {
+            insertRun(run + 1, uid, 1);
+            updateOffsetsFrom(run + 1);
+        }
+        size++;
+    }
+
+    private void append(long uid) {
+        if (runCount > 0 && runStarts[runCount - 1] + runLengths[runCount - 1] == uid) {
+            runLengths[runCount - 1]++;
+        } else {
+            insertRun(runCount, uid, 1);
+            runOffsets[runCount - 1] = size;
+        }
+        size++;
+    }
+
+    private void removeUnsynchronized(long uid) {
+        int run = runContaining(uid, runStarts, runCount);
+        if (run < 0 || uid - runStarts[run] >= runLengths[run]) {
+            return;
+        }
+        long start = runStarts[run];
+        long end = start + runLengths[run] - 1;
+        if (start == end) {
+            removeRun(run);
+            updateOffsetsFrom(run);
+        } else if (uid == start) {
+            runStarts[run]++;
+            runLengths[run]--;
+            updateOffsetsFrom(run + 1);
+        } else if (uid == end) {
+            runLengths[run]--;
+            updateOffsetsFrom(run + 1);
+        } else {
+            runLengths[run] = (int) (uid - start);
+            insertRun(run + 1, uid + 1, (int) (end - uid));
+            updateOffsetsFrom(run + 1);
+        }
+        size--;
+    }
+
+    private long lastUid() {
+        return runStarts[runCount - 1] + runLengths[runCount - 1] - 1;
+    }
+
+    private void insertRun(int index, long start, int length) {
+        ensureCapacity(runCount + 1);
+        int moved = runCount - index;
+        if (moved > 0) {
+            System.arraycopy(runStarts, index, runStarts, index + 1, moved);
+            System.arraycopy(runLengths, index, runLengths, index + 1, moved);
+            System.arraycopy(runOffsets, index, runOffsets, index + 1, moved);
+        }
+        runStarts[index] = start;
+        runLengths[index] = length;
+        runCount++;
+    }
+
+    private void removeRun(int index) {
+        int moved = runCount - index - 1;
+        if (moved > 0) {
+            System.arraycopy(runStarts, index + 1, runStarts, index, moved);
+            System.arraycopy(runLengths, index + 1, runLengths, index, moved);
+            System.arraycopy(runOffsets, index + 1, runOffsets, index, moved);
+        }
+        runCount--;
+    }
+
+    private void updateOffsetsFrom(int index) {
+        for (int run = Math.max(index, 0); run < runCount; run++) {
+            runOffsets[run] = run == 0 ? 0 : runOffsets[run - 1] + runLengths[run - 1];
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > runStarts.length) {
+            int newCapacity = Math.max(capacity, runStarts.length * 2);
+            runStarts = Arrays.copyOf(runStarts, newCapacity);
+            runLengths = Arrays.copyOf(runLengths, newCapacity);
+            runOffsets = Arrays.copyOf(runOffsets, newCapacity);
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.james.events.Event;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.EventListener;
 import org.apache.james.events.Registration;
+import org.apache.james.imap.api.ImapConfiguration;
 import org.apache.james.imap.api.process.SelectedMailbox;
 import org.apache.james.mailbox.FlagsBuilder;
 import org.apache.james.mailbox.MailboxManager;
@@ -55,7 +56,6 @@ import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
 import org.apache.james.mailbox.events.MailboxEvents.MailboxDeletion;
 import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
 import org.apache.james.mailbox.events.MailboxEvents.MessageEvent;
-import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
@@ -124,7 +124,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     private final MailboxManager mailboxManager;
     private final MessageManager messageManager;
     private final MailboxId mailboxId;
-    private final EventBus eventBus;
+    private final SharedMailboxRegistrations registrations;
     private final MailboxSession mailboxSession;
     private final UidMsnConverter uidMsnConverter;
     private final Set<MessageUid> recentUids = new TreeSet<>();
@@ -139,11 +139,21 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     private ApplicableFlags applicableFlags = ApplicableFlags.from(new Flags());
 
     public SelectedMailboxImpl(MailboxManager mailboxManager, EventBus eventBus, MailboxSession session, MessageManager messageManager) {
-        this.eventBus = eventBus;
+        this(mailboxManager, eventBus, session, messageManager, ImapConfiguration.DEFAULT_UID_MSN_CONVERTER_MODE);
+    }
+
+    public SelectedMailboxImpl(MailboxManager mailboxManager, EventBus eventBus, MailboxSession session, MessageManager messageManager,
+                               ImapConfiguration.UidMsnConverterMode uidMsnConverterMode) {
+        this(mailboxManager, new SharedMailboxRegistrations(eventBus), session, messageManager, uidMsnConverterMode);
+    }
+
+    public SelectedMailboxImpl(MailboxManager mailboxManager, SharedMailboxRegistrations registrations, MailboxSession session, MessageManager messageManager,
+                               ImapConfiguration.UidMsnConverterMode uidMsnConverterMode) {
+        this.registrations = registrations;
         this.mailboxManager = mailboxManager;
         this.messageManager = messageManager;
         this.mailboxSession = session;
-        this.uidMsnConverter = new UidMsnConverter();
+        this.uidMsnConverter = UidMsnConverter.of(uidMsnConverterMode);
         this.mailboxId = messageManager.getId();
     }
 
@@ -151,7 +161,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
         // Ignore events from our session
         setSilentFlagChanges(true);
 
-        return Mono.from(eventBus.register(this, new MailboxIdRegistrationKey(mailboxId)))
+        return registrations.register(mailboxId, this)
                 .doOnNext(this.registration::set)
             .then(messageManager.getApplicableFlagsReactive(mailboxSession)
                 .doOnNext(flags -> {
@@ -0,0 +1,126 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.inject.Inject;
+
+import org.apache.james.events.Event;
+import org.apache.james.events.EventBus;
+import org.apache.james.events.EventListener;
+import org.apache.james.events.Registration;
+import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.model.MailboxId;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares a single {@link EventBus} registration per mailbox among all the selected mailboxes of this node watching it.
+ *
+ * The event bus only sees one listener per mailbox, no matter how many IMAP sessions selected it: events are
+ * delivered once to this node then multicast locally to the listeners of each session.
+ */
+public class SharedMailboxRegistrations {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedMailboxRegistrations.class);
+
+    private class MailboxListeners implements EventListener.ReactiveEventListener {
+        private final MailboxId mailboxId;
+        private final Set<EventListener.ReactiveEventListener> listeners;
+        private final Mono<Registration> registration;
+
+        MailboxListeners(MailboxId mailboxId) {
+            this.mailboxId = mailboxId;
+            this.listeners = ConcurrentHashMap.newKeySet();
+            this.registration = Mono.from(eventBus.register(this, new MailboxIdRegistrationKey(mailboxId)))
+                .doOnError(e -> registrations.remove(mailboxId, this))
+                .cache();
+        }
+
+        @Override
+        public Publisher<Void> reactiveEvent(Event event) {
+            return Flux.fromIterable(listeners)
+                .filter(listener -> listener.isHandling(event))
+                .flatMap(listener -> Mono.from(listener.reactiveEvent(event))
+                    .onErrorResume(e -> {
+                        LOGGER.error("Failed to notify a selected mailbox of {} upon {}", mailboxId.serialize(), event.getEventId().getId(), e);
+                        return Mono.empty();
+                    }))
+                .then();
+        }
+    }
+
+    private final EventBus eventBus;
+    private final ConcurrentHashMap<MailboxId, MailboxListeners> registrations;
+
+    @Inject
+    public SharedMailboxRegistrations(EventBus eventBus) {
+        this.eventBus = eventBus;
+        this.registrations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers a listener for the events of a mailbox. The event bus registration is only performed for the first
+     * listener of that mailbox, and is removed once its last listener is unregistered.
+     */
+    public Mono<Registration> register(MailboxId mailboxId, EventListener.ReactiveEventListener listener) {
+        MailboxListeners mailboxListeners = registrations.compute(mailboxId, (id, existing) -> {
+            MailboxListeners result = Optional.ofNullable(existing)
+                .orElseGet(() -> new MailboxListeners(id));
+            result.listeners.add(listener);
+            return result;
+        });
+
+        return mailboxListeners.registration
+            .thenReturn(() -> unregister(mailboxListeners, listener));
+    }
+
+    private Mono<Void> unregister(MailboxListeners mailboxListeners, EventListener.ReactiveEventListener listener) {
+        AtomicBoolean lastListenerRemoved = new AtomicBoolean(false);
+        registrations.computeIfPresent(mailboxListeners.mailboxId, (id, current) -> {
+            mailboxListeners.listeners.remove(listener);
+            if (current == mailboxListeners && current.listeners.isEmpty()) {
+                lastListenerRemoved.set(true);
+                return null;
+            }
+            return current;
+        });
+
+        if (lastListenerRemoved.get()) {
+            return mailboxListeners.registration
+                .flatMap(registration -> Mono.from(registration.unregister()));
+        }
+        return Mono.empty();
+    }
+
+    @VisibleForTesting
+    int registeredMailboxCount() {
+        return registrations.size();
+    }
+}
@@ -125,6 +125,15 @@ public class FastByteArrayOutputStream extends OutputStream {
      * @return this stream's current contents as a string.
      */
 
+    /**
+     * Gives access to the written bytes without copying them. Only the
+     * {@link #size()} first bytes are meaningful, and the returned array can
+     * be overwritten by subsequent writes.
+     */
+    public byte[] internalBuffer() {
+        return buf;
+    }
+
     @Override
     public String toString() {
         return new String(buf, 0, count);
@@ -37,6 +37,25 @@ class ImapConfigurationTest {
         EqualsVerifier.forClass(ImapConfiguration.class).verify();
     }
 
+    @Test
+    void uidMsnConverterModeShouldBeSynchronizedByDefault() {
+        ImapConfiguration imapConfiguration = ImapConfiguration.builder().build();
+
+        assertThat(imapConfiguration.getUidMsnConverterMode()).isEqualTo(ImapConfiguration.UidMsnConverterMode.SYNCHRONIZED);
+    }
+
+    @Test
+    void uidMsnConverterModeParsingShouldBeCaseInsensitive() {
+        assertThat(ImapConfiguration.UidMsnConverterMode.parse(" Run-Length "))
+            .isEqualTo(ImapConfiguration.UidMsnConverterMode.RUN_LENGTH);
+    }
+
+    @Test
+    void uidMsnConverterModeParsingShouldThrowOnUnknownValue() {
+        assertThatThrownBy(() -> ImapConfiguration.UidMsnConverterMode.parse("roaring"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void idleKeepAliveShouldBeDefaultValueWhenNoSetting() {
         ImapConfiguration imapConfiguration = ImapConfiguration.builder().build();
@@ -0,0 +1,276 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.NullableMessageSequenceNumber;
+import org.apache.james.util.concurrency.ConcurrentTestRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class RunLengthUidMsnConverterTest {
+    private RunLengthUidMsnConverter testee;
+
+    @BeforeEach
+    void setUp() {
+        testee = new RunLengthUidMsnConverter();
+    }
+
+    @Test
+    void getUidShouldReturnEmptyWhenNoMessage() {
+        assertThat(testee.getUid(1)).isEmpty();
+    }
+
+    @Test
+    void getUidShouldReturnEmptyIfZero() {
+        testee.addUid(MessageUid.of(1));
+
+        assertThat(testee.getUid(0)).isEmpty();
+    }
+
+    @Test
+    void getFirstAndLastUidShouldReturnEmptyWhenNoMessage() {
+        assertThat(testee.getFirstUid()).isEmpty();
+        assertThat(testee.getLastUid()).isEmpty();
+    }
+
+    @Test
+    void contiguousUidsShouldBeStoredAsASingleRun() {
+        testee.addAll(uids(1, 2, 3, 4, 5));
+
+        assertThat(testee.getRunCount()).isEqualTo(1);
+        assertThat(testee.getNumMessage()).isEqualTo(5);
+    }
+
+    @Test
+    void getMsnShouldAccountForHoles() {
+        testee.addAll(uids(1, 2, 3, 10, 11, 20));
+
+        assertThat(testee.getMsn(MessageUid.of(10))).isEqualTo(NullableMessageSequenceNumber.of(4));
+        assertThat(testee.getMsn(MessageUid.of(20))).isEqualTo(NullableMessageSequenceNumber.of(6));
+    }
+
+    @Test
+    void getMsnShouldReturnNoMessageForHoles() {
+        testee.addAll(uids(1, 2, 3, 10, 11, 20));
+
+        assertThat(testee.getMsn(MessageUid.of(5))).isEqualTo(NullableMessageSequenceNumber.noMessage());
+        assertThat(testee.getMsn(MessageUid.of(21))).isEqualTo(NullableMessageSequenceNumber.noMessage());
+    }
+
+    @Test
+    void getUidShouldAccountForHoles() {
+        testee.addAll(uids(1, 2, 3, 10, 11, 20));
+
+        assertThat(testee.getUid(4)).contains(MessageUid.of(10));
+        assertThat(testee.getUid(6)).contains(MessageUid.of(20));
+        assertThat(testee.getUid(7)).isEmpty();
+    }
+
+    @Test
+    void addAllShouldDeduplicateAndSort() {
+        testee.addAll(uids(5, 3, 1, 3, 2));
+
+        assertThat(testee.allUids()).containsExactlyElementsOf(uids(1, 2, 3, 5));
+    }
+
+    @Test
+    void addAllShouldMergeWithPreviousData() {
+        testee.addAll(uids(1, 2, 8, 9));
+        testee.addAll(uids(3, 5, 7, 10));
+
+        assertThat(testee.allUids()).containsExactlyElementsOf(uids(1, 2, 3, 5, 7, 8, 9, 10));
+    }
+
+    @Test
+    void addUidShouldBeIdempotent() {
+        testee.addUid(MessageUid.of(1));
+        testee.addUid(MessageUid.of(1));
+
+        assertThat(testee.allUids()).containsExactly(MessageUid.of(1));
+    }
+
+    @Test
+    void addUidFillingAHoleShouldMergeRuns() {
+        testee.addAll(uids(1, 2, 4, 5));
+
+        testee.addUid(MessageUid.of(3));
+
+        assertThat(testee.getRunCount()).isEqualTo(1);
+        assertThat(testee.getMsn(MessageUid.of(5))).isEqualTo(NullableMessageSequenceNumber.of(5));
+    }
+
+    @Test
+    void addUidBeforeFirstRunShouldShiftMessageSequenceNumbers() {
+        testee.addAll(uids(5, 6));
+
+        testee.addUid(MessageUid.of(4));
+        testee.addUid(MessageUid.of(1));
+
+        assertThat(testee.allUids()).containsExactlyElementsOf(uids(1, 4, 5, 6));
+        assertThat(testee.getMsn(MessageUid.of(6))).isEqualTo(NullableMessageSequenceNumber.of(4));
+    }
+
+    @Test
+    void removeInTheMiddleOfARunShouldSplitIt() {
+        testee.addAll(uids(1, 2, 3, 4, 5));
+
+        testee.remove(MessageUid.of(3));
+
+        assertThat(testee.getRunCount()).isEqualTo(2);
+        assertThat(testee.allUids()).containsExactlyElementsOf(uids(1, 2, 4, 5));
+        assertThat(testee.getUid(3)).contains(MessageUid.of(4));
+    }
+
+    @Test
+    void removeShouldHandleRunBoundaries() {
+        testee.addAll(uids(1, 2, 3, 7));
+
+        testee.remove(MessageUid.of(1));
+        testee.remove(MessageUid.of(3));
+        testee.remove(MessageUid.of(7));
+
+        assertThat(testee.allUids()).containsExactly(MessageUid.of(2));
+        assertThat(testee.getRunCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removeShouldBeIdempotent() {
+        testee.addAll(uids(1, 2));
+
+        testee.remove(MessageUid.of(2));
+        testee.remove(MessageUid.of(2));
+        testee.remove(MessageUid.of(36));
+
+        assertThat(testee.allUids()).containsExactly(MessageUid.of(1));
+    }
+
+    @Test
+    void getAndRemoveShouldReturnPreviousMessageSequenceNumber() {
+        testee.addAll(uids(1, 4, 5));
+
+        assertThat(testee.getAndRemove(MessageUid.of(4))).isEqualTo(NullableMessageSequenceNumber.of(2));
+        assertThat(testee.getMsn(MessageUid.of(5))).isEqualTo(NullableMessageSequenceNumber.of(2));
+    }
+
+    @Test
+    void getAndRemoveShouldHandleNotFound() {
+        testee.addAll(uids(1));
+
+        assertThat(testee.getAndRemove(MessageUid.of(4))).isEqualTo(NullableMessageSequenceNumber.noMessage());
+    }
+
+    @Test
+    void clearShouldRemoveAllMessages() {
+        testee.addAll(uids(1, 2, 5));
+
+        testee.clear();
+
+        assertThat(testee.isEmpty()).isTrue();
+        assertThat(testee.getLastUid()).isEmpty();
+    }
+
+    @Test
+    void shouldSupportUidsAboveIntegerRange() {
+        testee.addUid(MessageUid.of(17));
+        testee.addUid(MessageUid.of(Integer.MAX_VALUE + 1L));
+        testee.addUid(MessageUid.of(Integer.MAX_VALUE + 2L));
+
+        assertThat(testee.getMsn(MessageUid.of(Integer.MAX_VALUE + 2L))).isEqualTo(NullableMessageSequenceNumber.of(3));
+        assertThat(testee.getUid(2)).contains(MessageUid.of(Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    void loopingGetMsnShouldSucceedForAMillionItems() {
+        int count = 1_000_000;
+        testee.addAll(LongStream.rangeClosed(1, count)
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList()));
+
+        IntStream.rangeClosed(1, count)
+            .forEach(i -> assertThat(testee.getMsn(MessageUid.of(i))).isEqualTo(NullableMessageSequenceNumber.of(i)));
+        assertThat(testee.getRunCount()).isEqualTo(1);
+    }
+
+    @Test
+    void addAndRemoveShouldLeadToMonoticMSNToUIDConversionWhenMixed() throws Exception {
+        int initialCount = 1000;
+        for (int i = 1; i <= initialCount; i++) {
+            testee.addUid(MessageUid.of(i));
+        }
+
+        ConcurrentTestRunner.builder()
+            .operation((threadNumber, step) -> {
+                if (threadNumber == 0) {
+                    testee.remove(MessageUid.of(step + 1));
+                } else {
+                    testee.addUid(MessageUid.of(initialCount + step + 1));
+                }
+            })
+            .threadCount(2)
+            .operationCount(initialCount)
+            .runSuccessfullyWithin(Duration.ofSeconds(10));
+
+        assertThat(testee.allUids())
+            .containsExactlyElementsOf(LongStream.rangeClosed(initialCount + 1, 2 * initialCount)
+                .mapToObj(MessageUid::of)
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    @Test
+    void concurrentReadsShouldAlwaysSeeAConsistentMapping() throws Exception {
+        int operationCount = 1000;
+        testee.addAll(LongStream.rangeClosed(1, operationCount)
+            .map(i -> i * 2)
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList()));
+
+        ConcurrentTestRunner.builder()
+            .operation((threadNumber, step) -> {
+                if (threadNumber == 0) {
+                    testee.addUid(MessageUid.of(2L * step + 1));
+                } else {
+                    MessageUid uid = MessageUid.of(2L * (step + 1));
+                    int msn = testee.getMsn(uid).asInt().orElseThrow();
+                    assertThat(testee.getUid(msn)).isPresent();
+                }
+            })
+            .threadCount(4)
+            .operationCount(operationCount)
+            .runSuccessfullyWithin(Duration.ofSeconds(10));
+
+        assertThat(testee.getNumMessage()).isEqualTo(2 * operationCount);
+        assertThat(testee.getRunCount()).isEqualTo(1);
+    }
+
+    private static ImmutableList<MessageUid> uids(long... values) {
+        return LongStream.of(values)
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList());
+    }
+}
@@ -0,0 +1,152 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import static org.apache.james.events.EventBusTestFixture.EVENT;
+import static org.apache.james.events.EventBusTestFixture.EVENT_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.james.events.Event;
+import org.apache.james.events.EventBusTestFixture;
+import org.apache.james.events.EventListener;
+import org.apache.james.events.InVMEventBus;
+import org.apache.james.events.MemoryEventDeadLetters;
+import org.apache.james.events.Registration;
+import org.apache.james.events.RegistrationKey;
+import org.apache.james.events.delivery.InVmEventDelivery;
+import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Mono;
+
+class SharedMailboxRegistrationsTest {
+    private static final TestId MAILBOX_ID = TestId.of(42);
+    private static final TestId OTHER_MAILBOX_ID = TestId.of(43);
+
+    static class CollectingListener implements EventListener.ReactiveEventListener {
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Publisher<Void> reactiveEvent(Event event) {
+            return Mono.fromRunnable(() -> events.add(event));
+        }
+    }
+
+    private InVMEventBus eventBus;
+    private SharedMailboxRegistrations testee;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = spy(new InVMEventBus(new InVmEventDelivery(new RecordingMetricFactory()), EventBusTestFixture.RETRY_BACKOFF_CONFIGURATION, new MemoryEventDeadLetters()));
+        testee = new SharedMailboxRegistrations(eventBus);
+    }
+
+    @Test
+    void listenersOfTheSameMailboxShouldShareASingleEventBusRegistration() {
+        testee.register(MAILBOX_ID, new CollectingListener()).block();
+        testee.register(MAILBOX_ID, new CollectingListener()).block();
+
+        verify(eventBus, times(1)).register(any(EventListener.ReactiveEventListener.class), any(RegistrationKey.class));
+        assertThat(testee.registeredMailboxCount()).isEqualTo(1);
+    }
+
+    @Test
+    void eventsShouldBeDeliveredToAllListenersOfTheMailbox() {
+        CollectingListener listener1 = new CollectingListener();
+        CollectingListener listener2 = new CollectingListener();
+        testee.register(MAILBOX_ID, listener1).block();
+        testee.register(MAILBOX_ID, listener2).block();
+
+        dispatch(MAILBOX_ID, EVENT);
+
+        assertThat(listener1.events).containsExactly(EVENT);
+        assertThat(listener2.events).containsExactly(EVENT);
+    }
+
+    @Test
+    void eventsShouldNotBeDeliveredToListenersOfOtherMailboxes() {
+        CollectingListener listener = new CollectingListener();
+        testee.register(OTHER_MAILBOX_ID, listener).block();
+
+        dispatch(MAILBOX_ID, EVENT);
+
+        assertThat(listener.events).isEmpty();
+    }
+
+    @Test
+    void unregisteringAListenerShouldNotAffectTheOtherListenersOfTheMailbox() {
+        CollectingListener listener1 = new CollectingListener();
+        CollectingListener listener2 = new CollectingListener();
+        Registration registration1 = testee.register(MAILBOX_ID, listener1).block();
+        testee.register(MAILBOX_ID, listener2).block();
+
+        Mono.from(registration1.unregister()).block();
+        dispatch(MAILBOX_ID, EVENT);
+
+        assertThat(listener1.events).isEmpty();
+        assertThat(listener2.events).containsExactly(EVENT);
+        assertThat(testee.registeredMailboxCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unregisteringTheLastListenerShouldRemoveTheEventBusRegistration() {
+        CollectingListener listener1 = new CollectingListener();
+        CollectingListener listener2 = new CollectingListener();
+        Registration registration1 = testee.register(MAILBOX_ID, listener1).block();
+        Registration registration2 = testee.register(MAILBOX_ID, listener2).block();
+
+        Mono.from(registration1.unregister()).block();
+        Mono.from(registration2.unregister()).block();
+        dispatch(MAILBOX_ID, EVENT);
+
+        assertThat(testee.registeredMailboxCount()).isZero();
+        assertThat(listener1.events).isEmpty();
+        assertThat(listener2.events).isEmpty();
+    }
+
+    @Test
+    void registeringAgainAfterTheLastUnregistrationShouldReceiveEvents() {
+        Registration registration = testee.register(MAILBOX_ID, new CollectingListener()).block();
+        Mono.from(registration.unregister()).block();
+
+        CollectingListener listener = new CollectingListener();
+        testee.register(MAILBOX_ID, listener).block();
+        dispatch(MAILBOX_ID, EVENT_2);
+
+        assertThat(listener.events).containsExactly(EVENT_2);
+    }
+
+    private void dispatch(TestId mailboxId, Event event) {
+        Mono.from(eventBus.dispatch(event, ImmutableSet.of(new MailboxIdRegistrationKey(mailboxId)))).block();
+    }
+}
@@ -35,8 +35,8 @@ import org.junit.jupiter.api.Test;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
-class UidMsnConverterTest {
-    private UidMsnConverter testee;
+class SynchronizedUidMsnConverterTest {
+    private SynchronizedUidMsnConverter testee;
     private MessageUid messageUid1;
     private MessageUid messageUid2;
     private MessageUid messageUid3;
@@ -44,7 +44,7 @@ class UidMsnConverterTest {
 
     @BeforeEach
     void setUp() {
-        testee = new UidMsnConverter();
+        testee = new SynchronizedUidMsnConverter();
         messageUid1 = MessageUid.of(1);
         messageUid2 = MessageUid.of(2);
         messageUid3 = MessageUid.of(3);
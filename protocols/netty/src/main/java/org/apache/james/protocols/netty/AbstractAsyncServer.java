@@ -38,6 +38,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
@@ -45,6 +46,9 @@ import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import reactor.core.publisher.Flux;
@@ -83,6 +87,7 @@ public abstract class AbstractAsyncServer implements ProtocolServer {
 
     private boolean gracefulShutdown = true;
     private boolean useEpoll = false;
+    private boolean useIoUring = false;
     protected WriteBufferWaterMark writeBufferWaterMark = WriteBufferWaterMark.DEFAULT;
 
     public synchronized void setListenAddresses(InetSocketAddress... addresses) {
@@ -100,6 +105,15 @@ public abstract class AbstractAsyncServer implements ProtocolServer {
         this.useEpoll = useEpoll;
     }
 
+    /**
+     * Use the io_uring transport when the running kernel supports it.
+     *
+     * Falls back to epoll when available, then to NIO.
+     */
+    public void setUseIoUring(boolean useIoUring) {
+        this.useIoUring = useIoUring;
+    }
+
     public void setWriteBufferWaterMark(WriteBufferWaterMark writeBufferWaterMark) {
         this.writeBufferWaterMark = writeBufferWaterMark;
     }
@@ -143,7 +157,15 @@ public abstract class AbstractAsyncServer implements ProtocolServer {
         }
 
         ServerBootstrap bootstrap = new ServerBootstrap();
-        if (useEpoll) {
+        boolean ioUringAvailable = useIoUring && IOUring.isAvailable();
+        if (useIoUring && !ioUringAvailable) {
+            LOGGER.warn("io_uring transport requested for {} but is not available, falling back", jmxName, IOUring.unavailabilityCause());
+        }
+        if (ioUringAvailable) {
+            bootstrap.channel(IOUringServerSocketChannel.class);
+            bossGroup = bossWorker.map(count -> new IOUringEventLoopGroup(count, NamedThreadFactory.withName(jmxName + "-boss")));
+            workerGroup = new IOUringEventLoopGroup(ioWorker, NamedThreadFactory.withName(jmxName + "-io"));
+        } else if (useEpoll || (useIoUring && Epoll.isAvailable())) {
             bootstrap.channel(EpollServerSocketChannel.class);
             bossGroup = bossWorker.map(count -> new EpollEventLoopGroup(count, NamedThreadFactory.withName(jmxName + "-boss")));
             workerGroup = new EpollEventLoopGroup(ioWorker, NamedThreadFactory.withName(jmxName + "-io"));
@@ -35,13 +35,14 @@ import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.util.AttributeKey;
 
 
-public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder {
+public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder implements RawBytesAware {
     private static final Boolean FAIL_FAST = true;
     private static final CharMatcher CRLF_MATCHER = CharMatcher.anyOf("\r\n");
     private static final Splitter CRLF_SPLITTER = Splitter.on(CRLF_MATCHER).omitEmptyStrings();
     private static final AttributeKey<Object> ATTRIBUTE_KEY = AttributeKey.valueOf("startTlsInFlight");
     private final ChannelPipeline pipeline;
     private final String pattern;
+    private long rawBytesToRead = 0;
 
     private static final AttributeKey<CommandDetectionSession> sessionAttributeKey =
             AttributeKey.valueOf("session");
@@ -52,8 +53,25 @@ public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder
         this.pattern = pattern;
     }
 
+    /**
+     * Called from the core handler, which runs on the same executor: the bytes following the current frame are
+     * then decoded in raw mode.
+     */
+    @Override
+    public void readRawBytes(long length) {
+        rawBytesToRead = length;
+    }
+
     @Override
     protected Object decode(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
+        if (rawBytesToRead > 0) {
+            if (!buffer.isReadable()) {
+                return null;
+            }
+            int length = (int) Math.min(buffer.readableBytes(), rawBytesToRead);
+            rawBytesToRead -= length;
+            return buffer.readRetainedSlice(length);
+        }
         CommandDetectionSession session = retrieveSession(ctx);
 
         if (session == null || session.needsCommandInjectionDetection()) {
@@ -97,6 +97,15 @@ public class NettyProtocolTransport extends AbstractProtocolTransport {
         channelHandler.popLineHandler();
     }
 
+    @Override
+    public void readRawBytes(long length) {
+        if (channel.pipeline().get(HandlerConstants.FRAMER) instanceof RawBytesAware framer) {
+            framer.readRawBytes(length);
+        } else {
+            throw new RuntimeException("Not supported");
+        }
+    }
+
     /**
      * Add the {@link SslHandler} to the pipeline and start encrypting after the next written message
      */
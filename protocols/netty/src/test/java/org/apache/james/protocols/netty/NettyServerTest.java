@@ -19,9 +19,12 @@
 
 package org.apache.james.protocols.netty;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
+import java.net.InetSocketAddress;
+
 import javax.net.ssl.SSLContext;
 
 import org.apache.james.protocols.api.Protocol;
@@ -60,4 +63,21 @@ class NettyServerTest {
             .frameHandlerFactory(channelHandlerFactory)
             .build();
     }
+
+    @Test
+    void bindShouldSucceedWhenIoUringIsRequested() throws Exception {
+        NettyServer server = new NettyServer.Factory()
+            .protocol(mock(Protocol.class))
+            .build();
+        server.setListenAddresses(new InetSocketAddress("127.0.0.1", 0));
+        server.setUseIoUring(true);
+
+        try {
+            server.bind();
+
+            assertThat(server.getListenAddresses()).hasSize(1);
+        } finally {
+            server.unbind();
+        }
+    }
 }
@@ -21,42 +21,93 @@ package org.apache.james.protocols.pop3.core;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PushbackInputStream;
+import java.util.Objects;
 
 
 /**
  * Adds extra dot if dot occurs in message body at beginning of line (according
  * to RFC1939)
+ *
+ * The underlying stream is consumed by blocks and the dot-stuffing is done while copying
+ * them into the caller's array, so that transports reading by chunks never go byte per byte
+ * through the wrapped stream.
  */
 public class ExtraDotInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 8192;
 
-    boolean startLine = true;
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean startLine;
+    private boolean pendingDot;
     private int last;
-    private final PushbackInputStream in;
 
     public ExtraDotInputStream(InputStream in) {
-        this.in = new PushbackInputStream(in, 2);
-        startLine = true;
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.startLine = true;
     }
-    
+
     @Override
     public int read() throws IOException {
-       int i = in.read();
-       if (startLine) {
-           startLine = false;
-           if (i == '.') {
-                in.unread(i);
-               return '.';
-           }
-           
-       }
-      
-       if (last == '\r' && i == '\n') {
-           startLine = true;
-       }
-       last = i;
-       return i;
-       
+        if (pendingDot) {
+            pendingDot = false;
+            return '.';
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return process(buffer[position++]) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        int written = 0;
+        while (written < len) {
+            if (pendingDot) {
+                pendingDot = false;
+                b[off + written++] = '.';
+                continue;
+            }
+            if (position == limit) {
+                // Do not block on the underlying stream while we already have something to return
+                if (written > 0 || !fill()) {
+                    break;
+                }
+            }
+            b[off + written++] = process(buffer[position++]);
+        }
+        if (written == 0) {
+            return -1;
+        }
+        return written;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = in.read(buffer, 0, buffer.length);
+        }
+        if (read == -1) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private byte process(byte current) {
+        if (startLine && current == '.') {
+            pendingDot = true;
+        }
+        startLine = last == '\r' && current == '\n';
+        last = current;
+        return current;
     }
 
     @Override
@@ -66,7 +117,7 @@ public class ExtraDotInputStream extends InputStream {
 
     @Override
     public int available() throws IOException {
-        return in.available();
+        return (limit - position) + (pendingDot ? 1 : 0) + in.available();
     }
 
     @Override
@@ -76,4 +76,36 @@ public class ExtraDotInputStreamTest extends AbstractInputStreamTest {
         checkRead(new ExtraDotInputStream(new ByteArrayInputStream(data.getBytes())), data);
         checkReadViaArray(new ExtraDotInputStream(new ByteArrayInputStream(data.getBytes())), data);
     }
+
+    @Test
+    void testExtraDotAcrossInternalBufferBoundaries() throws IOException {
+        StringBuilder data = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            data.append(".line").append(i).append("\r\n");
+            expected.append("..line").append(i).append("\r\n");
+        }
+
+        checkRead(new ExtraDotInputStream(new ByteArrayInputStream(data.toString().getBytes())), expected.toString());
+        checkReadViaArray(new ExtraDotInputStream(new ByteArrayInputStream(data.toString().getBytes())), expected.toString());
+    }
+
+    @Test
+    void testExtraDotWhenCRLFIsSplitAcrossUnderlyingReads() throws IOException {
+        String data = "This\r\n.\r\nThis.\r\n";
+        String expectedOutput = "This\r\n..\r\nThis.\r\n";
+
+        checkReadViaArray(new ExtraDotInputStream(new OneByteAtATimeInputStream(data.getBytes())), expectedOutput);
+    }
+
+    private static class OneByteAtATimeInputStream extends ByteArrayInputStream {
+        OneByteAtATimeInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
 }
@@ -23,8 +23,10 @@ import java.nio.charset.StandardCharsets;
 
 import org.reactivestreams.Publisher;
 
+import com.google.common.base.Preconditions;
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
 public interface BlobStore {
@@ -67,6 +69,23 @@ public interface BlobStore {
        return readBytes(bucketName, blobId);
     }
 
+    /**
+     * Reads at most length bytes of a blob, starting at offset.
+     *
+     * @see BlobStoreDAO#readBytes(BucketName, BlobId, long, long)
+     */
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(bytes -> BlobStoreDAO.slice(bytes, offset, length));
+    }
+
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length, StoragePolicy storagePolicy) {
+        return readBytes(bucketName, blobId, offset, length);
+    }
+
     default InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return read(bucketName, blobId);
     }
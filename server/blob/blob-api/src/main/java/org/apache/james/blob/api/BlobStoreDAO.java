@@ -22,12 +22,16 @@ package org.apache.james.blob.api;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.reactivestreams.Publisher;
 
+import com.google.common.base.Preconditions;
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
+
 public interface BlobStoreDAO {
     class ReactiveByteSource {
         private final long size;
@@ -67,6 +71,36 @@ public interface BlobStoreDAO {
      */
     Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads at most length bytes of a Blob, starting at offset.
+     *
+     * The range is truncated to the end of the blob: fewer bytes, possibly none, are returned when it
+     * exceeds the blob size.
+     *
+     * The default implementation reads the full blob: implementations should rely on the ranged reads of their
+     * underlying storage whenever possible.
+     *
+     * @return a Mono containing the requested bytes of the blob or
+     *  an ObjectNotFoundException in its error channel when the blobId or the bucket is not found
+     *  or an IOObjectStoreException when an unexpected IO error occurs
+     */
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(bytes -> slice(bytes, offset, length));
+    }
+
+    /**
+     * Extracts the requested range of an already read blob, truncated to the bytes actually available.
+     */
+    static byte[] slice(byte[] bytes, long offset, long length) {
+        int from = (int) Math.min(offset, bytes.length);
+        int to = from + (int) Math.min(length, bytes.length - from);
+        return Arrays.copyOfRange(bytes, from, to);
+    }
+
 
     /**
      * Save the blob with the provided blob id, and overwrite the previous blob with the same id if it already exists
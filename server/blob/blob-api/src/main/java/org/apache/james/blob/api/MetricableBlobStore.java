@@ -37,6 +37,7 @@ public class MetricableBlobStore implements BlobStore {
     static final String SAVE_INPUT_STREAM_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "saveInputStream";
     static final String READ_BYTES_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readBytes";
     static final String READ_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "read";
+    static final String READ_RANGE_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readRange";
     static final String DELETE_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "delete";
     static final String DELETE_BUCKET_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "deleteBucket";
 
@@ -101,6 +102,16 @@ public class MetricableBlobStore implements BlobStore {
         return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, storagePolicy));
     }
 
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        return metricFactory.decoratePublisherWithTimerMetric(READ_RANGE_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, offset, length));
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length, StoragePolicy storagePolicy) {
+        return metricFactory.decoratePublisherWithTimerMetric(READ_RANGE_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, offset, length, storagePolicy));
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return metricFactory
@@ -28,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -173,6 +174,19 @@ public interface BlobStoreContract extends BucketBlobStoreContract {
         assertThat(bytes).isEqualTo(SHORT_BYTEARRAY);
     }
 
+    @ParameterizedTest
+    @MethodSource("storagePolicies")
+    default void readBytesRangeShouldReturnRequestedBytes(BlobStore.StoragePolicy storagePolicy) {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = Mono.from(store.save(defaultBucketName, ELEVEN_KILOBYTES, storagePolicy)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(defaultBucketName, blobId, 10, 100, storagePolicy)).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 10, 110));
+    }
+
     @ParameterizedTest
     @MethodSource("storagePolicies")
     default void readBytesShouldReturnSavedByteSource(BlobStore.StoragePolicy storagePolicy) {
@@ -138,6 +138,99 @@ public interface ReadSaveBlobStoreDAOContract {
             .isExactlyInstanceOf(ObjectNotFoundException.class);
     }
 
+    @Test
+    default void readBytesRangeShouldThrowWhenNotExisting() {
+        BlobStoreDAO store = testee();
+
+        assertThatThrownBy(() -> Mono.from(store.readBytes(TEST_BUCKET_NAME, new TestBlobId("unknown"), 0, 10)).block())
+            .isExactlyInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnRequestedBytes() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 100, 1000)).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 100, 1100));
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnStartOfTheBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 0, 2048)).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 0, 2048));
+    }
+
+    @Test
+    default void readBytesRangeShouldBeTruncatedToTheEndOfTheBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 1, Long.MAX_VALUE)).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(SHORT_BYTEARRAY, 1, SHORT_BYTEARRAY.length));
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnEmptyWhenOffsetExceedsBlobSize() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 100, 10)).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnEmptyWhenZeroLength() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 1, 0)).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnEmptyWhenEmptyBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, EMPTY_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 0, 10)).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnRequestedBytesOfBigBlobs() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, TWELVE_MEGABYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, 5 * 1024 * 1024 - 10, 1024 * 1024)).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(TWELVE_MEGABYTES, 5 * 1024 * 1024 - 10, 6 * 1024 * 1024 - 10));
+    }
+
+    @Test
+    default void readBytesRangeShouldRejectNegativeOffset() {
+        BlobStoreDAO store = testee();
+
+        assertThatThrownBy(() -> Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, -1, 10)).block())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     default void readBytesShouldReturnSavedData() {
         BlobStoreDAO store = testee();
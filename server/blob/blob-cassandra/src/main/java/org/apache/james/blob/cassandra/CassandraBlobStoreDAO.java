@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -113,6 +114,34 @@ public class CassandraBlobStoreDAO implements BlobStoreDAO {
             .map(this::byteBuffersToBytesArray);
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        long end = length > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + length;
+        return Mono.defer(() -> {
+            AtomicLong partStart = new AtomicLong(0);
+            // Parts might have heterogeneous sizes so the ones preceding the range need to be read, but parts are
+            // read sequentially and the ones following the range are never read
+            return readBlobParts(bucketName, blobId)
+                .map(part -> Pair.of(partStart.getAndAdd(part.remaining()), part))
+                .takeUntil(pair -> pair.getLeft() + pair.getRight().remaining() >= end)
+                .map(pair -> slicePart(pair.getRight(), pair.getLeft(), offset, end))
+                .collectList()
+                .map(this::byteBuffersToBytesArray);
+        });
+    }
+
+    private ByteBuffer slicePart(ByteBuffer part, long partStart, long offset, long end) {
+        long from = Math.max(offset, partStart);
+        long to = Math.min(end, partStart + part.remaining());
+        if (from >= to) {
+            return ByteBuffer.allocate(0);
+        }
+        return part.slice(part.position() + (int) (from - partStart), (int) (to - from));
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -33,6 +33,7 @@ import jakarta.inject.Named;
 import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
@@ -187,6 +188,22 @@ public class CachedBlobStore implements BlobStore {
         return readBytes(bucketName, blobId, LOW_COST);
     }
 
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length, StoragePolicy storagePolicy) {
+        if (storagePolicy != LOW_COST && getDefaultBucketName().equals(bucketName)) {
+            // Partial content is not cached: only full blobs already in the cache are sliced
+            return readFromCache(blobId)
+                .map(bytes -> BlobStoreDAO.slice(bytes, offset, length))
+                .switchIfEmpty(readBytesFromBackend(bucketName, blobId, offset, length));
+        }
+        return readBytesFromBackend(bucketName, blobId, offset, length);
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        return readBytes(bucketName, blobId, offset, length, LOW_COST);
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId) {
         return read(bucketName, blobId, LOW_COST);
@@ -396,6 +413,11 @@ public class CachedBlobStore implements BlobStore {
             backend.readBytes(bucketName, blobId)));
     }
 
+    private Mono<byte[]> readBytesFromBackend(BucketName bucketName, BlobId blobId, long offset, long length) {
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BLOBSTORE_BACKEND_LATENCY_METRIC_NAME,
+            backend.readBytes(bucketName, blobId, offset, length)));
+    }
+
     @Override
     public Publisher<BucketName> listBuckets() {
         return backend.listBuckets();
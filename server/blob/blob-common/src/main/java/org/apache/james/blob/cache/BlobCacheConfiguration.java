@@ -0,0 +1,199 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.cache;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.SizeFormat;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+public class BlobCacheConfiguration {
+    private static final String BUCKET_QUOTA_PREFIX = "cache.memory.bucket";
+
+    public static class Builder {
+        private static final long DEFAULT_MAX_SIZE_IN_BYTES = 256 * 1024 * 1024;
+        private static final int DEFAULT_BLOB_SIZE_THRESHOLD_IN_BYTES = 1024 * 1024;
+        private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+        private Optional<Long> maxSizeInBytes = Optional.empty();
+        private Optional<Integer> blobSizeThresholdInBytes = Optional.empty();
+        private Optional<Duration> ttl = Optional.empty();
+        private final ImmutableMap.Builder<BucketName, Long> bucketQuotasInBytes = ImmutableMap.builder();
+
+        public Builder maxSizeInBytes(long maxSizeInBytes) {
+            Preconditions.checkArgument(maxSizeInBytes > 0, "'maxSize' needs to be strictly positive");
+
+            this.maxSizeInBytes = Optional.of(maxSizeInBytes);
+            return this;
+        }
+
+        public Builder maxSizeInBytes(Optional<Long> maxSizeInBytes) {
+            maxSizeInBytes.ifPresent(this::maxSizeInBytes);
+            return this;
+        }
+
+        public Builder blobSizeThresholdInBytes(int blobSizeThresholdInBytes) {
+            Preconditions.checkArgument(blobSizeThresholdInBytes >= 0, "'sizeThreshold' needs to be positive");
+
+            this.blobSizeThresholdInBytes = Optional.of(blobSizeThresholdInBytes);
+            return this;
+        }
+
+        public Builder blobSizeThresholdInBytes(Optional<Integer> blobSizeThresholdInBytes) {
+            blobSizeThresholdInBytes.ifPresent(this::blobSizeThresholdInBytes);
+            return this;
+        }
+
+        public Builder ttl(Duration ttl) {
+            Preconditions.checkNotNull(ttl, "'TTL' must not to be null");
+            Preconditions.checkArgument(!ttl.isNegative() && !ttl.isZero(), "'TTL' needs to be positive");
+
+            this.ttl = Optional.of(ttl);
+            return this;
+        }
+
+        public Builder ttl(Optional<Duration> ttl) {
+            ttl.ifPresent(this::ttl);
+            return this;
+        }
+
+        /**
+         * Dedicates a cache region to the given bucket: its blobs do not compete with blobs of other buckets.
+         */
+        public Builder bucketQuotaInBytes(BucketName bucketName, long quotaInBytes) {
+            Preconditions.checkNotNull(bucketName, "'bucketName' must not to be null");
+            Preconditions.checkArgument(quotaInBytes > 0, "'bucket quota' needs to be strictly positive");
+
+            this.bucketQuotasInBytes.put(bucketName, quotaInBytes);
+            return this;
+        }
+
+        public BlobCacheConfiguration build() {
+            long maxSize = maxSizeInBytes.orElse(DEFAULT_MAX_SIZE_IN_BYTES);
+            ImmutableMap<BucketName, Long> bucketQuotas = bucketQuotasInBytes.buildKeepingLast();
+            long bucketQuotasSum = bucketQuotas.values().stream().mapToLong(Long::longValue).sum();
+            Preconditions.checkArgument(bucketQuotasSum < maxSize,
+                "Bucket quotas (%s bytes) need to be smaller than 'maxSize' (%s bytes)", bucketQuotasSum, maxSize);
+
+            return new BlobCacheConfiguration(
+                maxSize,
+                blobSizeThresholdInBytes.orElse(DEFAULT_BLOB_SIZE_THRESHOLD_IN_BYTES),
+                ttl.orElse(DEFAULT_TTL),
+                bucketQuotas);
+        }
+    }
+
+    public static final BlobCacheConfiguration DEFAULT = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reads the following properties:
+     *
+     *  - cache.memory.maxSize: overall size of cached blobs, bucket quotas included, defaults to 256MB
+     *  - cache.memory.sizeThreshold: blobs bigger than this are never cached, defaults to 1MB
+     *  - cache.memory.ttl: time after which a cached blob is evicted, defaults to 1 hour
+     *  - cache.memory.bucket.{bucketName}.maxSize: optional dedicated cache size for a given bucket, taken out of
+     *  cache.memory.maxSize
+     */
+    public static BlobCacheConfiguration from(Configuration configuration) {
+        Builder builder = builder()
+            .maxSizeInBytes(Optional.ofNullable(configuration.getString("cache.memory.maxSize", null))
+                .map(SizeFormat::parseAsByteCount))
+            .blobSizeThresholdInBytes(Optional.ofNullable(configuration.getString("cache.memory.sizeThreshold", null))
+                .map(SizeFormat::parseAsByteCount)
+                .map(Math::toIntExact))
+            .ttl(Optional.ofNullable(configuration.getString("cache.memory.ttl", null))
+                .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS)));
+
+        Iterator<String> bucketKeys = configuration.getKeys(BUCKET_QUOTA_PREFIX);
+        while (bucketKeys.hasNext()) {
+            String key = bucketKeys.next();
+            if (key.endsWith(".maxSize")) {
+                String bucketName = key.substring(BUCKET_QUOTA_PREFIX.length() + 1, key.length() - ".maxSize".length());
+                builder.bucketQuotaInBytes(BucketName.of(bucketName), SizeFormat.parseAsByteCount(configuration.getString(key)));
+            }
+        }
+        return builder.build();
+    }
+
+    private final long maxSizeInBytes;
+    private final int blobSizeThresholdInBytes;
+    private final Duration ttl;
+    private final ImmutableMap<BucketName, Long> bucketQuotasInBytes;
+
+    private BlobCacheConfiguration(long maxSizeInBytes, int blobSizeThresholdInBytes, Duration ttl, ImmutableMap<BucketName, Long> bucketQuotasInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.blobSizeThresholdInBytes = blobSizeThresholdInBytes;
+        this.ttl = ttl;
+        this.bucketQuotasInBytes = bucketQuotasInBytes;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    /**
+     * Size of the region shared by buckets without a dedicated quota: what remains of the overall size once
+     * bucket quotas are taken out.
+     */
+    public long getSharedSizeInBytes() {
+        return maxSizeInBytes - bucketQuotasInBytes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public int getBlobSizeThresholdInBytes() {
+        return blobSizeThresholdInBytes;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public ImmutableMap<BucketName, Long> getBucketQuotasInBytes() {
+        return bucketQuotasInBytes;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BlobCacheConfiguration that) {
+            return Objects.equals(this.maxSizeInBytes, that.maxSizeInBytes)
+                && Objects.equals(this.blobSizeThresholdInBytes, that.blobSizeThresholdInBytes)
+                && Objects.equals(this.ttl, that.ttl)
+                && Objects.equals(this.bucketQuotasInBytes, that.bucketQuotasInBytes);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxSizeInBytes, blobSizeThresholdInBytes, ttl, bucketQuotasInBytes);
+    }
+}
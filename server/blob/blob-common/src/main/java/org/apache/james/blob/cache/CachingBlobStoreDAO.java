@@ -0,0 +1,242 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.inject.Inject;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.ObjectStoreIOException;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.util.io.ByteBufferInputStream;
+import org.reactivestreams.Publisher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link BlobStoreDAO} decorator keeping recently read blobs in memory.
+ *
+ * Blobs are stored off-heap, in direct {@link ByteBuffer}s, and bounded by their size. Blobs bigger than
+ * {@link BlobCacheConfiguration#getBlobSizeThresholdInBytes()} bypass the cache. Buckets with a dedicated quota
+ * get their own region, other buckets share the remaining one, so that all regions together never exceed
+ * {@link BlobCacheConfiguration#getMaxSizeInBytes()}.
+ *
+ * Saves are written through the underlying DAO before populating the cache, deletes invalidate it.
+ */
+public class CachingBlobStoreDAO implements BlobStoreDAO {
+    public static final String BLOB_CACHE_HIT_COUNT_METRIC_NAME = "blobStoreMemoryCacheHits";
+    public static final String BLOB_CACHE_MISS_COUNT_METRIC_NAME = "blobStoreMemoryCacheMisses";
+    public static final String BLOB_CACHE_EVICTION_COUNT_METRIC_NAME = "blobStoreMemoryCacheEvictions";
+
+    private record CacheKey(BucketName bucketName, BlobId blobId) {
+
+    }
+
+    private final BlobStoreDAO underlying;
+    private final BlobCacheConfiguration configuration;
+    private final Cache<CacheKey, ByteBuffer> sharedCache;
+    private final ImmutableMap<BucketName, Cache<CacheKey, ByteBuffer>> bucketCaches;
+    private final Metric hitCount;
+    private final Metric missCount;
+    private final Metric evictionCount;
+
+    @Inject
+    public CachingBlobStoreDAO(BlobStoreDAO underlying, BlobCacheConfiguration configuration, MetricFactory metricFactory) {
+        this.underlying = underlying;
+        this.configuration = configuration;
+        this.hitCount = metricFactory.generate(BLOB_CACHE_HIT_COUNT_METRIC_NAME);
+        this.missCount = metricFactory.generate(BLOB_CACHE_MISS_COUNT_METRIC_NAME);
+        this.evictionCount = metricFactory.generate(BLOB_CACHE_EVICTION_COUNT_METRIC_NAME);
+        this.sharedCache = buildCache(configuration.getSharedSizeInBytes());
+        this.bucketCaches = configuration.getBucketQuotasInBytes()
+            .entrySet()
+            .stream()
+            .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, entry -> buildCache(entry.getValue())));
+    }
+
+    private Cache<CacheKey, ByteBuffer> buildCache(long maximumWeight) {
+        return Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((CacheKey key, ByteBuffer value) -> value.capacity())
+            .expireAfterWrite(configuration.getTtl())
+            .removalListener((CacheKey key, ByteBuffer value, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    evictionCount.increment();
+                }
+            })
+            .build();
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId) throws ObjectStoreIOException, ObjectNotFoundException {
+        CacheKey key = new CacheKey(bucketName, blobId);
+        return lookup(key)
+            .map(this::asInputStream)
+            .orElseGet(() -> cacheIfSmall(key, underlying.read(bucketName, blobId)));
+    }
+
+    @Override
+    public Publisher<InputStream> readReactive(BucketName bucketName, BlobId blobId) {
+        CacheKey key = new CacheKey(bucketName, blobId);
+        return Mono.fromCallable(() -> lookup(key))
+            .flatMap(cached -> cached.map(this::asInputStream)
+                .map(Mono::just)
+                .orElseGet(() -> Mono.from(underlying.readReactive(bucketName, blobId))
+                    .map(inputStream -> cacheIfSmall(key, inputStream))));
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        CacheKey key = new CacheKey(bucketName, blobId);
+        return Mono.fromCallable(() -> lookup(key))
+            .flatMap(cached -> cached.map(this::asBytes)
+                .map(Mono::just)
+                .orElseGet(() -> Mono.from(underlying.readBytes(bucketName, blobId))
+                    .doOnNext(bytes -> cacheIfSmall(key, bytes))));
+    }
+
+    @Override
+    public Publisher<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
+        Preconditions.checkNotNull(data);
+
+        return Mono.from(underlying.save(bucketName, blobId, data))
+            .then(Mono.fromRunnable(() -> cacheIfSmall(new CacheKey(bucketName, blobId), data)));
+    }
+
+    @Override
+    public Publisher<Void> save(BucketName bucketName, BlobId blobId, InputStream inputStream) {
+        return Mono.from(underlying.save(bucketName, blobId, inputStream))
+            .then(invalidate(bucketName, blobId));
+    }
+
+    @Override
+    public Publisher<Void> save(BucketName bucketName, BlobId blobId, ByteSource content) {
+        return Mono.from(underlying.save(bucketName, blobId, content))
+            .then(invalidate(bucketName, blobId));
+    }
+
+    @Override
+    public Publisher<Void> delete(BucketName bucketName, BlobId blobId) {
+        return Mono.from(underlying.delete(bucketName, blobId))
+            .then(invalidate(bucketName, blobId));
+    }
+
+    @Override
+    public Publisher<Void> delete(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.from(underlying.delete(bucketName, blobIds))
+            .then(Mono.fromRunnable(() -> cacheFor(bucketName)
+                .invalidateAll(blobIds.stream()
+                    .map(blobId -> new CacheKey(bucketName, blobId))
+                    .toList())));
+    }
+
+    @Override
+    public Publisher<Void> deleteBucket(BucketName bucketName) {
+        return Mono.from(underlying.deleteBucket(bucketName))
+            .then(Mono.fromRunnable(() -> {
+                Cache<CacheKey, ByteBuffer> cache = cacheFor(bucketName);
+                cache.asMap().keySet().removeIf(key -> key.bucketName().equals(bucketName));
+            }));
+    }
+
+    @Override
+    public Publisher<BucketName> listBuckets() {
+        return Flux.from(underlying.listBuckets());
+    }
+
+    @Override
+    public Publisher<BlobId> listBlobs(BucketName bucketName) {
+        return Flux.from(underlying.listBlobs(bucketName));
+    }
+
+    private Cache<CacheKey, ByteBuffer> cacheFor(BucketName bucketName) {
+        return bucketCaches.getOrDefault(bucketName, sharedCache);
+    }
+
+    private Optional<ByteBuffer> lookup(CacheKey key) {
+        Optional<ByteBuffer> cached = Optional.ofNullable(cacheFor(key.bucketName()).getIfPresent(key));
+        if (cached.isPresent()) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return cached;
+    }
+
+    private Mono<Void> invalidate(BucketName bucketName, BlobId blobId) {
+        return Mono.fromRunnable(() -> cacheFor(bucketName).invalidate(new CacheKey(bucketName, blobId)));
+    }
+
+    private InputStream asInputStream(ByteBuffer buffer) {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    private byte[] asBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private void cacheIfSmall(CacheKey key, byte[] bytes) {
+        if (bytes.length <= configuration.getBlobSizeThresholdInBytes()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            cacheFor(key.bucketName()).put(key, buffer.asReadOnlyBuffer());
+        }
+    }
+
+    /**
+     * Reads at most the size threshold plus one byte in order to decide whether the blob can be cached,
+     * without materializing big blobs in memory.
+     */
+    private InputStream cacheIfSmall(CacheKey key, InputStream inputStream) {
+        try {
+            byte[] prefix = inputStream.readNBytes(configuration.getBlobSizeThresholdInBytes() + 1);
+            if (prefix.length <= configuration.getBlobSizeThresholdInBytes()) {
+                inputStream.close();
+                cacheIfSmall(key, prefix);
+                return new ByteArrayInputStream(prefix);
+            }
+            return new SequenceInputStream(new ByteArrayInputStream(prefix), inputStream);
+        } catch (IOException e) {
+            throw new ObjectStoreIOException("Error reading blob " + key.blobId().asString(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.blob.api.BucketName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class BlobCacheConfigurationTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(BlobCacheConfiguration.class)
+            .withPrefabValues(ImmutableMap.class,
+                ImmutableMap.of(BucketName.of("red"), 1L),
+                ImmutableMap.of(BucketName.of("blue"), 2L))
+            .verify();
+    }
+
+    @Test
+    void fromShouldReturnDefaultWhenEmpty() {
+        assertThat(BlobCacheConfiguration.from(new PropertiesConfiguration()))
+            .isEqualTo(BlobCacheConfiguration.DEFAULT);
+    }
+
+    @Test
+    void fromShouldReadAllProperties() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.memory.maxSize", "10 MiB");
+        configuration.addProperty("cache.memory.sizeThreshold", "32 KiB");
+        configuration.addProperty("cache.memory.ttl", "10 minutes");
+        configuration.addProperty("cache.memory.bucket.headers.maxSize", "2 MiB");
+
+        assertThat(BlobCacheConfiguration.from(configuration))
+            .isEqualTo(BlobCacheConfiguration.builder()
+                .maxSizeInBytes(10 * 1024 * 1024)
+                .blobSizeThresholdInBytes(32 * 1024)
+                .ttl(Duration.ofMinutes(10))
+                .bucketQuotaInBytes(BucketName.of("headers"), 2 * 1024 * 1024)
+                .build());
+    }
+
+    @Test
+    void maxSizeShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> BlobCacheConfiguration.builder().maxSizeInBytes(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bucketQuotasShouldBeTakenOutOfTheSharedRegion() {
+        BlobCacheConfiguration configuration = BlobCacheConfiguration.builder()
+            .maxSizeInBytes(4096)
+            .bucketQuotaInBytes(BucketName.of("headers"), 1024)
+            .bucketQuotaInBytes(BucketName.of("bodies"), 512)
+            .build();
+
+        assertThat(configuration.getSharedSizeInBytes()).isEqualTo(2560);
+    }
+
+    @Test
+    void bucketQuotasShouldBeSmallerThanMaxSize() {
+        assertThatThrownBy(() -> BlobCacheConfiguration.builder()
+                .maxSizeInBytes(4096)
+                .bucketQuotaInBytes(BucketName.of("headers"), 4096)
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ttlShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> BlobCacheConfiguration.builder().ttl(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,167 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.cache;
+
+import static org.apache.james.blob.cache.CachingBlobStoreDAO.BLOB_CACHE_EVICTION_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cache.CachingBlobStoreDAO.BLOB_CACHE_HIT_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cache.CachingBlobStoreDAO.BLOB_CACHE_MISS_COUNT_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.TestBlobId;
+import org.apache.james.blob.memory.MemoryBlobStoreDAO;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class CachingBlobStoreDAOTest implements BlobStoreDAOContract {
+    private static final BucketName BUCKET = BucketName.of("bucket");
+    private static final BucketName DEDICATED_BUCKET = BucketName.of("dedicated");
+    private static final BlobId BLOB_ID = new TestBlobId("blobId");
+    private static final BlobId OTHER_BLOB_ID = new TestBlobId("otherBlobId");
+    private static final byte[] SMALL = "small content".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BIG = new byte[2048];
+
+    private MemoryBlobStoreDAO underlying;
+    private RecordingMetricFactory metricFactory;
+    private CachingBlobStoreDAO testee;
+
+    @BeforeEach
+    void setUp() {
+        underlying = new MemoryBlobStoreDAO();
+        metricFactory = new RecordingMetricFactory();
+        testee = new CachingBlobStoreDAO(underlying, BlobCacheConfiguration.builder()
+                .maxSizeInBytes(4096)
+                .blobSizeThresholdInBytes(1024)
+                .bucketQuotaInBytes(DEDICATED_BUCKET, 1024)
+                .build(),
+            metricFactory);
+    }
+
+    @Override
+    public BlobStoreDAO testee() {
+        return testee;
+    }
+
+    @Override
+    @Disabled("Not supported by the underlying memory DAO")
+    public void listBucketsShouldReturnBucketsWithNoBlob() {
+
+    }
+
+    @Test
+    void readBytesShouldServeCachedContentWithoutHittingTheUnderlyingStore() {
+        Mono.from(testee.save(BUCKET, BLOB_ID, SMALL)).block();
+        Mono.from(underlying.delete(BUCKET, BLOB_ID)).block();
+
+        assertThat(Mono.from(testee.readBytes(BUCKET, BLOB_ID)).block()).isEqualTo(SMALL);
+        assertThat(metricFactory.countFor(BLOB_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void readShouldPopulateTheCacheOnMiss() throws Exception {
+        Mono.from(underlying.save(BUCKET, BLOB_ID, SMALL)).block();
+
+        testee.read(BUCKET, BLOB_ID).readAllBytes();
+        Mono.from(underlying.delete(BUCKET, BLOB_ID)).block();
+
+        assertThat(testee.read(BUCKET, BLOB_ID).readAllBytes()).isEqualTo(SMALL);
+        assertThat(metricFactory.countFor(BLOB_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+        assertThat(metricFactory.countFor(BLOB_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void readReactiveShouldPopulateTheCacheOnMiss() throws Exception {
+        Mono.from(underlying.save(BUCKET, BLOB_ID, SMALL)).block();
+
+        Mono.from(testee.readReactive(BUCKET, BLOB_ID)).block().readAllBytes();
+        Mono.from(underlying.delete(BUCKET, BLOB_ID)).block();
+
+        assertThat(Mono.from(testee.readReactive(BUCKET, BLOB_ID)).block().readAllBytes()).isEqualTo(SMALL);
+    }
+
+    @Test
+    void readShouldReturnFullContentOfBlobsAboveThreshold() throws Exception {
+        Mono.from(underlying.save(BUCKET, BLOB_ID, BIG)).block();
+
+        assertThat(testee.read(BUCKET, BLOB_ID).readAllBytes()).isEqualTo(BIG);
+    }
+
+    @Test
+    void blobsAboveThresholdShouldNotBeCached() {
+        Mono.from(testee.save(BUCKET, BLOB_ID, BIG)).block();
+        Mono.from(underlying.delete(BUCKET, BLOB_ID)).block();
+
+        assertThatThrownBy(() -> Mono.from(testee.readBytes(BUCKET, BLOB_ID)).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+        assertThat(metricFactory.countFor(BLOB_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void deleteShouldInvalidateTheCache() {
+        Mono.from(testee.save(BUCKET, BLOB_ID, SMALL)).block();
+        Mono.from(testee.delete(BUCKET, BLOB_ID)).block();
+
+        assertThatThrownBy(() -> Mono.from(testee.readBytes(BUCKET, BLOB_ID)).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void saveFromInputStreamShouldInvalidateTheCache() {
+        Mono.from(testee.save(BUCKET, BLOB_ID, SMALL)).block();
+        byte[] newContent = "new content".getBytes(StandardCharsets.UTF_8);
+        Mono.from(testee.save(BUCKET, BLOB_ID, new ByteArrayInputStream(newContent))).block();
+
+        assertThat(Mono.from(testee.readBytes(BUCKET, BLOB_ID)).block()).isEqualTo(newContent);
+    }
+
+    @Test
+    void bucketQuotaShouldIsolateDedicatedBucketsFromSharedEvictions() {
+        Mono.from(testee.save(DEDICATED_BUCKET, BLOB_ID, SMALL)).block();
+        for (int i = 0; i < 10; i++) {
+            Mono.from(testee.save(BUCKET, new TestBlobId("blob" + i), new byte[1024])).block();
+        }
+        Mono.from(underlying.delete(DEDICATED_BUCKET, BLOB_ID)).block();
+
+        assertThat(Mono.from(testee.readBytes(DEDICATED_BUCKET, BLOB_ID)).block()).isEqualTo(SMALL);
+    }
+
+    @Test
+    void evictionsShouldBeRecorded() {
+        Mono.from(testee.save(DEDICATED_BUCKET, BLOB_ID, new byte[1024])).block();
+        Mono.from(testee.save(DEDICATED_BUCKET, OTHER_BLOB_ID, new byte[1024])).block();
+
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(metricFactory.countFor(BLOB_CACHE_EVICTION_COUNT_METRIC_NAME)).isEqualTo(1));
+    }
+}
@@ -25,12 +25,15 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 
 import jakarta.inject.Inject;
@@ -103,6 +106,35 @@ public class FileBlobStoreDAO implements BlobStoreDAO {
             .subscribeOn(Schedulers.boundedElastic());
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        return Mono.fromCallable(() -> {
+            File bucketRoot = getBucketRoot(bucketName);
+            File blob = new File(bucketRoot, blobId.asString());
+            try (FileChannel channel = FileChannel.open(blob.toPath(), StandardOpenOption.READ)) {
+                return readRange(channel, offset, length);
+            }
+        }).onErrorResume(NoSuchFileException.class, e -> Mono.error(new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e)))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private byte[] readRange(FileChannel channel, long offset, long length) throws IOException {
+        long available = Math.max(0, channel.size() - offset);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(Math.min(length, available)));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                break;
+            }
+        }
+        if (buffer.hasRemaining()) {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+        return buffer.array();
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -103,7 +103,7 @@ public class MemoryBlobStoreDAO implements BlobStoreDAO {
             .flatMap(bytes -> save(bucketName, blobId, bytes));
     }
 
-    private static byte[] checkContentSize(ByteSource content, byte[] bytes) {
+    static byte[] checkContentSize(ByteSource content, byte[] bytes) {
         try {
             long preComputedSize = content.size();
             long realSize = bytes.length;
@@ -0,0 +1,388 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.memory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.ObjectStoreException;
+import org.apache.james.blob.api.ObjectStoreIOException;
+import org.apache.james.util.io.ByteBufferInputStream;
+import org.reactivestreams.Publisher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In memory {@link BlobStoreDAO} keeping blob content outside of the JVM heap.
+ *
+ * Blobs are appended into direct {@link ByteBuffer} slabs. The index only retains, for each blob, its slab together
+ * with an offset and a length. Reads are served as read-only views over the slab, without copies (except
+ * for {@link #readBytes(BucketName, BlobId)} whose contract requires a byte array).
+ *
+ * Slab buffers are never reused: a slab is dropped once all its blobs are deleted or overwritten, and its memory
+ * is reclaimed once no reader holds a view on it anymore. Blobs larger than half a slab get a dedicated buffer.
+ *
+ * The total size of allocated slabs is capped. When a save would exceed {@code maxSizeInBytes}, the slabs wasting
+ * the most space are compacted: their live blobs are copied into a buffer of the exact needed size and the slab is
+ * dropped. Compaction thus transiently needs the live bytes of the compacted slab on top of the cap. Saves that
+ * still do not fit are rejected with an {@link ObjectStoreException}.
+ */
+public class OffHeapMemoryBlobStoreDAO implements BlobStoreDAO {
+    public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private static class Slab {
+        private final ByteBuffer buffer;
+        private int liveBytes;
+        // Empty blobs hold no bytes: liveness is tracked by counting blobs
+        private int liveBlobs;
+
+        Slab(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+            this.liveBytes = 0;
+            this.liveBlobs = 0;
+        }
+
+        boolean canFit(int length) {
+            return buffer.remaining() >= length;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        int reclaimableBytes() {
+            return buffer.capacity() - liveBytes;
+        }
+
+        Location append(byte[] data) {
+            return append(ByteBuffer.wrap(data));
+        }
+
+        Location append(ByteBuffer data) {
+            int offset = buffer.position();
+            int length = data.remaining();
+            buffer.put(data);
+            liveBytes += length;
+            liveBlobs++;
+            return new Location(this, offset, length);
+        }
+    }
+
+    private record Entry(ConcurrentMap<BlobId, Location> bucket, BlobId blobId, Location location) {
+
+    }
+
+    private record Location(Slab slab, int offset, int length) {
+        ByteBuffer view() {
+            return slab.buffer.asReadOnlyBuffer()
+                .position(offset)
+                .limit(offset + length)
+                .slice();
+        }
+    }
+
+    private final ConcurrentMap<BucketName, ConcurrentMap<BlobId, Location>> blobs;
+    private final long maxSizeInBytes;
+    private final int slabSize;
+    private final Set<Slab> slabs;
+    private Optional<Slab> currentSlab;
+    private volatile long storedBytes;
+    private volatile long allocatedBytes;
+
+    public OffHeapMemoryBlobStoreDAO(long maxSizeInBytes) {
+        this(maxSizeInBytes, DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapMemoryBlobStoreDAO(long maxSizeInBytes, int slabSize) {
+        Preconditions.checkArgument(maxSizeInBytes > 0, "'maxSizeInBytes' must be strictly positive");
+        Preconditions.checkArgument(slabSize > 0, "'slabSize' must be strictly positive");
+
+        this.blobs = new ConcurrentHashMap<>();
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.slabSize = slabSize;
+        this.slabs = new HashSet<>();
+        this.currentSlab = Optional.empty();
+        this.storedBytes = 0;
+        this.allocatedBytes = 0;
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId) throws ObjectStoreIOException, ObjectNotFoundException {
+        return new ByteBufferInputStream(retrieve(bucketName, blobId).view());
+    }
+
+    @Override
+    public Publisher<InputStream> readReactive(BucketName bucketName, BlobId blobId) {
+        return readByteBuffer(bucketName, blobId)
+            .map(ByteBufferInputStream::new);
+    }
+
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        return readByteBuffer(bucketName, blobId)
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return bytes;
+            });
+    }
+
+    /**
+     * @return a read-only view over the stored content, sharing memory with the store.
+     */
+    public Mono<ByteBuffer> readByteBuffer(BucketName bucketName, BlobId blobId) {
+        return Mono.fromCallable(() -> retrieve(bucketName, blobId).view());
+    }
+
+    private Location retrieve(BucketName bucketName, BlobId blobId) {
+        return Optional.ofNullable(blobs.get(bucketName))
+            .map(bucket -> bucket.get(blobId))
+            .orElseThrow(() -> new ObjectNotFoundException(String.format("blob '%s' not found in bucket '%s'", blobId.asString(), bucketName.asString())));
+    }
+
+    @Override
+    public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
+        Preconditions.checkNotNull(data);
+        return Mono.fromRunnable(() -> store(bucketName, blobId, data));
+    }
+
+    @Override
+    public Mono<Void> save(BucketName bucketName, BlobId blobId, InputStream inputStream) {
+        Preconditions.checkNotNull(inputStream);
+        return Mono.fromCallable(() -> {
+                try {
+                    return IOUtils.toByteArray(inputStream);
+                } catch (IOException e) {
+                    throw new ObjectStoreIOException("IOException occured", e);
+                }
+            })
+            .flatMap(bytes -> save(bucketName, blobId, bytes));
+    }
+
+    @Override
+    public Mono<Void> save(BucketName bucketName, BlobId blobId, ByteSource content) {
+        return Mono.fromCallable(() -> {
+                try {
+                    return content.read();
+                } catch (IOException e) {
+                    throw new ObjectStoreIOException("IOException occured", e);
+                }
+            })
+            .map(bytes -> MemoryBlobStoreDAO.checkContentSize(content, bytes))
+            .flatMap(bytes -> save(bucketName, blobId, bytes));
+    }
+
+    private synchronized void store(BucketName bucketName, BlobId blobId, byte[] data) {
+        ConcurrentMap<BlobId, Location> bucket = blobs.computeIfAbsent(bucketName, any -> new ConcurrentHashMap<>());
+        // The overwritten blob is released beforehand so that its space can be reclaimed by this save. Slabs are
+        // never reused thus concurrent readers of the previous content are not affected.
+        Optional<Location> previous = Optional.ofNullable(bucket.remove(blobId));
+        previous.ifPresent(this::release);
+
+        Optional<Slab> slab = allocate(data.length);
+        if (slab.isEmpty()) {
+            previous.ifPresent(location -> {
+                retain(location);
+                bucket.put(blobId, location);
+            });
+            throw new ObjectStoreException(String.format("Saving blob '%s' of %d bytes in bucket '%s' would exceed the %d bytes capacity of the memory blob store",
+                blobId.asString(), data.length, bucketName.asString(), maxSizeInBytes));
+        }
+
+        bucket.put(blobId, slab.get().append(data));
+        storedBytes += data.length;
+    }
+
+    private Optional<Slab> allocate(int length) {
+        boolean dedicated = length > slabSize / 2;
+        Optional<Slab> fitting = currentSlab.filter(candidate -> !dedicated && candidate.canFit(length));
+        if (fitting.isPresent()) {
+            return fitting;
+        }
+        if (allocatedBytes + length > maxSizeInBytes) {
+            compact(allocatedBytes + length - maxSizeInBytes);
+        }
+        if (allocatedBytes + length > maxSizeInBytes) {
+            return Optional.empty();
+        }
+
+        if (dedicated) {
+            return Optional.of(newSlab(length));
+        }
+        Slab slab = newSlab(Math.toIntExact(Math.min(slabSize, maxSizeInBytes - allocatedBytes)));
+        currentSlab = Optional.of(slab);
+        return Optional.of(slab);
+    }
+
+    private Slab newSlab(int capacity) {
+        Slab slab = new Slab(capacity);
+        slabs.add(slab);
+        allocatedBytes += capacity;
+        return slab;
+    }
+
+    /**
+     * Copies the live blobs of the slabs wasting the most space into exactly sized buffers, until at least
+     * {@code neededBytes} are reclaimed. Does nothing when reclaimable space is not enough.
+     */
+    private void compact(long neededBytes) {
+        List<Slab> candidates = slabs.stream()
+            .filter(slab -> slab.reclaimableBytes() > 0)
+            .sorted(Comparator.comparingInt(Slab::reclaimableBytes).reversed())
+            .collect(Collectors.toList());
+        long reclaimable = candidates.stream().mapToLong(Slab::reclaimableBytes).sum();
+        if (reclaimable < neededBytes) {
+            return;
+        }
+
+        Set<Slab> compacted = new HashSet<>();
+        long reclaimed = 0;
+        for (Slab candidate : candidates) {
+            if (reclaimed >= neededBytes) {
+                break;
+            }
+            compacted.add(candidate);
+            reclaimed += candidate.reclaimableBytes();
+        }
+
+        Map<Slab, List<Entry>> entriesBySlab = blobs.values().stream()
+            .flatMap(bucket -> bucket.entrySet().stream()
+                .filter(entry -> compacted.contains(entry.getValue().slab()))
+                .map(entry -> new Entry(bucket, entry.getKey(), entry.getValue())))
+            .collect(Collectors.groupingBy(entry -> entry.location().slab()));
+
+        entriesBySlab.forEach((slab, entries) -> {
+            Slab packed = newSlab(slab.liveBytes);
+            entries.forEach(entry -> {
+                entry.bucket().put(entry.blobId(), packed.append(entry.location().view()));
+                release(entry.location());
+                storedBytes += entry.location().length();
+            });
+        });
+    }
+
+    private void release(Location location) {
+        // A dropped slab is only referenced by the views pointing into it: once they are all gone its direct
+        // memory is reclaimed by the garbage collector.
+        storedBytes -= location.length();
+        Slab slab = location.slab();
+        slab.liveBytes -= location.length();
+        slab.liveBlobs--;
+        if (slab.liveBlobs == 0) {
+            slabs.remove(slab);
+            allocatedBytes -= slab.capacity();
+            currentSlab = currentSlab.filter(current -> current != slab);
+        }
+    }
+
+    private void retain(Location location) {
+        storedBytes += location.length();
+        Slab slab = location.slab();
+        if (slab.liveBlobs == 0) {
+            slabs.add(slab);
+            allocatedBytes += slab.capacity();
+        }
+        slab.liveBytes += location.length();
+        slab.liveBlobs++;
+    }
+
+    @Override
+    public Mono<Void> delete(BucketName bucketName, BlobId blobId) {
+        Preconditions.checkNotNull(bucketName);
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                Optional.ofNullable(blobs.get(bucketName))
+                    .flatMap(bucket -> Optional.ofNullable(bucket.remove(blobId)))
+                    .ifPresent(this::release);
+            }
+        });
+    }
+
+    @Override
+    public Publisher<Void> delete(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Flux.fromIterable(blobIds)
+            .flatMap(id -> delete(bucketName, id))
+            .then();
+    }
+
+    @Override
+    public Mono<Void> deleteBucket(BucketName bucketName) {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                Optional.ofNullable(blobs.remove(bucketName))
+                    .ifPresent(bucket -> bucket.values().forEach(this::release));
+            }
+        });
+    }
+
+    @Override
+    public Publisher<BucketName> listBuckets() {
+        return Flux.fromIterable(ImmutableSet.copyOf(blobs.keySet()));
+    }
+
+    @Override
+    public Publisher<BlobId> listBlobs(BucketName bucketName) {
+        return Flux.fromIterable(Optional.ofNullable(blobs.get(bucketName))
+            .map(bucket -> ImmutableSet.copyOf(bucket.keySet()))
+            .orElse(ImmutableSet.of()));
+    }
+
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * @return the size of the slabs holding stored blobs, including the space of deleted blobs not compacted yet.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    @VisibleForTesting
+    boolean sharesSlab(BucketName bucketName, BlobId blobId1, BlobId blobId2) {
+        return retrieve(bucketName, blobId1).slab() == retrieve(bucketName, blobId2).slab();
+    }
+}
@@ -0,0 +1,227 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.blob.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectStoreException;
+import org.apache.james.blob.api.PlainBlobId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class OffHeapMemoryBlobStoreDAOTest implements BlobStoreDAOContract {
+    private static final long ONE_GIGABYTE = 1024L * 1024 * 1024;
+    private static final BucketName BUCKET = BucketName.of("bucket");
+    private static final PlainBlobId.Factory BLOB_ID_FACTORY = new PlainBlobId.Factory();
+    private static final BlobId BLOB_ID_1 = BLOB_ID_FACTORY.of("id1");
+    private static final BlobId BLOB_ID_2 = BLOB_ID_FACTORY.of("id2");
+    private static final byte[] TEN_BYTES = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private OffHeapMemoryBlobStoreDAO blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new OffHeapMemoryBlobStoreDAO(ONE_GIGABYTE);
+    }
+
+    @Override
+    public BlobStoreDAO testee() {
+        return blobStore;
+    }
+
+    @Test
+    void saveShouldBeRejectedWhenExceedingCapacity() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+
+        assertThatThrownBy(() -> testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block())
+            .isInstanceOf(ObjectStoreException.class);
+    }
+
+    @Test
+    void rejectedSaveShouldNotBeStored() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).onErrorResume(e -> Mono.empty()).block();
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(Flux.from(testee.listBlobs(BUCKET)).collectList().block()).containsOnly(BLOB_ID_1);
+        assertThat(testee.getStoredBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void deleteShouldFreeCapacity() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        testee.delete(BUCKET, BLOB_ID_1).block();
+
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+
+        assertThat(testee.getStoredBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void deletedBlobsShouldBeCompactedWhenReachingCapacity() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(30, 30);
+        BlobId blobId3 = BLOB_ID_FACTORY.of("id3");
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+        testee.delete(BUCKET, BLOB_ID_1).block();
+
+        testee.save(BUCKET, blobId3, "abcdefghijklmno".getBytes(StandardCharsets.US_ASCII)).block();
+
+        assertThat(testee.getAllocatedBytes()).isLessThanOrEqualTo(30);
+        assertThat(testee.getStoredBytes()).isEqualTo(25);
+        assertThat(testee.readBytes(BUCKET, BLOB_ID_2).block()).isEqualTo(TEN_BYTES);
+        assertThat(testee.readBytes(BUCKET, blobId3).block())
+            .isEqualTo("abcdefghijklmno".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void allocatedBytesShouldStayBoundedWhenOverwriting() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(64, 32);
+        for (int i = 0; i < 100; i++) {
+            testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+            testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+        }
+
+        assertThat(testee.getAllocatedBytes()).isLessThanOrEqualTo(64);
+        assertThat(testee.getStoredBytes()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectedOverwriteShouldKeepThePreviousContent() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+
+        assertThatThrownBy(() -> testee.save(BUCKET, BLOB_ID_1, new byte[20]).block())
+            .isInstanceOf(ObjectStoreException.class);
+        assertThat(testee.readBytes(BUCKET, BLOB_ID_1).block()).isEqualTo(TEN_BYTES);
+        assertThat(testee.getStoredBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void deletingEmptyBlobsShouldNotReleaseTheirSlabTwice() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(64, 32);
+        testee.save(BUCKET, BLOB_ID_1, new byte[0]).block();
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+
+        testee.delete(BUCKET, BLOB_ID_2).block();
+
+        assertThat(testee.getAllocatedBytes()).isEqualTo(32);
+
+        testee.delete(BUCKET, BLOB_ID_1).block();
+
+        assertThat(testee.getAllocatedBytes()).isZero();
+        assertThat(testee.getStoredBytes()).isZero();
+    }
+
+    @Test
+    void capacityShouldStillBeEnforcedAfterDeletingEmptyBlobs() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, new byte[0]).block();
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+        testee.delete(BUCKET, BLOB_ID_2).block();
+        testee.delete(BUCKET, BLOB_ID_1).block();
+
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+
+        assertThatThrownBy(() -> testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block())
+            .isInstanceOf(ObjectStoreException.class);
+    }
+
+    @Test
+    void emptyBlobsShouldBeReadable() {
+        blobStore.save(BUCKET, BLOB_ID_1, new byte[0]).block();
+
+        assertThat(blobStore.readBytes(BUCKET, BLOB_ID_1).block()).isEmpty();
+    }
+
+    @Test
+    void deleteBucketShouldFreeCapacity() {
+        blobStore.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        blobStore.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+
+        blobStore.deleteBucket(BUCKET).block();
+
+        assertThat(blobStore.getStoredBytes()).isZero();
+    }
+
+    @Test
+    void overwriteShouldNotAccountTwiceTheSameBlob() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(15, 64);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+
+        testee.save(BUCKET, BLOB_ID_1, "abcdefghij".getBytes(StandardCharsets.US_ASCII)).block();
+
+        assertThat(testee.getStoredBytes()).isEqualTo(10);
+        assertThat(testee.readBytes(BUCKET, BLOB_ID_1).block())
+            .isEqualTo("abcdefghij".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void smallBlobsShouldShareTheSameSlab() {
+        blobStore.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        blobStore.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+
+        assertThat(blobStore.sharesSlab(BUCKET, BLOB_ID_1, BLOB_ID_2)).isTrue();
+    }
+
+    @Test
+    void largeBlobsShouldGetADedicatedSlab() {
+        OffHeapMemoryBlobStoreDAO testee = new OffHeapMemoryBlobStoreDAO(ONE_GIGABYTE, 16);
+        testee.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        testee.save(BUCKET, BLOB_ID_2, TEN_BYTES).block();
+
+        assertThat(testee.sharesSlab(BUCKET, BLOB_ID_1, BLOB_ID_2)).isFalse();
+        assertThat(testee.readBytes(BUCKET, BLOB_ID_2).block()).isEqualTo(TEN_BYTES);
+    }
+
+    @Test
+    void readByteBufferShouldReturnAReadOnlyView() {
+        blobStore.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        blobStore.save(BUCKET, BLOB_ID_2, "abc".getBytes(StandardCharsets.US_ASCII)).block();
+
+        ByteBuffer buffer = blobStore.readByteBuffer(BUCKET, BLOB_ID_2).block();
+
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(StandardCharsets.US_ASCII.decode(buffer).toString()).isEqualTo("abc");
+    }
+
+    @Test
+    void viewsShouldRemainReadableAfterDeletion() {
+        blobStore.save(BUCKET, BLOB_ID_1, TEN_BYTES).block();
+        ByteBuffer buffer = blobStore.readByteBuffer(BUCKET, BLOB_ID_1).block();
+
+        blobStore.delete(BUCKET, BLOB_ID_1).block();
+
+        assertThat(StandardCharsets.US_ASCII.decode(buffer).toString()).isEqualTo("0123456789");
+    }
+}
@@ -43,11 +43,14 @@ import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
+import org.jooq.Field;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
+import com.google.common.primitives.Ints;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -84,6 +87,23 @@ public class PostgresBlobStoreDAO implements BlobStoreDAO {
             .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Blob " + blobId + " does not exist in bucket " + bucketName)));
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        // Postgres substring positions are 1-based
+        Field<byte[]> range = DSL.field("substring({0} from {1} for {2})", SQLDataType.BLOB, DATA,
+            DSL.inline(Ints.saturatedCast(offset + 1)), DSL.inline(Ints.saturatedCast(length)));
+
+        return postgresExecutor.executeRow(dsl -> Mono.from(dsl.select(range)
+                .from(TABLE_NAME)
+                .where(BUCKET_NAME.eq(bucketName.asString()))
+                .and(BLOB_ID.eq(blobId.asString()))))
+            .map(record -> record.get(range))
+            .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Blob " + blobId + " does not exist in bucket " + bucketName)));
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -27,6 +27,7 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -44,7 +45,6 @@ import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
@@ -73,6 +73,7 @@ import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 @Singleton
@@ -94,8 +95,8 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
         }
 
         @Override
-        public Optional<Long> sizeIfKnown() {
-            return Optional.of(size);
+        public com.google.common.base.Optional<Long> sizeIfKnown() {
+            return com.google.common.base.Optional.of(size);
         }
 
         @Override
@@ -110,13 +111,14 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
     private static final Duration FIRST_BACK_OFF = Duration.ofMillis(100);
     private static final boolean LAZY = false;
     private static final int MAX_RETRIES = 5;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
 
     private final BucketNameResolver bucketNameResolver;
     private final S3AsyncClient client;
     private final S3BlobStoreConfiguration configuration;
     private final BlobId.Factory blobIdFactory;
     private final S3RequestOption s3RequestOption;
-    private final java.util.Optional<BucketName> fallbackNamespace;
+    private final Optional<BucketName> fallbackNamespace;
 
     @Inject
     public S3BlobStoreDAO(S3ClientFactory s3ClientFactory,
@@ -210,9 +212,30 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
 
     @Override
     public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        return readBytes(bucketName, blobId, Optional.empty());
+    }
+
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        // HTTP ranges are inclusive and can not be empty: an empty range still checks the blob existence
+        String lastByte = length > Long.MAX_VALUE - offset ? "" : String.valueOf(offset + Math.max(length, 1) - 1);
+        return readBytes(bucketName, blobId, Optional.of("bytes=" + offset + "-" + lastByte))
+            .onErrorResume(S3Exception.class, e -> {
+                if (e.statusCode() == RANGE_NOT_SATISFIABLE) {
+                    return Mono.just(new byte[0]);
+                }
+                return Mono.error(e);
+            })
+            .map(bytes -> length == 0 ? new byte[0] : bytes);
+    }
+
+    private Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, Optional<String> range) {
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
 
-        return getObjectBytes(resolvedBucketName, blobId)
+        return getObjectBytes(resolvedBucketName, blobId, range)
                 .onErrorMap(NoSuchBucketException.class, e -> new ObjectNotFoundException("Bucket not found " + resolvedBucketName.asString(), e))
                 .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + blobId.asString() + " in bucket " + resolvedBucketName.asString(), e))
                 .publishOn(Schedulers.parallel())
@@ -220,21 +243,22 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
                 .onErrorMap(e -> e.getCause() instanceof OutOfMemoryError, Throwable::getCause);
     }
 
-    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytes(BucketName bucketName, BlobId blobId) {
-        return getObjectBytesFromStore(bucketName, blobId)
+    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytes(BucketName bucketName, BlobId blobId, Optional<String> range) {
+        return getObjectBytesFromStore(bucketName, blobId, range)
                 .onErrorResume(e -> e instanceof NoSuchKeyException || e instanceof NoSuchBucketException, e -> {
                     if (fallbackNamespace.isPresent() && bucketNameResolver.isNameSpace(bucketName)) {
                         BucketName resolvedFallbackBucketName = bucketNameResolver.resolve(fallbackNamespace.get());
-                        return getObjectBytesFromStore(resolvedFallbackBucketName, blobId);
+                        return getObjectBytesFromStore(resolvedFallbackBucketName, blobId, range);
                     }
                     return Mono.error(e);
                 });
     }
 
-    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytesFromStore(BucketName bucketName, BlobId blobId) {
+    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytesFromStore(BucketName bucketName, BlobId blobId, Optional<String> range) {
         return buildGetObjectRequestBuilder(bucketName, blobId)
-            .flatMap(putObjectRequest -> Mono.fromFuture(() ->
-                client.getObject(putObjectRequest.build(), new MinimalCopyBytesResponseTransformer(configuration, blobId))));
+            .map(getObjectRequest -> range.map(getObjectRequest::range).orElse(getObjectRequest))
+            .flatMap(getObjectRequest -> Mono.fromFuture(() ->
+                client.getObject(getObjectRequest.build(), new MinimalCopyBytesResponseTransformer(configuration, blobId))));
     }
 
     private Mono<GetObjectRequest.Builder> buildGetObjectRequestBuilder(BucketName bucketName, BlobId blobId) {
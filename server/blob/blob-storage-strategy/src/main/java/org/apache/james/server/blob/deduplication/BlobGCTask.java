@@ -33,6 +33,8 @@ import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
 import org.apache.james.task.TaskType;
 
+import com.google.common.base.Preconditions;
+
 public class BlobGCTask implements Task {
     public static final TaskType TASK_TYPE = TaskType.of("BlobGCTask");
 
@@ -47,7 +49,8 @@ public class BlobGCTask implements Task {
                 snapshot.getErrorCount(),
                 snapshot.getBloomFilterExpectedBlobCount(),
                 snapshot.getBloomFilterAssociatedProbability(),
-                Clock.systemUTC().instant(), deletionWindowSize);
+                Clock.systemUTC().instant(), deletionWindowSize,
+                context.getResumePartition());
         }
 
         private final Instant timestamp;
@@ -58,6 +61,7 @@ public class BlobGCTask implements Task {
         private final long bloomFilterExpectedBlobCount;
         private final double bloomFilterAssociatedProbability;
         private final int deletionWindowSize;
+        private final int resumePartition;
 
         AdditionalInformation(long referenceSourceCount,
                               long blobCount,
@@ -67,6 +71,19 @@ public class BlobGCTask implements Task {
                               double bloomFilterAssociatedProbability,
                               Instant timestamp,
                               int deletionWindowSize) {
+            this(referenceSourceCount, blobCount, gcedBlobCount, errorCount, bloomFilterExpectedBlobCount,
+                bloomFilterAssociatedProbability, timestamp, deletionWindowSize, Builder.DEFAULT_FROM_PARTITION);
+        }
+
+        AdditionalInformation(long referenceSourceCount,
+                              long blobCount,
+                              long gcedBlobCount,
+                              long errorCount,
+                              long bloomFilterExpectedBlobCount,
+                              double bloomFilterAssociatedProbability,
+                              Instant timestamp,
+                              int deletionWindowSize,
+                              int resumePartition) {
             this.referenceSourceCount = referenceSourceCount;
             this.blobCount = blobCount;
             this.gcedBlobCount = gcedBlobCount;
@@ -75,6 +92,7 @@ public class BlobGCTask implements Task {
             this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
             this.timestamp = timestamp;
             this.deletionWindowSize = deletionWindowSize;
+            this.resumePartition = resumePartition;
         }
 
         @Override
@@ -113,11 +131,20 @@ public class BlobGCTask implements Task {
         public int getDeletionWindowSize() {
             return deletionWindowSize;
         }
+
+        /**
+         * Partition to pass as {@code fromPartition} to resume this run.
+         */
+        public int getResumePartition() {
+            return resumePartition;
+        }
     }
 
     public static class Builder {
 
         public static final int DEFAULT_DELETION_WINDOW_SIZE = 1000;
+        public static final int DEFAULT_PARTITION_COUNT = BloomFilterGCAlgorithm.SINGLE_PARTITION;
+        public static final int DEFAULT_FROM_PARTITION = 0;
 
         @FunctionalInterface
         public interface RequireAssociatedProbability {
@@ -168,6 +195,8 @@ public class BlobGCTask implements Task {
         private final int expectedBlobCount;
         private final double associatedProbability;
         private Optional<Integer> deletionWindowSize;
+        private Optional<Integer> partitionCount;
+        private Optional<Integer> fromPartition;
 
         public Builder(BlobStoreDAO blobStoreDAO, BlobId.Factory generationAwareBlobIdFactory,
                        GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
@@ -181,6 +210,8 @@ public class BlobGCTask implements Task {
             this.bucketName = bucketName;
             this.expectedBlobCount = expectedBlobCount;
             this.deletionWindowSize = Optional.empty();
+            this.partitionCount = Optional.empty();
+            this.fromPartition = Optional.empty();
             this.associatedProbability = associatedProbability;
         }
 
@@ -194,6 +225,26 @@ public class BlobGCTask implements Task {
             return this;
         }
 
+        public Builder partitionCount(int partitionCount) {
+            this.partitionCount = Optional.of(partitionCount);
+            return this;
+        }
+
+        public Builder partitionCount(Optional<Integer> partitionCount) {
+            this.partitionCount = partitionCount;
+            return this;
+        }
+
+        public Builder fromPartition(int fromPartition) {
+            this.fromPartition = Optional.of(fromPartition);
+            return this;
+        }
+
+        public Builder fromPartition(Optional<Integer> fromPartition) {
+            this.fromPartition = fromPartition;
+            return this;
+        }
+
         public BlobGCTask build() {
             return new BlobGCTask(
                 blobStoreDAO,
@@ -204,7 +255,9 @@ public class BlobGCTask implements Task {
                 clock,
                 expectedBlobCount,
                 deletionWindowSize.orElse(DEFAULT_DELETION_WINDOW_SIZE),
-                associatedProbability);
+                associatedProbability,
+                partitionCount.orElse(DEFAULT_PARTITION_COUNT),
+                fromPartition.orElse(DEFAULT_FROM_PARTITION));
         }
     }
 
@@ -232,6 +285,8 @@ public class BlobGCTask implements Task {
     private final int expectedBlobCount;
     private final int deletionWindowSize;
     private final double associatedProbability;
+    private final int partitionCount;
+    private final int fromPartition;
     private final Context context;
 
 
@@ -243,6 +298,22 @@ public class BlobGCTask implements Task {
                       Clock clock,
                       int expectedBlobCount,
                       int deletionWindowSize, double associatedProbability) {
+        this(blobStoreDAO, generationAwareBlobIdFactory, generationAwareBlobIdConfiguration, blobReferenceSources, bucketName,
+            clock, expectedBlobCount, deletionWindowSize, associatedProbability, Builder.DEFAULT_PARTITION_COUNT,
+            Builder.DEFAULT_FROM_PARTITION);
+    }
+
+    public BlobGCTask(BlobStoreDAO blobStoreDAO,
+                      BlobId.Factory generationAwareBlobIdFactory,
+                      GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                      Set<BlobReferenceSource> blobReferenceSources,
+                      BucketName bucketName,
+                      Clock clock,
+                      int expectedBlobCount,
+                      int deletionWindowSize, double associatedProbability, int partitionCount, int fromPartition) {
+        Preconditions.checkArgument(fromPartition >= 0 && fromPartition < partitionCount,
+            "'fromPartition' must be positive and strictly smaller than 'partitionCount'");
+
         this.blobStoreDAO = blobStoreDAO;
         this.generationAwareBlobIdFactory = generationAwareBlobIdFactory;
         this.generationAwareBlobIdConfiguration = generationAwareBlobIdConfiguration;
@@ -252,6 +323,8 @@ public class BlobGCTask implements Task {
         this.expectedBlobCount = expectedBlobCount;
         this.deletionWindowSize = deletionWindowSize;
         this.associatedProbability = associatedProbability;
+        this.partitionCount = partitionCount;
+        this.fromPartition = fromPartition;
         this.context = new Context(expectedBlobCount, associatedProbability);
     }
 
@@ -264,7 +337,7 @@ public class BlobGCTask implements Task {
             generationAwareBlobIdConfiguration,
             clock);
 
-        return gcAlgorithm.gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, context)
+        return gcAlgorithm.gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, partitionCount, fromPartition, context)
             .block();
     }
 
@@ -297,4 +370,12 @@ public class BlobGCTask implements Task {
     public int getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getFromPartition() {
+        return fromPartition;
+    }
 }
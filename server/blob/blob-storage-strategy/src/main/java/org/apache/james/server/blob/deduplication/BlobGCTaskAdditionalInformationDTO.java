@@ -42,7 +42,8 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                     dto.bloomFilterExpectedBlobCount,
                     dto.bloomFilterAssociatedProbability,
                     dto.timestamp,
-                    dto.deletionWindowSize.orElse(BlobGCTask.Builder.DEFAULT_DELETION_WINDOW_SIZE)))
+                    dto.deletionWindowSize.orElse(BlobGCTask.Builder.DEFAULT_DELETION_WINDOW_SIZE),
+                    dto.resumePartition.orElse(BlobGCTask.Builder.DEFAULT_FROM_PARTITION)))
             .toDTOConverter((domain, type) ->
                 new BlobGCTaskAdditionalInformationDTO(
                     type,
@@ -53,7 +54,9 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                     domain.getErrorCount(),
                     domain.getBloomFilterExpectedBlobCount(),
                     domain.getBloomFilterAssociatedProbability(),
-                    Optional.of(domain.getDeletionWindowSize())
+                    Optional.of(domain.getDeletionWindowSize()),
+                    Optional.of(domain.getResumePartition())
+                        .filter(resumePartition -> resumePartition != BlobGCTask.Builder.DEFAULT_FROM_PARTITION)
                 ))
             .typeName(BlobGCTask.TASK_TYPE.asString())
             .withFactory(AdditionalInformationDTOModule::new);
@@ -67,6 +70,7 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
     private final long bloomFilterExpectedBlobCount;
     private final double bloomFilterAssociatedProbability;
     private final Optional<Integer> deletionWindowSize;
+    private final Optional<Integer> resumePartition;
 
     public BlobGCTaskAdditionalInformationDTO(@JsonProperty("type") String type,
                                               @JsonProperty("timestamp") Instant timestamp,
@@ -76,7 +80,8 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                                               @JsonProperty("errorCount") long errorCount,
                                               @JsonProperty("bloomFilterExpectedBlobCount") long bloomFilterExpectedBlobCount,
                                               @JsonProperty("bloomFilterAssociatedProbability") double bloomFilterAssociatedProbability,
-                                              @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize) {
+                                              @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize,
+                                              @JsonProperty("resumePartition") Optional<Integer> resumePartition) {
         this.type = type;
         this.timestamp = timestamp;
         this.referenceSourceCount = referenceSourceCount;
@@ -86,6 +91,7 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
         this.bloomFilterExpectedBlobCount = bloomFilterExpectedBlobCount;
         this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
         this.deletionWindowSize = deletionWindowSize;
+        this.resumePartition = resumePartition;
     }
 
 
@@ -126,4 +132,8 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
     public Optional<Integer> getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public Optional<Integer> getResumePartition() {
+        return resumePartition;
+    }
 }
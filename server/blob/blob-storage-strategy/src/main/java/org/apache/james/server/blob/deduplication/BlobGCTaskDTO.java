@@ -39,17 +39,23 @@ public class BlobGCTaskDTO implements TaskDTO {
     private final int expectedBlobCount;
     private final Optional<Integer> deletionWindowSize;
     private final double associatedProbability;
+    private final Optional<Integer> partitionCount;
+    private final Optional<Integer> fromPartition;
     private final String type;
 
     public BlobGCTaskDTO(@JsonProperty("bucketName") String bucketName,
                          @JsonProperty("expectedBlobCount") int expectedBlobCount,
                          @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize,
                          @JsonProperty("associatedProbability") double associatedProbability,
+                         @JsonProperty("partitionCount") Optional<Integer> partitionCount,
+                         @JsonProperty("fromPartition") Optional<Integer> fromPartition,
                          @JsonProperty("type") String type) {
         this.bucketName = bucketName;
         this.expectedBlobCount = expectedBlobCount;
         this.deletionWindowSize = deletionWindowSize;
         this.associatedProbability = associatedProbability;
+        this.partitionCount = partitionCount;
+        this.fromPartition = fromPartition;
         this.type = type;
     }
 
@@ -71,6 +77,8 @@ public class BlobGCTaskDTO implements TaskDTO {
                     .expectedBlobCount(dto.expectedBlobCount)
                     .associatedProbability(dto.associatedProbability)
                     .deletionWindowSize(dto.deletionWindowSize)
+                    .partitionCount(dto.partitionCount)
+                    .fromPartition(dto.fromPartition)
                     .build())
             .toDTOConverter((domain, type) ->
                 new BlobGCTaskDTO(
@@ -78,6 +86,10 @@ public class BlobGCTaskDTO implements TaskDTO {
                     domain.getExpectedBlobCount(),
                     Optional.of(domain.getDeletionWindowSize()),
                     domain.getAssociatedProbability(),
+                    Optional.of(domain.getPartitionCount())
+                        .filter(partitionCount -> partitionCount != BlobGCTask.Builder.DEFAULT_PARTITION_COUNT),
+                    Optional.of(domain.getFromPartition())
+                        .filter(fromPartition -> fromPartition != BlobGCTask.Builder.DEFAULT_FROM_PARTITION),
                     type))
             .typeName(BlobGCTask.TASK_TYPE.asString())
             .withFactory(TaskDTOModule::new);
@@ -103,4 +115,12 @@ public class BlobGCTaskDTO implements TaskDTO {
     public Optional<Integer> getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public Optional<Integer> getPartitionCount() {
+        return partitionCount;
+    }
+
+    public Optional<Integer> getFromPartition() {
+        return fromPartition;
+    }
 }
@@ -33,7 +33,9 @@ public class BlobReferenceAggregate {
     }
 
     public static BlobReferenceSource aggregate(Collection<BlobReferenceSource> sources) {
+        // Sources are independent: scan them concurrently, the resulting flux remains serialized
+        int concurrency = Math.max(1, sources.size());
         return () -> Flux.fromIterable(sources)
-            .concatMap(BlobReferenceSource::listReferencedBlobs);
+            .flatMap(BlobReferenceSource::listReferencedBlobs, concurrency);
     }
 }
@@ -28,7 +28,9 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobReferenceSource;
@@ -40,9 +42,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnel;
 import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -51,6 +56,8 @@ public class BloomFilterGCAlgorithm {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BloomFilterGCAlgorithm.class);
     private static final Funnel<CharSequence> BLOOM_FILTER_FUNNEL = Funnels.stringFunnel(StandardCharsets.US_ASCII);
+    private static final HashFunction PARTITION_HASH_FUNCTION = Hashing.murmur3_32_fixed();
+    public static final int SINGLE_PARTITION = 1;
 
     public static class Context {
 
@@ -200,6 +207,7 @@ public class BloomFilterGCAlgorithm {
         private final AtomicLong blobCount;
         private final AtomicLong gcedBlobCount;
         private final AtomicLong errorCount;
+        private final AtomicInteger resumePartition;
         private final Long bloomFilterExpectedBlobCount;
         private final Double bloomFilterAssociatedProbability;
 
@@ -208,6 +216,7 @@ public class BloomFilterGCAlgorithm {
             this.blobCount = new AtomicLong();
             this.gcedBlobCount = new AtomicLong();
             this.errorCount = new AtomicLong();
+            this.resumePartition = new AtomicInteger();
             this.bloomFilterExpectedBlobCount = bloomFilterExpectedBlobCount;
             this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
         }
@@ -228,6 +237,26 @@ public class BloomFilterGCAlgorithm {
             errorCount.incrementAndGet();
         }
 
+        void startFromPartition(int partition) {
+            resumePartition.set(partition);
+        }
+
+        /**
+         * Only moves the resume point forward when the given partition directly follows the previously collected
+         * ones, so that a failed partition stays the resume point even if later partitions succeed.
+         */
+        void markPartitionCollected(int partition) {
+            resumePartition.compareAndSet(partition, partition + 1);
+        }
+
+        /**
+         * First partition that is not known to be collected, following the last contiguous completed partition.
+         * Equals the partition count once every partition was collected.
+         */
+        public int getResumePartition() {
+            return resumePartition.get();
+        }
+
         public Snapshot snapshot() {
             return Snapshot.builder()
                 .referenceSourceCount(referenceSourceCount.get())
@@ -264,24 +293,86 @@ public class BloomFilterGCAlgorithm {
 
     public Mono<Result> gc(int expectedBlobCount, int deletionWindowSize, double associatedProbability, BucketName bucketName, Context context) {
         return populatedBloomFilter(expectedBlobCount, associatedProbability, context)
-            .flatMap(bloomFilter -> gc(bloomFilter, bucketName, context, deletionWindowSize))
+            .flatMap(bloomFilter -> gc(bloomFilter::mightContain, blobId -> true, bucketName, context, deletionWindowSize))
             .onErrorResume(error -> {
                 LOGGER.error("Error when running blob deduplicate garbage collection", error);
                 return Mono.just(Result.PARTIAL);
             });
     }
 
-    private Mono<Result> gc(BloomFilter<CharSequence> bloomFilter, BucketName bucketName, Context context, int deletionWindowSize) {
+    /**
+     * Partitioned garbage collection, for stores too large for a single in-memory bloom filter.
+     *
+     * The blob id space is sharded by hash into {@code partitionCount} partitions that are collected one after
+     * the other. Each partition gets its own off-heap bloom filter sized for {@code expectedBlobCount / partitionCount}
+     * entries, which bounds the memory used at any time. The price to pay is that references and blobs are listed
+     * once per partition.
+     *
+     * A failure while collecting a partition yields a {@link Result#PARTIAL} result but does not prevent the following
+     * partitions to be collected. {@code fromPartition} allows resuming an interrupted or partial run from
+     * {@link Context#getResumePartition()}: the first partition following the last contiguous collected one.
+     */
+    public Mono<Result> gc(int expectedBlobCount, int deletionWindowSize, double associatedProbability, BucketName bucketName,
+                           int partitionCount, int fromPartition, Context context) {
+        Preconditions.checkArgument(partitionCount > 0, "'partitionCount' must be strictly positive");
+        Preconditions.checkArgument(fromPartition >= 0 && fromPartition < partitionCount,
+            "'fromPartition' must be positive and strictly smaller than 'partitionCount'");
+
+        context.startFromPartition(fromPartition);
+        if (partitionCount == SINGLE_PARTITION) {
+            return gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, context)
+                .doOnNext(result -> {
+                    if (result == Result.COMPLETED) {
+                        context.markPartitionCollected(fromPartition);
+                    }
+                });
+        }
+        long expectedBlobCountPerPartition = Math.ceilDiv(expectedBlobCount, partitionCount);
+        return Flux.range(fromPartition, partitionCount - fromPartition)
+            .concatMap(partition -> gcPartition(partition, partitionCount, expectedBlobCountPerPartition, deletionWindowSize,
+                associatedProbability, bucketName, context))
+            .reduce(Task::combine)
+            .switchIfEmpty(Mono.just(Result.COMPLETED));
+    }
+
+    public Mono<Result> gc(int expectedBlobCount, int deletionWindowSize, double associatedProbability, BucketName bucketName,
+                           int partitionCount, Context context) {
+        return gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, partitionCount, 0, context);
+    }
+
+    private Mono<Result> gcPartition(int partition, int partitionCount, long expectedBlobCount, int deletionWindowSize,
+                                     double associatedProbability, BucketName bucketName, Context context) {
+        Predicate<BlobId> inPartition = blobId -> partitionOf(blobId, partitionCount) == partition;
+
+        return populatedOffHeapBloomFilter(expectedBlobCount, associatedProbability, inPartition, context)
+            .flatMap(bloomFilter -> gc(bloomFilter::mightContain, inPartition, bucketName, context, deletionWindowSize))
+            .doOnNext(result -> {
+                if (result == Result.COMPLETED) {
+                    context.markPartitionCollected(partition);
+                }
+            })
+            .onErrorResume(error -> {
+                LOGGER.error("Error when running blob deduplicate garbage collection on partition {} out of {}", partition, partitionCount, error);
+                return Mono.just(Result.PARTIAL);
+            });
+    }
+
+    static int partitionOf(BlobId blobId, int partitionCount) {
+        return Math.floorMod(PARTITION_HASH_FUNCTION.hashString(blobId.asString(), StandardCharsets.UTF_8).asInt(), partitionCount);
+    }
+
+    private Mono<Result> gc(Predicate<CharSequence> mightBeReferenced, Predicate<BlobId> inScope, BucketName bucketName, Context context, int deletionWindowSize) {
         return Flux.from(blobStoreDAO.listBlobs(bucketName))
-            .doOnNext(blobId -> context.incrementBlobCount())
             .flatMap(blobId -> Mono.fromCallable(() -> blobIdFactory.parse(blobId.asString())))
+            .filter(inScope)
+            .doOnNext(blobId -> context.incrementBlobCount())
             .filter(blobId -> {
                 if (blobId instanceof GenerationAware generationAware) {
                     return !generationAware.inActiveGeneration(generationAwareBlobIdConfiguration, now);
                 }
                 return false;
             })
-            .filter(blobId -> !bloomFilter.mightContain(salt + blobId.asString()))
+            .filter(blobId -> !mightBeReferenced.test(salt + blobId.asString()))
             .window(deletionWindowSize)
             .flatMap(blobIdFlux -> handlePagedDeletion(bucketName, context, blobIdFlux), DEFAULT_CONCURRENCY)
             .reduce(Task::combine)
@@ -313,4 +404,16 @@ public class BloomFilterGCAlgorithm {
                     .then()
                     .thenReturn(bloomFilter));
     }
+
+    private Mono<OffHeapBloomFilter> populatedOffHeapBloomFilter(long expectedBlobCount, double associatedProbability,
+                                                                 Predicate<BlobId> inPartition, Context context) {
+        return Mono.fromCallable(() -> OffHeapBloomFilter.create(expectedBlobCount, associatedProbability))
+            .flatMap(bloomFilter ->
+                Flux.from(referenceSource.listReferencedBlobs())
+                    .filter(inPartition)
+                    .doOnNext(ref -> context.incrementReferenceSourceCount())
+                    .doOnNext(ref -> bloomFilter.put(salt + ref.asString()))
+                    .then()
+                    .thenReturn(bloomFilter));
+    }
 }
@@ -0,0 +1,121 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+
+/**
+ * Bloom filter whose bit array lives in a direct buffer, outside of the JVM heap.
+ *
+ * Uses the same double hashing strategy than Guava's {@link com.google.common.hash.BloomFilter}
+ * (murmur3 128 bits split in two 64 bits halves). Not thread safe: callers are expected to
+ * serialize {@link #put(CharSequence)} calls, which a reactive pipeline does by construction.
+ */
+class OffHeapBloomFilter {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    // A direct buffer holds at most Integer.MAX_VALUE bytes: bigger filters are clamped, callers needing
+    // more bits should use more partitions
+    static final long MAX_BIT_COUNT = (long) (Integer.MAX_VALUE / Long.BYTES) * Long.SIZE;
+
+    static OffHeapBloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        Preconditions.checkArgument(expectedInsertions >= 0, "'expectedInsertions' must be positive");
+        Preconditions.checkArgument(falsePositiveProbability > 0.0 && falsePositiveProbability < 1.0,
+            "'falsePositiveProbability' must be greater than 0.0 and smaller than 1.0");
+
+        long insertions = Math.max(1, expectedInsertions);
+        long bitCount = bitCount(insertions, falsePositiveProbability);
+        int hashFunctionCount = optimalHashFunctionCount(insertions, bitCount);
+        return new OffHeapBloomFilter(bitCount, hashFunctionCount);
+    }
+
+    static long bitCount(long insertions, double falsePositiveProbability) {
+        return Math.min(MAX_BIT_COUNT, optimalBitCount(insertions, falsePositiveProbability));
+    }
+
+    private static long optimalBitCount(long insertions, double falsePositiveProbability) {
+        return Math.max(Long.SIZE, (long) (-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+    }
+
+    private static int optimalHashFunctionCount(long insertions, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashFunctionCount;
+
+    private OffHeapBloomFilter(long bitCount, int hashFunctionCount) {
+        int longCount = Math.toIntExact((bitCount + Long.SIZE - 1) / Long.SIZE);
+        this.bits = ByteBuffer.allocateDirect(Math.multiplyExact(longCount, Long.BYTES)).asLongBuffer();
+        this.bitCount = (long) longCount * Long.SIZE;
+        this.hashFunctionCount = hashFunctionCount;
+    }
+
+    void put(CharSequence value) {
+        byte[] hash = HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asBytes();
+        long hash1 = lowerEight(hash);
+        long hash2 = upperEight(hash);
+        long combinedHash = hash1;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bitIndex = (combinedHash & Long.MAX_VALUE) % bitCount;
+            int longIndex = (int) (bitIndex >>> 6);
+            bits.put(longIndex, bits.get(longIndex) | (1L << bitIndex));
+            combinedHash += hash2;
+        }
+    }
+
+    boolean mightContain(CharSequence value) {
+        byte[] hash = HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asBytes();
+        long hash1 = lowerEight(hash);
+        long hash2 = upperEight(hash);
+        long combinedHash = hash1;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bitIndex = (combinedHash & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+            combinedHash += hash2;
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    private static long lowerEight(byte[] bytes) {
+        return Longs.fromBytes(bytes[7], bytes[6], bytes[5], bytes[4], bytes[3], bytes[2], bytes[1], bytes[0]);
+    }
+
+    private static long upperEight(byte[] bytes) {
+        return Longs.fromBytes(bytes[15], bytes[14], bytes[13], bytes[12], bytes[11], bytes[10], bytes[9], bytes[8]);
+    }
+}
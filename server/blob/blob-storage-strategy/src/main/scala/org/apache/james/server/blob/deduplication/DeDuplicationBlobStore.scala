@@ -165,6 +165,12 @@ class DeDuplicationBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readBytes(bucketName, blobId)
   }
 
+  override def readBytes(bucketName: BucketName, blobId: BlobId, offset: Long, length: Long): Publisher[Array[Byte]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readBytes(bucketName, blobId, offset, length)
+  }
+
   override def read(bucketName: BucketName, blobId: BlobId): InputStream = {
     Preconditions.checkNotNull(bucketName)
 
@@ -47,6 +47,23 @@ class BlobGCTaskAdditionalInformationDTOTest {
             .verify();
     }
 
+    @Test
+    void shouldMatchJsonSerializationContractWhenPartitioned() throws Exception {
+        JsonSerializationVerifier.dtoModule(BlobGCTaskAdditionalInformationDTO.SERIALIZATION_MODULE)
+            .bean(new BlobGCTask.AdditionalInformation(
+                1,
+                2,
+                3,
+                4,
+                5,
+                0.8,
+                Instant.parse("2007-12-03T10:15:30.00Z"),
+                100,
+                3))
+            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC-partitioned.additionalInformation.json"))
+            .verify();
+    }
+
     @Test
     void shouldDeserializeLegacyData() throws Exception {
         BlobGCTask.AdditionalInformation gcTask = JsonGenericSerializer
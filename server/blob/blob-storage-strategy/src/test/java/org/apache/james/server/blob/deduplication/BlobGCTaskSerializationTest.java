@@ -79,6 +79,31 @@ class BlobGCTaskSerializationTest {
             .verify();
     }
 
+    @Test
+    void shouldMatchJsonSerializationContractWhenPartitioned() throws Exception {
+        JsonSerializationVerifier.dtoModule(BlobGCTaskDTO.module(
+                blobStoreDAO,
+                generationAwareBlobIdFactory,
+                generationAwareBlobIdConfiguration,
+                blobReferenceSources,
+                clock))
+            .bean(new BlobGCTask(
+                blobStoreDAO,
+                generationAwareBlobIdFactory,
+                generationAwareBlobIdConfiguration,
+                blobReferenceSources,
+                BucketName.DEFAULT,
+                clock,
+                99,
+                100,
+                0.8,
+                4,
+                2
+            ))
+            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC-partitioned.task.json"))
+            .verify();
+    }
+
     @Test
     void shouldDeserializeLegacyData() throws Exception {
         BlobGCTask gcTask = JsonGenericSerializer
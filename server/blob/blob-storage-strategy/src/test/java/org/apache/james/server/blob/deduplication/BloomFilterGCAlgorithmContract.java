@@ -63,6 +63,7 @@ public interface BloomFilterGCAlgorithmContract {
     GenerationAwareBlobId.Configuration GENERATION_AWARE_BLOB_ID_CONFIGURATION = GenerationAwareBlobId.Configuration.DEFAULT;
     int EXPECTED_BLOB_COUNT = 100;
     int DELETION_WINDOW_SIZE = 10;
+    int PARTITION_COUNT = 4;
 
     double ASSOCIATED_PROBABILITY = 0.01;
 
@@ -261,4 +262,98 @@ public interface BloomFilterGCAlgorithmContract {
                 .bloomFilterAssociatedProbability(ASSOCIATED_PROBABILITY)
                 .build());
     }
+
+    @Test
+    default void partitionedGcShouldSuccessWhenMixCase() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> referencedBlobIds = IntStream.range(0, 100)
+            .mapToObj(index -> Mono.from(blobStore.save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block())
+            .collect(Collectors.toList());
+        List<BlobId> orphanBlobIds = IntStream.range(0, 50)
+            .mapToObj(index -> Mono.from(blobStore.save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block())
+            .collect(Collectors.toList());
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.fromIterable(referencedBlobIds));
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = Mono.from(bloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET, PARTITION_COUNT, context)).block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        Context.Snapshot snapshot = context.snapshot();
+        assertThat(snapshot.getReferenceSourceCount())
+            .isEqualTo(referencedBlobIds.size());
+        assertThat(snapshot.getBlobCount())
+            .isEqualTo(referencedBlobIds.size() + orphanBlobIds.size());
+        assertThat(snapshot.getGcedBlobCount())
+            .isLessThanOrEqualTo(orphanBlobIds.size())
+            .isGreaterThan(0);
+        assertThat(context.getResumePartition())
+            .isEqualTo(PARTITION_COUNT);
+
+        referencedBlobIds.forEach(blobId ->
+            assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+                .isNotNull());
+    }
+
+    @Test
+    default void partitionedGcShouldResumeFromTheGivenPartition() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> orphanBlobIds = IntStream.range(0, 50)
+            .mapToObj(index -> Mono.from(blobStore.save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block())
+            .collect(Collectors.toList());
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        int fromPartition = 2;
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = Mono.from(bloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET, PARTITION_COUNT, fromPartition, context)).block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.getResumePartition())
+            .isEqualTo(PARTITION_COUNT);
+        orphanBlobIds.forEach(blobId -> {
+            if (BloomFilterGCAlgorithm.partitionOf(blobId, PARTITION_COUNT) < fromPartition) {
+                assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isNotNull();
+            } else {
+                assertThatThrownBy(() -> blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isInstanceOf(ObjectNotFoundException.class);
+            }
+        });
+    }
+
+    @Test
+    default void partitionedGcShouldHandlerErrorWhenException() {
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        BlobStoreDAO blobStoreDAO = mock(BlobStoreDAO.class);
+        BlobId blobId = GENERATION_AWARE_BLOB_ID_FACTORY.of(UUID.randomUUID().toString());
+        when(blobStoreDAO.listBlobs(DEFAULT_BUCKET)).thenReturn(Flux.just(blobId));
+        when(blobStoreDAO.delete(ArgumentMatchers.eq(DEFAULT_BUCKET), any(Collection.class))).thenReturn(Mono.error(new RuntimeException("test")));
+
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        BloomFilterGCAlgorithm bloomFilterGCAlgorithm = new BloomFilterGCAlgorithm(
+            BLOB_REFERENCE_SOURCE,
+            blobStoreDAO,
+            GENERATION_AWARE_BLOB_ID_FACTORY,
+            GENERATION_AWARE_BLOB_ID_CONFIGURATION,
+            CLOCK);
+        Task.Result result = Mono.from(bloomFilterGCAlgorithm.gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET, PARTITION_COUNT, context)).block();
+
+        assertThat(result).isEqualTo(Task.Result.PARTIAL);
+        assertThat(context.getResumePartition())
+            .isEqualTo(BloomFilterGCAlgorithm.partitionOf(blobId, PARTITION_COUNT));
+        assertThat(context.snapshot())
+            .isEqualTo(Snapshot.builder()
+                .referenceSourceCount(0)
+                .blobCount(1)
+                .gcedBlobCount(0)
+                .errorCount(1)
+                .bloomFilterExpectedBlobCount(100)
+                .bloomFilterAssociatedProbability(ASSOCIATED_PROBABILITY)
+                .build());
+    }
 }
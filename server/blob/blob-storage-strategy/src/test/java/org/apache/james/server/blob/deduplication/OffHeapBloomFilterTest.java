@@ -0,0 +1,83 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapBloomFilterTest {
+    @Test
+    void mightContainShouldReturnTrueForInsertedValues() {
+        OffHeapBloomFilter bloomFilter = OffHeapBloomFilter.create(1000, 0.01);
+        List<String> values = IntStream.range(0, 1000)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.toList());
+
+        values.forEach(bloomFilter::put);
+
+        assertThat(values).allMatch(bloomFilter::mightContain);
+    }
+
+    @Test
+    void mightContainShouldRespectFalsePositiveProbability() {
+        OffHeapBloomFilter bloomFilter = OffHeapBloomFilter.create(10000, 0.01);
+        IntStream.range(0, 10000)
+            .forEach(i -> bloomFilter.put("inserted-" + i));
+
+        long falsePositives = IntStream.range(0, 10000)
+            .filter(i -> bloomFilter.mightContain("absent-" + i))
+            .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void emptyFilterShouldNotContainAnything() {
+        OffHeapBloomFilter bloomFilter = OffHeapBloomFilter.create(0, 0.01);
+
+        assertThat(bloomFilter.mightContain("any")).isFalse();
+    }
+
+    @Test
+    void bitCountShouldBeClampedToTheLargestDirectBuffer() {
+        long bitCount = OffHeapBloomFilter.bitCount(10_000_000_000L, 0.01);
+
+        assertThat(bitCount / Long.SIZE * Long.BYTES).isLessThanOrEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void createShouldRejectInvalidProbability() {
+        assertThatThrownBy(() -> OffHeapBloomFilter.create(10, 1.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void createShouldRejectNegativeInsertions() {
+        assertThatThrownBy(() -> OffHeapBloomFilter.create(-1, 0.01))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
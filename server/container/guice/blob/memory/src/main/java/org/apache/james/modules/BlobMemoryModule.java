@@ -19,19 +19,36 @@
 
 package org.apache.james.modules;
 
+import java.io.FileNotFoundException;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.PlainBlobId;
 import org.apache.james.blob.memory.MemoryBlobStoreDAO;
+import org.apache.james.blob.memory.OffHeapMemoryBlobStoreDAO;
 import org.apache.james.server.blob.deduplication.DeDuplicationBlobStore;
+import org.apache.james.util.SizeFormat;
+import org.apache.james.utils.PropertiesProvider;
 
+import com.google.common.primitives.Ints;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 
 public class BlobMemoryModule extends AbstractModule {
+    private static final String NAME = "blob";
+    private static final String LEGACY = "blobstore";
+    private static final String OFF_HEAP_ENABLED = "memory.offheap.enabled";
+    private static final String OFF_HEAP_MAX_SIZE = "memory.offheap.maxSize";
+    private static final String OFF_HEAP_SLAB_SIZE = "memory.offheap.slabSize";
+    private static final String DEFAULT_OFF_HEAP_MAX_SIZE = "1 GiB";
+    private static final String DEFAULT_OFF_HEAP_SLAB_SIZE = "4 MiB";
 
     @Override
     protected void configure() {
@@ -41,11 +58,28 @@ public class BlobMemoryModule extends AbstractModule {
         bind(DeDuplicationBlobStore.class).in(Scopes.SINGLETON);
         bind(BlobStore.class).to(DeDuplicationBlobStore.class);
 
-        bind(MemoryBlobStoreDAO.class).in(Scopes.SINGLETON);
-        bind(BlobStoreDAO.class).to(MemoryBlobStoreDAO.class);
-
         bind(BucketName.class)
             .annotatedWith(Names.named(BlobStore.DEFAULT_BUCKET_NAME_QUALIFIER))
             .toInstance(BucketName.DEFAULT);
     }
+
+    @Provides
+    @Singleton
+    BlobStoreDAO provideBlobStoreDAO(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            Configuration configuration = propertiesProvider.getConfigurations(NAME, LEGACY);
+            if (configuration.getBoolean(OFF_HEAP_ENABLED, false)) {
+                return offHeapBlobStoreDAO(configuration);
+            }
+            return new MemoryBlobStoreDAO();
+        } catch (FileNotFoundException e) {
+            return new MemoryBlobStoreDAO();
+        }
+    }
+
+    private OffHeapMemoryBlobStoreDAO offHeapBlobStoreDAO(Configuration configuration) {
+        long maxSize = SizeFormat.parseAsByteCount(configuration.getString(OFF_HEAP_MAX_SIZE, DEFAULT_OFF_HEAP_MAX_SIZE));
+        int slabSize = Ints.checkedCast(SizeFormat.parseAsByteCount(configuration.getString(OFF_HEAP_SLAB_SIZE, DEFAULT_OFF_HEAP_SLAB_SIZE)));
+        return new OffHeapMemoryBlobStoreDAO(maxSize, slabSize);
+    }
 }
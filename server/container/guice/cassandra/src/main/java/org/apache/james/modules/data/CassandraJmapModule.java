@@ -41,6 +41,8 @@ import org.apache.james.jmap.api.identity.IdentityUserDeletionTaskStep;
 import org.apache.james.jmap.api.projections.DefaultEmailQueryViewManager;
 import org.apache.james.jmap.api.projections.EmailQueryView;
 import org.apache.james.jmap.api.projections.EmailQueryViewManager;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjectionDeletionListener;
 import org.apache.james.jmap.api.projections.MessageFastViewProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewProjectionDeletionListener;
 import org.apache.james.jmap.api.projections.MessageFastViewProjectionHealthCheck;
@@ -56,6 +58,8 @@ import org.apache.james.jmap.cassandra.identity.CassandraCustomIdentityDAO;
 import org.apache.james.jmap.cassandra.identity.CassandraCustomIdentityDataDefinition;
 import org.apache.james.jmap.cassandra.projections.CassandraEmailQueryView;
 import org.apache.james.jmap.cassandra.projections.CassandraEmailQueryViewDataDefinition;
+import org.apache.james.jmap.cassandra.projections.CassandraMessageBodyStructureProjection;
+import org.apache.james.jmap.cassandra.projections.CassandraMessageBodyStructureProjectionDataDefinition;
 import org.apache.james.jmap.cassandra.projections.CassandraMessageFastViewProjection;
 import org.apache.james.jmap.cassandra.projections.CassandraMessageFastViewProjectionDataDefinition;
 import org.apache.james.jmap.cassandra.pushsubscription.CassandraPushSubscriptionDataDefinition;
@@ -100,6 +104,9 @@ public class CassandraJmapModule extends AbstractModule {
             .addBinding()
             .to(MessageFastViewProjectionHealthCheck.class);
 
+        bind(CassandraMessageBodyStructureProjection.class).in(Scopes.SINGLETON);
+        bind(MessageBodyStructureProjection.class).to(CassandraMessageBodyStructureProjection.class);
+
         bind(CassandraEmailQueryView.class).in(Scopes.SINGLETON);
         bind(EmailQueryView.class).to(CassandraEmailQueryView.class);
         bind(DefaultEmailQueryViewManager.class).in(Scopes.SINGLETON);
@@ -107,6 +114,7 @@ public class CassandraJmapModule extends AbstractModule {
 
         Multibinder<CassandraDataDefinition> cassandraDataDefinitions = Multibinder.newSetBinder(binder(), CassandraDataDefinition.class);
         cassandraDataDefinitions.addBinding().toInstance(CassandraMessageFastViewProjectionDataDefinition.MODULE);
+        cassandraDataDefinitions.addBinding().toInstance(CassandraMessageBodyStructureProjectionDataDefinition.MODULE);
         cassandraDataDefinitions.addBinding().toInstance(CassandraEmailQueryViewDataDefinition.MODULE);
         cassandraDataDefinitions.addBinding().toInstance(CassandraMailboxChangeDataDefinition.MODULE);
         cassandraDataDefinitions.addBinding().toInstance(CassandraEmailChangeDataDefinition.MODULE);
@@ -119,9 +127,9 @@ public class CassandraJmapModule extends AbstractModule {
         eventDTOModuleBinder.addBinding().toInstance(FilteringRuleSetDefineDTOModules.FILTERING_RULE_SET_DEFINED);
         eventDTOModuleBinder.addBinding().toInstance(FilteringRuleSetDefineDTOModules.FILTERING_INCREMENT);
 
-        Multibinder.newSetBinder(binder(), EventListener.ReactiveGroupEventListener.class, Names.named(CONTENT_DELETION))
-            .addBinding()
-            .to(MessageFastViewProjectionDeletionListener.class);
+        Multibinder<EventListener.ReactiveGroupEventListener> contentDeletionListeners = Multibinder.newSetBinder(binder(), EventListener.ReactiveGroupEventListener.class, Names.named(CONTENT_DELETION));
+        contentDeletionListeners.addBinding().to(MessageFastViewProjectionDeletionListener.class);
+        contentDeletionListeners.addBinding().to(MessageBodyStructureProjectionDeletionListener.class);
 
         Multibinder.newSetBinder(binder(), UsernameChangeTaskStep.class)
             .addBinding()
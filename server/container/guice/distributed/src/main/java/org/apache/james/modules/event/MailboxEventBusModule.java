@@ -21,9 +21,11 @@ package org.apache.james.modules.event;
 
 import static org.apache.james.events.NamingStrategy.MAILBOX_EVENT_NAMING_STRATEGY;
 
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
 import org.apache.james.backends.rabbitmq.SimpleConnectionPool;
 import org.apache.james.core.healthcheck.HealthCheck;
+import org.apache.james.event.json.CompactMailboxEventSerializer;
 import org.apache.james.event.json.MailboxEventSerializer;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.EventBusId;
@@ -38,6 +40,9 @@ import org.apache.james.events.RegistrationKey;
 import org.apache.james.events.RetryBackoffConfiguration;
 import org.apache.james.events.RoutingKeyConverter;
 import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.server.core.configuration.ConfigurationProvider;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
 
@@ -48,6 +53,8 @@ import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
 
 public class MailboxEventBusModule extends AbstractModule {
+    private static final String COMPACT_EVENT_ENCODING = "compactEventEncoding";
+    private static final boolean DEFAULT_COMPACT_EVENT_ENCODING = false;
 
     @Override
     protected void configure() {
@@ -87,10 +94,20 @@ public class MailboxEventBusModule extends AbstractModule {
             .init(instance::start);
     }
 
+    @Provides
+    @Singleton
+    CompactMailboxEventSerializer provideCompactMailboxEventSerializer(MailboxEventSerializer jsonSerializer,
+                                                                       MailboxId.Factory mailboxIdFactory, MessageId.Factory messageIdFactory,
+                                                                       ConfigurationProvider configurationProvider) throws ConfigurationException {
+        boolean emitCompact = configurationProvider.getConfiguration("listeners")
+            .getBoolean(COMPACT_EVENT_ENCODING, DEFAULT_COMPACT_EVENT_ENCODING);
+        return new CompactMailboxEventSerializer(jsonSerializer, mailboxIdFactory, messageIdFactory, emitCompact);
+    }
+
     @Provides
     @Singleton
     RabbitMQEventBus provideRabbitMQEventBus(RabbitMQEventBus.Factory eventBusFactory, NamingStrategy namingStrategy,
-                                             MailboxEventSerializer eventSerializer, RetryBackoffConfiguration retryBackoff,
+                                             CompactMailboxEventSerializer eventSerializer, RetryBackoffConfiguration retryBackoff,
                                              RoutingKeyConverter routingKeyConverter, EventBusId eventBusId,
                                              RabbitMQConfiguration configuration,
                                              EventBus.Configuration eventBusConfiguration) {
@@ -29,12 +29,14 @@ import org.apache.james.jmap.api.identity.IdentityUserDeletionTaskStep;
 import org.apache.james.jmap.api.projections.DefaultEmailQueryViewManager;
 import org.apache.james.jmap.api.projections.EmailQueryView;
 import org.apache.james.jmap.api.projections.EmailQueryViewManager;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewProjectionHealthCheck;
 import org.apache.james.jmap.api.pushsubscription.PushDeleteUserDataTaskStep;
 import org.apache.james.jmap.api.upload.UploadRepository;
 import org.apache.james.jmap.memory.identity.MemoryCustomIdentityDAO;
 import org.apache.james.jmap.memory.projections.MemoryEmailQueryView;
+import org.apache.james.jmap.memory.projections.MemoryMessageBodyStructureProjection;
 import org.apache.james.jmap.memory.projections.MemoryMessageFastViewProjection;
 import org.apache.james.jmap.memory.upload.InMemoryUploadRepository;
 import org.apache.james.mailbox.extractor.TextExtractor;
@@ -67,6 +69,9 @@ public class MemoryDataJmapModule extends AbstractModule {
         bind(MemoryMessageFastViewProjection.class).in(Scopes.SINGLETON);
         bind(MessageFastViewProjection.class).to(MemoryMessageFastViewProjection.class);
 
+        bind(MemoryMessageBodyStructureProjection.class).in(Scopes.SINGLETON);
+        bind(MessageBodyStructureProjection.class).to(MemoryMessageBodyStructureProjection.class);
+
         bind(MemoryEmailQueryView.class).in(Scopes.SINGLETON);
         bind(EmailQueryView.class).to(MemoryEmailQueryView.class);
         bind(DefaultEmailQueryViewManager.class).in(Scopes.SINGLETON);
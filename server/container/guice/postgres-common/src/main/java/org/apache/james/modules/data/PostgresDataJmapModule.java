@@ -31,6 +31,8 @@ import org.apache.james.jmap.api.identity.CustomIdentityDAO;
 import org.apache.james.jmap.api.identity.IdentityUserDeletionTaskStep;
 import org.apache.james.jmap.api.projections.EmailQueryView;
 import org.apache.james.jmap.api.projections.EmailQueryViewManager;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjectionDeletionListener;
 import org.apache.james.jmap.api.projections.MessageFastViewProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewProjectionDeletionListener;
 import org.apache.james.jmap.api.projections.MessageFastViewProjectionHealthCheck;
@@ -40,6 +42,7 @@ import org.apache.james.jmap.postgres.filtering.PostgresFilteringProjection;
 import org.apache.james.jmap.postgres.identity.PostgresCustomIdentityDAO;
 import org.apache.james.jmap.postgres.projections.PostgresEmailQueryView;
 import org.apache.james.jmap.postgres.projections.PostgresEmailQueryViewManager;
+import org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjection;
 import org.apache.james.jmap.postgres.projections.PostgresMessageFastViewProjection;
 import org.apache.james.jmap.postgres.upload.PostgresUploadRepository;
 import org.apache.james.mailbox.store.extractor.DefaultTextExtractor;
@@ -70,9 +73,12 @@ public class PostgresDataJmapModule extends AbstractModule {
         bind(PostgresMessageFastViewProjection.class).in(Scopes.SINGLETON);
         bind(MessageFastViewProjection.class).to(PostgresMessageFastViewProjection.class);
 
-        Multibinder.newSetBinder(binder(), EventListener.ReactiveGroupEventListener.class, Names.named(CONTENT_DELETION))
-            .addBinding()
-            .to(MessageFastViewProjectionDeletionListener.class);
+        bind(PostgresMessageBodyStructureProjection.class).in(Scopes.SINGLETON);
+        bind(MessageBodyStructureProjection.class).to(PostgresMessageBodyStructureProjection.class);
+
+        Multibinder<EventListener.ReactiveGroupEventListener> contentDeletionListeners = Multibinder.newSetBinder(binder(), EventListener.ReactiveGroupEventListener.class, Names.named(CONTENT_DELETION));
+        contentDeletionListeners.addBinding().to(MessageFastViewProjectionDeletionListener.class);
+        contentDeletionListeners.addBinding().to(MessageBodyStructureProjectionDeletionListener.class);
 
         bind(PostgresEmailQueryView.class).in(Scopes.SINGLETON);
         bind(EmailQueryView.class).to(PostgresEmailQueryView.class);
@@ -0,0 +1,89 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.util.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ByteBufferInputStreamTest {
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void readAllBytesShouldReturnTheBufferContent() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(CONTENT));
+
+        assertThat(testee.readAllBytes()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldReadOffHeapBuffers() throws IOException {
+        ByteBuffer direct = ByteBuffer.allocateDirect(CONTENT.length).put(CONTENT).flip();
+
+        assertThat(new ByteBufferInputStream(direct).readAllBytes()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void readShouldReturnMinusOneWhenExhausted() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(new byte[0]));
+
+        assertThat(testee.read()).isEqualTo(-1);
+        assertThat(testee.read(new byte[4], 0, 4)).isEqualTo(-1);
+    }
+
+    @Test
+    void readShouldReturnUnsignedBytes() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(new byte[] {(byte) 0xFF}));
+
+        assertThat(testee.read()).isEqualTo(255);
+    }
+
+    @Test
+    void skipShouldMoveThePosition() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(CONTENT));
+
+        assertThat(testee.skip(8)).isEqualTo(8);
+        assertThat(testee.readAllBytes()).isEqualTo("89".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void skipShouldNotGoPastTheEnd() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(CONTENT));
+
+        assertThat(testee.skip(100)).isEqualTo(10);
+        assertThat(testee.available()).isZero();
+    }
+
+    @Test
+    void resetShouldGoBackToMark() throws IOException {
+        ByteBufferInputStream testee = new ByteBufferInputStream(ByteBuffer.wrap(CONTENT));
+        testee.skip(2);
+        testee.mark(0);
+        testee.skip(3);
+
+        testee.reset();
+
+        assertThat(testee.readAllBytes()).isEqualTo("23456789".getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -41,6 +41,7 @@ import java.util.function.Function;
 import jakarta.inject.Inject;
 
 import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
+import org.apache.james.jmap.api.exception.AnchorNotFoundException;
 import org.apache.james.jmap.api.projections.EmailQueryView;
 import org.apache.james.jmap.api.projections.EmailQueryViewUtils;
 import org.apache.james.jmap.api.projections.EmailQueryViewUtils.EmailEntry;
@@ -58,6 +59,7 @@ import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
+import com.google.common.base.Preconditions;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -71,6 +73,10 @@ public class CassandraEmailQueryView implements EmailQueryView {
     private final PreparedStatement listMailboxContentSinceSentAt;
     private final PreparedStatement listMailboxContentSinceReceivedAt;
     private final PreparedStatement listMailboxContentBeforeReceivedAt;
+    private final PreparedStatement listMailboxContentAtReceivedAtFromMessageId;
+    private final PreparedStatement listMailboxContentStrictlyBeforeReceivedAt;
+    private final PreparedStatement countMailboxContentAtReceivedAtBeforeMessageId;
+    private final PreparedStatement countMailboxContentStrictlyAfterReceivedAt;
     private final PreparedStatement insertInLookupTable;
     private final PreparedStatement insertReceivedAt;
     private final PreparedStatement insertSentAt;
@@ -124,6 +130,35 @@ public class CassandraEmailQueryView implements EmailQueryView {
             .limit(bindMarker(LIMIT_MARKER))
             .build());
 
+        listMailboxContentAtReceivedAtFromMessageId = session.prepare(selectFrom(TABLE_NAME_RECEIVED_AT)
+            .columns(MESSAGE_ID, RECEIVED_AT, THREAD_ID)
+            .whereColumn(MAILBOX_ID).isEqualTo(bindMarker(MAILBOX_ID))
+            .whereColumn(RECEIVED_AT).isEqualTo(bindMarker(RECEIVED_AT))
+            .whereColumn(MESSAGE_ID).isGreaterThanOrEqualTo(bindMarker(MESSAGE_ID))
+            .limit(bindMarker(LIMIT_MARKER))
+            .build());
+
+        listMailboxContentStrictlyBeforeReceivedAt = session.prepare(selectFrom(TABLE_NAME_RECEIVED_AT)
+            .columns(MESSAGE_ID, RECEIVED_AT, THREAD_ID)
+            .whereColumn(MAILBOX_ID).isEqualTo(bindMarker(MAILBOX_ID))
+            .whereColumn(RECEIVED_AT).isLessThan(bindMarker(RECEIVED_AT))
+            .orderBy(RECEIVED_AT, DESC)
+            .limit(bindMarker(LIMIT_MARKER))
+            .build());
+
+        countMailboxContentAtReceivedAtBeforeMessageId = session.prepare(selectFrom(TABLE_NAME_RECEIVED_AT)
+            .countAll()
+            .whereColumn(MAILBOX_ID).isEqualTo(bindMarker(MAILBOX_ID))
+            .whereColumn(RECEIVED_AT).isEqualTo(bindMarker(RECEIVED_AT))
+            .whereColumn(MESSAGE_ID).isLessThan(bindMarker(MESSAGE_ID))
+            .build());
+
+        countMailboxContentStrictlyAfterReceivedAt = session.prepare(selectFrom(TABLE_NAME_RECEIVED_AT)
+            .countAll()
+            .whereColumn(MAILBOX_ID).isEqualTo(bindMarker(MAILBOX_ID))
+            .whereColumn(RECEIVED_AT).isGreaterThan(bindMarker(RECEIVED_AT))
+            .build());
+
         insertInLookupTable = session.prepare(insertInto(DATE_LOOKUP_TABLE)
             .value(MAILBOX_ID, bindMarker(MAILBOX_ID))
             .value(MESSAGE_ID, bindMarker(MESSAGE_ID))
@@ -204,6 +239,56 @@ public class CassandraEmailQueryView implements EmailQueryView {
                 .map(asEmailEntry(RECEIVED_AT)));
     }
 
+    @Override
+    public Flux<MessageId> listMailboxContentSortedByReceivedAtFromAnchor(MailboxId mailboxId, MessageId anchor, Limit limit) {
+        Preconditions.checkArgument(!limit.isUnlimited(), "Limit should be defined");
+        CassandraId cassandraId = (CassandraId) mailboxId;
+        CassandraMessageId anchorId = (CassandraMessageId) anchor;
+        int fetchLimit = limit.getLimit().get();
+
+        // Rows are clustered by (receivedAt DESC, messageId ASC): finish the anchor's receivedAt slice, then seek past it
+        return retrieveAnchorReceivedAt(cassandraId, anchorId)
+            .flatMapMany(receivedAt -> Flux.concat(
+                executor.executeRows(listMailboxContentAtReceivedAtFromMessageId.bind()
+                    .set(MAILBOX_ID, cassandraId.asUuid(), TypeCodecs.UUID)
+                    .setInstant(RECEIVED_AT, receivedAt)
+                    .setUuid(MESSAGE_ID, anchorId.get())
+                    .setInt(LIMIT_MARKER, fetchLimit)),
+                executor.executeRows(listMailboxContentStrictlyBeforeReceivedAt.bind()
+                    .set(MAILBOX_ID, cassandraId.asUuid(), TypeCodecs.UUID)
+                    .setInstant(RECEIVED_AT, receivedAt)
+                    .setInt(LIMIT_MARKER, fetchLimit))))
+            .map(asEmailEntry(RECEIVED_AT))
+            .map(EmailEntry::messageId)
+            .take(fetchLimit);
+    }
+
+    @Override
+    public Mono<Long> positionOfAnchorSortedByReceivedAt(MailboxId mailboxId, MessageId anchor) {
+        CassandraId cassandraId = (CassandraId) mailboxId;
+        CassandraMessageId anchorId = (CassandraMessageId) anchor;
+
+        return retrieveAnchorReceivedAt(cassandraId, anchorId)
+            .flatMap(receivedAt -> Flux.concat(
+                    executor.executeSingleRow(countMailboxContentStrictlyAfterReceivedAt.bind()
+                        .set(MAILBOX_ID, cassandraId.asUuid(), TypeCodecs.UUID)
+                        .setInstant(RECEIVED_AT, receivedAt)),
+                    executor.executeSingleRow(countMailboxContentAtReceivedAtBeforeMessageId.bind()
+                        .set(MAILBOX_ID, cassandraId.asUuid(), TypeCodecs.UUID)
+                        .setInstant(RECEIVED_AT, receivedAt)
+                        .setUuid(MESSAGE_ID, anchorId.get())))
+                .map(row -> row.getLong(0))
+                .reduce(0L, Long::sum));
+    }
+
+    private Mono<Instant> retrieveAnchorReceivedAt(CassandraId mailboxId, CassandraMessageId anchor) {
+        return executor.executeSingleRow(lookupDate.bind()
+                .set(MAILBOX_ID, mailboxId.asUuid(), TypeCodecs.UUID)
+                .setUuid(MESSAGE_ID, anchor.get()))
+            .map(row -> row.getInstant(RECEIVED_AT))
+            .switchIfEmpty(Mono.error(() -> new AnchorNotFoundException(anchor)));
+    }
+
     @Override
     public Flux<MessageId> listMailboxContentSinceAfterSortedByReceivedAt(MailboxId mailboxId, ZonedDateTime since, Limit limit, boolean collapseThreads) {
         CassandraId cassandraId = (CassandraId) mailboxId;
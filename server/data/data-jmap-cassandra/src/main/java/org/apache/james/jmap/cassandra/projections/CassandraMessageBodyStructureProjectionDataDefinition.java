@@ -0,0 +1,42 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.cassandra.projections;
+
+import static com.datastax.oss.driver.api.querybuilder.SchemaBuilder.RowsPerPartition.rows;
+import static org.apache.james.backends.cassandra.utils.CassandraConstants.DEFAULT_CACHED_ROW_PER_PARTITION;
+import static org.apache.james.jmap.cassandra.projections.table.CassandraMessageBodyStructureProjectionTable.BODY_STRUCTURE;
+import static org.apache.james.jmap.cassandra.projections.table.CassandraMessageBodyStructureProjectionTable.MESSAGE_ID;
+import static org.apache.james.jmap.cassandra.projections.table.CassandraMessageBodyStructureProjectionTable.TABLE_NAME;
+
+import org.apache.james.backends.cassandra.components.CassandraDataDefinition;
+
+import com.datastax.oss.driver.api.core.type.DataTypes;
+
+public interface CassandraMessageBodyStructureProjectionDataDefinition {
+    CassandraDataDefinition MODULE = CassandraDataDefinition.table(TABLE_NAME)
+        .comment("Storing the JMAP projections for the MIME part tree of messages, so that body structures can be served without reading message contents.")
+        .options(options -> options
+            .withCaching(true, rows(DEFAULT_CACHED_ROW_PER_PARTITION))
+            .withLZ4Compression(8, 1.0))
+        .statement(statement -> types -> statement
+            .withPartitionKey(MESSAGE_ID, DataTypes.UUID)
+            .withColumn(BODY_STRUCTURE, DataTypes.TEXT))
+        .build();
+}
@@ -25,6 +25,7 @@ import org.apache.james.jmap.postgres.change.PostgresMailboxChangeDataDefinition
 import org.apache.james.jmap.postgres.filtering.PostgresFilteringProjectionDataDefinition;
 import org.apache.james.jmap.postgres.identity.PostgresCustomIdentityDataDefinition;
 import org.apache.james.jmap.postgres.projections.PostgresEmailQueryViewDataDefinition;
+import org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjectionDataDefinition;
 import org.apache.james.jmap.postgres.projections.PostgresMessageFastViewProjectionDataDefinition;
 import org.apache.james.jmap.postgres.pushsubscription.PostgresPushSubscriptionDataDefinition;
 import org.apache.james.jmap.postgres.upload.PostgresUploadDataDefinition;
@@ -33,6 +34,7 @@ public interface PostgresDataJMapAggregateDataDefinition {
     PostgresDataDefinition MODULE = PostgresDataDefinition.aggregateModules(
         PostgresUploadDataDefinition.MODULE,
         PostgresMessageFastViewProjectionDataDefinition.MODULE,
+        PostgresMessageBodyStructureProjectionDataDefinition.MODULE,
         PostgresEmailChangeDataDefinition.MODULE,
         PostgresMailboxChangeDataDefinition.MODULE,
         PostgresPushSubscriptionDataDefinition.MODULE,
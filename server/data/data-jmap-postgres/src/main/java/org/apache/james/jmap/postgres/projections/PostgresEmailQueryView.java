@@ -52,6 +52,16 @@ public class PostgresEmailQueryView implements EmailQueryView {
         return emailQueryViewDAO.listMailboxContentSortedByReceivedAt(PostgresMailboxId.class.cast(mailboxId), limit, collapseThreads);
     }
 
+    @Override
+    public Flux<MessageId> listMailboxContentSortedByReceivedAtFromAnchor(MailboxId mailboxId, MessageId anchor, Limit limit) {
+        return emailQueryViewDAO.listMailboxContentSortedByReceivedAtFromAnchor(PostgresMailboxId.class.cast(mailboxId), PostgresMessageId.class.cast(anchor), limit);
+    }
+
+    @Override
+    public Mono<Long> positionOfAnchorSortedByReceivedAt(MailboxId mailboxId, MessageId anchor) {
+        return emailQueryViewDAO.positionOfAnchorSortedByReceivedAt(PostgresMailboxId.class.cast(mailboxId), PostgresMessageId.class.cast(anchor));
+    }
+
     @Override
     public Flux<MessageId> listMailboxContentSinceAfterSortedByReceivedAt(MailboxId mailboxId, ZonedDateTime since, Limit limit, boolean collapseThreads) {
         return emailQueryViewDAO.listMailboxContentSinceAfterSortedByReceivedAt(PostgresMailboxId.class.cast(mailboxId), since, limit, collapseThreads);
@@ -37,6 +37,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 import org.apache.james.backends.postgres.utils.PostgresExecutor;
+import org.apache.james.jmap.api.exception.AnchorNotFoundException;
 import org.apache.james.jmap.api.projections.EmailQueryViewUtils;
 import org.apache.james.jmap.api.projections.EmailQueryViewUtils.EmailEntry;
 import org.apache.james.mailbox.model.MessageId;
@@ -47,6 +48,8 @@ import org.apache.james.util.streams.Limit;
 import org.jooq.Field;
 import org.jooq.Record;
 
+import com.google.common.base.Preconditions;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -73,11 +76,45 @@ public class PostgresEmailQueryViewDAO {
             .resolve(backendFetchLimit -> postgresExecutor.executeRows(dslContext -> Flux.from(dslContext.select(MESSAGE_ID, RECEIVED_AT, THREAD_ID)
                     .from(TABLE_NAME)
                     .where(MAILBOX_ID.eq(mailboxId.asUuid()))
-                    .orderBy(RECEIVED_AT.desc())
+                    .orderBy(RECEIVED_AT.desc(), MESSAGE_ID.asc())
                     .limit(backendFetchLimit.getLimit().get())))
                 .map(asEmailEntry(RECEIVED_AT)));
     }
 
+    public Flux<MessageId> listMailboxContentSortedByReceivedAtFromAnchor(PostgresMailboxId mailboxId, PostgresMessageId anchor, Limit limit) {
+        Preconditions.checkArgument(!limit.isUnlimited(), "Limit should be defined");
+
+        return retrieveAnchorReceivedAt(mailboxId, anchor)
+            .flatMapMany(receivedAt -> postgresExecutor.executeRows(dslContext -> Flux.from(dslContext.select(MESSAGE_ID, RECEIVED_AT, THREAD_ID)
+                .from(TABLE_NAME)
+                .where(MAILBOX_ID.eq(mailboxId.asUuid()))
+                .and(RECEIVED_AT.lessThan(receivedAt)
+                    .or(RECEIVED_AT.eq(receivedAt).and(MESSAGE_ID.greaterOrEqual(anchor.asUuid()))))
+                .orderBy(RECEIVED_AT.desc(), MESSAGE_ID.asc())
+                .limit(limit.getLimit().get()))))
+            .map(asEmailEntry(RECEIVED_AT))
+            .map(EmailEntry::messageId);
+    }
+
+    public Mono<Long> positionOfAnchorSortedByReceivedAt(PostgresMailboxId mailboxId, PostgresMessageId anchor) {
+        return retrieveAnchorReceivedAt(mailboxId, anchor)
+            .flatMap(receivedAt -> postgresExecutor.executeCount(dslContext -> Mono.from(dslContext.selectCount()
+                .from(TABLE_NAME)
+                .where(MAILBOX_ID.eq(mailboxId.asUuid()))
+                .and(RECEIVED_AT.greaterThan(receivedAt)
+                    .or(RECEIVED_AT.eq(receivedAt).and(MESSAGE_ID.lessThan(anchor.asUuid())))))))
+            .map(Integer::longValue);
+    }
+
+    private Mono<OffsetDateTime> retrieveAnchorReceivedAt(PostgresMailboxId mailboxId, PostgresMessageId anchor) {
+        return postgresExecutor.executeRow(dslContext -> Mono.from(dslContext.select(RECEIVED_AT)
+                .from(TABLE_NAME)
+                .where(MAILBOX_ID.eq(mailboxId.asUuid()))
+                .and(MESSAGE_ID.eq(anchor.asUuid()))))
+            .map(record -> record.get(RECEIVED_AT))
+            .switchIfEmpty(Mono.error(() -> new AnchorNotFoundException(anchor)));
+    }
+
     public Flux<MessageId> listMailboxContentSinceAfterSortedByReceivedAt(PostgresMailboxId mailboxId, ZonedDateTime since, Limit limit, boolean collapseThreads) {
         return EmailQueryViewUtils.QueryViewExtender.of(limit, collapseThreads)
             .resolve(backendFetchLimit -> postgresExecutor.executeRows(dslContext -> Flux.from(dslContext.select(MESSAGE_ID, RECEIVED_AT, THREAD_ID)
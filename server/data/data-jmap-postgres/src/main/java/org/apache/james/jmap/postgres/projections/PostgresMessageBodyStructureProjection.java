@@ -0,0 +1,118 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.postgres.projections;
+
+import static org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjectionDataDefinition.MessageBodyStructureProjectionTable.BODY_STRUCTURE;
+import static org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjectionDataDefinition.MessageBodyStructureProjectionTable.MESSAGE_ID;
+import static org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjectionDataDefinition.MessageBodyStructureProjectionTable.TABLE_NAME;
+
+import jakarta.inject.Inject;
+
+import org.apache.james.backends.postgres.utils.PostgresExecutor;
+import org.apache.james.jmap.api.projections.MessageBodyStructure;
+import org.apache.james.jmap.api.projections.MessageBodyStructureDTO;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.postgres.PostgresMessageId;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.jooq.JSON;
+import org.jooq.Record;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Mono;
+
+public class PostgresMessageBodyStructureProjection implements MessageBodyStructureProjection {
+    public static final Logger LOGGER = LoggerFactory.getLogger(PostgresMessageBodyStructureProjection.class);
+
+    private final PostgresExecutor postgresExecutor;
+    private final ObjectMapper objectMapper;
+    private final Metric metricRetrieveHitCount;
+    private final Metric metricRetrieveMissCount;
+
+    @Inject
+    public PostgresMessageBodyStructureProjection(PostgresExecutor postgresExecutor, MetricFactory metricFactory) {
+        this.postgresExecutor = postgresExecutor;
+        this.objectMapper = new ObjectMapper().registerModule(new Jdk8Module());
+        this.metricRetrieveHitCount = metricFactory.generate(METRIC_RETRIEVE_HIT_COUNT);
+        this.metricRetrieveMissCount = metricFactory.generate(METRIC_RETRIEVE_MISS_COUNT);
+    }
+
+    @Override
+    public Publisher<Void> store(MessageId messageId, MessageBodyStructure bodyStructure) {
+        Preconditions.checkNotNull(messageId);
+        Preconditions.checkNotNull(bodyStructure);
+
+        return Mono.fromCallable(() -> JSON.json(objectMapper.writeValueAsString(MessageBodyStructureDTO.from(bodyStructure))))
+            .flatMap(json -> postgresExecutor.executeVoid(dslContext -> Mono.from(dslContext.insertInto(TABLE_NAME)
+                .set(MESSAGE_ID, ((PostgresMessageId) messageId).asUuid())
+                .set(BODY_STRUCTURE, json)
+                .onConflict(MESSAGE_ID)
+                .doUpdate()
+                .set(BODY_STRUCTURE, json))));
+    }
+
+    @Override
+    public Publisher<MessageBodyStructure> retrieve(MessageId messageId) {
+        Preconditions.checkNotNull(messageId);
+
+        return postgresExecutor.executeRow(dslContext -> Mono.from(dslContext.select(BODY_STRUCTURE)
+            .from(TABLE_NAME)
+            .where(MESSAGE_ID.eq(((PostgresMessageId) messageId).asUuid()))))
+            .<MessageBodyStructure>handle((record, sink) -> {
+                try {
+                    sink.next(toMessageBodyStructure(record));
+                } catch (JsonProcessingException e) {
+                    sink.error(e);
+                }
+            })
+            .doOnNext(bodyStructure -> metricRetrieveHitCount.increment())
+            .switchIfEmpty(Mono.fromRunnable(metricRetrieveMissCount::increment))
+            .onErrorResume(e -> {
+                LOGGER.error("Error while retrieving MessageBodyStructure projection item for {}", messageId, e);
+                return Mono.empty();
+            });
+    }
+
+    private MessageBodyStructure toMessageBodyStructure(Record record) throws JsonProcessingException {
+        return objectMapper.readValue(record.get(BODY_STRUCTURE).data(), MessageBodyStructureDTO.class)
+            .toMessageBodyStructure();
+    }
+
+    @Override
+    public Publisher<Void> delete(MessageId messageId) {
+        Preconditions.checkNotNull(messageId);
+
+        return postgresExecutor.executeVoid(dslContext -> Mono.from(dslContext.deleteFrom(TABLE_NAME)
+            .where(MESSAGE_ID.eq(((PostgresMessageId) messageId).asUuid()))));
+    }
+
+    @Override
+    public Publisher<Void> clear() {
+        return postgresExecutor.executeVoid(dslContext -> Mono.from(dslContext.truncate(TABLE_NAME)));
+    }
+}
@@ -0,0 +1,55 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.postgres.projections;
+
+import static org.apache.james.jmap.postgres.projections.PostgresMessageBodyStructureProjectionDataDefinition.MessageBodyStructureProjectionTable.TABLE;
+
+import java.util.UUID;
+
+import org.apache.james.backends.postgres.PostgresDataDefinition;
+import org.apache.james.backends.postgres.PostgresTable;
+import org.jooq.Field;
+import org.jooq.JSON;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+
+public interface PostgresMessageBodyStructureProjectionDataDefinition {
+    interface MessageBodyStructureProjectionTable {
+        Table<Record> TABLE_NAME = DSL.table("message_body_structure_projection");
+
+        Field<UUID> MESSAGE_ID = DSL.field("messageId", SQLDataType.UUID.notNull());
+        Field<JSON> BODY_STRUCTURE = DSL.field("body_structure", SQLDataType.JSON.notNull());
+
+        PostgresTable TABLE = PostgresTable.name(TABLE_NAME.getName())
+            .createTableStep(((dsl, tableName) -> dsl.createTableIfNotExists(tableName)
+                .column(MESSAGE_ID)
+                .column(BODY_STRUCTURE)
+                .primaryKey(MESSAGE_ID)
+                .comment("Storing the JMAP projections for the MIME part tree of messages, so that body structures can be served without reading message contents.")))
+            .disableRowLevelSecurity()
+            .build();
+    }
+
+    PostgresDataDefinition MODULE = PostgresDataDefinition.builder()
+        .addTable(TABLE)
+        .build();
+}
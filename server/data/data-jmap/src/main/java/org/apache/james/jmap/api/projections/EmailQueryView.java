@@ -22,6 +22,7 @@ package org.apache.james.jmap.api.projections;
 import java.time.ZonedDateTime;
 import java.util.Objects;
 
+import org.apache.james.jmap.api.exception.AnchorNotFoundException;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.model.ThreadId;
@@ -136,6 +137,40 @@ public interface EmailQueryView {
      */
     Flux<MessageId> listMailboxContentSortedByReceivedAt(MailboxId mailboxId, Limit limit, boolean collapseThreads);
 
+    /**
+     *
+     * Sample JMAP requests:
+     *
+     *    - RFC-8621:
+     *
+     *    ["Email/query",
+     *     {
+     *       "accountId": "29883977c13473ae7cb7678ef767cbfbaffc8a44a6e463d971d23a65c1dc4af6",
+     *       "filter: {
+     *           "inMailbox":"abcd"
+     *       }
+     *       "sort": [{
+     *         "property":"receivedAt",
+     *         "isAscending": false
+     *       }],
+     *       "anchor": "efgh"
+     *     },
+     *     "c1"]
+     *
+     * Entries are ordered by receivedAt then messageId, and the listing seeks directly to the anchor instead of
+     * reading the entries preceding it.
+     *
+     * @return messageIds of the messages in this mailbox, sorted by receivedAt, starting with the anchor. Fails with
+     * {@link AnchorNotFoundException} if the anchor is not in this mailbox.
+     */
+    Flux<MessageId> listMailboxContentSortedByReceivedAtFromAnchor(MailboxId mailboxId, MessageId anchor, Limit limit);
+
+    /**
+     * @return the zero-based index of the anchor within {@link #listMailboxContentSortedByReceivedAt(MailboxId, Limit, boolean)}
+     * results, without thread collapsing. Fails with {@link AnchorNotFoundException} if the anchor is not in this mailbox.
+     */
+    Mono<Long> positionOfAnchorSortedByReceivedAt(MailboxId mailboxId, MessageId anchor);
+
     /**
      *  Sample JMAP requests:
      *
@@ -0,0 +1,246 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The MIME part tree of a message, without the part contents nor the part headers.
+ *
+ * It holds what JMAP needs to render the bodyStructure, textBody, htmlBody and attachments properties.
+ */
+public class MessageBodyStructure {
+    public static class Builder {
+        private String partId;
+        private Optional<String> blobId;
+        private Long size;
+        private Optional<String> name;
+        private String type;
+        private Optional<String> charset;
+        private Optional<String> disposition;
+        private Optional<String> cid;
+        private Optional<List<String>> languages;
+        private Optional<String> location;
+        private Optional<List<MessageBodyStructure>> subParts;
+
+        private Builder() {
+            blobId = Optional.empty();
+            name = Optional.empty();
+            charset = Optional.empty();
+            disposition = Optional.empty();
+            cid = Optional.empty();
+            languages = Optional.empty();
+            location = Optional.empty();
+            subParts = Optional.empty();
+        }
+
+        public Builder partId(String partId) {
+            this.partId = partId;
+            return this;
+        }
+
+        public Builder blobId(Optional<String> blobId) {
+            this.blobId = blobId;
+            return this;
+        }
+
+        public Builder size(long size) {
+            this.size = size;
+            return this;
+        }
+
+        public Builder name(Optional<String> name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder type(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder charset(Optional<String> charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        public Builder disposition(Optional<String> disposition) {
+            this.disposition = disposition;
+            return this;
+        }
+
+        public Builder cid(Optional<String> cid) {
+            this.cid = cid;
+            return this;
+        }
+
+        public Builder languages(Optional<List<String>> languages) {
+            this.languages = languages;
+            return this;
+        }
+
+        public Builder location(Optional<String> location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder subParts(Optional<List<MessageBodyStructure>> subParts) {
+            this.subParts = subParts;
+            return this;
+        }
+
+        public MessageBodyStructure build() {
+            Preconditions.checkState(partId != null, "'partId' is mandatory");
+            Preconditions.checkState(size != null, "'size' is mandatory");
+            Preconditions.checkState(size >= 0, "'size' cannot be negative");
+            Preconditions.checkState(type != null, "'type' is mandatory");
+
+            return new MessageBodyStructure(partId, blobId, size, name, type, charset, disposition, cid,
+                languages.map(ImmutableList::copyOf),
+                location,
+                subParts.map(ImmutableList::copyOf));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final String partId;
+    private final Optional<String> blobId;
+    private final long size;
+    private final Optional<String> name;
+    private final String type;
+    private final Optional<String> charset;
+    private final Optional<String> disposition;
+    private final Optional<String> cid;
+    private final Optional<List<String>> languages;
+    private final Optional<String> location;
+    private final Optional<List<MessageBodyStructure>> subParts;
+
+    private MessageBodyStructure(String partId, Optional<String> blobId, long size, Optional<String> name, String type,
+                                 Optional<String> charset, Optional<String> disposition, Optional<String> cid,
+                                 Optional<List<String>> languages, Optional<String> location,
+                                 Optional<List<MessageBodyStructure>> subParts) {
+        this.partId = partId;
+        this.blobId = blobId;
+        this.size = size;
+        this.name = name;
+        this.type = type;
+        this.charset = charset;
+        this.disposition = disposition;
+        this.cid = cid;
+        this.languages = languages;
+        this.location = location;
+        this.subParts = subParts;
+    }
+
+    public String getPartId() {
+        return partId;
+    }
+
+    public Optional<String> getBlobId() {
+        return blobId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Optional<String> getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Optional<String> getCharset() {
+        return charset;
+    }
+
+    public Optional<String> getDisposition() {
+        return disposition;
+    }
+
+    public Optional<String> getCid() {
+        return cid;
+    }
+
+    public Optional<List<String>> getLanguages() {
+        return languages;
+    }
+
+    public Optional<String> getLocation() {
+        return location;
+    }
+
+    public Optional<List<MessageBodyStructure>> getSubParts() {
+        return subParts;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof MessageBodyStructure) {
+            MessageBodyStructure that = (MessageBodyStructure) o;
+
+            return Objects.equals(this.size, that.size)
+                && Objects.equals(this.partId, that.partId)
+                && Objects.equals(this.blobId, that.blobId)
+                && Objects.equals(this.name, that.name)
+                && Objects.equals(this.type, that.type)
+                && Objects.equals(this.charset, that.charset)
+                && Objects.equals(this.disposition, that.disposition)
+                && Objects.equals(this.cid, that.cid)
+                && Objects.equals(this.languages, that.languages)
+                && Objects.equals(this.location, that.location)
+                && Objects.equals(this.subParts, that.subParts);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(partId, blobId, size, name, type, charset, disposition, cid, languages, location, subParts);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("partId", partId)
+            .add("blobId", blobId)
+            .add("size", size)
+            .add("name", name)
+            .add("type", type)
+            .add("charset", charset)
+            .add("disposition", disposition)
+            .add("cid", cid)
+            .add("languages", languages)
+            .add("location", location)
+            .add("subParts", subParts)
+            .toString();
+    }
+}
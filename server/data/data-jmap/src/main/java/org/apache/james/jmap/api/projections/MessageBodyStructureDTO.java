@@ -0,0 +1,153 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * JSON representation of a {@link MessageBodyStructure}, for projections storing it as a document.
+ *
+ * Requires the Jdk8Module to be registered on the ObjectMapper.
+ */
+@JsonInclude(JsonInclude.Include.NON_ABSENT)
+public class MessageBodyStructureDTO {
+    public static MessageBodyStructureDTO from(MessageBodyStructure bodyStructure) {
+        return new MessageBodyStructureDTO(
+            bodyStructure.getPartId(),
+            bodyStructure.getBlobId(),
+            bodyStructure.getSize(),
+            bodyStructure.getName(),
+            bodyStructure.getType(),
+            bodyStructure.getCharset(),
+            bodyStructure.getDisposition(),
+            bodyStructure.getCid(),
+            bodyStructure.getLanguages(),
+            bodyStructure.getLocation(),
+            bodyStructure.getSubParts()
+                .map(subParts -> subParts.stream()
+                    .map(MessageBodyStructureDTO::from)
+                    .collect(ImmutableList.toImmutableList())));
+    }
+
+    private final String partId;
+    private final Optional<String> blobId;
+    private final long size;
+    private final Optional<String> name;
+    private final String type;
+    private final Optional<String> charset;
+    private final Optional<String> disposition;
+    private final Optional<String> cid;
+    private final Optional<List<String>> languages;
+    private final Optional<String> location;
+    private final Optional<List<MessageBodyStructureDTO>> subParts;
+
+    @JsonCreator
+    public MessageBodyStructureDTO(@JsonProperty("partId") String partId,
+                                   @JsonProperty("blobId") Optional<String> blobId,
+                                   @JsonProperty("size") long size,
+                                   @JsonProperty("name") Optional<String> name,
+                                   @JsonProperty("type") String type,
+                                   @JsonProperty("charset") Optional<String> charset,
+                                   @JsonProperty("disposition") Optional<String> disposition,
+                                   @JsonProperty("cid") Optional<String> cid,
+                                   @JsonProperty("languages") Optional<List<String>> languages,
+                                   @JsonProperty("location") Optional<String> location,
+                                   @JsonProperty("subParts") Optional<List<MessageBodyStructureDTO>> subParts) {
+        this.partId = partId;
+        this.blobId = blobId;
+        this.size = size;
+        this.name = name;
+        this.type = type;
+        this.charset = charset;
+        this.disposition = disposition;
+        this.cid = cid;
+        this.languages = languages;
+        this.location = location;
+        this.subParts = subParts;
+    }
+
+    public String getPartId() {
+        return partId;
+    }
+
+    public Optional<String> getBlobId() {
+        return blobId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Optional<String> getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Optional<String> getCharset() {
+        return charset;
+    }
+
+    public Optional<String> getDisposition() {
+        return disposition;
+    }
+
+    public Optional<String> getCid() {
+        return cid;
+    }
+
+    public Optional<List<String>> getLanguages() {
+        return languages;
+    }
+
+    public Optional<String> getLocation() {
+        return location;
+    }
+
+    public Optional<List<MessageBodyStructureDTO>> getSubParts() {
+        return subParts;
+    }
+
+    public MessageBodyStructure toMessageBodyStructure() {
+        return MessageBodyStructure.builder()
+            .partId(partId)
+            .blobId(blobId)
+            .size(size)
+            .name(name)
+            .type(type)
+            .charset(charset)
+            .disposition(disposition)
+            .cid(cid)
+            .languages(languages)
+            .location(location)
+            .subParts(subParts.map(dtos -> dtos.stream()
+                .map(MessageBodyStructureDTO::toMessageBodyStructure)
+                .collect(ImmutableList.toImmutableList())))
+            .build();
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.james.jmap.api.model.Preview;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.MessageAttachmentMetadata;
 import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mime4j.dom.Message;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
@@ -89,6 +90,13 @@ public class MessageFastViewPrecomputedProperties {
                 .build();
         }
 
+        public MessageFastViewPrecomputedProperties from(MessageResult messageResult, Message mimeMessage) throws IOException {
+            return builder()
+                .preview(previewFactory.fromMime4JMessage(mimeMessage))
+                .hasAttachment(hasAttachment(messageResult.getLoadedAttachments()))
+                .build();
+        }
+
         private boolean hasAttachment(List<MessageAttachmentMetadata> attachments) {
             return attachments.stream()
                 .anyMatch(Predicate.not(MessageAttachmentMetadata::isInlinedWithCid));
@@ -25,6 +25,7 @@ import java.util.function.Function;
 
 import jakarta.inject.Inject;
 
+import org.apache.james.jmap.api.exception.AnchorNotFoundException;
 import org.apache.james.jmap.api.projections.EmailQueryView;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
@@ -40,6 +41,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class MemoryEmailQueryView implements EmailQueryView {
+    private static final Comparator<Entry> RECEIVED_AT_DESC = Comparator.comparing(Entry::getReceivedAt).reversed()
+        .thenComparing(entry -> entry.getMessageId().serialize());
+
     private final Table<MailboxId, MessageId, Entry> entries;
 
     @Inject
@@ -77,11 +81,36 @@ public class MemoryEmailQueryView implements EmailQueryView {
         Flux<Entry> baseEntries = Flux.fromIterable(entries.row(mailboxId).values());
 
         return maybeCollapseThreads(Entry::getReceivedAt, collapseThreads).apply(baseEntries)
-            .sort(Comparator.comparing(Entry::getReceivedAt).reversed())
+            .sort(RECEIVED_AT_DESC)
             .map(Entry::getMessageId)
             .take(limit.getLimit().get());
     }
 
+    @Override
+    public Flux<MessageId> listMailboxContentSortedByReceivedAtFromAnchor(MailboxId mailboxId, MessageId anchor, Limit limit) {
+        Preconditions.checkArgument(!limit.isUnlimited(), "Limit should be defined");
+
+        return retrieveAnchor(mailboxId, anchor)
+            .flatMapMany(anchorEntry -> Flux.fromIterable(entries.row(mailboxId).values())
+                .filter(entry -> RECEIVED_AT_DESC.compare(entry, anchorEntry) >= 0)
+                .sort(RECEIVED_AT_DESC)
+                .map(Entry::getMessageId)
+                .take(limit.getLimit().get()));
+    }
+
+    @Override
+    public Mono<Long> positionOfAnchorSortedByReceivedAt(MailboxId mailboxId, MessageId anchor) {
+        return retrieveAnchor(mailboxId, anchor)
+            .flatMap(anchorEntry -> Flux.fromIterable(entries.row(mailboxId).values())
+                .filter(entry -> RECEIVED_AT_DESC.compare(entry, anchorEntry) < 0)
+                .count());
+    }
+
+    private Mono<Entry> retrieveAnchor(MailboxId mailboxId, MessageId anchor) {
+        return Mono.fromCallable(() -> entries.get(mailboxId, anchor))
+            .switchIfEmpty(Mono.error(() -> new AnchorNotFoundException(anchor)));
+    }
+
     @Override
     public Flux<MessageId> listMailboxContentSinceAfterSortedByReceivedAt(MailboxId mailboxId, ZonedDateTime since, Limit limit, boolean collapseThreads) {
         Flux<Entry> baseEntries = Flux.fromIterable(entries.row(mailboxId).values())
@@ -24,11 +24,14 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
+import org.apache.james.jmap.api.exception.AnchorNotFoundException;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.model.ThreadId;
 import org.apache.james.util.streams.Limit;
+import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Test;
 
 public interface EmailQueryViewContract {
@@ -211,6 +214,80 @@ public interface EmailQueryViewContract {
             .containsExactly(messageId1(), messageId2());
     }
 
+    @Test
+    default void listMailboxContentSortedByReceivedAtFromAnchorShouldStartAtAnchor() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_2, DATE_3, messageId2(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_5, DATE_6, messageId3(), threadId1()).block();
+
+        assertThat(testee().listMailboxContentSortedByReceivedAtFromAnchor(mailboxId1(), messageId1(), Limit.limit(12)).collectList().block())
+            .containsExactly(messageId1(), messageId2());
+    }
+
+    @Test
+    default void listMailboxContentSortedByReceivedAtFromAnchorShouldApplyLimit() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_2, DATE_3, messageId2(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_5, DATE_6, messageId3(), threadId1()).block();
+
+        assertThat(testee().listMailboxContentSortedByReceivedAtFromAnchor(mailboxId1(), messageId3(), Limit.limit(2)).collectList().block())
+            .containsExactly(messageId3(), messageId1());
+    }
+
+    @Test
+    default void listMailboxContentSortedByReceivedAtFromAnchorShouldMatchListingWhenReceivedAtIsDuplicated() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_2, DATE_4, messageId2(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_3, DATE_4, messageId3(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_5, DATE_3, messageId4(), threadId1()).block();
+
+        List<MessageId> listing = testee().listMailboxContentSortedByReceivedAt(mailboxId1(), Limit.limit(12), !COLLAPSE_THREAD).collectList().block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            for (int position = 0; position < listing.size(); position++) {
+                softly.assertThat(testee().listMailboxContentSortedByReceivedAtFromAnchor(mailboxId1(), listing.get(position), Limit.limit(12)).collectList().block())
+                    .containsExactlyElementsOf(listing.subList(position, listing.size()));
+                softly.assertThat(testee().positionOfAnchorSortedByReceivedAt(mailboxId1(), listing.get(position)).block())
+                    .isEqualTo(position);
+            }
+        });
+    }
+
+    @Test
+    default void listMailboxContentSortedByReceivedAtFromAnchorShouldFailWhenAnchorNotFound() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+
+        assertThatThrownBy(() -> testee().listMailboxContentSortedByReceivedAtFromAnchor(mailboxId1(), messageId2(), Limit.limit(12)).collectList().block())
+            .isInstanceOf(AnchorNotFoundException.class);
+    }
+
+    @Test
+    default void listMailboxContentSortedByReceivedAtFromAnchorShouldFailWhenAnchorDeleted() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_2, DATE_3, messageId2(), threadId1()).block();
+
+        testee().delete(mailboxId1(), messageId1()).block();
+
+        assertThatThrownBy(() -> testee().listMailboxContentSortedByReceivedAtFromAnchor(mailboxId1(), messageId1(), Limit.limit(12)).collectList().block())
+            .isInstanceOf(AnchorNotFoundException.class);
+    }
+
+    @Test
+    default void positionOfAnchorSortedByReceivedAtShouldReturnAnchorIndex() {
+        testee().save(mailboxId1(), DATE_1, DATE_4, messageId1(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_2, DATE_3, messageId2(), threadId1()).block();
+        testee().save(mailboxId1(), DATE_5, DATE_6, messageId3(), threadId1()).block();
+
+        assertThat(testee().positionOfAnchorSortedByReceivedAt(mailboxId1(), messageId2()).block())
+            .isEqualTo(2L);
+    }
+
+    @Test
+    default void positionOfAnchorSortedByReceivedAtShouldFailWhenAnchorNotFound() {
+        assertThatThrownBy(() -> testee().positionOfAnchorSortedByReceivedAt(mailboxId1(), messageId1()).block())
+            .isInstanceOf(AnchorNotFoundException.class);
+    }
+
     @Test
     default void clearShouldNotFailWhenEmpty() {
         assertThatCode(() -> testee().delete(mailboxId1()).block()).doesNotThrowAnyException();
@@ -0,0 +1,236 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import static org.apache.james.jmap.api.projections.MessageBodyStructureProjection.METRIC_RETRIEVE_HIT_COUNT;
+import static org.apache.james.jmap.api.projections.MessageBodyStructureProjection.METRIC_RETRIEVE_MISS_COUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import reactor.core.publisher.Mono;
+
+public interface MessageBodyStructureProjectionContract {
+
+    MessageBodyStructure SINGLE_PART = MessageBodyStructure.builder()
+        .partId("1")
+        .blobId(Optional.of("abc_1"))
+        .size(12)
+        .type("text/plain")
+        .charset(Optional.of("UTF-8"))
+        .build();
+    MessageBodyStructure MULTIPART = MessageBodyStructure.builder()
+        .partId("1")
+        .size(1024)
+        .type("multipart/mixed")
+        .subParts(Optional.of(ImmutableList.of(
+            MessageBodyStructure.builder()
+                .partId("2")
+                .blobId(Optional.of("def_2"))
+                .size(24)
+                .type("text/html")
+                .charset(Optional.of("US-ASCII"))
+                .languages(Optional.of(ImmutableList.of("en", "fr")))
+                .location(Optional.of("https://example.com/index.html"))
+                .build(),
+            MessageBodyStructure.builder()
+                .partId("3")
+                .blobId(Optional.of("def_3"))
+                .size(900)
+                .name(Optional.of("invoice.pdf"))
+                .type("application/pdf")
+                .disposition(Optional.of("attachment"))
+                .cid(Optional.of("<123@example.com>"))
+                .build())))
+        .build();
+
+    MessageBodyStructureProjection testee();
+
+    MessageId newMessageId();
+
+    RecordingMetricFactory metricFactory();
+
+    @Test
+    default void retrieveShouldThrowWhenNullMessageId() {
+        assertThatThrownBy(() -> Mono.from(testee().retrieve((MessageId) null)).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    default void retrieveShouldReturnStoredBodyStructure() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, SINGLE_PART))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId)).block())
+            .isEqualTo(SINGLE_PART);
+    }
+
+    @Test
+    default void retrieveShouldReturnStoredNestedBodyStructure() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, MULTIPART))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId)).block())
+            .isEqualTo(MULTIPART);
+    }
+
+    @Test
+    default void retrieveShouldReturnEmptyWhenMessageIdNotFound() {
+        MessageId messageId1 = newMessageId();
+        MessageId messageId2 = newMessageId();
+        Mono.from(testee().store(messageId1, SINGLE_PART))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId2)).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void retrieveShouldThrowWhenNullMessageIds() {
+        assertThatThrownBy(() -> Mono.from(testee().retrieve((List<MessageId>) null)).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    default void retrieveShouldReturnOnlyBodyStructuresAvailableInTheStore() {
+        MessageId messageId1 = newMessageId();
+        MessageId messageId2 = newMessageId();
+        MessageId messageId3 = newMessageId();
+        Mono.from(testee().store(messageId1, SINGLE_PART))
+            .block();
+        Mono.from(testee().store(messageId2, MULTIPART))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(ImmutableList.of(messageId1, messageId2, messageId3))).block())
+            .isEqualTo(ImmutableMap.builder()
+                .put(messageId1, SINGLE_PART)
+                .put(messageId2, MULTIPART)
+                .build());
+    }
+
+    @Test
+    default void storeShouldThrowWhenNullMessageId() {
+        assertThatThrownBy(() -> Mono.from(testee().store(null, SINGLE_PART)).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    default void storeShouldThrowWhenNullBodyStructure() {
+        MessageId messageId = newMessageId();
+        assertThatThrownBy(() -> Mono.from(testee().store(messageId, null)).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    default void storeShouldOverrideOldRecord() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, SINGLE_PART))
+            .block();
+
+        Mono.from(testee().store(messageId, MULTIPART))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId)).block())
+            .isEqualTo(MULTIPART);
+    }
+
+    @Test
+    default void deleteShouldNotThrowWhenMessageIdNotFound() {
+        MessageId messageId = newMessageId();
+        assertThatCode(() -> Mono.from(testee().delete(messageId)).block())
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    default void deleteShouldDeleteStoredRecord() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, SINGLE_PART))
+            .block();
+
+        Mono.from(testee().delete(messageId))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId)).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void deleteShouldNotDeleteAnotherRecord() {
+        MessageId messageId1 = newMessageId();
+        MessageId messageId2 = newMessageId();
+        Mono.from(testee().store(messageId1, SINGLE_PART))
+            .block();
+        Mono.from(testee().store(messageId2, MULTIPART))
+            .block();
+
+        Mono.from(testee().delete(messageId1))
+            .block();
+
+        assertThat(Mono.from(testee().retrieve(messageId2)).block())
+            .isEqualTo(MULTIPART);
+    }
+
+    @Test
+    default void retrieveShouldIncrementMetricHitCountWhenBodyStructureIsFound() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, SINGLE_PART))
+            .block();
+
+        Mono.from(testee().retrieve(messageId))
+            .block();
+
+        assertThat(metricFactory().countFor(METRIC_RETRIEVE_HIT_COUNT))
+            .isEqualTo(1);
+    }
+
+    @Test
+    default void retrieveShouldIncrementMetricMissCountWhenBodyStructureIsNotFound() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().retrieve(messageId))
+            .block();
+
+        assertThat(metricFactory().countFor(METRIC_RETRIEVE_MISS_COUNT))
+            .isEqualTo(1);
+    }
+
+    @Test
+    default void clearShouldRemoveStoredData() {
+        MessageId messageId = newMessageId();
+        Mono.from(testee().store(messageId, SINGLE_PART))
+            .block();
+
+        Mono.from(testee().clear()).block();
+
+        assertThat(Mono.from(testee().retrieve(messageId)).blockOptional())
+            .isEmpty();
+    }
+}
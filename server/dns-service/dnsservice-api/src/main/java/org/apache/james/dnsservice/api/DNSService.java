@@ -22,6 +22,9 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collection;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Provides abstraction for DNS resolutions. The interface is Mail specific. It
  * may be a good idea to make the interface more generic or expose commonly
@@ -94,4 +97,37 @@ public interface DNSService {
      */
     String getHostName(InetAddress addr);
 
+    /**
+     * Non blocking variant of {@link #findMXRecords(String)}.
+     *
+     * The default implementation offloads the blocking call to a bounded elastic scheduler.
+     */
+    default Mono<Collection<String>> findMXRecordsReactive(String hostname) {
+        return Mono.fromCallable(() -> findMXRecords(hostname))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Non blocking variant of {@link #findTXTRecords(String)}.
+     */
+    default Mono<Collection<String>> findTXTRecordsReactive(String hostname) {
+        return Mono.fromCallable(() -> findTXTRecords(hostname))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Non blocking variant of {@link #getAllByName(String)}.
+     */
+    default Mono<Collection<InetAddress>> getAllByNameReactive(String host) {
+        return Mono.fromCallable(() -> getAllByName(host))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Non blocking variant of {@link #getHostName(InetAddress)}.
+     */
+    default Mono<String> getHostNameReactive(InetAddress addr) {
+        return Mono.fromCallable(() -> getHostName(addr))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
 }
@@ -27,6 +27,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
@@ -59,8 +61,12 @@ import org.xbill.DNS.TXTRecord;
 import org.xbill.DNS.TextParseException;
 import org.xbill.DNS.Type;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Provides DNS client functionality to services running inside James
  */
@@ -68,6 +74,13 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
     private static final Logger LOGGER = LoggerFactory.getLogger(DNSJavaService.class);
 
     private static final int CACHE_TTL_DISABLE = -1;
+    private static final int DEFAULT_MX_CACHE_SIZE = 10000;
+    private static final int DEFAULT_MX_CACHE_REFRESH_THRESHOLD = 2;
+    private static final double DEFAULT_MX_CACHE_REFRESH_RATIO = 0.8;
+    private static final String COALESCED_LOOKUPS_METRIC = "dnsCoalescedLookups";
+
+    private record LookupKey(String name, int type, boolean bypassCache) {
+    }
 
     /**
      * A resolver instance used to retrieve DNS records. This is a reference to
@@ -88,6 +101,22 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
 
     private int negativeCacheTTL;
 
+    /**
+     * Maximum number of domains whose MX records are kept and refreshed ahead of expiry. 0 disables it.
+     */
+    private int mxCacheSize = DEFAULT_MX_CACHE_SIZE;
+
+    private int mxCacheRefreshThreshold = DEFAULT_MX_CACHE_REFRESH_THRESHOLD;
+
+    private double mxCacheRefreshRatio = DEFAULT_MX_CACHE_REFRESH_RATIO;
+
+    private Optional<RefreshAheadRecordsCache> mxCache = Optional.empty();
+
+    /**
+     * Lookups currently running, so that concurrent identical queries share a single resolution.
+     */
+    private final ConcurrentHashMap<LookupKey, Mono<Optional<Record[]>>> inFlightLookups = new ConcurrentHashMap<>();
+
     /**
      * Whether the DNS response is required to be authoritative
      */
@@ -190,6 +219,19 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         maxCacheSize = configuration.getInt("maxcachesize", maxCacheSize);
 
         negativeCacheTTL = configuration.getInt("negativeCacheTTL", CACHE_TTL_DISABLE);
+
+        mxCacheSize = configuration.getInt("mxCacheSize", DEFAULT_MX_CACHE_SIZE);
+        mxCacheRefreshThreshold = configuration.getInt("mxCacheRefreshThreshold", DEFAULT_MX_CACHE_REFRESH_THRESHOLD);
+        mxCacheRefreshRatio = configuration.getDouble("mxCacheRefreshRatio", DEFAULT_MX_CACHE_REFRESH_RATIO);
+        if (mxCacheSize < 0) {
+            throw new ConfigurationException("'mxCacheSize' needs to be positive");
+        }
+        if (mxCacheRefreshThreshold <= 0) {
+            throw new ConfigurationException("'mxCacheRefreshThreshold' needs to be strictly positive");
+        }
+        if (mxCacheRefreshRatio <= 0 || mxCacheRefreshRatio >= 1) {
+            throw new ConfigurationException("'mxCacheRefreshRatio' needs to be strictly between 0 and 1");
+        }
     }
 
     @PostConstruct
@@ -216,10 +258,16 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
 
         resolver = new ExtendedResolver(serversArray);
 
-        cache = new Cache(DClass.IN);
+        cache = new MeteredCache(DClass.IN, metricFactory);
         cache.setMaxEntries(maxCacheSize);
         cache.setMaxNCache(negativeCacheTTL);
 
+        if (mxCacheSize > 0) {
+            mxCache = Optional.of(new RefreshAheadRecordsCache("MX", mxCacheSize, mxCacheRefreshThreshold, mxCacheRefreshRatio,
+                name -> coalescedLookup(name, Type.MX, true),
+                metricFactory, Ticker.systemTicker()));
+        }
+
         if (setAsDNSJavaDefault) {
             Lookup.setDefaultResolver(resolver);
             Lookup.setDefaultCache(cache, DClass.IN);
@@ -258,7 +306,18 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
      * @throws TemporaryResolutionException get thrown on temporary problems
      */
     private List<String> findMXRecordsRaw(String hostname) throws TemporaryResolutionException {
+        Optional<Record[]> cached = mxCache.flatMap(mxRecords -> mxRecords.getIfPresent(hostname));
+        if (cached.isPresent()) {
+            return sortMXRecords(cached.get());
+        }
         Record[] answers = lookup(hostname, Type.MX);
+        if (answers != null) {
+            mxCache.ifPresent(mxRecords -> mxRecords.put(hostname, answers));
+        }
+        return sortMXRecords(answers);
+    }
+
+    private List<String> sortMXRecords(Record[] answers) {
         List<String> servers = new ArrayList<>();
         if (answers == null) {
             return servers;
@@ -338,6 +397,60 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<Collection<String>> findMXRecordsReactive(String hostname) {
+        Mono<List<String>> servers = Mono.justOrEmpty(mxCache.flatMap(mxRecords -> mxRecords.getIfPresent(hostname)))
+            .switchIfEmpty(Mono.defer(() -> coalescedLookup(hostname, Type.MX, false)
+                .flatMap(Mono::justOrEmpty)
+                .doOnNext(answers -> mxCache.ifPresent(mxRecords -> mxRecords.put(hostname, answers)))))
+            .map(this::sortMXRecords)
+            .defaultIfEmpty(ImmutableList.of());
+
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric("findMXRecords", servers
+            .flatMap(found -> {
+                if (!found.isEmpty()) {
+                    return Mono.just(Collections.unmodifiableCollection(found));
+                }
+                // If we found no results, we'll add the original domain name if
+                // it's a valid DNS entry
+                LOGGER.info("Couldn't resolve MX records for domain {}.", hostname);
+                return getAllByNameReactive(hostname)
+                    .<Collection<String>>thenReturn(ImmutableList.of(hostname))
+                    .onErrorResume(UnknownHostException.class, e -> {
+                        LOGGER.error("Couldn't resolve IP address for host {}.", hostname, e);
+                        return Mono.just(ImmutableList.of());
+                    });
+            })));
+    }
+
+    /**
+     * Resolves the given records on a blocking-friendly scheduler. Concurrent lookups for the same name and type
+     * share the same resolution.
+     *
+     * @param bypassCache true to ignore (and not feed) the DNS cache, for instance to refresh soon expiring records
+     */
+    private Mono<Optional<Record[]>> coalescedLookup(String namestr, int type, boolean bypassCache) {
+        LookupKey key = new LookupKey(namestr, type, bypassCache);
+        return Mono.defer(() -> {
+            Mono<Optional<Record[]>> lookup = Mono.from(metricFactory.decoratePublisherWithTimerMetric("dnsLookup." + Type.string(type),
+                    Mono.fromCallable(() -> Optional.ofNullable(lookup(namestr, type, bypassCache ? null : cache)))
+                        .subscribeOn(Schedulers.boundedElastic())))
+                .doFinally(any -> inFlightLookups.remove(key))
+                .cache();
+            Mono<Optional<Record[]>> inFlight = inFlightLookups.putIfAbsent(key, lookup);
+            if (inFlight != null) {
+                metricFactory.generate(COALESCED_LOOKUPS_METRIC).increment();
+                return inFlight;
+            }
+            return lookup;
+        });
+    }
+
+    private Mono<Optional<Record[]>> coalescedLookupNoException(String namestr, int type) {
+        return coalescedLookup(namestr, type, false)
+            .onErrorResume(TemporaryResolutionException.class, e -> Mono.just(Optional.empty()));
+    }
+
     /**
      * Looks up DNS records of the specified type for the specified name.
      * <p/>
@@ -347,10 +460,15 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
      * @param type     the type of record desired
      */
     protected Record[] lookup(String namestr, int type) throws TemporaryResolutionException {
+        return lookup(namestr, type, cache);
+    }
+
+    private Record[] lookup(String namestr, int type, Cache lookupCache) throws TemporaryResolutionException {
         try {
             Lookup l = new Lookup(namestr, type);
 
-            l.setCache(cache);
+            // A null cache makes dnsjava use a throw-away cache for this lookup only
+            l.setCache(lookupCache);
             l.setResolver(resolver);
             l.setCredibility(dnsCredibility);
             l.setSearchPath(searchPaths);
@@ -465,6 +583,33 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<Collection<InetAddress>> getAllByNameReactive(String host) {
+        String name = allowIPLiteral(host);
+        if (name.equalsIgnoreCase(localHostName) || name.equalsIgnoreCase(localCanonicalHostName) || name.equals(localAddress)) {
+            return Mono.fromCallable(() -> ImmutableList.of(getLocalHost()));
+        }
+        try {
+            return Mono.just(ImmutableList.of(org.xbill.DNS.Address.getByAddress(name)));
+        } catch (UnknownHostException e) {
+            return Mono.from(metricFactory.decoratePublisherWithTimerMetric("getAllByName", coalescedLookupNoException(name, Type.A)
+                .flatMap(Mono::justOrEmpty)
+                .filter(records -> records.length >= 1)
+                .switchIfEmpty(Mono.error(e))
+                .handle((records, sink) -> {
+                    try {
+                        ImmutableList.Builder<InetAddress> addresses = ImmutableList.builder();
+                        for (Record dnsRecord : records) {
+                            addresses.add(InetAddress.getByAddress(name, ((ARecord) dnsRecord).getAddress().getAddress()));
+                        }
+                        sink.next(addresses.build());
+                    } catch (UnknownHostException uhe) {
+                        sink.error(uhe);
+                    }
+                })));
+        }
+    }
+
     @Override
     public Collection<String> findTXTRecords(String hostname) {
         TimeMetric timeMetric = metricFactory.timer("findTXTRecords");
@@ -485,6 +630,15 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<Collection<String>> findTXTRecordsReactive(String hostname) {
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric("findTXTRecords", coalescedLookupNoException(hostname, Type.TXT)
+            .map(records -> records.stream()
+                .flatMap(Arrays::stream)
+                .map(dnsRecord -> ((TXTRecord) dnsRecord).rdataToString())
+                .collect(ImmutableList.toImmutableList()))));
+    }
+
     @Override
     public String getHostName(InetAddress addr) {
         TimeMetric timeMetric = metricFactory.timer("getHostName");
@@ -505,6 +659,15 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<String> getHostNameReactive(InetAddress addr) {
+        Name name = ReverseMap.fromAddress(addr);
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric("getHostName", coalescedLookupNoException(name.toString(), Type.PTR)
+            .map(records -> records
+                .map(dnsRecord -> ((PTRRecord) dnsRecord[0]).getTarget().toString())
+                .orElseGet(addr::getHostAddress))));
+    }
+
     @Override
     public InetAddress getLocalHost() throws UnknownHostException {
         return InetAddress.getLocalHost();
@@ -523,6 +686,7 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
     @Override
     public void clearCache() {
         cache.clearCache();
+        mxCache.ifPresent(RefreshAheadRecordsCache::clear);
     }
 
 }
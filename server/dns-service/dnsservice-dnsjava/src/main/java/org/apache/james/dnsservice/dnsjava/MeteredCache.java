@@ -0,0 +1,54 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.dnsservice.dnsjava;
+
+import org.apache.james.metrics.api.MetricFactory;
+import org.xbill.DNS.Cache;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.SetResponse;
+import org.xbill.DNS.Type;
+
+/**
+ * dnsjava {@link Cache} recording, per record type, whether lookups could be answered from the cache.
+ *
+ * Negative answers (NXDOMAIN, NXRRSET) served from the cache count as hits.
+ */
+class MeteredCache extends Cache {
+    static final String HITS_METRIC_PREFIX = "dnsCacheHits.";
+    static final String MISSES_METRIC_PREFIX = "dnsCacheMisses.";
+
+    private final MetricFactory metricFactory;
+
+    MeteredCache(int dclass, MetricFactory metricFactory) {
+        super(dclass);
+        this.metricFactory = metricFactory;
+    }
+
+    @Override
+    public SetResponse lookupRecords(Name name, int type, int minCred) {
+        SetResponse response = super.lookupRecords(name, type, minCred);
+        if (response.isUnknown()) {
+            metricFactory.generate(MISSES_METRIC_PREFIX + Type.string(type)).increment();
+        } else {
+            metricFactory.generate(HITS_METRIC_PREFIX + Type.string(type)).increment();
+        }
+        return response;
+    }
+}
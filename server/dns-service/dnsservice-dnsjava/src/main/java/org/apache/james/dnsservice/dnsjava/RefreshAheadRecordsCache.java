@@ -0,0 +1,158 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.dnsservice.dnsjava;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xbill.DNS.Record;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the answers of frequently requested names, each for the lowest TTL of its records, and refreshes
+ * them ahead of their expiry.
+ *
+ * Once an entry was read {@code hotThreshold} times and {@code refreshAheadRatio} of its TTL elapsed, the next
+ * read triggers a background refresh while still being served the cached answer: hot names never expire into
+ * a blocking lookup. Refreshes are expected to bypass the underlying DNS cache, which would otherwise answer
+ * with the very records about to expire.
+ */
+class RefreshAheadRecordsCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshAheadRecordsCache.class);
+
+    private static class Entry {
+        private final Record[] records;
+        private final long fetchedAtNanos;
+        private final long ttlNanos;
+        private final AtomicLong reads;
+        private final AtomicBoolean refreshing;
+
+        Entry(Record[] records, long fetchedAtNanos, long ttlNanos) {
+            this.records = records;
+            this.fetchedAtNanos = fetchedAtNanos;
+            this.ttlNanos = ttlNanos;
+            this.reads = new AtomicLong();
+            this.refreshing = new AtomicBoolean(false);
+        }
+    }
+
+    private final Cache<String, Entry> entries;
+    private final Ticker ticker;
+    private final int hotThreshold;
+    private final double refreshAheadRatio;
+    private final Function<String, Mono<Optional<Record[]>>> refresher;
+    private final Metric hits;
+    private final Metric misses;
+    private final Metric refreshes;
+
+    RefreshAheadRecordsCache(String recordType, long maxSize, int hotThreshold, double refreshAheadRatio,
+                             Function<String, Mono<Optional<Record[]>>> refresher,
+                             MetricFactory metricFactory, Ticker ticker) {
+        Preconditions.checkArgument(maxSize > 0, "'maxSize' needs to be strictly positive");
+        Preconditions.checkArgument(hotThreshold > 0, "'hotThreshold' needs to be strictly positive");
+        Preconditions.checkArgument(refreshAheadRatio > 0 && refreshAheadRatio < 1, "'refreshAheadRatio' needs to be strictly between 0 and 1");
+
+        this.ticker = ticker;
+        this.hotThreshold = hotThreshold;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.refresher = refresher;
+        this.hits = metricFactory.generate("dnsRefreshAheadCacheHits." + recordType);
+        this.misses = metricFactory.generate("dnsRefreshAheadCacheMisses." + recordType);
+        this.refreshes = metricFactory.generate("dnsRefreshAheadCacheRefreshes." + recordType);
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .ticker(ticker)
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry value, long currentTime) {
+                    return value.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+                    return value.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    Optional<Record[]> getIfPresent(String name) {
+        Entry entry = entries.getIfPresent(name);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        refreshIfHot(name, entry);
+        return Optional.of(entry.records);
+    }
+
+    private void refreshIfHot(String name, Entry entry) {
+        long age = ticker.read() - entry.fetchedAtNanos;
+        if (entry.reads.incrementAndGet() >= hotThreshold
+            && age >= entry.ttlNanos * refreshAheadRatio
+            && entry.refreshing.compareAndSet(false, true)) {
+            refreshes.increment();
+            refresher.apply(name)
+                .doOnNext(result -> result.ifPresent(records -> put(name, records)))
+                .doFinally(any -> entry.refreshing.set(false))
+                .subscribe(any -> {
+                }, e -> LOGGER.warn("Failed refreshing DNS records of {}", name, e));
+        }
+    }
+
+    void put(String name, Record[] records) {
+        long ttlSeconds = Arrays.stream(records)
+            .mapToLong(Record::getTTL)
+            .min()
+            .orElse(0);
+        if (ttlSeconds > 0) {
+            entries.put(name, new Entry(records, ticker.read(), Duration.ofSeconds(ttlSeconds).toNanos()));
+        }
+    }
+
+    long size() {
+        return entries.estimatedSize();
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+}
@@ -210,6 +210,29 @@ class DNSJavaServiceTest {
         assertThat(records.size()).isEqualTo(1);
         assertThat(records.contains("mx1.one-mx.bar.")).isTrue();
     }
+
+    @Test
+    void findMXRecordsReactiveShouldReturnSortedRecords() throws Exception {
+        doAnswer(new ZoneCacheLookupRecordsAnswer(loadZone("two-mx.differentprio.")))
+                .when(mockedCache).lookupRecords(any(Name.class), anyInt(), anyInt());
+        dnsServer.setCache(mockedCache);
+
+        assertThat(dnsServer.findMXRecordsReactive("two-mx.differentprio.").block())
+            .containsExactly("mx1.two-mx.differentprio.", "mx2.two-mx.differentprio.");
+    }
+
+    @Test
+    void findMXRecordsShouldBeServedFromTheMXCacheOnceResolved() throws Exception {
+        doAnswer(new ZoneCacheLookupRecordsAnswer(loadZone("one-mx.bar.")))
+                .when(mockedCache).lookupRecords(any(Name.class), anyInt(), anyInt());
+        dnsServer.setCache(mockedCache);
+
+        dnsServer.findMXRecords("one-mx.bar.");
+        dnsServer.setCache(mock(Cache.class));
+
+        assertThat(dnsServer.findMXRecords("one-mx.bar.")).containsExactly("mx1.one-mx.bar.");
+    }
+
     /*
      * public void testCNAMEasMXrecords() throws Exception { // Zone z =
      * loadZone("brandilyncollins.com."); dnsServer.setResolver(null);
@@ -0,0 +1,138 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.dnsservice.dnsjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.MXRecord;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Record;
+
+import reactor.core.publisher.Mono;
+
+class RefreshAheadRecordsCacheTest {
+    private static final String DOMAIN = "domain.org.";
+    private static final long TTL_SECONDS = 100;
+
+    private AtomicLong now;
+    private AtomicInteger refreshCount;
+    private Record[] refreshedRecords;
+    private RecordingMetricFactory metricFactory;
+    private RefreshAheadRecordsCache testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        now = new AtomicLong();
+        refreshCount = new AtomicInteger();
+        refreshedRecords = mxRecords("mx2.domain.org.", TTL_SECONDS);
+        metricFactory = new RecordingMetricFactory();
+        testee = new RefreshAheadRecordsCache("MX", 10, 2, 0.8,
+            name -> {
+                refreshCount.incrementAndGet();
+                return Mono.just(Optional.of(refreshedRecords));
+            },
+            metricFactory, now::get);
+    }
+
+    @Test
+    void getIfPresentShouldReturnEmptyWhenAbsent() {
+        assertThat(testee.getIfPresent(DOMAIN)).isEmpty();
+        assertThat(metricFactory.countFor("dnsRefreshAheadCacheMisses.MX")).isEqualTo(1);
+    }
+
+    @Test
+    void getIfPresentShouldReturnStoredRecords() throws Exception {
+        Record[] records = mxRecords("mx1.domain.org.", TTL_SECONDS);
+        testee.put(DOMAIN, records);
+
+        assertThat(testee.getIfPresent(DOMAIN)).contains(records);
+        assertThat(metricFactory.countFor("dnsRefreshAheadCacheHits.MX")).isEqualTo(1);
+    }
+
+    @Test
+    void entriesShouldExpireAfterTheirTTL() throws Exception {
+        testee.put(DOMAIN, mxRecords("mx1.domain.org.", TTL_SECONDS));
+
+        advance(Duration.ofSeconds(TTL_SECONDS));
+
+        assertThat(testee.getIfPresent(DOMAIN)).isEmpty();
+    }
+
+    @Test
+    void recordsWithoutTTLShouldNotBeStored() throws Exception {
+        testee.put(DOMAIN, mxRecords("mx1.domain.org.", 0));
+
+        assertThat(testee.getIfPresent(DOMAIN)).isEmpty();
+    }
+
+    @Test
+    void hotEntriesShouldBeRefreshedAheadOfExpiry() throws Exception {
+        testee.put(DOMAIN, mxRecords("mx1.domain.org.", TTL_SECONDS));
+        testee.getIfPresent(DOMAIN);
+
+        advance(Duration.ofSeconds(80));
+        testee.getIfPresent(DOMAIN);
+
+        assertThat(refreshCount.get()).isEqualTo(1);
+        assertThat(metricFactory.countFor("dnsRefreshAheadCacheRefreshes.MX")).isEqualTo(1);
+
+        advance(Duration.ofSeconds(50));
+        assertThat(testee.getIfPresent(DOMAIN)).contains(refreshedRecords);
+    }
+
+    @Test
+    void coldEntriesShouldNotBeRefreshed() throws Exception {
+        testee.put(DOMAIN, mxRecords("mx1.domain.org.", TTL_SECONDS));
+
+        advance(Duration.ofSeconds(90));
+        testee.getIfPresent(DOMAIN);
+
+        assertThat(refreshCount.get()).isZero();
+    }
+
+    @Test
+    void hotEntriesShouldNotBeRefreshedEarly() throws Exception {
+        testee.put(DOMAIN, mxRecords("mx1.domain.org.", TTL_SECONDS));
+
+        advance(Duration.ofSeconds(10));
+        testee.getIfPresent(DOMAIN);
+        testee.getIfPresent(DOMAIN);
+        testee.getIfPresent(DOMAIN);
+
+        assertThat(refreshCount.get()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private static Record[] mxRecords(String target, long ttl) throws Exception {
+        return new Record[] {new MXRecord(Name.fromString(DOMAIN), DClass.IN, ttl, 10, Name.fromString(target))};
+    }
+}
@@ -19,8 +19,11 @@
 
 package org.apache.james.mailetcontainer.impl;
 
+import java.time.Duration;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
+import jakarta.mail.MessagingException;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
@@ -29,6 +32,8 @@ import org.apache.james.mailetcontainer.api.MailetLoader;
 import org.apache.james.mailetcontainer.api.MatcherLoader;
 import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessor;
 import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueFactory;
 import org.apache.mailet.Mail;
 import org.apache.mailet.MailetContext;
 
@@ -40,26 +45,42 @@ import org.apache.mailet.MailetContext;
  * which allow to inject {@link Mail} into the routes.
  */
 public class CompositeProcessorImpl extends AbstractStateCompositeProcessor {
+    private static final Duration DEFERRED_PROCESSING_DELAY = Duration.ofSeconds(1);
 
     private final MetricFactory metricFactory;
     private final MailetContext mailetContext;
     private final MatcherLoader matcherLoader;
     private final MailetLoader mailetLoader;
+    private final MailQueueFactory<?> mailQueueFactory;
+    private MailQueue spool;
 
     @Inject
-    public CompositeProcessorImpl(MetricFactory metricFactory, MailetContext mailetContext, MatcherLoader matcherLoader, MailetLoader mailetLoader) {
+    public CompositeProcessorImpl(MetricFactory metricFactory, MailetContext mailetContext, MatcherLoader matcherLoader, MailetLoader mailetLoader,
+                                  MailQueueFactory<?> mailQueueFactory) {
         this.metricFactory = metricFactory;
         this.mailetContext = mailetContext;
         this.matcherLoader = matcherLoader;
         this.mailetLoader = mailetLoader;
+        this.mailQueueFactory = mailQueueFactory;
     }
 
     @Override
     @PostConstruct
     public void init() throws Exception {
+        spool = mailQueueFactory.createQueue(MailQueueFactory.SPOOL);
         super.init();
     }
 
+    /**
+     * Enqueues the mail back into the spool with its current state, so that the spooler resumes its processing with
+     * the saturated processor once the delay elapsed.
+     */
+    @Override
+    protected void deferProcessing(Mail mail) throws MessagingException {
+        spool.enQueue(mail, DEFERRED_PROCESSING_DELAY);
+        mail.setState(Mail.GHOST);
+    }
+
     @Override
     protected MailProcessor createMailProcessor(String name, HierarchicalConfiguration<ImmutableNode> config) throws Exception {
         MailetProcessorImpl processor = new MailetProcessorImpl(name, metricFactory);
@@ -23,6 +23,7 @@ import static reactor.core.scheduler.Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZ
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -74,6 +75,8 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
 
 
     private static class Runner {
+        private static final int LANE_BUFFER_SIZE = 64;
+
         private final AtomicInteger processingActive = new AtomicInteger(0);
         private final MetricFactory metricFactory;
         private final MailProcessor mailProcessor;
@@ -105,13 +108,35 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         }
 
         private reactor.core.Disposable run(MailQueue queue) {
-            return Flux.from(queue.deQueue())
-                .flatMap(item -> handleOnQueueItem(item).subscribeOn(scheduler), configuration.getConcurrencyLevel())
+            return dispatch(Flux.from(queue.deQueue()))
                 .onErrorContinue((throwable, item) -> LOGGER.error("Exception processing mail while spooling {}", item, throwable))
                 .subscribeOn(queueScheduler)
                 .subscribe();
         }
 
+        private Flux<Void> dispatch(Flux<MailQueueItem> items) {
+            int concurrency = configuration.getConcurrencyLevel();
+            return switch (configuration.getOrderingKey()) {
+                case NONE -> items
+                    .flatMap(item -> handleOnQueueItem(item).subscribeOn(scheduler), concurrency);
+                // Mails sharing an ordering key land in the same lane, processed sequentially. As there are exactly as
+                // many lanes as the concurrency level, every group is always subscribed. Each lane prefetches its pending
+                // mails so that a slow lane does not stop groupBy from feeding the other ones, until its prefetch is
+                // full: dequeuing then pauses, keeping the order of the mails of that lane.
+                case RECIPIENT_DOMAIN -> items
+                    .groupBy(item -> Math.floorMod(recipientDomain(item).hashCode(), concurrency), concurrency)
+                    .flatMap(lane -> lane
+                        .concatMap(item -> handleOnQueueItem(item).subscribeOn(scheduler), LANE_BUFFER_SIZE), concurrency);
+            };
+        }
+
+        private String recipientDomain(MailQueueItem item) {
+            return item.getMail().getRecipients().stream()
+                .findFirst()
+                .map(recipient -> recipient.getDomain().asString())
+                .orElse("");
+        }
+
         private Mono<Void> handleOnQueueItem(MailQueueItem queueItem) {
             TimeMetric timeMetric = metricFactory.timer(SPOOL_PROCESSING);
             return Mono.fromCallable(processingActive::incrementAndGet)
@@ -216,6 +241,19 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     }
 
     public static class Configuration {
+        public enum OrderingKey {
+            NONE,
+            RECIPIENT_DOMAIN;
+
+            public static OrderingKey parse(String value) {
+                return switch (value.toLowerCase(Locale.US).trim()) {
+                    case "none" -> NONE;
+                    case "recipientdomain" -> RECIPIENT_DOMAIN;
+                    default -> throw new IllegalArgumentException("Unknown spooler ordering key '" + value + "'. Supported values are 'none' and 'recipientDomain'");
+                };
+            }
+        }
+
         public static Configuration from(MailRepositoryStore mailRepositoryStore, HierarchicalConfiguration<ImmutableNode> config) {
             int concurrencyLevel = config.getInt("threads", 100);
             MailRepositoryUrl errorRepositoryURL = Optional.ofNullable(config.getString("errorRepository", null))
@@ -224,18 +262,29 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
                     mailRepositoryStore.defaultProtocol()
                         .orElseThrow(() -> new IllegalStateException("Cannot retrieve mailRepository URL, you need to configure an `errorRepository` property for the spooler.0")),
                     ERROR_REPOSITORY_PATH));
+            OrderingKey orderingKey = Optional.ofNullable(config.getString("orderingKey", null))
+                .map(OrderingKey::parse)
+                .orElse(OrderingKey.NONE);
 
-            return new Configuration(concurrencyLevel, errorRepositoryURL);
+            return new Configuration(concurrencyLevel, errorRepositoryURL, orderingKey);
         }
 
         private final int concurrencyLevel;
         private final MailRepositoryUrl errorRepositoryURL;
+        private final OrderingKey orderingKey;
 
         public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL) {
+            this(concurrencyLevel, errorRepositoryURL, OrderingKey.NONE);
+        }
+
+        public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL, OrderingKey orderingKey) {
             Preconditions.checkArgument(concurrencyLevel >= 0, "'threads' needs to be greater than or equal to zero");
+            Preconditions.checkArgument(orderingKey != OrderingKey.RECIPIENT_DOMAIN || concurrencyLevel > 0,
+                "'threads' needs to be strictly positive when ordering by recipient domain");
             
             this.concurrencyLevel = concurrencyLevel;
             this.errorRepositoryURL = errorRepositoryURL;
+            this.orderingKey = orderingKey;
         }
 
         public int getConcurrencyLevel() {
@@ -250,11 +299,16 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
             return errorRepositoryURL;
         }
 
+        public OrderingKey getOrderingKey() {
+            return orderingKey;
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this)
                 .add("concurrencyLevel", concurrencyLevel)
                 .add("errorRepositoryURL", errorRepositoryURL)
+                .add("orderingKey", orderingKey)
                 .toString();
         }
     }
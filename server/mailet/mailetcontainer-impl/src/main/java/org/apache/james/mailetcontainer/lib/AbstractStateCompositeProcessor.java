@@ -20,10 +20,13 @@ package org.apache.james.mailetcontainer.lib;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Stream;
 
 import jakarta.annotation.PostConstruct;
@@ -54,9 +57,13 @@ import com.google.common.collect.ImmutableList;
  */
 public abstract class AbstractStateCompositeProcessor implements MailProcessor, Configurable {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractStateCompositeProcessor.class);
+    // Processors calling each other recursively run on the same thread: a thread holding a processor permit
+    // re-entering that processor must not take a second one.
+    private static final ThreadLocal<Set<String>> HELD_PERMITS = ThreadLocal.withInitial(HashSet::new);
 
     private final Collection<CompositeProcessorListener> listeners = new ConcurrentLinkedDeque<>();
     private final Map<String, MailProcessor> processors = new HashMap<>();
+    private final Map<String, Semaphore> concurrencyLimits = new HashMap<>();
     protected HierarchicalConfiguration<ImmutableNode> config;
 
     private JMXStateCompositeProcessorListener jmxListener;
@@ -74,11 +81,42 @@ public abstract class AbstractStateCompositeProcessor implements MailProcessor,
 
     }
 
+    /**
+     * Processors with a {@code maxConcurrency} never make the calling thread wait: a mail reaching a processor
+     * that has no slot left is handed over to {@link #deferProcessing(Mail)}.
+     */
     @Override
     public void service(Mail mail) throws MessagingException {
-        handleWithProcessor(mail, getProcessorOrFallBackToError(mail));
+        MailProcessor processor = getProcessorOrFallBackToError(mail);
+        String state = mail.getState();
+        Optional<Semaphore> concurrencyLimit = Optional.ofNullable(concurrencyLimits.get(state));
+        Set<String> heldPermits = HELD_PERMITS.get();
+        if (concurrencyLimit.isEmpty() || heldPermits.contains(state)) {
+            handleWithProcessor(mail, processor);
+            return;
+        }
+
+        if (!concurrencyLimit.get().tryAcquire()) {
+            LOGGER.debug("MailProcessor '{}' is saturated, deferring the processing of {}", state, mail.getName());
+            deferProcessing(mail);
+            return;
+        }
+        heldPermits.add(state);
+        try {
+            handleWithProcessor(mail, processor);
+        } finally {
+            heldPermits.remove(state);
+            concurrencyLimit.get().release();
+        }
     }
 
+    /**
+     * Called with a mail whose processor has reached its {@code maxConcurrency}. The mail needs to be processed later
+     * on, starting with the processor matching its current state, and to be left in a state ending its current
+     * processing.
+     */
+    protected abstract void deferProcessing(Mail mail) throws MessagingException;
+
     private MailProcessor getProcessorOrFallBackToError(Mail mail) {
         return Optional.ofNullable(getProcessor(mail.getState()))
             .orElseGet(() -> {
@@ -175,6 +213,10 @@ public abstract class AbstractStateCompositeProcessor implements MailProcessor,
                 processorConf.addProperty("[@enableJmx]", enableJmx);
             }
             processors.put(processorName, createMailProcessor(processorName, processorConf));
+            Integer maxConcurrency = processorConf.getInteger("[@maxConcurrency]", null);
+            if (maxConcurrency != null) {
+                concurrencyLimits.put(processorName, concurrencyLimit(processorName, maxConcurrency));
+            }
         }
 
         if (enableJmx) {
@@ -186,6 +228,13 @@ public abstract class AbstractStateCompositeProcessor implements MailProcessor,
         checkProcessors();
     }
 
+    private Semaphore concurrencyLimit(String processorName, int maxConcurrency) throws ConfigurationException {
+        if (maxConcurrency <= 0) {
+            throw new ConfigurationException("'maxConcurrency' of processor " + processorName + " needs to be strictly positive");
+        }
+        return new Semaphore(maxConcurrency);
+    }
+
     @PreDestroy
     public void dispose() {
         String[] names = getProcessorStates();
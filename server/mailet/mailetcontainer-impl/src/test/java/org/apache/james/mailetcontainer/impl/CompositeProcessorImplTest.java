@@ -18,6 +18,10 @@
  ****************************************************************/
 package org.apache.james.mailetcontainer.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.james.mailetcontainer.api.mock.MockMailetLoader;
@@ -25,16 +29,21 @@ import org.apache.james.mailetcontainer.api.mock.MockMatcherLoader;
 import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessor;
 import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessorTest;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueFactory;
 import org.apache.mailet.base.test.FakeMailContext;
 
 public class CompositeProcessorImplTest extends AbstractStateCompositeProcessorTest {
 
     @Override
     protected AbstractStateCompositeProcessor createProcessor(HierarchicalConfiguration<ImmutableNode> config) throws Exception {
+        MailQueueFactory<MailQueue> mailQueueFactory = mock(MailQueueFactory.class);
+        when(mailQueueFactory.createQueue(any())).thenReturn(mock(MailQueue.class));
         CompositeProcessorImpl processor = new CompositeProcessorImpl(new RecordingMetricFactory(),
             FakeMailContext.defaultContext(),
             new MockMatcherLoader(),
-            new MockMailetLoader());
+            new MockMailetLoader(),
+            mailQueueFactory);
         try {
             processor.configure(config);
             processor.init();
@@ -19,12 +19,21 @@
 package org.apache.james.mailetcontainer.lib;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Fail.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
@@ -33,6 +42,7 @@ import org.apache.james.mailetcontainer.api.MailProcessor;
 import org.apache.james.mailetcontainer.api.mock.MockMailProcessor;
 import org.apache.james.server.core.MailImpl;
 import org.apache.james.server.core.configuration.FileConfigurationProvider;
+import org.apache.james.util.concurrency.ConcurrentTestRunner;
 import org.apache.mailet.Mail;
 import org.junit.jupiter.api.Test;
 
@@ -52,6 +62,11 @@ public abstract class AbstractStateCompositeProcessorTest {
                     }
                 };
             }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+                fail("No processor is limited");
+            }
         };
         processor.configure(createConfig(Arrays.asList("root", "error", "test")));
         processor.init();
@@ -73,6 +88,227 @@ public abstract class AbstractStateCompositeProcessorTest {
 
     }
 
+    @Test
+    public void maxConcurrencyShouldLimitConcurrentProcessing() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        Set<String> deferred = ConcurrentHashMap.newKeySet();
+        AbstractStateCompositeProcessor processor = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) {
+                return new MockMailProcessor("") {
+                    @Override
+                    public void service(Mail mail) {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(20);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        } finally {
+                            inFlight.decrementAndGet();
+                            processed.incrementAndGet();
+                        }
+                    }
+                };
+            }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+                deferred.add(mail.getName());
+            }
+        };
+        processor.configure(createConfig("<processors>" +
+            "<processor state=\"root\" maxConcurrency=\"2\"/>" +
+            "<processor state=\"error\"/>" +
+            "</processors>"));
+        processor.init();
+
+        try {
+            ConcurrentTestRunner.builder()
+                .operation((threadNumber, step) -> processor.service(MailImpl.builder().name("mail" + threadNumber + "-" + step).state(Mail.DEFAULT).build()))
+                .threadCount(8)
+                .operationCount(5)
+                .runSuccessfullyWithin(Duration.ofMinutes(1));
+        } finally {
+            processor.dispose();
+        }
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertThat(processed.get() + deferred.size()).isEqualTo(40);
+    }
+
+    @Test
+    public void saturatedProcessorShouldDeferMailsWithoutWaiting() throws Exception {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> deferred = new CopyOnWriteArrayList<>();
+        AbstractStateCompositeProcessor processor = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) {
+                return new MockMailProcessor("") {
+                    @Override
+                    public void service(Mail mail) {
+                        processing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                };
+            }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+                deferred.add(mail.getName());
+            }
+        };
+        processor.configure(createConfig("<processors>" +
+            "<processor state=\"root\" maxConcurrency=\"1\"/>" +
+            "<processor state=\"error\"/>" +
+            "</processors>"));
+        processor.init();
+
+        Thread slowProcessing = new Thread(() -> {
+            try {
+                processor.service(MailImpl.builder().name("slow").state(Mail.DEFAULT).build());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        try {
+            slowProcessing.start();
+            processing.await();
+
+            processor.service(MailImpl.builder().name("deferred").state(Mail.DEFAULT).build());
+
+            assertThat(deferred).containsExactly("deferred");
+        } finally {
+            release.countDown();
+            slowProcessing.join();
+            processor.dispose();
+        }
+    }
+
+    @Test
+    public void maxConcurrencyShouldAllowReentrantProcessing() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AbstractStateCompositeProcessor[] composite = new AbstractStateCompositeProcessor[1];
+        composite[0] = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) {
+                return new MockMailProcessor("") {
+                    @Override
+                    public void service(Mail mail) {
+                        if (calls.incrementAndGet() == 1) {
+                            try {
+                                composite[0].service(mail);
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+                };
+            }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+                fail("Re-entering a processor should not be limited");
+            }
+        };
+        composite[0].configure(createConfig("<processors>" +
+            "<processor state=\"root\" maxConcurrency=\"1\"/>" +
+            "<processor state=\"error\"/>" +
+            "</processors>"));
+        composite[0].init();
+
+        try {
+            composite[0].service(MailImpl.builder().name("mail").state(Mail.DEFAULT).build());
+        } finally {
+            composite[0].dispose();
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void maxConcurrencyShouldNotDeadlockWhenProcessorsHandMailsOverToEachOther() throws Exception {
+        CountDownLatch bothProcessorsBusy = new CountDownLatch(2);
+        Set<String> handedOver = ConcurrentHashMap.newKeySet();
+        Set<String> deferred = ConcurrentHashMap.newKeySet();
+        AbstractStateCompositeProcessor[] composite = new AbstractStateCompositeProcessor[1];
+        composite[0] = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) {
+                return new MockMailProcessor("") {
+                    @Override
+                    public void service(Mail mail) {
+                        if (handedOver.add(mail.getName())) {
+                            try {
+                                bothProcessorsBusy.countDown();
+                                bothProcessorsBusy.await();
+                                mail.setState(state.equals(Mail.DEFAULT) ? "transport" : Mail.DEFAULT);
+                                composite[0].service(mail);
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+                };
+            }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+                deferred.add(mail.getName());
+            }
+        };
+        composite[0].configure(createConfig("<processors>" +
+            "<processor state=\"root\" maxConcurrency=\"1\"/>" +
+            "<processor state=\"transport\" maxConcurrency=\"1\"/>" +
+            "<processor state=\"error\"/>" +
+            "</processors>"));
+        composite[0].init();
+
+        try {
+            ConcurrentTestRunner.builder()
+                .operation((threadNumber, step) -> composite[0].service(MailImpl.builder()
+                    .name("mail" + threadNumber)
+                    .state(threadNumber == 0 ? Mail.DEFAULT : "transport")
+                    .build()))
+                .threadCount(2)
+                .operationCount(1)
+                .runSuccessfullyWithin(Duration.ofSeconds(30));
+        } finally {
+            composite[0].dispose();
+        }
+
+        assertThat(handedOver).containsOnly("mail0", "mail1");
+        assertThat(deferred).containsOnly("mail0", "mail1");
+    }
+
+    @Test
+    public void initShouldRejectNonPositiveMaxConcurrency() throws Exception {
+        AbstractStateCompositeProcessor processor = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) {
+                return new MockMailProcessor("") { };
+            }
+
+            @Override
+            protected void deferProcessing(Mail mail) {
+
+            }
+        };
+        processor.configure(createConfig("<processors>" +
+            "<processor state=\"root\" maxConcurrency=\"0\"/>" +
+            "<processor state=\"error\"/>" +
+            "</processors>"));
+
+        assertThatThrownBy(processor::init)
+            .isInstanceOf(ConfigurationException.class);
+    }
+
     protected abstract AbstractStateCompositeProcessor createProcessor(HierarchicalConfiguration<ImmutableNode> config) throws
             Exception;
 
@@ -138,4 +374,8 @@ public abstract class AbstractStateCompositeProcessorTest {
 
         return FileConfigurationProvider.getConfig(new ByteArrayInputStream(sb.toString().getBytes()));
     }
+
+    private HierarchicalConfiguration<ImmutableNode> createConfig(String xml) throws ConfigurationException {
+        return FileConfigurationProvider.getConfig(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -43,10 +43,14 @@ import org.apache.mailet.base.MailetUtil;
  * This mailet is a composition of RecipientRewriteTable, SieveMailet 
  * and MailboxManager configured to mimic the old "LocalDelivery"
  * James 2.3 behavior.
+ *
+ * Setting the <code>fanOutConcurrency</code> parameter to a value greater than 1 renders mails having several
+ * recipients only once, and stores them concurrently into recipients mailboxes with the given concurrency.
  */
 public class LocalDelivery extends GenericMailet {
 
     public static final String LOCAL_DELIVERED_MAILS_METRIC_NAME = "localDeliveredMails";
+    private static final int NO_FAN_OUT = 1;
     private final UsersRepository usersRepository;
     private final MailboxManager mailboxManager;
     private final MetricFactory metricFactory;
@@ -82,6 +86,7 @@ public class LocalDelivery extends GenericMailet {
             .consume(getInitParameter("consume", true))
             .onMailetException(getInitParameter("onMailetException", Mail.ERROR))
             .retries(MailetUtil.getInitParameterAsInteger(getInitParameter("retries"), Optional.of(MailDispatcher.RETRIES)))
+            .fanOutConcurrency(MailetUtil.getInitParameterAsInteger(getInitParameter("fanOutConcurrency"), Optional.of(NO_FAN_OUT)))
             .mailetContext(getMailetContext())
             .usersRepository(usersRepository)
             .build();
@@ -18,12 +18,18 @@
  ****************************************************************/
 package org.apache.james.transport.mailets.delivery;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -33,7 +39,15 @@ import org.apache.james.core.Username;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.mailbox.exception.OverQuotaException;
 import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.Content;
+import org.apache.james.mailbox.model.HeaderAndBodyByteContent;
+import org.apache.james.mime4j.codec.DecodeMonitor;
+import org.apache.james.mime4j.dom.Message;
+import org.apache.james.mime4j.message.DefaultMessageBuilder;
+import org.apache.james.mime4j.stream.MimeConfig;
+import org.apache.james.server.core.MailHeaders;
 import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageInputStream;
 import org.apache.james.user.api.UsersRepository;
 import org.apache.james.user.api.UsersRepositoryException;
 import org.apache.james.util.AuditTrail;
@@ -41,6 +55,7 @@ import org.apache.mailet.Mail;
 import org.apache.mailet.MailetContext;
 import org.apache.mailet.PerRecipientHeaders.Header;
 import org.apache.mailet.base.RFC2822Headers;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +75,7 @@ public class MailDispatcher {
     public static final int RETRIES = 3;
     private static final Duration FIRST_BACKOFF = Duration.ofMillis(200);
     private static final Duration MAX_BACKOFF = Duration.ofSeconds(1);
+    private static final String CRLF = "\r\n";
 
     public static Builder builder() {
         return new Builder();
@@ -74,6 +90,7 @@ public class MailDispatcher {
         private MailetContext mailetContext;
         private String onMailetException;
         private Optional<Integer> retries = Optional.empty();
+        private Optional<Integer> fanOutConcurrency = Optional.empty();
 
         public Builder consume(boolean consume) {
             this.consume = consume;
@@ -107,6 +124,17 @@ public class MailDispatcher {
             return this;
         }
 
+        /**
+         * Enables fan-out delivery for mails having several recipients: the message is rendered once, and only
+         * recipient specific headers are computed for each recipient. Stores are then performed concurrently.
+         */
+        public Builder fanOutConcurrency(int fanOutConcurrency) {
+            if (fanOutConcurrency > 1) {
+                this.fanOutConcurrency = Optional.of(fanOutConcurrency);
+            }
+            return this;
+        }
+
         public MailDispatcher build() {
             Preconditions.checkNotNull(mailStore);
             Preconditions.checkNotNull(mailetContext);
@@ -114,7 +142,7 @@ public class MailDispatcher {
 
             return new MailDispatcher(mailStore, mailetContext,
                 Optional.ofNullable(consume).orElse(DEFAULT_CONSUME),
-                retries, Optional.ofNullable(onMailetException).orElse(DEFAULT_ERROR_PROCESSOR), usersRepository);
+                retries, fanOutConcurrency, Optional.ofNullable(onMailetException).orElse(DEFAULT_ERROR_PROCESSOR), usersRepository);
         }
     }
 
@@ -124,14 +152,17 @@ public class MailDispatcher {
     private final boolean ignoreError;
     private final boolean propagate;
     private final Optional<Integer> retries;
+    private final Optional<Integer> fanOutConcurrency;
     private final String errorProcessor;
     private final UsersRepository usersRepository;
 
-    private MailDispatcher(MailStore mailStore, MailetContext mailetContext, boolean consume, Optional<Integer> retries, String onMailetException, UsersRepository usersRepository) {
+    private MailDispatcher(MailStore mailStore, MailetContext mailetContext, boolean consume, Optional<Integer> retries,
+                           Optional<Integer> fanOutConcurrency, String onMailetException, UsersRepository usersRepository) {
         this.mailStore = mailStore;
         this.consume = consume;
         this.mailetContext = mailetContext;
         this.retries = retries;
+        this.fanOutConcurrency = fanOutConcurrency;
         this.errorProcessor = onMailetException;
         this.ignoreError = onMailetException.equalsIgnoreCase("ignore");
         this.propagate = onMailetException.equalsIgnoreCase("propagate");
@@ -173,6 +204,9 @@ public class MailDispatcher {
         // This only works because there is a placeholder inserted by MimeMessageWrapper
         message.setHeader(RFC2822Headers.RETURN_PATH, mail.getMaybeSender().asPrettyString());
 
+        if (fanOutConcurrency.isPresent() && mail.getRecipients().size() > 1) {
+            return fanOutDeliver(mail, message, fanOutConcurrency.get());
+        }
         return deliver(mail, message);
     }
 
@@ -183,39 +217,115 @@ public class MailDispatcher {
                     () -> saveHeaders(mail, recipient),
                     Throwing.function(any -> {
                         addSpecificHeadersForRecipient(mail, message, recipient);
-                        return storeMailWithRetry(mail, recipient)
-                            .doOnSuccess(Throwing.consumer(success -> AuditTrail.entry()
-                                .protocol("mailetcontainer")
-                                .action("LocalDelivery")
-                                .username(recipient::asString)
-                                .parameters(Throwing.supplier(() -> ImmutableMap.of("mailId", mail.getName(),
-                                    "mimeMessageId", Optional.ofNullable(mail.getMessage())
-                                        .map(Throwing.function(MimeMessage::getMessageID))
-                                        .orElse(""),
-                                    "sender", mail.getMaybeSender().asString(),
-                                    "mailboxId", success.getMailboxId().serialize(),
-                                    "uid", Long.toString(success.getUid().asLong()),
-                                    "recipient", recipient.asString())))
-                                .log("Local delivered mail.")))
-                            .then(Mono.<MailAddress>empty());
+                        return storeMailWithRetry(recipient, () -> mailStore.storeMail(recipient, mail));
                     }),
                     Throwing.consumer(savedHeaders -> restoreHeaders(mail.getMessage(), savedHeaders)))
-                    .onErrorResume(ex -> {
-                        LOGGER.error("Error while storing mail. This is a final exception.", ex);
-                        if (propagate) {
-                            return Mono.error(ex);
-                        }
-                        return Mono.just(recipient);
-                    }))
+                    .transform(store -> auditAndHandleErrors(mail, recipient, store)))
+            .collectList()
+            .block();
+    }
+
+    private List<MailAddress> fanOutDeliver(Mail mail, MimeMessage message, int concurrency) {
+        // Render the message once: only the headers differ from one recipient to the other, the body buffer is shared.
+        // Recipient specific headers are computed upfront so that the message is no longer mutated while stores run concurrently.
+        // Rendering failures only fail the affected recipients, which are then handled like store failures.
+        Mono<byte[]> body = readBody(message);
+        Mono<Optional<Message>> parsedMessage = body.map(bodyBytes -> parse(message, bodyBytes)).cache();
+        ImmutableList.Builder<RecipientContent> contents = ImmutableList.builder();
+        for (MailAddress recipient : mail.getRecipients()) {
+            Mono<Content> content = Mono.<byte[], byte[], Content>zip(readHeadersForRecipient(mail, message, recipient), body, HeaderAndBodyByteContent::new);
+            contents.add(new RecipientContent(recipient, content));
+        }
+
+        return Flux.fromIterable(contents.build())
+            .flatMap(recipientContent -> recipientContent.content()
+                .zipWith(parsedMessage)
+                .flatMap(contentAndParsedMessage -> storeMailWithRetry(recipientContent.recipient(),
+                    () -> mailStore.storeMail(recipientContent.recipient(), mail, contentAndParsedMessage.getT1(), contentAndParsedMessage.getT2())))
+                .transform(store -> auditAndHandleErrors(mail, recipientContent.recipient(), store)), concurrency)
             .collectList()
             .block();
     }
 
-    private Mono<ComposedMessageId> storeMailWithRetry(Mail mail, MailAddress recipient) {
+    private record RecipientContent(MailAddress recipient, Mono<Content> content) {
+
+    }
+
+    private Mono<byte[]> readBody(MimeMessage message) {
+        try (InputStream inputStream = new BufferedInputStream(new MimeMessageInputStream(message))) {
+            // Skip the headers, which are rendered for each recipient
+            new MailHeaders(inputStream);
+            return Mono.just(inputStream.readAllBytes());
+        } catch (IOException | MessagingException e) {
+            return Mono.error(new MessagingException("Could not render the message", e));
+        }
+    }
+
+    private Mono<byte[]> readHeadersForRecipient(Mail mail, MimeMessage message, MailAddress recipient) {
+        try {
+            Map<String, List<String>> savedHeaders = saveHeaders(mail, recipient);
+            try {
+                addSpecificHeadersForRecipient(mail, message, recipient);
+                return Mono.just(readHeaders(message));
+            } finally {
+                restoreHeaders(message, savedHeaders);
+            }
+        } catch (MessagingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private Optional<Message> parse(MimeMessage message, byte[] body) {
+        // Recipient specific headers do not alter the MIME structure: the message is parsed once for all recipients
+        try (InputStream inputStream = new HeaderAndBodyByteContent(readHeaders(message), body).getInputStream()) {
+            DefaultMessageBuilder messageBuilder = new DefaultMessageBuilder();
+            messageBuilder.setMimeEntityConfig(MimeConfig.PERMISSIVE);
+            messageBuilder.setDecodeMonitor(DecodeMonitor.SILENT);
+            return Optional.of(messageBuilder.parseMessage(inputStream));
+        } catch (IOException | MessagingException e) {
+            LOGGER.warn("Could not parse mail {}, it will be parsed by each store", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] readHeaders(MimeMessage message) throws MessagingException {
+        StringBuilder headers = new StringBuilder();
+        for (String headerLine : Collections.list(message.getAllHeaderLines())) {
+            headers.append(headerLine).append(CRLF);
+        }
+        return headers.append(CRLF).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Mono<MailAddress> auditAndHandleErrors(Mail mail, MailAddress recipient, Mono<ComposedMessageId> store) {
+        return store
+            .doOnSuccess(Throwing.consumer(success -> AuditTrail.entry()
+                .protocol("mailetcontainer")
+                .action("LocalDelivery")
+                .username(recipient::asString)
+                .parameters(Throwing.supplier(() -> ImmutableMap.of("mailId", mail.getName(),
+                    "mimeMessageId", Optional.ofNullable(mail.getMessage())
+                        .map(Throwing.function(MimeMessage::getMessageID))
+                        .orElse(""),
+                    "sender", mail.getMaybeSender().asString(),
+                    "mailboxId", success.getMailboxId().serialize(),
+                    "uid", Long.toString(success.getUid().asLong()),
+                    "recipient", recipient.asString())))
+                .log("Local delivered mail.")))
+            .then(Mono.<MailAddress>empty())
+            .onErrorResume(ex -> {
+                LOGGER.error("Error while storing mail. This is a final exception.", ex);
+                if (propagate) {
+                    return Mono.error(ex);
+                }
+                return Mono.just(recipient);
+            });
+    }
+
+    private Mono<ComposedMessageId> storeMailWithRetry(MailAddress recipient, Supplier<Publisher<ComposedMessageId>> store) {
         Username username = computeUsername(recipient);
         AtomicInteger remainRetries = new AtomicInteger(retries.orElse(0));
 
-        Mono<ComposedMessageId> operation = Mono.from(mailStore.storeMail(recipient, mail))
+        Mono<ComposedMessageId> operation = Mono.defer(() -> Mono.from(store.get()))
             .doOnError(OverQuotaException.class, e -> LOGGER.info("Could not store mail due to quota error for user {}", username.asString()))
             .doOnError(e -> !(e instanceof OverQuotaException), error -> LOGGER.warn("Error While storing mail. This error will be retried for {} more times.", remainRetries.getAndDecrement(), error));
 
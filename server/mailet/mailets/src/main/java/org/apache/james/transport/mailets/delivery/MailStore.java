@@ -19,11 +19,43 @@
 
 package org.apache.james.transport.mailets.delivery;
 
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Properties;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
 import org.apache.james.core.MailAddress;
+import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.Content;
+import org.apache.james.mime4j.dom.Message;
+import org.apache.james.server.core.MailImpl;
 import org.apache.mailet.Mail;
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Mono;
+
 public interface MailStore {
     Publisher<ComposedMessageId> storeMail(MailAddress recipient, Mail mail);
+
+    /**
+     * Stores the given pre-rendered content, that already carries the recipient specific headers, instead of the
+     * message of the mail. The parsed message, shared between recipients, can be used to avoid parsing the content
+     * again.
+     *
+     * The default implementation stores a copy of the mail carrying the content as its message.
+     */
+    default Publisher<ComposedMessageId> storeMail(MailAddress recipient, Mail mail, Content content, Optional<Message> parsedMessage) {
+        return Mono.using(() -> {
+                try (InputStream inputStream = content.getInputStream()) {
+                    return MailImpl.duplicateWithoutMessage(mail)
+                        .mimeMessage(new MimeMessage(Session.getDefaultInstance(new Properties()), inputStream))
+                        .build();
+                }
+            },
+            copy -> Mono.from(storeMail(recipient, copy)),
+            LifecycleUtil::dispose);
+    }
 }
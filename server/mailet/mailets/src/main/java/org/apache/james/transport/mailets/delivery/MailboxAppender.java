@@ -19,14 +19,36 @@
 
 package org.apache.james.transport.mailets.delivery;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Properties;
+
 import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.Content;
+import org.apache.james.mime4j.dom.Message;
 import org.apache.mailet.StorageDirective;
 import org.reactivestreams.Publisher;
 
 public interface MailboxAppender {
     Publisher<ComposedMessageId> append(MimeMessage mail, Username user, StorageDirective storageDirective) throws MessagingException;
+
+    /**
+     * Appends already rendered content. When present, the parsed message is handed over to the mailbox so that the
+     * content is not parsed again.
+     *
+     * The default implementation reads the content back as a {@link MimeMessage}.
+     */
+    default Publisher<ComposedMessageId> appendContent(Content content, Optional<Message> parsedMessage, Username user, StorageDirective storageDirective) throws MessagingException {
+        try (InputStream inputStream = content.getInputStream()) {
+            return append(new MimeMessage(Session.getDefaultInstance(new Properties()), inputStream), user, storageDirective);
+        } catch (IOException e) {
+            throw new MessagingException("Could not read the content to append", e);
+        }
+    }
 }
@@ -41,6 +41,7 @@ import org.apache.james.mailbox.model.ComposedMessageId;
 import org.apache.james.mailbox.model.Content;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mime4j.dom.Message;
 import org.apache.james.server.core.MimeMessageInputStream;
 import org.apache.james.server.core.MimeMessageUtil;
 import org.apache.mailet.StorageDirective;
@@ -64,13 +65,18 @@ public class MailboxAppenderImpl implements MailboxAppender {
     }
 
     public Mono<ComposedMessageId> append(MimeMessage mail, Username user, StorageDirective storageDirective) throws MessagingException {
+        return appendContent(extractContent(mail), Optional.empty(), user, storageDirective);
+    }
+
+    @Override
+    public Mono<ComposedMessageId> appendContent(Content content, Optional<Message> parsedMessage, Username user, StorageDirective storageDirective) throws MessagingException {
         Preconditions.checkArgument(storageDirective.getTargetFolders().isPresent(), "'targetFolders' field is needed");
 
         MailboxSession session = createMailboxSession(user);
         String urlPath = storageDirective.getTargetFolders().flatMap(collection -> collection.stream().findFirst()).get();
         String targetFolder = useSlashAsSeparator(urlPath, session);
 
-        return append(mail, user, targetFolder, storageDirective.getFlags(), session)
+        return append(content, parsedMessage, user, targetFolder, storageDirective.getFlags(), session)
             .map(AppendResult::getId)
             .flatMap(id -> copyToExtraMailboxes(storageDirective, session, targetFolder, id));
     }
@@ -115,27 +121,28 @@ public class MailboxAppenderImpl implements MailboxAppender {
         return destination;
     }
 
-    private Mono<AppendResult> append(MimeMessage mail, Username user, String folder, Optional<Flags> flags, MailboxSession mailboxSession) {
+    private Mono<AppendResult> append(Content content, Optional<Message> parsedMessage, Username user, String folder, Optional<Flags> flags, MailboxSession mailboxSession) {
         MailboxPath mailboxPath = MailboxPath.forUser(user, folder);
         return Mono.using(
             () -> {
                 mailboxManager.startProcessingRequest(mailboxSession);
                 return mailboxSession;
             },
-            session -> appendMessageToMailbox(mail, session, mailboxPath, flags),
+            session -> appendMessageToMailbox(content, parsedMessage, session, mailboxPath, flags),
             this::closeProcessing)
             .onErrorMap(e -> e instanceof MailboxException && !(e instanceof OverQuotaException), e -> new MessagingException("Unable to access mailbox.", (MailboxException) e));
     }
 
-    protected Mono<AppendResult> appendMessageToMailbox(MimeMessage mail, MailboxSession session, MailboxPath path, Optional<Flags> flags) {
+    protected Mono<AppendResult> appendMessageToMailbox(Content content, Optional<Message> parsedMessage, MailboxSession session, MailboxPath path, Optional<Flags> flags) {
         return createMailboxIfNotExist(session, path)
-            .flatMap(mailbox -> Mono.from(mailbox.appendMessageReactive(appendCommand(flags).build(extractContent(mail)), session)));
+            .flatMap(mailbox -> Mono.from(mailbox.appendMessageReactive(appendCommand(flags, parsedMessage).build(content), session)));
     }
 
-    private MessageManager.AppendCommand.Builder appendCommand(Optional<Flags> flags) {
+    private MessageManager.AppendCommand.Builder appendCommand(Optional<Flags> flags, Optional<Message> parsedMessage) {
         MessageManager.AppendCommand.Builder builder = MessageManager.AppendCommand.builder()
             .recent()
             .delivery();
+        parsedMessage.ifPresent(builder::withParsedMessage);
         return flags.map(builder::withFlags)
             .orElse(builder);
     }
@@ -19,12 +19,16 @@
 
 package org.apache.james.transport.mailets.delivery;
 
+import java.util.Optional;
+
 import jakarta.mail.MessagingException;
 
 import org.apache.james.core.MailAddress;
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.Content;
 import org.apache.james.metrics.api.Metric;
+import org.apache.james.mime4j.dom.Message;
 import org.apache.james.user.api.UsersRepository;
 import org.apache.james.user.api.UsersRepositoryException;
 import org.apache.mailet.Mail;
@@ -98,17 +102,34 @@ public class SimpleMailStore implements MailStore {
             .withDefaultFolder(folder);
 
         try {
-            return Mono.from(mailboxAppender.append(mail.getMessage(), username, storageDirective))
-                .doOnSuccess(ids -> {
-                    metric.increment();
-                    LOGGER.info("Local delivered mail {} with messageId {} successfully from {} to {} in folder {} with composedMessageId {}",
-                        mail.getName(), getMessageId(mail), mail.getMaybeSender().asString(), recipient.asPrettyString(), storageDirective.getTargetFolders().get(), ids);
-                });
+            return recordDelivery(Mono.from(mailboxAppender.append(mail.getMessage(), username, storageDirective)), recipient, mail, storageDirective);
         } catch (MessagingException e) {
             throw new RuntimeException("Could not retrieve mail message content", e);
         }
     }
 
+    @Override
+    public Mono<ComposedMessageId> storeMail(MailAddress recipient, Mail mail, Content content, Optional<Message> parsedMessage) {
+        Username username = computeUsername(recipient);
+        StorageDirective storageDirective = StorageDirective.fromMail(username, mail)
+            .withDefaultFolder(folder);
+
+        try {
+            return recordDelivery(Mono.from(mailboxAppender.appendContent(content, parsedMessage, username, storageDirective)), recipient, mail, storageDirective);
+        } catch (MessagingException e) {
+            throw new RuntimeException("Could not store mail message content", e);
+        }
+    }
+
+    private Mono<ComposedMessageId> recordDelivery(Mono<ComposedMessageId> append, MailAddress recipient, Mail mail, StorageDirective storageDirective) {
+        return append
+            .doOnSuccess(ids -> {
+                metric.increment();
+                LOGGER.info("Local delivered mail {} with messageId {} successfully from {} to {} in folder {} with composedMessageId {}",
+                    mail.getName(), getMessageId(mail), mail.getMaybeSender().asString(), recipient.asPrettyString(), storageDirective.getTargetFolders().get(), ids);
+            });
+    }
+
     private Username computeUsername(MailAddress recipient) {
         try {
             return usersRepository.getUsername(recipient);
@@ -22,6 +22,7 @@ package org.apache.james.transport.mailets.delivery;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,8 @@ import static org.mockito.Mockito.when;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.mail.MessagingException;
@@ -40,8 +43,10 @@ import org.apache.james.core.MailAddress;
 import org.apache.james.core.builder.MimeMessageBuilder;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.Content;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mime4j.dom.Message;
 import org.apache.james.user.api.UsersRepository;
 import org.apache.james.user.memory.MemoryUsersRepository;
 import org.apache.james.util.MimeMessageUtil;
@@ -76,6 +81,7 @@ class MailDispatcherTest {
         fakeMailContext = FakeMailContext.defaultContext();
         mailStore = mock(MailStore.class);
         when(mailStore.storeMail(any(), any())).thenReturn(Mono.empty());
+        when(mailStore.storeMail(any(), any(), any(), any())).thenReturn(Mono.empty());
         usersRepository = MemoryUsersRepository.withVirtualHosting(null);
     }
 
@@ -507,6 +513,135 @@ class MailDispatcherTest {
             .isInstanceOf(Exception.class);
     }
 
+    @Test
+    void fanOutDispatchShouldStoreRenderedMessageForEachRecipient() throws Exception {
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(mailStore)
+            .fanOutConcurrency(4)
+            .usersRepository(usersRepository)
+            .build();
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2)
+            .state("state")
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText("content"))
+            .build();
+        testee.dispatch(mail);
+
+        ArgumentCaptor<Content> contentCaptor = ArgumentCaptor.forClass(Content.class);
+        verify(mailStore).storeMail(eq(MailAddressFixture.ANY_AT_JAMES), eq(mail), contentCaptor.capture(), any());
+        verify(mailStore).storeMail(eq(MailAddressFixture.ANY_AT_JAMES2), eq(mail), contentCaptor.capture(), any());
+        verifyNoMoreInteractions(mailStore);
+
+        assertThat(contentCaptor.getAllValues())
+            .allSatisfy(content -> assertThat(IOUtils.toString(content.getInputStream(), StandardCharsets.UTF_8))
+                .contains(RFC2822Headers.RETURN_PATH + ": <" + MailAddressFixture.OTHER_AT_JAMES.asString() + ">\r\n")
+                .contains("Subject: subject\r\n")
+                .endsWith("\r\n\r\ncontent"));
+    }
+
+    @Test
+    void fanOutDispatchShouldAddSpecificHeaderToEachRecipients() throws Exception {
+        AccumulatorHeaderMailStore accumulatorTestHeaderMailStore = new AccumulatorHeaderMailStore(TEST_HEADER_NAME);
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(accumulatorTestHeaderMailStore)
+            .fanOutConcurrency(4)
+            .usersRepository(usersRepository)
+            .build();
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2, MailAddressFixture.OTHER_AT_JAMES)
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText("content"))
+            .state("state")
+            .build();
+        mail.addSpecificHeaderForRecipient(TEST_HEADER_USER1, MailAddressFixture.ANY_AT_JAMES);
+        mail.addSpecificHeaderForRecipient(TEST_HEADER_USER2, MailAddressFixture.ANY_AT_JAMES2);
+        testee.dispatch(mail);
+
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.ANY_AT_JAMES))
+            .containsOnly(new String[]{VALUE_FOR_USER_1});
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.ANY_AT_JAMES2))
+            .containsOnly(new String[]{VALUE_FOR_USER_2});
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.OTHER_AT_JAMES))
+            .isEmpty();
+        assertThat(mail.getMessage().getHeader(TEST_HEADER_NAME))
+            .isNull();
+    }
+
+    @Test
+    void fanOutDispatchShouldRedirectFailedRecipientsToTheErrorProcessor() throws Exception {
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(mailStore)
+            .fanOutConcurrency(4)
+            .usersRepository(usersRepository)
+            .build();
+
+        doReturn(Mono.error(new MessagingException()))
+            .when(mailStore)
+            .storeMail(eq(MailAddressFixture.ANY_AT_JAMES2), any(Mail.class), any(Content.class), any());
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2)
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText("content"))
+            .state("state")
+            .build();
+        testee.dispatch(mail);
+
+        assertThat(fakeMailContext.getSentMails())
+            .singleElement()
+            .satisfies(sentMail -> {
+                assertThat(sentMail.getRecipients()).containsOnly(MailAddressFixture.ANY_AT_JAMES2);
+                assertThat(sentMail.getState()).isEqualTo(Mail.ERROR);
+            });
+    }
+
+    @Test
+    void fanOutDispatchShouldParseTheMessageOnce() throws Exception {
+        List<Optional<Message>> parsedMessages = new CopyOnWriteArrayList<>();
+        when(mailStore.storeMail(any(), any(), any(), any())).thenAnswer(invocation -> {
+            parsedMessages.add(invocation.getArgument(3));
+            return Mono.empty();
+        });
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(mailStore)
+            .fanOutConcurrency(4)
+            .usersRepository(usersRepository)
+            .build();
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2)
+            .state("state")
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText("content"))
+            .build();
+        testee.dispatch(mail);
+
+        assertThat(parsedMessages)
+            .hasSize(2)
+            .allSatisfy(parsedMessage -> assertThat(parsedMessage).isPresent());
+        assertThat(parsedMessages.get(0).get())
+            .isSameAs(parsedMessages.get(1).get());
+    }
+
     public static class AccumulatorHeaderMailStore implements MailStore {
         private final ArrayListMultimap<MailAddress, String[]> headerValues;
         private final String headerName;
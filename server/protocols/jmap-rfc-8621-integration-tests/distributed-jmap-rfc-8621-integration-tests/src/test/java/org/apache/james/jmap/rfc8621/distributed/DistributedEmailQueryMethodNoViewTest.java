@@ -87,4 +87,16 @@ public class DistributedEmailQueryMethodNoViewTest implements EmailQueryMethodCo
     @Disabled("JAMES-3340 Not supported for no email query view")
     public void inMailboxBeforeSortedByReceivedAtShouldCollapseThreads(GuiceJamesServer server) {
     }
+
+    @Test
+    @Override
+    @Disabled("Anchors are only supported by the email query view")
+    public void inMailboxSortedByReceivedAtShouldYieldExpectedResultWithAnchorAndLimit(GuiceJamesServer server) {
+    }
+
+    @Test
+    @Override
+    @Disabled("Anchors are only supported by the email query view")
+    public void inMailboxSortedByReceivedAtShouldReturnAnchorNotFoundWhenAnchorIsNotInMailbox(GuiceJamesServer server) {
+    }
 }
@@ -25,7 +25,7 @@ import java.nio.charset.StandardCharsets
 import io.netty.handler.codec.http.HttpHeaderNames.ACCEPT
 import io.restassured.RestAssured.{`given`, requestSpecification}
 import org.apache.commons.io.IOUtils
-import org.apache.http.HttpStatus.{SC_FORBIDDEN, SC_NOT_FOUND, SC_OK, SC_UNAUTHORIZED}
+import org.apache.http.HttpStatus.{SC_FORBIDDEN, SC_NOT_FOUND, SC_OK, SC_PARTIAL_CONTENT, SC_REQUESTED_RANGE_NOT_SATISFIABLE, SC_UNAUTHORIZED}
 import org.apache.james.GuiceJamesServer
 import org.apache.james.jmap.http.UserCredential
 import org.apache.james.jmap.rfc8621.contract.DownloadContract.accountId
@@ -118,6 +118,56 @@ trait DownloadContract {
       .isEqualTo("ssh-rsa AAAAB3NzaC1yc2EAAAADAQABAAABAQDHs8bT4T/8QymbsiAjlD1MwNIXJr/WET6+9MmuTSIYWWU94csDn9WVMzRhaAbpfnSqIx8TdUtrN/ZzX2JetPSar/bU9nXAWeiC/jPFQ1qKH4GeDrYXRLKu4T8782OrGH8Jyror97TlNXhPrjdRLEB4bQqmmZhb3HwcD8a9XzfZqlm7GRWLo1WQMGt/NpQLC7jMf4fA6/+kjzsTspxwdgL74GJqPfOXOiwgLHX8CZ6/5RyTqhT6pD3MktSNWaz/zIHPNEqf5BY9CBM1TFR5w+6MDHo0gmiIsXFEJTPnfhBvHDhSjB1RI0KxUClyYrJ4fBlUVeKfnawoVcu7YvCqF4F5 quynhnn@linagora\n")
   }
 
+  @Test
+  def downloadMailboxAttachmentShouldReturnRequestedRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val attachmentId: AttachmentId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessageRetrieveAppendResult(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageAttachments
+      .get(1).getAttachmentId
+
+    val response = `given`
+        .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", "bytes=4-10")
+    .when
+      .get(s"/download/$accountId/${attachmentId.getId()}")
+    .`then`
+      .statusCode(SC_PARTIAL_CONTENT)
+      .header("Content-Range", "bytes 4-10/398")
+      .header("Content-Length", "7")
+      .header("Accept-Ranges", "bytes")
+      .extract
+      .body
+      .asString
+
+    assertThat(response)
+      .isEqualTo("rsa AAA")
+  }
+
+  @Test
+  def downloadMailboxAttachmentShouldRejectUnsatisfiableRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val attachmentId: AttachmentId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessageRetrieveAppendResult(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageAttachments
+      .get(1).getAttachmentId
+
+    `given`
+        .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", "bytes=100000-")
+    .when
+      .get(s"/download/$accountId/${attachmentId.getId()}")
+    .`then`
+      .statusCode(SC_REQUESTED_RANGE_NOT_SATISFIABLE)
+      .header("Content-Range", "bytes */398")
+  }
+
   @Test
   def downloadMessageShouldFailWhenUnauthentified(server: GuiceJamesServer): Unit = {
     val path = MailboxPath.inbox(BOB)
@@ -101,4 +101,16 @@ public class MemoryEmailQueryMethodNoViewTest implements EmailQueryMethodContrac
     @Disabled("JAMES-3340 Not supported for no email query view")
     public void inMailboxBeforeSortedByReceivedAtShouldCollapseThreads(GuiceJamesServer server) {
     }
+
+    @Test
+    @Override
+    @Disabled("Anchors are only supported by the email query view")
+    public void inMailboxSortedByReceivedAtShouldYieldExpectedResultWithAnchorAndLimit(GuiceJamesServer server) {
+    }
+
+    @Test
+    @Override
+    @Disabled("Anchors are only supported by the email query view")
+    public void inMailboxSortedByReceivedAtShouldReturnAnchorNotFoundWhenAnchorIsNotInMailbox(GuiceJamesServer server) {
+    }
 }
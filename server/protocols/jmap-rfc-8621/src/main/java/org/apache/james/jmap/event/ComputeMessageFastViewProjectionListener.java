@@ -25,12 +25,14 @@ import java.io.IOException;
 
 import jakarta.inject.Inject;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.events.Event;
 import org.apache.james.events.EventListener;
 import org.apache.james.events.Group;
+import org.apache.james.jmap.api.projections.MessageBodyStructure;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
 import org.apache.james.jmap.api.projections.MessageFastViewProjection;
+import org.apache.james.jmap.mail.EmailBodyStructure;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageIdManager;
 import org.apache.james.mailbox.SessionProvider;
@@ -39,14 +41,19 @@ import org.apache.james.mailbox.events.MailboxEvents.Expunged;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.FetchGroup;
 import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mime4j.dom.Message;
 
-import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+/**
+ * Computes the fast view and the body structure projections of appended messages, reading and parsing each of them once.
+ */
 public class ComputeMessageFastViewProjectionListener implements EventListener.ReactiveGroupEventListener {
     public static class ComputeMessageFastViewProjectionListenerGroup extends Group {
 
@@ -56,16 +63,19 @@ public class ComputeMessageFastViewProjectionListener implements EventListener.R
 
     private final MessageIdManager messageIdManager;
     private final MessageFastViewProjection messageFastViewProjection;
+    private final MessageBodyStructureProjection messageBodyStructureProjection;
     private final SessionProvider sessionProvider;
     private final MessageFastViewPrecomputedProperties.Factory messageFastViewPrecomputedPropertiesFactory;
 
     @Inject
     public ComputeMessageFastViewProjectionListener(SessionProvider sessionProvider, MessageIdManager messageIdManager,
                                                     MessageFastViewProjection messageFastViewProjection,
+                                                    MessageBodyStructureProjection messageBodyStructureProjection,
                                                     MessageFastViewPrecomputedProperties.Factory messageFastViewPrecomputedPropertiesFactory) {
         this.sessionProvider = sessionProvider;
         this.messageIdManager = messageIdManager;
         this.messageFastViewProjection = messageFastViewProjection;
+        this.messageBodyStructureProjection = messageBodyStructureProjection;
         this.messageFastViewPrecomputedPropertiesFactory = messageFastViewPrecomputedPropertiesFactory;
     }
 
@@ -95,17 +105,27 @@ public class ComputeMessageFastViewProjectionListener implements EventListener.R
             return Mono.empty();
         }
         return Flux.from(messageIdManager.getMessagesReactive(addedEvent.getMessageIds(), FetchGroup.FULL_CONTENT, session))
-            .flatMap(Throwing.function(messageResult -> Mono.fromCallable(
-                () -> Pair.of(messageResult.getMessageId(),
-                    computeFastViewPrecomputedProperties(messageResult)))
-                .subscribeOn(Schedulers.parallel())), DEFAULT_CONCURRENCY)
-            .flatMap(message -> messageFastViewProjection.store(message.getKey(), message.getValue()), DEFAULT_CONCURRENCY)
+            .flatMap(messageResult -> Mono.fromCallable(() -> computeProjections(messageResult))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(projections -> Mono.when(
+                    messageFastViewProjection.store(messageResult.getMessageId(), projections.getT1()),
+                    messageBodyStructureProjection.store(messageResult.getMessageId(), projections.getT2()))), DEFAULT_CONCURRENCY)
             .then();
     }
 
+    private Tuple2<MessageFastViewPrecomputedProperties, MessageBodyStructure> computeProjections(MessageResult messageResult) throws MailboxException, IOException {
+        Message mimeMessage = EmailBodyStructure.parse(messageResult);
+        try {
+            return Tuples.of(computeFastViewPrecomputedProperties(messageResult, mimeMessage),
+                EmailBodyStructure.compute(messageResult, mimeMessage));
+        } finally {
+            mimeMessage.dispose();
+        }
+    }
+
     @VisibleForTesting
-    MessageFastViewPrecomputedProperties computeFastViewPrecomputedProperties(MessageResult messageResult) throws MailboxException, IOException {
-        return messageFastViewPrecomputedPropertiesFactory.from(messageResult);
+    MessageFastViewPrecomputedProperties computeFastViewPrecomputedProperties(MessageResult messageResult, Message mimeMessage) throws MailboxException, IOException {
+        return messageFastViewPrecomputedPropertiesFactory.from(messageResult, mimeMessage);
     }
 
 }
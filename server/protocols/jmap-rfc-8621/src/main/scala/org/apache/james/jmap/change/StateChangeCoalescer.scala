@@ -0,0 +1,88 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.jmap.change
+
+import java.util.concurrent.atomic.AtomicReference
+
+import org.apache.james.jmap.core.{AccountId, OutboundMessage, PushState, StateChange}
+import org.reactivestreams.Publisher
+import reactor.core.publisher.{Flux, Sinks}
+import reactor.core.scala.publisher.SFlux
+
+import scala.concurrent.duration.Duration
+
+object StateChangeCoalescer {
+  def merge(older: StateChange, newer: StateChange): StateChange = {
+    val changes: Map[AccountId, TypeState] = newer.changes.foldLeft(older.changes) {
+      case (changes, (accountId, typeState)) => changes.updated(accountId, changes.get(accountId)
+        .map(olderTypeState => TypeState(olderTypeState.changes ++ typeState.changes))
+        .getOrElse(typeState))
+    }
+    val newerTypeStates: Iterable[TypeState] = newer.changes.keys.flatMap(changes.get)
+
+    StateChange(
+      changes = changes,
+      pushState = PushState.fromOption(
+        newerTypeStates.flatMap(_.changes.get(MailboxTypeName)).headOption,
+        newerTypeStates.flatMap(_.changes.get(EmailTypeName)).headOption))
+  }
+}
+
+/**
+ * Holds the state changes not yet written to a push connection, merged per account and type: a newer state supersedes
+ * the pending one instead of being queued behind it.
+ *
+ * A pending state change is handed over once the connection requests more data, and at most once per coalescing window
+ * when one is configured.
+ */
+class StateChangeCoalescer(window: Option[Duration]) {
+  private val pending: AtomicReference[StateChange] = new AtomicReference[StateChange]()
+  private val notifications: Sinks.Many[Unit] = Sinks.many().unicast().onBackpressureBuffer()
+
+  def push(stateChange: StateChange): Unit = {
+    pending.accumulateAndGet(stateChange, (current, next) => Option(current)
+      .map(StateChangeCoalescer.merge(_, next))
+      .getOrElse(next))
+    notifications.synchronized {
+      notifications.tryEmitNext(())
+    }
+  }
+
+  def complete(): Unit =
+    notifications.synchronized {
+      notifications.tryEmitComplete()
+    }
+
+  /**
+   * Merges the pending state changes with the other messages of the connection. The coalescer is consumed with a
+   * prefetch of one: a merge prefetching more would keep draining it while the connection applies backpressure.
+   */
+  def mergeWith(messages: Publisher[_ <: OutboundMessage]): SFlux[OutboundMessage] =
+    SFlux(Flux.merge[OutboundMessage](1, messages, asFlux()))
+
+  def asFlux(): SFlux[StateChange] = {
+    val ticks: SFlux[Unit] = SFlux(notifications.asFlux()).onBackpressureLatest()
+
+    window.map(duration => ticks.sample(duration).onBackpressureLatest())
+      .getOrElse(ticks)
+      .map(_ => Option(pending.getAndSet(null)))
+      .filter(_.isDefined)
+      .map(_.get)
+  }
+}
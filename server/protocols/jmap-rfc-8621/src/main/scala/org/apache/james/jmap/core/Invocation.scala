@@ -93,4 +93,8 @@ object ErrorCode {
   case object RequestTooLarge extends ErrorCode {
     override def code: String = "requestTooLarge"
   }
+
+  case object AnchorNotFound extends ErrorCode {
+    override def code: String = "anchorNotFound"
+  }
 }
@@ -42,6 +42,7 @@ object JmapConfigProperties {
   val URL_PREFIX_PROPERTY: String = "url.prefix"
   val WEBSOCKET_URL_PREFIX_PROPERTY: String = "websocket.url.prefix"
   val WEBSOCKET_PING_INTERVAL_PROPERTY: String = "websocket.ping.interval"
+  val PUSH_COALESCING_WINDOW_PROPERTY: String = "push.coalescing.window"
   val WEB_PUSH_MAX_TIMEOUT_SECONDS_PROPERTY: String = "webpush.maxTimeoutSeconds"
   val WEB_PUSH_MAX_CONNECTIONS_PROPERTY: String = "webpush.maxConnections"
   val WEB_PUSH_PREVENT_SERVER_SIDE_REQUEST_FORGERY: String = "webpush.prevent.server.side.request.forgery"
@@ -81,6 +82,13 @@ object JmapRfc8621Configuration {
           Preconditions.checkArgument(!duration.isZero && !duration.isNegative, s"`$WEBSOCKET_PING_INTERVAL_PROPERTY` must be positive".asInstanceOf[Object])
           duration.toScala
         }),
+      pushCoalescingWindow = Option(configuration.getString(PUSH_COALESCING_WINDOW_PROPERTY))
+        .map(DurationParser.parse(_, ChronoUnit.MILLIS))
+        .map(duration => {
+          Preconditions.checkArgument(!duration.isNegative, s"`$PUSH_COALESCING_WINDOW_PROPERTY` must not be negative".asInstanceOf[Object])
+          duration.toScala
+        })
+        .filter(_.length > 0),
       dynamicJmapPrefixResolutionEnabled = configuration.getBoolean(DYNAMIC_JMAP_PREFIX_RESOLUTION_ENABLED_PROPERTY, false),
       supportsDelaySends = configuration.getBoolean(DELAY_SENDS_ENABLED, false),
       maxUploadSize = Option(configuration.getString(UPLOAD_LIMIT_PROPERTY, null))
@@ -119,6 +127,7 @@ object JmapRfc8621Configuration {
 case class JmapRfc8621Configuration(urlPrefixString: String,
                                     websocketPrefixString: String,
                                     websocketPingInterval: Option[Duration] = None,
+                                    pushCoalescingWindow: Option[Duration] = None,
                                     dynamicJmapPrefixResolutionEnabled: Boolean = false,
                                     supportsDelaySends: Boolean = false,
                                     maxUploadSize: MaxSizeUpload = UPLOAD_LIMIT_DEFAULT,
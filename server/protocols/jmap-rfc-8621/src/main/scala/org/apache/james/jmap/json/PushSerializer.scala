@@ -19,6 +19,9 @@
 
 package org.apache.james.jmap.json
 
+import java.time.Duration
+
+import com.google.common.cache.{Cache, CacheBuilder}
 import jakarta.inject.Inject
 import org.apache.james.jmap.api.change.TypeStateFactory
 import org.apache.james.jmap.api.model.{State, TypeName}
@@ -30,6 +33,9 @@ import play.api.libs.json.{Format, JsError, JsNull, JsObject, JsResult, JsString
 import scala.util.Try
 
 object PushSerializer {
+  private val STATE_CHANGE_CACHE_SIZE: Long = 1000
+  private val STATE_CHANGE_CACHE_EXPIRATION: Duration = Duration.ofMinutes(1)
+
   implicit val pushVerificationWrites: Writes[PushVerification] = (pushVerification: PushVerification) => Json.obj(
     "@type" -> "PushVerification",
     "pushSubscriptionId" -> pushVerification.pushSubscriptionId.value,
@@ -122,10 +128,29 @@ case class PushSerializer @Inject()(typeStateFactory: TypeStateFactory) {
     case error: WebSocketError => webSocketErrorWrites.writes(error)
   }
 
+  // The same state change is usually pushed to every connection of an account: serialize it once for all of them
+  private val stateChangeCache: Cache[StateChange, String] = stateChangeCacheBuilder()
+  private val sseStateChangeCache: Cache[StateChange, String] = stateChangeCacheBuilder()
+
+  private def stateChangeCacheBuilder(): Cache[StateChange, String] = CacheBuilder.newBuilder()
+    .maximumSize(PushSerializer.STATE_CHANGE_CACHE_SIZE)
+    .expireAfterWrite(PushSerializer.STATE_CHANGE_CACHE_EXPIRATION)
+    .build[StateChange, String]()
+
   def serialize(outboundMessage: OutboundMessage): JsValue = Json.toJson(outboundMessage)
 
   def serializeSSE(outboundMessage: OutboundMessage): JsValue = sseOutboundWrites.writes(outboundMessage)
 
+  def serializeAsString(outboundMessage: OutboundMessage): String = outboundMessage match {
+    case stateChange: StateChange => stateChangeCache.get(stateChange, () => Json.stringify(serialize(stateChange)))
+    case _ => Json.stringify(serialize(outboundMessage))
+  }
+
+  def serializeSSEAsString(outboundMessage: OutboundMessage): String = outboundMessage match {
+    case stateChange: StateChange => sseStateChangeCache.get(stateChange, () => Json.stringify(serializeSSE(stateChange)))
+    case _ => Json.stringify(serializeSSE(outboundMessage))
+  }
+
   def deserializeWebSocketInboundMessage(input: String): JsResult[WebSocketInboundMessage] = Try(Json.parse(input).validate[WebSocketInboundMessage])
     .fold(e => JsError(e.getMessage), result => result)
 }
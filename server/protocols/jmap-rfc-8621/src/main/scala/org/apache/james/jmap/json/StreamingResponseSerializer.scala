@@ -0,0 +1,95 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *  http://www.apache.org/licenses/LICENSE-2.0                  *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.json
+
+import java.io.OutputStream
+
+import com.fasterxml.jackson.core.json.JsonWriteFeature
+import com.fasterxml.jackson.core.{JsonEncoding, JsonFactoryBuilder, JsonGenerator}
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.netty.buffer.{ByteBuf, ByteBufAllocator, ByteBufOutputStream}
+import org.apache.james.jmap.core.{Invocation, UuidState}
+import play.api.libs.json.JsonConfig
+import play.api.libs.json.jackson.PlayJsonMapperModule
+
+/**
+ * Writes a JMAP response object directly as UTF-8 bytes in a (pooled) Netty buffer, one method response at a time.
+ *
+ * This avoids building the full response JsValue tree, its String representation and its byte array copy. The output
+ * is the same as `Json.stringify(ResponseSerializer.serialize(responseObject))`.
+ */
+object StreamingResponseSerializer {
+  private val SESSION_STATE_FIELD: String = "sessionState"
+  private val METHOD_RESPONSES_FIELD: String = "methodResponses"
+
+  // Supplementary characters are written as raw UTF-8, like Json.stringify does, rather than as escaped surrogate pairs
+  private val mapper: ObjectMapper = new ObjectMapper(new JsonFactoryBuilder()
+      .enable(JsonWriteFeature.COMBINE_UNICODE_SURROGATES_IN_UTF8)
+      .build())
+    .registerModule(new PlayJsonMapperModule(JsonConfig.settings))
+
+  def writer(allocator: ByteBufAllocator, sessionState: UuidState): ResponseObjectWriter = {
+    val buffer: ByteBuf = allocator.buffer()
+    try {
+      new ResponseObjectWriter(buffer, mapper.getFactory.createGenerator(new ByteBufOutputStream(buffer): OutputStream, JsonEncoding.UTF8))
+        .start(sessionState)
+    } catch {
+      case e: Throwable =>
+        buffer.release()
+        throw e
+    }
+  }
+
+  class ResponseObjectWriter private[StreamingResponseSerializer](buffer: ByteBuf, generator: JsonGenerator) {
+    private[StreamingResponseSerializer] def start(sessionState: UuidState): ResponseObjectWriter = {
+      generator.writeStartObject()
+      generator.writeStringField(SESSION_STATE_FIELD, sessionState.value.toString)
+      generator.writeArrayFieldStart(METHOD_RESPONSES_FIELD)
+      this
+    }
+
+    def write(invocation: Invocation): ResponseObjectWriter = {
+      generator.writeStartArray()
+      generator.writeString(invocation.methodName.value.value)
+      mapper.writeValue(generator, invocation.arguments.value)
+      generator.writeString(invocation.methodCallId.value.value)
+      generator.writeEndArray()
+      this
+    }
+
+    /**
+     * Completes the response object. The caller takes ownership of the returned buffer.
+     */
+    def end(): ByteBuf = {
+      try {
+        generator.writeEndArray()
+        generator.writeEndObject()
+        generator.close()
+        buffer
+      } catch {
+        case e: Throwable =>
+          release()
+          throw e
+      }
+    }
+
+    def release(): Unit = buffer.release()
+  }
+}
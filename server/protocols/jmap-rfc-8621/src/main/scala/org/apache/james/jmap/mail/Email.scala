@@ -34,7 +34,7 @@ import jakarta.inject.Inject
 import org.apache.commons.lang3.StringUtils
 import org.apache.james.jmap.api.model.Preview
 import org.apache.james.jmap.api.model.Size.{Size, sanitizeSize}
-import org.apache.james.jmap.api.projections.{MessageFastViewPrecomputedProperties, MessageFastViewProjection}
+import org.apache.james.jmap.api.projections.{MessageBodyStructure, MessageBodyStructureProjection, MessageFastViewPrecomputedProperties, MessageFastViewProjection}
 import org.apache.james.jmap.core.Id.{Id, IdConstraint}
 import org.apache.james.jmap.core.{Properties, UTCDate}
 import org.apache.james.jmap.mail.BracketHeader.sanitize
@@ -43,6 +43,7 @@ import org.apache.james.jmap.mail.EmailFullViewFactory.extractBodyValues
 import org.apache.james.jmap.mail.EmailGetRequest.MaxBodyValueBytes
 import org.apache.james.jmap.mail.EmailHeaderName.{ADDRESSES_NAMES, DATE, MESSAGE_ID_NAMES}
 import org.apache.james.jmap.mail.FastViewWithAttachmentsMetadataReadLevel.supportedByFastViewWithAttachments
+import org.apache.james.jmap.mail.FullReadLevel.supportedByBodyStructureProjection
 import org.apache.james.jmap.mail.KeywordsFactory.LENIENT_KEYWORDS_FACTORY
 import org.apache.james.jmap.method.ZoneIdProvider
 import org.apache.james.jmap.mime4j.{AvoidBinaryBodyBufferingBodyFactory, JamesBodyDescriptorBuilder}
@@ -214,7 +215,17 @@ case object FastViewWithAttachmentsMetadataReadLevel extends ReadLevel {
       .map(availableFetchingBodyPropertiesForFastViewWithAttachments.contains)
       .reduce(_&&_)
 }
-case object FullReadLevel extends ReadLevel
+case object FullReadLevel extends ReadLevel {
+  private val availableFetchingBodyPropertiesForBodyStructureProjection = Seq("partId", "blobId", "size", "name", "type", "charset", "disposition", "cid", "language", "location", "subParts")
+
+  def supportedByBodyStructureProjection(request: EmailGetRequest): Boolean =
+    !request.fetchTextBodyValues.exists(_.value) &&
+      !request.fetchHTMLBodyValues.exists(_.value) &&
+      !request.fetchAllBodyValues.exists(_.value) &&
+      request.bodyProperties.forall(_.value
+        .map(s => s.value)
+        .forall(availableFetchingBodyPropertiesForBodyStructureProjection.contains))
+}
 
 object HeaderMessageId {
   def from(string: String): HeaderMessageId = HeaderMessageId(sanitize(string))
@@ -451,7 +462,8 @@ class EmailViewReaderFactory @Inject() (metadataReader: EmailMetadataViewReader,
                                         headerReader: EmailHeaderViewReader,
                                         fastViewReader: EmailFastViewReader,
                                         fastViewWithAttachmentsMetadataReader: EmailFastViewWithAttachmentsMetadataReader,
-                                        fullReader: EmailFullViewReader) {
+                                        fullReader: EmailFullViewReader,
+                                        bodyStructureProjectionReader: EmailBodyStructureProjectionReader) {
   def selectReader(request: EmailGetRequest): EmailViewReader[EmailView] =
     EmailGetRequest.readLevel(request) match {
       case MetadataReadLevel => metadataReader
@@ -463,7 +475,12 @@ class EmailViewReaderFactory @Inject() (metadataReader: EmailMetadataViewReader,
         } else {
           fullReader
         }
-      case FullReadLevel => fullReader
+      case FullReadLevel =>
+        if (supportedByBodyStructureProjection(request)) {
+          bodyStructureProjectionReader
+        } else {
+          fullReader
+        }
     }
 }
 
@@ -872,3 +889,123 @@ private class EmailFastViewWithAttachmentsMetadataReader @Inject()(messageIdMana
     }
   }
 }
+
+private sealed trait BodyStructureResult
+
+private case class BodyStructureAvailable(id: MessageId, fastView: MessageFastViewPrecomputedProperties, bodyStructure: MessageBodyStructure) extends BodyStructureResult
+
+private case class BodyStructureUnavailable(id: MessageId) extends BodyStructureResult
+
+/**
+ * Serves full views without body values from the fast view and body structure projections, reading only the headers
+ * of the messages. Messages missing from either projection are read in full, and the projections are then populated.
+ */
+private class EmailBodyStructureProjectionReader @Inject()(messageIdManager: MessageIdManager,
+                                                           messageFastViewProjection: MessageFastViewProjection,
+                                                           messageBodyStructureProjection: MessageBodyStructureProjection,
+                                                           htmlTextExtractor: HtmlTextExtractor,
+                                                           zoneIdProvider: ZoneIdProvider,
+                                                           fullViewFactory: EmailFullViewFactory) extends EmailViewReader[EmailView] {
+  private val fullReader: GenericEmailViewReader[EmailFullView] = new GenericEmailViewReader[EmailFullView](messageIdManager, FULL_CONTENT, htmlTextExtractor, fullViewFactory)
+
+  override def read[T >: EmailView](ids: Seq[MessageId], request: EmailGetRequest, mailboxSession: MailboxSession): SFlux[T] =
+    SMono.zip(array => (array(0).asInstanceOf[Map[MessageId, MessageFastViewPrecomputedProperties]],
+          array(1).asInstanceOf[Map[MessageId, MessageBodyStructure]]),
+        SMono.fromPublisher(messageFastViewProjection.retrieve(ids.asJava)).map(_.asScala.toMap),
+        SMono.fromPublisher(messageBodyStructureProjection.retrieve(ids.asJava)).map(_.asScala.toMap))
+      .map {
+        case (fastViews, bodyStructures) => ids.map(id => (fastViews.get(id), bodyStructures.get(id)) match {
+          case (Some(fastView), Some(bodyStructure)) => BodyStructureAvailable(id, fastView, bodyStructure)
+          case _ => BodyStructureUnavailable(id)
+        })
+      }
+      .flatMapMany(results => toEmailViews(results, request, mailboxSession))
+
+  private def toEmailViews[T >: EmailView](results: Seq[BodyStructureResult], request: EmailGetRequest, mailboxSession: MailboxSession): SFlux[T] = {
+    val availables: Seq[BodyStructureAvailable] = results.flatMap {
+      case available: BodyStructureAvailable => Some(available)
+      case _ => None
+    }
+    val unavailables: Seq[BodyStructureUnavailable] = results.flatMap {
+      case unavailable: BodyStructureUnavailable => Some(unavailable)
+      case _ => None
+    }
+
+    val lowConcurrency = 2
+    SFlux.merge(Seq(
+      toFullViews(availables, request, mailboxSession),
+      SFlux.fromIterable(unavailables.map(_.id))
+        .flatMap(id => fullReader.read(Seq(id), request, mailboxSession)
+          .doOnNext(storeOnCacheMisses), lowConcurrency, lowConcurrency)))
+  }
+
+  private def storeOnCacheMisses(fullView: EmailFullView) = {
+    SMono.fromPublisher(messageFastViewProjection.store(
+      fullView.metadata.id,
+      MessageFastViewPrecomputedProperties.builder()
+        .preview(fullView.bodyMetadata.preview)
+        .hasAttachment(fullView.bodyMetadata.hasAttachment.value)
+        .build()))
+      .`then`(SMono.fromPublisher(messageBodyStructureProjection.store(
+        fullView.metadata.id,
+        EmailBodyStructure.asProjection(fullView.body.bodyStructure))))
+      .doOnError(e => EmailFastViewReader.logger.error(s"Cannot store the projections to MessageFastViewProjection and MessageBodyStructureProjection for ${fullView.metadata.id}", e))
+      .subscribeOn(Schedulers.parallel())
+      .subscribe()
+  }
+
+  private def toFullViews(availables: Seq[BodyStructureAvailable], request: EmailGetRequest, mailboxSession: MailboxSession): SFlux[EmailView] = {
+    val availablesAsMap: Map[MessageId, BodyStructureAvailable] = availables.map(available => (available.id, available)).toMap
+    val ids: Seq[MessageId] = availables.map(_.id)
+
+    SFlux.fromPublisher(messageIdManager.getMessagesReactive(ids.asJava, HEADERS, mailboxSession))
+      .collectSeq()
+      .flatMapIterable(messages => messages.groupBy(_.getMessageId).toSet)
+      .map(x => toEmail(request)(x, availablesAsMap(x._1)))
+      .handle[EmailView]((aTry, sink) => aTry match {
+        case Success(value) => sink.next(value)
+        case Failure(e) => sink.error(e)
+      })
+  }
+
+  private def toEmail(request: EmailGetRequest)(message: (MessageId, Seq[MessageResult]), available: BodyStructureAvailable): Try[EmailView] = {
+    val messageId: MessageId = message._1
+    val mailboxIds: MailboxIds = MailboxIds(message._2
+      .map(_.getMailboxId)
+      .toList)
+    val threadId: ThreadId = ThreadId(message._2.head.getThreadId.serialize())
+
+    for {
+      firstMessage <- message._2
+        .headOption
+        .map(Success(_))
+        .getOrElse(Failure(new IllegalArgumentException("No message supplied")))
+      mime4JMessage <- Email.parseAsMime4JMessage(firstMessage)
+      blobId <- BlobId.of(messageId)
+      bodyStructure <- EmailBodyStructure.fromProjection(available.bodyStructure, mime4JMessage)
+      keywords <- Email.mergeKeywords(message._2)
+    } yield {
+      EmailFullView(
+        metadata = EmailMetadata(
+          id = messageId,
+          blobId = blobId,
+          threadId = threadId,
+          mailboxIds = mailboxIds,
+          receivedAt = UTCDate.from(firstMessage.getInternalDate, zoneIdProvider.get()),
+          keywords = keywords,
+          size = sanitizeSize(firstMessage.getSize)),
+        header = EmailHeaders.from(zoneIdProvider.get())(mime4JMessage),
+        bodyMetadata = EmailBodyMetadata(
+          hasAttachment = HasAttachment(bodyStructure.attachments.exists(attachment =>
+            attachment.disposition.contains(ATTACHMENT) && attachment.cid.isEmpty)),
+          preview = available.fastView.getPreview),
+        body = EmailBody(
+          bodyStructure = bodyStructure,
+          textBody = bodyStructure.textBody,
+          htmlBody = bodyStructure.htmlBody,
+          attachments = bodyStructure.attachments,
+          bodyValues = Map()),
+        specificHeaders = EmailHeaders.extractSpecificHeaders(request.properties)(zoneIdProvider.get(), mime4JMessage.getHeader))
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *  http://www.apache.org/licenses/LICENSE-2.0                  *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.mail
+
+import java.time.ZoneOffset
+
+import cats.implicits._
+import org.apache.james.jmap.api.model.Size.sanitizeSize
+import org.apache.james.jmap.api.projections.MessageBodyStructure
+import org.apache.james.mailbox.model.{Cid, MessageResult}
+import org.apache.james.mime4j.dom.Message
+
+import scala.jdk.CollectionConverters._
+import scala.jdk.OptionConverters._
+import scala.util.Try
+
+/**
+ * Conversions between the JMAP body part tree and its projected form, [[MessageBodyStructure]].
+ *
+ * Parts rebuilt from the projection carry no headers: their entity is the header-only message, which is enough
+ * as long as neither body values nor part headers are requested.
+ */
+object EmailBodyStructure {
+  def parse(messageResult: MessageResult): Message = Email.parseAsMime4JMessage(messageResult).get
+
+  def compute(messageResult: MessageResult, mime4JMessage: Message): MessageBodyStructure = (for {
+    blobId <- BlobId.of(messageResult.getMessageId)
+    bodyStructure <- EmailBodyPart.of(None, ZoneOffset.UTC, blobId, mime4JMessage)
+  } yield {
+    asProjection(bodyStructure)
+  }).get
+
+  def asProjection(part: EmailBodyPart): MessageBodyStructure = MessageBodyStructure.builder()
+    .partId(part.partId.serialize)
+    .blobId(part.blobId.map(_.value.value).toJava)
+    .size(part.size.value)
+    .name(part.name.map(_.value).toJava)
+    .`type`(part.`type`.value)
+    .charset(part.charset.map(_.value).toJava)
+    .disposition(part.disposition.map(_.value).toJava)
+    .cid(part.cid.map(_.getValue).toJava)
+    .languages(part.language.map(_.value.map(_.value).asJava).toJava)
+    .location(part.location.map(_.value).toJava)
+    .subParts(part.subParts.map(_.map(asProjection).asJava).toJava)
+    .build()
+
+  def fromProjection(bodyStructure: MessageBodyStructure, entity: Message): Try[EmailBodyPart] = for {
+    partId <- PartId.parse(bodyStructure.getPartId)
+    blobId <- bodyStructure.getBlobId.toScala.traverse(BlobId.of)
+    subParts <- bodyStructure.getSubParts.toScala.traverse(_.asScala.toList.traverse(fromProjection(_, entity)))
+  } yield {
+    EmailBodyPart(
+      partId = partId,
+      blobId = blobId,
+      headers = Nil,
+      size = sanitizeSize(bodyStructure.getSize),
+      name = bodyStructure.getName.toScala.map(Name),
+      `type` = Type(bodyStructure.getType),
+      charset = bodyStructure.getCharset.toScala.map(Charset),
+      disposition = bodyStructure.getDisposition.toScala.map(Disposition(_)),
+      cid = bodyStructure.getCid.toScala.flatMap(cid => Cid.parser().relaxed().parse(cid).toScala),
+      language = bodyStructure.getLanguages.toScala.map(languages => Languages(languages.asScala.toList.map(Language))),
+      location = bodyStructure.getLocation.toScala.map(Location),
+      subParts = subParts,
+      entity = entity,
+      specificHeaders = Map())
+  }
+}
@@ -25,14 +25,15 @@ import eu.timepit.refined.auto._
 import jakarta.inject.Inject
 import jakarta.mail.Flags.Flag.DELETED
 import org.apache.james.jmap.JMAPConfiguration
+import org.apache.james.jmap.api.exception.AnchorNotFoundException
 import org.apache.james.jmap.api.projections.EmailQueryViewManager
 import org.apache.james.jmap.core.CapabilityIdentifier.{CapabilityIdentifier, JMAP_CORE, JMAP_MAIL}
 import org.apache.james.jmap.core.Invocation.{Arguments, MethodName}
 import org.apache.james.jmap.core.Limit.Limit
 import org.apache.james.jmap.core.Position.Position
-import org.apache.james.jmap.core.{CanCalculateChanges, Invocation, Limit, Position, QueryState, SessionTranslator}
+import org.apache.james.jmap.core.{CanCalculateChanges, Invocation, Limit, Position, PositionUnparsed, QueryState, SessionTranslator}
 import org.apache.james.jmap.json.EmailQuerySerializer
-import org.apache.james.jmap.mail.{Comparator, EmailQueryRequest, EmailQueryResponse, FilterCondition, UnsupportedRequestParameterException}
+import org.apache.james.jmap.mail.{Anchor, Comparator, EmailQueryRequest, EmailQueryResponse, FilterCondition, UnsupportedRequestParameterException}
 import org.apache.james.jmap.routes.SessionSupplier
 import org.apache.james.jmap.utils.search.MailboxFilter
 import org.apache.james.jmap.utils.search.MailboxFilter.QueryFilter
@@ -45,6 +46,7 @@ import org.apache.james.util.streams.{Limit => JavaLimit}
 import reactor.core.scala.publisher.{SFlux, SMono}
 
 import scala.jdk.CollectionConverters._
+import scala.util.Try
 
 class EmailQueryMethod @Inject() (serializer: EmailQuerySerializer,
                                   mailboxManager: MailboxManager,
@@ -52,7 +54,8 @@ class EmailQueryMethod @Inject() (serializer: EmailQuerySerializer,
                                   val sessionSupplier: SessionSupplier,
                                   val sessionTranslator: SessionTranslator,
                                   val configuration: JMAPConfiguration,
-                                  val emailQueryViewManager: EmailQueryViewManager) extends MethodRequiringAccountId[EmailQueryRequest] {
+                                  val emailQueryViewManager: EmailQueryViewManager,
+                                  messageIdFactory: MessageId.Factory) extends MethodRequiringAccountId[EmailQueryRequest] {
   override val methodName: MethodName = MethodName("Email/query")
   override val requiredCapabilities: Set[CapabilityIdentifier] = Set(JMAP_CORE, JMAP_MAIL)
 
@@ -86,12 +89,19 @@ class EmailQueryMethod @Inject() (serializer: EmailQuerySerializer,
 
   private def validateRequestParameters(request: EmailQueryRequest): Either[Exception, EmailQueryRequest] =
     (request.anchor, request.anchorOffset) match {
-      case (Some(anchor), _) => Left(UnsupportedRequestParameterException("anchor"))
-      case (_, Some(anchorOffset)) => Left(UnsupportedRequestParameterException("anchorOffset"))
+      case (Some(_), _) if !matchesInMailboxSortedByReceivedAt(request) || getCollapseThreads(request) => Left(UnsupportedRequestParameterException("anchor"))
+      case (Some(_), Some(anchorOffset)) if anchorOffset.value < 0 => Left(UnsupportedRequestParameterException("anchorOffset"))
+      case (None, Some(_)) => Left(UnsupportedRequestParameterException("anchorOffset"))
       case _ => Right(request)
     }
 
-  private def executeQuery(session: MailboxSession, request: EmailQueryRequest, searchQuery: MultimailboxesSearchQuery, position: Position, limit: Limit): SMono[EmailQueryResponse] = {
+  private def executeQuery(session: MailboxSession, request: EmailQueryRequest, searchQuery: MultimailboxesSearchQuery, position: Position, limit: Limit): SMono[EmailQueryResponse] =
+    request.anchor match {
+      case Some(anchor) => queryViewForListingSortedByReceivedAtFromAnchor(session, anchor, limit, request, searchQuery.getNamespace)
+      case None => executeQueryFromPosition(session, request, searchQuery, position, limit)
+    }
+
+  private def executeQueryFromPosition(session: MailboxSession, request: EmailQueryRequest, searchQuery: MultimailboxesSearchQuery, position: Position, limit: Limit): SMono[EmailQueryResponse] = {
     val ids: SMono[Seq[MessageId]] = request match {
       case request: EmailQueryRequest if matchesInMailboxSortedBySentAt(request) =>
         queryViewForListingSortedBySentAt(session, position, limit, request, searchQuery.getNamespace)
@@ -108,6 +118,31 @@ class EmailQueryMethod @Inject() (serializer: EmailQuerySerializer,
   }
 
 
+  private def queryViewForListingSortedByReceivedAtFromAnchor(mailboxSession: MailboxSession, anchor: Anchor, limitToUse: Limit, request: EmailQueryRequest, namespace: Namespace): SMono[EmailQueryResponse] = {
+    val mailboxId: MailboxId = request.filter.get.asInstanceOf[FilterCondition].inMailbox.get
+    val anchorOffset: Int = request.anchorOffset.map(_.value).getOrElse(0)
+    val emailQueryView = emailQueryViewManager.getEmailQueryView(mailboxSession.getUser)
+
+    // Seeks to the anchor rather than reading then dropping every preceding entry
+    SMono.fromTry(Try(messageIdFactory.fromString(anchor.value)))
+      .onErrorMap(_ => new AnchorNotFoundException(anchor.value))
+      .flatMap(anchorId => SMono(mailboxManager.getMailboxReactive(mailboxId, mailboxSession))
+        .filter(messageManager => namespace.keepAccessible(messageManager.getMailboxEntity))
+        .switchIfEmpty(SMono.error(new AnchorNotFoundException(anchorId)))
+        .onErrorMap({
+          case _: MailboxNotFoundException => new AnchorNotFoundException(anchorId)
+        })
+        .flatMap(_ => SMono.zip(array => (array(0).asInstanceOf[java.lang.Long], array(1).asInstanceOf[Seq[MessageId]]),
+          SMono(emailQueryView.positionOfAnchorSortedByReceivedAt(mailboxId, anchorId)),
+          SFlux(emailQueryView.listMailboxContentSortedByReceivedAtFromAnchor(mailboxId, anchorId, JavaLimit.from(limitToUse.value + anchorOffset)))
+            .drop(anchorOffset)
+            .collectSeq())))
+      .flatMap {
+        case (anchorPosition, ids) => Position.validateRequestPosition(Some(PositionUnparsed(Math.toIntExact(anchorPosition + anchorOffset))))
+          .fold(SMono.error, position => SMono.just(toResponse(request, position, limitToUse, ids)))
+      }
+  }
+
   private def queryViewForContentAfterSortedByReceivedAt(mailboxSession: MailboxSession, position: Position, limitToUse: Limit, request: EmailQueryRequest, namespace: Namespace): SMono[Seq[MessageId]] = {
     val condition: FilterCondition = request.filter.get.asInstanceOf[FilterCondition]
     val mailboxId: MailboxId = condition.inMailbox.get
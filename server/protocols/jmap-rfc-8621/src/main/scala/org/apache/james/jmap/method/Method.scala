@@ -18,7 +18,7 @@
  ****************************************************************/
 package org.apache.james.jmap.method
 
-import org.apache.james.jmap.api.exception.ChangeNotFoundException
+import org.apache.james.jmap.api.exception.{AnchorNotFoundException, ChangeNotFoundException}
 import org.apache.james.jmap.core.CapabilityIdentifier.CapabilityIdentifier
 import org.apache.james.jmap.core.Invocation.MethodName
 import org.apache.james.jmap.core.{AccountId, ErrorCode, Invocation, JmapRfc8621Configuration, SessionTranslator}
@@ -144,6 +144,8 @@ trait MethodRequiringAccountId[REQUEST <: WithAccountId] extends Method {
           .doOnNext(_ => logClientSideError(e))
         case e: ChangeNotFoundException => SFlux.just[InvocationWithContext] (InvocationWithContext(Invocation.error(ErrorCode.CannotCalculateChanges, e.getMessage, invocation.invocation.methodCallId), invocation.processingContext))
           .doOnNext(_ => logClientSideError(e))
+        case e: AnchorNotFoundException => SFlux.just[InvocationWithContext] (InvocationWithContext(Invocation.error(ErrorCode.AnchorNotFound, e.getMessage, invocation.invocation.methodCallId), invocation.processingContext))
+          .doOnNext(_ => logClientSideError(e))
         case e: RequestTooLargeException => SFlux.just[InvocationWithContext] (InvocationWithContext(Invocation.error(ErrorCode.RequestTooLarge, e.description, invocation.invocation.methodCallId), invocation.processingContext))
           .doOnNext(_ => logClientSideError(e))
         case e: IdentityIdNotFoundException => SFlux.just[InvocationWithContext] (InvocationWithContext(Invocation.error(ErrorCode.InvalidArguments, e.description, invocation.invocation.methodCallId), invocation.processingContext))
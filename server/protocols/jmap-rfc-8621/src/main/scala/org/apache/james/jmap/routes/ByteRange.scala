@@ -0,0 +1,72 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *  http://www.apache.org/licenses/LICENSE-2.0                  *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.routes
+
+import java.io.InputStream
+
+import com.google.common.io.ByteStreams
+import org.apache.commons.io.IOUtils
+import org.apache.james.jmap.api.model.Size.Size
+
+import scala.util.matching.Regex
+import scala.util.{Success, Try}
+
+object ByteRange {
+  sealed trait Resolution
+  case object FullContent extends Resolution
+  case class PartialContent(range: ByteRange, size: Long) extends Resolution
+  case class NotSatisfiable(size: Long) extends Resolution
+
+  private val SINGLE_RANGE: Regex = """bytes=(\d*)-(\d*)""".r
+
+  /**
+   * Resolves the HTTP Range header of a request against the size of the requested content.
+   *
+   * Only single byte ranges are served: multiple ranges, malformed values and contents of unknown size are
+   * served in full, as RFC-9110 allows servers to ignore the Range header.
+   */
+  def resolve(rangeHeader: Option[String], size: Try[Size]): Resolution = (rangeHeader.map(_.trim), size) match {
+    case (Some(SINGLE_RANGE(first, last)), Success(size)) => resolve(first, last, size.value)
+    case _ => FullContent
+  }
+
+  private def resolve(first: String, last: String, size: Long): Resolution =
+    (first.toLongOption, last.toLongOption) match {
+      case (Some(first), _) if first >= size => NotSatisfiable(size)
+      case (Some(first), Some(last)) if first <= last => PartialContent(ByteRange(first, Math.min(last, size - 1) - first + 1), size)
+      case (Some(first), None) if last.isEmpty => PartialContent(ByteRange(first, size - first), size)
+      case (None, Some(suffixLength)) if first.isEmpty && suffixLength > 0 && size > 0 =>
+        val offset = Math.max(0, size - suffixLength)
+        PartialContent(ByteRange(offset, size - offset), size)
+      case (None, Some(_)) if first.isEmpty => NotSatisfiable(size)
+      case _ => FullContent
+    }
+}
+
+case class ByteRange(offset: Long, length: Long) {
+  def lastByte: Long = offset + length - 1
+
+  def contentRange(size: Long): String = s"bytes $offset-$lastByte/$size"
+
+  def slice(inputStream: InputStream): InputStream = {
+    IOUtils.skip(inputStream, offset)
+    ByteStreams.limit(inputStream, length)
+  }
+}
@@ -20,8 +20,6 @@ package org.apache.james.jmap.routes
 
 import java.io.InputStream
 import java.nio.charset.StandardCharsets
-import java.util.concurrent.Callable
-import java.util.function.Consumer
 import java.util.stream
 import java.util.stream.Stream
 
@@ -31,7 +29,7 @@ import eu.timepit.refined.refineV
 import io.netty.buffer.Unpooled
 import io.netty.handler.codec.http.HttpHeaderNames.{CONTENT_LENGTH, CONTENT_TYPE}
 import io.netty.handler.codec.http.HttpResponseStatus._
-import io.netty.handler.codec.http.{HttpHeaderNames, HttpHeaderValidationUtil, HttpMethod, QueryStringDecoder}
+import io.netty.handler.codec.http.{HttpHeaderNames, HttpHeaderValidationUtil, HttpMethod, HttpResponseStatus, QueryStringDecoder}
 import jakarta.inject.{Inject, Named}
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream
 import org.apache.james.jmap.HttpConstants.JSON_CONTENT_TYPE
@@ -94,6 +92,11 @@ trait Blob {
   def contentType: ContentType
   def size: Try[Size]
   def content: InputStream
+
+  /**
+   * Blobs backed by a store supporting ranged reads should override this to avoid reading the full content.
+   */
+  def content(range: ByteRange): SMono[InputStream] = SMono.fromCallable(() => range.slice(content))
 }
 
 case class BlobNotFoundException(blobId: BlobId) extends RuntimeException
@@ -118,12 +121,15 @@ case class UploadedBlob(blobId: BlobId, upload: Upload) extends Blob {
   override def content: InputStream = upload.content()
 }
 
-case class AttachmentBlob(attachmentMetadata: AttachmentMetadata, fileContent: InputStream) extends Blob {
+case class AttachmentBlob(attachmentMetadata: AttachmentMetadata, attachmentManager: AttachmentManager, mailboxSession: MailboxSession) extends Blob {
   override def size: Try[Size] = Success(sanitizeSize(attachmentMetadata.getSize))
 
   override def contentType: ContentType = attachmentMetadata.getType
 
-  override def content: InputStream = fileContent
+  override def content: InputStream = attachmentManager.load(attachmentMetadata, mailboxSession)
+
+  override def content(range: ByteRange): SMono[InputStream] =
+    SMono(attachmentManager.loadReactive(attachmentMetadata, mailboxSession, range.offset, range.length))
 
   override def blobId: BlobId = BlobId.of(attachmentMetadata.getAttachmentId.getId).get
 }
@@ -181,8 +187,7 @@ class AttachmentBlobResolver @Inject()(val attachmentManager: AttachmentManager,
     Try(attachmentIdFactory.from(blobId.value.value)) match {
       case Success(attachmentId) =>
         SMono(attachmentManager.getAttachmentReactive(attachmentId, mailboxSession))
-          .map(attachmentMetadata => Applicable(SMono(attachmentManager.loadReactive(attachmentMetadata, mailboxSession))
-            .map(content => AttachmentBlob(attachmentMetadata, content))))
+          .map(attachmentMetadata => Applicable(SMono.just(AttachmentBlob(attachmentMetadata, attachmentManager, mailboxSession))))
           .onErrorResume {
             case e: AttachmentNotFoundException =>  SMono.just(NonApplicable.asInstanceOf[BlobResolutionResult])
             case e => SMono.error[BlobResolutionResult](e)
@@ -304,7 +309,8 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
         blobContentType = queryParam(request, contentTypeParam)
           .map(ContentType.of)
           .getOrElse(blob.contentType),
-        blob = blob)
+        blob = blob,
+        range = ByteRange.resolve(Option(request.requestHeaders().get(HttpHeaderNames.RANGE)), blob.size))
         .`then`())
       .doOnSuccess(_ => pendingDownloadMetric.decrement())
 
@@ -318,21 +324,42 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
   private def downloadBlob(optionalName: Option[String],
                            response: HttpServerResponse,
                            blobContentType: ContentType,
-                           blob: Blob): SMono[Unit] = {
-    val resourceSupplier: Callable[InputStream] = () => blob.content
+                           blob: Blob,
+                           range: ByteRange.Resolution): SMono[Unit] = range match {
+    case ByteRange.NotSatisfiable(size) =>
+      SMono(response.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+        .header(HttpHeaderNames.CONTENT_RANGE, s"bytes */$size")
+        .header(CONTENT_LENGTH, "0")
+        .send())
+        .`then`
+    case ByteRange.PartialContent(byteRange, size) =>
+      downloadBlob(optionalName, response, blobContentType, blob.content(byteRange), PARTIAL_CONTENT,
+        resp => resp.header(CONTENT_LENGTH, byteRange.length.toString)
+          .header(HttpHeaderNames.CONTENT_RANGE, byteRange.contentRange(size)))
+    case ByteRange.FullContent =>
+      downloadBlob(optionalName, response, blobContentType, SMono.fromCallable(() => blob.content).subscribeOn(Schedulers.boundedElastic()), OK, addContentLengthHeader(blob.size))
+  }
+
+  private def downloadBlob(optionalName: Option[String],
+                           response: HttpServerResponse,
+                           blobContentType: ContentType,
+                           resource: SMono[InputStream],
+                           status: HttpResponseStatus,
+                           addLengthHeaders: HttpServerResponse => HttpServerResponse): SMono[Unit] = {
     val sourceSupplier: java.util.function.Function[InputStream, Mono[Void]] = stream => SMono(addContentDispositionHeader(optionalName)
-      .compose(addContentLengthHeader(blob.size))
+      .compose(addLengthHeaders)
       .compose(addCacheControlHeader())
       .apply(response)
       .header(CONTENT_TYPE, sanitizeHeaderValue(blobContentType.asString))
-      .status(OK)
+      .header(HttpHeaderNames.ACCEPT_RANGES, "bytes")
+      .status(status)
       .send(ReactorUtils.toChunks(stream, BUFFER_SIZE)
         .map(Unpooled.wrappedBuffer(_))
         .subscribeOn(Schedulers.boundedElastic()))).asJava()
-    val resourceRelease: Consumer[InputStream] = (stream: InputStream) => stream.close()
+    val resourceRelease: java.util.function.Function[InputStream, Mono[Void]] = stream => Mono.fromRunnable(() => stream.close())
 
-    SMono.fromPublisher(Mono.using(
-        resourceSupplier,
+    SMono.fromPublisher(Mono.usingWhen(
+        resource,
         sourceSupplier,
         resourceRelease))
       .`then`
@@ -38,8 +38,8 @@ import org.apache.james.jmap.HttpConstants.JSON_CONTENT_TYPE
 import org.apache.james.jmap.JMAPUrls.EVENT_SOURCE
 import org.apache.james.jmap.api.change.TypeStateFactory
 import org.apache.james.jmap.api.model.TypeName
-import org.apache.james.jmap.change.{AccountIdRegistrationKey, StateChangeListener}
-import org.apache.james.jmap.core.{OutboundMessage, PingMessage, ProblemDetails, StateChange}
+import org.apache.james.jmap.change.{AccountIdRegistrationKey, StateChangeCoalescer, StateChangeListener}
+import org.apache.james.jmap.core.{JmapRfc8621Configuration, OutboundMessage, PingMessage, ProblemDetails, StateChange}
 import org.apache.james.jmap.exceptions.UnauthorizedException
 import org.apache.james.jmap.http.rfc8621.InjectionKeys
 import org.apache.james.jmap.http.{Authenticator, UserProvisioning}
@@ -48,7 +48,6 @@ import org.apache.james.jmap.routes.PingPolicy.Interval
 import org.apache.james.jmap.{Endpoint, JMAPRoute, JMAPRoutes, InjectionKeys => JMAPInjectionKeys}
 import org.apache.james.mailbox.MailboxSession
 import org.apache.james.user.api.DelegationStore
-import play.api.libs.json.Json
 import reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST
 import reactor.core.publisher.{Mono, Sinks}
 import reactor.core.scala.publisher.{SFlux, SMono}
@@ -158,6 +157,7 @@ case object NoCloseAfter extends CloseAfter {
 }
 
 class EventSourceRoutes@Inject() (@Named(InjectionKeys.RFC_8621) val authenticator: Authenticator,
+                                  configuration: JmapRfc8621Configuration,
                                   userProvisioner: UserProvisioning,
                                   @Named(JMAPInjectionKeys.JMAP) eventBus: EventBus,
                                   pushSerializer: PushSerializer,
@@ -188,7 +188,7 @@ class EventSourceRoutes@Inject() (@Named(InjectionKeys.RFC_8621) val authenticat
 
   private def registerSSE(response: HttpServerResponse, session: MailboxSession, options: EventSourceOptions): SMono[Unit] = {
     val sink: Sinks.Many[OutboundMessage] = Sinks.many().unicast().onBackpressureBuffer()
-    val context = ClientContext(sink, new AtomicReference[Registration](), session)
+    val context = ClientContext(sink, new StateChangeCoalescer(configuration.pushCoalescingWindow), new AtomicReference[Registration](), session)
     connectedUsers.put(context, context)
 
     val pingDisposable = options.pingPolicy
@@ -199,7 +199,7 @@ class EventSourceRoutes@Inject() (@Named(InjectionKeys.RFC_8621) val authenticat
       .concatWith(SFlux.fromPublisher(delegationStore.delegatedUsers(session.getUser)))
       .map(username => AccountIdRegistrationKey.of(username).asInstanceOf[RegistrationKey])
       .collectSeq()
-      .flatMap(keys => SMono(eventBus.register(StateChangeListener(options.types, context.outbound), keys.asJavaCollection)))
+      .flatMap(keys => SMono(eventBus.register(StateChangeListener(options.types, context.stateChanges), keys.asJavaCollection)))
       .doOnNext(newRegistration => context.withRegistration(newRegistration))
       .subscribeOn(Schedulers.boundedElastic())
       .subscribe()
@@ -208,7 +208,7 @@ class EventSourceRoutes@Inject() (@Named(InjectionKeys.RFC_8621) val authenticat
       .addHeader("Connection", "keep-alive")
       .sse()
       .sendString(
-        options.closeAfter.applyOn(SFlux(sink.asFlux()))
+        options.closeAfter.applyOn(context.stateChanges.mergeWith(sink.asFlux()))
           .map(asSSEEvent),
         StandardCharsets.UTF_8).`then`
       .doFinally(_ => context.clean())
@@ -224,7 +224,7 @@ class EventSourceRoutes@Inject() (@Named(InjectionKeys.RFC_8621) val authenticat
       case _: StateChange => "state"
       case _ => throw new NotImplementedError()
     }
-    s"event: $event\ndata: ${Json.stringify(pushSerializer.serializeSSE(outboundMessage))}\n\n"
+    s"event: $event\ndata: ${pushSerializer.serializeSSEAsString(outboundMessage)}\n\n"
   }
 
   private def handleConnectionEstablishmentError(throwable: Throwable, response: HttpServerResponse): SMono[Void] = throwable match {
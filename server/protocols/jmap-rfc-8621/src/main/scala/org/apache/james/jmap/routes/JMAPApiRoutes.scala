@@ -32,18 +32,19 @@ import jakarta.inject.{Inject, Named}
 import org.apache.james.jmap.HttpConstants.JSON_CONTENT_TYPE
 import org.apache.james.jmap.JMAPUrls.JMAP
 import org.apache.james.jmap.core.CapabilityIdentifier.CapabilityIdentifier
-import org.apache.james.jmap.core.{MaxSizeRequest, ProblemDetails, RequestObject}
+import org.apache.james.jmap.core.{MaxSizeRequest, ProblemDetails, RequestObject, ResponseObject}
 import org.apache.james.jmap.exceptions.UnauthorizedException
 import org.apache.james.jmap.http.rfc8621.InjectionKeys
 import org.apache.james.jmap.http.{Authenticator, UserProvisioning}
-import org.apache.james.jmap.json.ResponseSerializer
+import org.apache.james.jmap.json.StreamingResponseSerializer.ResponseObjectWriter
+import org.apache.james.jmap.json.{ResponseSerializer, StreamingResponseSerializer}
 import org.apache.james.jmap.routes.JMAPApiRoutes.ORIGINAL_IP_HEADER
 import org.apache.james.jmap.{Endpoint, JMAPRoute, JMAPRoutes}
 import org.apache.james.mailbox.MailboxSession
 import org.apache.james.util.{MDCBuilder, ReactorUtils}
 import org.slf4j.{Logger, LoggerFactory}
-import play.api.libs.json.{JsError, JsSuccess, Json}
-import reactor.core.publisher.{Mono, SynchronousSink}
+import play.api.libs.json.{JsError, JsSuccess}
+import reactor.core.publisher.{Flux, Mono, SynchronousSink}
 import reactor.core.scala.publisher.SMono
 import reactor.netty.http.server.{HttpServerRequest, HttpServerResponse}
 
@@ -134,15 +135,16 @@ class JMAPApiRoutes @Inject() (@Named(InjectionKeys.RFC_8621) val authenticator:
   private def process(requestObject: RequestObject,
                       httpServerResponse: HttpServerResponse,
                       mailboxSession: MailboxSession): SMono[Void] =
-    jmapApi.process(requestObject, mailboxSession)
-      .map(ResponseSerializer.serialize)
-      .map(Json.stringify)
-      .map(_.getBytes(StandardCharsets.UTF_8))
-      .flatMap(bytes =>
+    SMono.fromPublisher(Flux.from(jmapApi.processInvocations(requestObject, mailboxSession))
+      .collect[ResponseObjectWriter](() => StreamingResponseSerializer.writer(httpServerResponse.alloc(), ResponseObject.SESSION_STATE),
+        (writer, invocation) => writer.write(invocation))
+      .doOnDiscard(classOf[ResponseObjectWriter], (writer: ResponseObjectWriter) => writer.release()))
+      .map(_.end())
+      .flatMap(buffer =>
         SMono.fromPublisher(httpServerResponse.status(OK)
           .header(CONTENT_TYPE, JSON_CONTENT_TYPE)
-          .header(CONTENT_LENGTH, Integer.toString(bytes.length))
-          .sendByteArray(SMono.just(bytes))
+          .header(CONTENT_LENGTH, Integer.toString(buffer.readableBytes()))
+          .send(SMono.just(buffer))
           .`then`()))
 
   private def handleError(throwable: Throwable, response: HttpServerResponse): SMono[Void] = throwable match {
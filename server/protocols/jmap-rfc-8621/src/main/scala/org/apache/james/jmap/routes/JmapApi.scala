@@ -44,7 +44,17 @@ class JMAPApi (methods: Set[Method], defaultCapabilities: Set[CapabilityIdentifi
   }
 
   def process(requestObject: RequestObject,
-              mailboxSession: MailboxSession): SMono[ResponseObject] = {
+              mailboxSession: MailboxSession): SMono[ResponseObject] =
+    processInvocations(requestObject, mailboxSession)
+      .collectSeq()
+      .map(invocations => ResponseObject(ResponseObject.SESSION_STATE, invocations))
+
+  /**
+   * Emits the method responses in order, as soon as they are computed, so that callers can encode them incrementally.
+   * The response session state is [[ResponseObject.SESSION_STATE]].
+   */
+  def processInvocations(requestObject: RequestObject,
+                         mailboxSession: MailboxSession): SFlux[Invocation] = {
     val processingContext: ProcessingContext = ProcessingContext(Map.empty, Map.empty)
     val capabilities: Set[CapabilityIdentifier] = requestObject.using
 
@@ -53,9 +63,9 @@ class JMAPApi (methods: Set[Method], defaultCapabilities: Set[CapabilityIdentifi
       _ <- validateMaxCalls(requestObject)
     } yield {
       processSequentiallyAndUpdateContext(requestObject, mailboxSession, processingContext, capabilities)
-        .map(invocations => ResponseObject(ResponseObject.SESSION_STATE, invocations.map(_.invocation)))
+        .map(_.invocation)
     }
-    validatedRequestObject.fold(e => SMono.error(e), obj => obj)
+    validatedRequestObject.fold(e => SFlux.error(e), obj => obj)
   }
 
   private def validateCapabilities(requestObject: RequestObject): Either[Exception, RequestObject] = {
@@ -74,7 +84,7 @@ class JMAPApi (methods: Set[Method], defaultCapabilities: Set[CapabilityIdentifi
       Right(requestObject)
     }
 
-  private def processSequentiallyAndUpdateContext(requestObject: RequestObject, mailboxSession: MailboxSession, processingContext: ProcessingContext, capabilities: Set[CapabilityIdentifier]): SMono[Seq[(InvocationWithContext)]] =
+  private def processSequentiallyAndUpdateContext(requestObject: RequestObject, mailboxSession: MailboxSession, processingContext: ProcessingContext, capabilities: Set[CapabilityIdentifier]): SFlux[InvocationWithContext] =
     SFlux.fromIterable(requestObject.methodCalls)
       .fold(List[SFlux[InvocationWithContext]]())((acc, elem) => {
         val lastProcessingContext: SMono[ProcessingContext] = acc.headOption
@@ -84,9 +94,8 @@ class JMAPApi (methods: Set[Method], defaultCapabilities: Set[CapabilityIdentifi
         invocation.cache() :: acc
       })
       .map(_.reverse)
-      .flatMap(list => SFlux.fromIterable(list)
-        .concatMap(e => e)
-        .collectSeq())
+      .flatMapMany(list => SFlux.fromIterable(list)
+        .concatMap(e => e))
 
   private def process(capabilities: Set[CapabilityIdentifier], mailboxSession: MailboxSession, invocation: InvocationWithContext) : SFlux[InvocationWithContext] =
     SFlux.fromPublisher(
@@ -46,7 +46,6 @@ import org.apache.james.mailbox.MailboxSession
 import org.apache.james.metrics.api.{Metric, MetricFactory}
 import org.apache.james.user.api.DelegationStore
 import org.slf4j.{Logger, LoggerFactory}
-import play.api.libs.json.Json
 import reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST
 import reactor.core.publisher.{Mono, Sinks}
 import reactor.core.scala.publisher.{SFlux, SMono}
@@ -61,12 +60,13 @@ object WebSocketRoutes {
   val LOGGER: Logger = LoggerFactory.getLogger(classOf[WebSocketRoutes])
 }
 
-case class ClientContext(outbound: Sinks.Many[OutboundMessage], pushRegistration: AtomicReference[Registration], session: MailboxSession) {
+case class ClientContext(outbound: Sinks.Many[OutboundMessage], stateChanges: StateChangeCoalescer, pushRegistration: AtomicReference[Registration], session: MailboxSession) {
   def withRegistration(registration: Registration): Unit = withRegistration(Some(registration))
 
   def clean(): Unit ={
     withRegistration(None)
     outbound.emitComplete(FAIL_FAST)
+    stateChanges.complete()
   }
 
   def withRegistration(registration: Option[Registration]): Unit = Option(pushRegistration.getAndSet(registration.orNull))
@@ -115,7 +115,7 @@ class WebSocketRoutes @Inject() (@Named(InjectionKeys.RFC_8621) val authenticato
     val sink: Sinks.Many[OutboundMessage] = Sinks.many().unicast().onBackpressureBuffer()
     openingConnectionsMetric.increment()
 
-    val context = ClientContext(sink, new AtomicReference[Registration](), session)
+    val context = ClientContext(sink, new StateChangeCoalescer(configuration.pushCoalescingWindow), new AtomicReference[Registration](), session)
     val responseFlux: SFlux[OutboundMessage] = SFlux[WebSocketFrame](in.aggregateFrames()
       .receiveFrames())
       .filter(frame => frame.isInstanceOf[TextWebSocketFrame])
@@ -134,9 +134,8 @@ class WebSocketRoutes @Inject() (@Named(InjectionKeys.RFC_8621) val authenticato
         openingConnectionsMetric.decrement()
       })
 
-    val responseAndSinkFlux: SFlux[WebSocketFrame] = SFlux.merge(Seq(responseFlux, sink.asFlux()))
-      .map(pushSerializer.serialize)
-      .map(json => new TextWebSocketFrame(Json.stringify(json)))
+    val responseAndSinkFlux: SFlux[WebSocketFrame] = context.stateChanges.mergeWith(SFlux.merge(Seq(responseFlux, SFlux(sink.asFlux()))))
+      .map(message => new TextWebSocketFrame(pushSerializer.serializeAsString(message)))
 
     val resultFlux: SFlux[WebSocketFrame] = configuration.websocketPingInterval
       .map(interval => responseAndSinkFlux.mergeWith(pingMessagePublisher(interval)))
@@ -165,7 +164,7 @@ class WebSocketRoutes @Inject() (@Named(InjectionKeys.RFC_8621) val authenticato
               .map(username => AccountIdRegistrationKey.of(username).asInstanceOf[RegistrationKey])
               .collectSeq()
               .flatMap(keys => SMono(eventBus.register(
-                StateChangeListener(pushEnable.dataTypes.getOrElse(typeStateFactory.all.toSet), clientContext.outbound),
+                StateChangeListener(pushEnable.dataTypes.getOrElse(typeStateFactory.all.toSet), clientContext.stateChanges),
                 keys.asJavaCollection)))
               .doOnNext(newRegistration => clientContext.withRegistration(newRegistration))
               .`then`(sendPushStateIfRequested(pushEnable, clientContext))
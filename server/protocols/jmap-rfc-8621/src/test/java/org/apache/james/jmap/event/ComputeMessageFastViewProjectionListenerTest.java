@@ -30,6 +30,8 @@ import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.james.core.Username;
 import org.apache.james.events.Group;
@@ -38,8 +40,11 @@ import org.apache.james.events.MemoryEventDeadLetters;
 import org.apache.james.events.RetryBackoffConfiguration;
 import org.apache.james.events.delivery.InVmEventDelivery;
 import org.apache.james.jmap.api.model.Preview;
+import org.apache.james.jmap.api.projections.MessageBodyStructure;
+import org.apache.james.jmap.api.projections.MessageBodyStructureProjection;
 import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
 import org.apache.james.jmap.api.projections.MessageFastViewProjection;
+import org.apache.james.jmap.memory.projections.MemoryMessageBodyStructureProjection;
 import org.apache.james.jmap.memory.projections.MemoryMessageFastViewProjection;
 import org.apache.james.jmap.utils.JsoupHtmlTextExtractor;
 import org.apache.james.mailbox.MailboxSession;
@@ -95,6 +100,7 @@ class ComputeMessageFastViewProjectionListenerTest {
         .build();
 
     MessageFastViewProjection messageFastViewProjection;
+    MessageBodyStructureProjection messageBodyStructureProjection;
     MailboxSession mailboxSession;
     StoreMailboxManager mailboxManager;
 
@@ -125,6 +131,7 @@ class ComputeMessageFastViewProjectionListenerTest {
         messageIdManager = spy(resources.getMessageIdManager());
 
         messageFastViewProjection = spy(new MemoryMessageFastViewProjection(new RecordingMetricFactory()));
+        messageBodyStructureProjection = spy(new MemoryMessageBodyStructureProjection(new RecordingMetricFactory()));
 
         MessageContentExtractor messageContentExtractor = new MessageContentExtractor();
         HtmlTextExtractor htmlTextExtractor = new JsoupHtmlTextExtractor();
@@ -135,7 +142,7 @@ class ComputeMessageFastViewProjectionListenerTest {
         SessionProviderImpl sessionProvider = new SessionProviderImpl(authenticator, FakeAuthorizator.defaultReject());
 
         listener = spy(new ComputeMessageFastViewProjectionListener(sessionProvider, messageIdManager,
-            messageFastViewProjection,
+            messageFastViewProjection, messageBodyStructureProjection,
             new MessageFastViewPrecomputedProperties.Factory(new Preview.Factory(messageContentExtractor, htmlTextExtractor))));
 
         resources.getEventBus().register(listener);
@@ -273,11 +280,76 @@ class ComputeMessageFastViewProjectionListenerTest {
         verify(messageFastViewProjection, times(1)).store(eq(appendResult.getId().getMessageId()), any());
     }
 
+    @Test
+    void shouldStoreSinglePartBodyStructure() throws Exception {
+        ComposedMessageId composedId = inboxMessageManager.appendMessage(
+            MessageManager.AppendCommand.builder()
+                .build(previewMessage()),
+            mailboxSession).getId();
+
+        MessageBodyStructure bodyStructure = Mono.from(messageBodyStructureProjection.retrieve(composedId.getMessageId())).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(bodyStructure.getPartId()).isEqualTo("1");
+            softly.assertThat(bodyStructure.getBlobId()).contains(composedId.getMessageId().serialize() + "_1");
+            softly.assertThat(bodyStructure.getType()).isEqualTo("text/plain");
+            softly.assertThat(bodyStructure.getCharset()).contains("UTF-8");
+            softly.assertThat(bodyStructure.getSubParts()).isEmpty();
+        });
+    }
+
+    @Test
+    void shouldStoreMultipartBodyStructure() throws Exception {
+        ComposedMessageId composedId = inboxMessageManager.appendMessage(
+            MessageManager.AppendCommand.builder()
+                .build(ClassLoaderUtils.getSystemResourceAsSharedStream("fullMessage.eml")),
+            mailboxSession).getId();
+
+        MessageBodyStructure bodyStructure = Mono.from(messageBodyStructureProjection.retrieve(composedId.getMessageId())).block();
+        List<MessageBodyStructure> subParts = bodyStructure.getSubParts().get();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(bodyStructure.getType()).isEqualTo("multipart/mixed");
+            softly.assertThat(bodyStructure.getBlobId()).isEmpty();
+            softly.assertThat(subParts).extracting(MessageBodyStructure::getType)
+                .containsExactly("multipart/alternative", "image/jpeg");
+            softly.assertThat(subParts.get(0).getSubParts().get()).extracting(MessageBodyStructure::getType)
+                .containsExactly("text/plain", "text/html");
+            softly.assertThat(subParts.get(1).getPartId()).isEqualTo("5");
+            softly.assertThat(subParts.get(1).getDisposition()).isEqualTo(Optional.of("attachment"));
+            softly.assertThat(subParts.get(1).getBlobId()).contains(composedId.getMessageId().serialize() + "_5");
+        });
+    }
+
+    @Test
+    void shouldReadTheMessageOnceForBothProjections() throws Exception {
+        MessageManager.AppendResult appendResult = inboxMessageManager.appendMessage(
+            MessageManager.AppendCommand.builder()
+                .build(ClassLoaderUtils.getSystemResourceAsSharedStream("fullMessage.eml")),
+            mailboxSession);
+
+        verify(messageIdManager, times(1)).getMessagesReactive(any(), eq(FetchGroup.FULL_CONTENT), any());
+        verify(messageFastViewProjection, times(1)).store(eq(appendResult.getId().getMessageId()), any());
+        verify(messageBodyStructureProjection, times(1)).store(eq(appendResult.getId().getMessageId()), any());
+    }
+
+    @Test
+    void shouldNotDuplicateStoreBodyStructureWhenCopyingMessage() throws Exception {
+        MessageManager.AppendResult appendResult = inboxMessageManager.appendMessage(
+            MessageManager.AppendCommand.builder()
+                .build(ClassLoaderUtils.getSystemResourceAsSharedStream("fullMessage.eml")),
+            mailboxSession);
+
+        mailboxManager.copyMessages(MessageRange.all(), BOB_INBOX_PATH, BOB_OTHER_BOX_PATH, mailboxSession);
+
+        verify(messageBodyStructureProjection, times(1)).store(eq(appendResult.getId().getMessageId()), any());
+    }
+
     @Test
     void shouldStoreEventInDeadLettersWhenComputeFastViewPrecomputedPropertiesException() throws Exception {
         doThrow(new IOException())
             .when(listener)
-            .computeFastViewPrecomputedProperties(any());
+            .computeFastViewPrecomputedProperties(any(), any());
 
         inboxMessageManager.appendMessage(
             MessageManager.AppendCommand.builder()
@@ -19,13 +19,18 @@
 
 package org.apache.james.jmap.change
 
+import java.util.UUID
+import java.util.concurrent.{CopyOnWriteArrayList, TimeUnit}
+
 import org.apache.james.core.Username
 import org.apache.james.events.Event.EventId
 import org.apache.james.jmap.core.{AccountId, OutboundMessage, PushState, StateChange, UuidState}
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
-import reactor.core.publisher.Sinks
-import reactor.core.publisher.Sinks.EmitFailureHandler
+import org.reactivestreams.Subscription
+import reactor.core.publisher.{BaseSubscriber, Flux}
+
+import scala.concurrent.duration.DurationInt
 
 class StateChangeListenerTest {
   private val mailboxState = UuidState.fromStringUnchecked("2f9f1b12-b35a-43e6-9af2-0106fb53a943")
@@ -34,17 +39,17 @@ class StateChangeListenerTest {
 
   @Test
   def reactiveEventShouldSendAnOutboundMessage(): Unit = {
-    val sink: Sinks.Many[OutboundMessage] = Sinks.many().unicast().onBackpressureBuffer()
+    val coalescer = new StateChangeCoalescer(None)
     val event = StateChangeEvent(eventId = eventId,
       username = Username.of("bob"),
       map = Map(MailboxTypeName -> mailboxState, EmailTypeName -> emailState))
-    val listener = StateChangeListener(Set(MailboxTypeName, EmailTypeName), sink)
+    val listener = StateChangeListener(Set(MailboxTypeName, EmailTypeName), coalescer)
 
     listener.event(event)
-    sink.emitComplete(EmitFailureHandler.FAIL_FAST)
+    coalescer.complete()
 
     val globalState = PushState.from(mailboxState, emailState)
-    assertThat(sink.asFlux().collectList().block())
+    assertThat(coalescer.asFlux().asJava().collectList().block())
       .containsExactly(StateChange(Map(AccountId.from(Username.of("bob")).toOption.get  -> TypeState(Map(
         MailboxTypeName -> mailboxState,
         EmailTypeName -> emailState))), Some(globalState)))
@@ -52,33 +57,97 @@ class StateChangeListenerTest {
 
   @Test
   def reactiveEventShouldOmitUnwantedTypes(): Unit = {
-    val sink: Sinks.Many[OutboundMessage] = Sinks.many().unicast().onBackpressureBuffer()
+    val coalescer = new StateChangeCoalescer(None)
     val event = StateChangeEvent(eventId = eventId,
       username = Username.of("bob"),
       map = Map(MailboxTypeName -> mailboxState, EmailTypeName -> emailState))
-    val listener = StateChangeListener(Set(MailboxTypeName), sink)
+    val listener = StateChangeListener(Set(MailboxTypeName), coalescer)
 
     listener.event(event)
-    sink.emitComplete(EmitFailureHandler.FAIL_FAST)
+    coalescer.complete()
 
     val globalState = PushState.from(mailboxState, emailState)
-    assertThat(sink.asFlux().collectList().block())
+    assertThat(coalescer.asFlux().asJava().collectList().block())
       .containsExactly(StateChange(Map(AccountId.from(Username.of("bob")).toOption.get -> TypeState(Map(
         MailboxTypeName -> mailboxState))), Some(globalState)))
   }
 
   @Test
   def reactiveEventShouldFilterOutUnwantedEvents(): Unit = {
-    val sink: Sinks.Many[OutboundMessage] = Sinks.many().unicast().onBackpressureBuffer()
+    val coalescer = new StateChangeCoalescer(None)
     val event = StateChangeEvent(eventId = eventId,
       username = Username.of("bob"),
       map = Map(EmailTypeName -> emailState))
-    val listener = StateChangeListener(Set(MailboxTypeName), sink)
+    val listener = StateChangeListener(Set(MailboxTypeName), coalescer)
 
     listener.event(event)
-    sink.emitComplete(EmitFailureHandler.FAIL_FAST)
+    coalescer.complete()
 
-    assertThat(sink.asFlux().collectList().block())
+    assertThat(coalescer.asFlux().asJava().collectList().block())
       .isEmpty()
   }
+
+  @Test
+  def reactiveEventShouldCoalescePendingStateChanges(): Unit = {
+    val newerEmailState = UuidState.fromStringUnchecked("3a9f1b12-b35a-43e6-9af2-0106fb53a943")
+    val coalescer = new StateChangeCoalescer(None)
+    val listener = StateChangeListener(Set(MailboxTypeName, EmailTypeName), coalescer)
+
+    listener.event(StateChangeEvent(eventId = eventId,
+      username = Username.of("bob"),
+      map = Map(MailboxTypeName -> mailboxState, EmailTypeName -> emailState)))
+    listener.event(StateChangeEvent(eventId = EventId.random(),
+      username = Username.of("bob"),
+      map = Map(EmailTypeName -> newerEmailState)))
+    coalescer.complete()
+
+    assertThat(coalescer.asFlux().asJava().collectList().block())
+      .containsExactly(StateChange(Map(AccountId.from(Username.of("bob")).toOption.get -> TypeState(Map(
+        MailboxTypeName -> mailboxState,
+        EmailTypeName -> newerEmailState))), Some(PushState.from(mailboxState, newerEmailState))))
+  }
+
+  @Test
+  def coalescingWindowShouldMergeStateChangesPushedWithinTheWindow(): Unit = {
+    val newerEmailState = UuidState.fromStringUnchecked("3a9f1b12-b35a-43e6-9af2-0106fb53a943")
+    val coalescer = new StateChangeCoalescer(Some(1.second))
+    val listener = StateChangeListener(Set(MailboxTypeName, EmailTypeName), coalescer)
+    val firstPush = coalescer.asFlux().asJava().next().toFuture
+
+    listener.event(StateChangeEvent(eventId = eventId,
+      username = Username.of("bob"),
+      map = Map(MailboxTypeName -> mailboxState, EmailTypeName -> emailState)))
+    listener.event(StateChangeEvent(eventId = EventId.random(),
+      username = Username.of("bob"),
+      map = Map(EmailTypeName -> newerEmailState)))
+
+    assertThat(firstPush.get(10, TimeUnit.SECONDS))
+      .isEqualTo(StateChange(Map(AccountId.from(Username.of("bob")).toOption.get -> TypeState(Map(
+        MailboxTypeName -> mailboxState,
+        EmailTypeName -> newerEmailState))), Some(PushState.from(mailboxState, newerEmailState))))
+  }
+
+  @Test
+  def mergedStateChangesShouldKeepBeingCoalescedUnderBackpressure(): Unit = {
+    val coalescer = new StateChangeCoalescer(None)
+    val received = new CopyOnWriteArrayList[OutboundMessage]()
+    val subscriber = new BaseSubscriber[OutboundMessage] {
+      override def hookOnSubscribe(subscription: Subscription): Unit = request(1)
+
+      override def hookOnNext(value: OutboundMessage): Unit = received.add(value)
+    }
+    coalescer.mergeWith(Flux.never[OutboundMessage]()).asJava().subscribe(subscriber)
+
+    val stateChanges = (1 to 4).map(_ => emailStateChange(UuidState(UUID.randomUUID())))
+    stateChanges.foreach(coalescer.push)
+    subscriber.request(Long.MaxValue)
+
+    // The merge holds a single state change while the subscriber has no demand: later ones are coalesced
+    assertThat(received)
+      .containsExactly(stateChanges(0), stateChanges(1), stateChanges(3))
+  }
+
+  private def emailStateChange(state: UuidState): StateChange =
+    StateChange(Map(AccountId.from(Username.of("bob")).toOption.get -> TypeState(Map(EmailTypeName -> state))),
+      PushState.fromOption(None, Some(state)))
 }
@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *  http://www.apache.org/licenses/LICENSE-2.0                  *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.json
+
+import java.nio.charset.StandardCharsets
+
+import eu.timepit.refined.auto._
+import io.netty.buffer.{ByteBuf, UnpooledByteBufAllocator}
+import org.apache.james.jmap.core.Invocation.{Arguments, MethodCallId, MethodName}
+import org.apache.james.jmap.core.{Invocation, ResponseObject}
+import org.apache.james.jmap.json.Fixture._
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+import play.api.libs.json.{JsArray, JsNull, Json}
+
+class StreamingResponseSerializerTest extends AnyWordSpec with Matchers {
+  private def stream(responseObject: ResponseObject): String = {
+    val buffer: ByteBuf = responseObject.methodResponses
+      .foldLeft(StreamingResponseSerializer.writer(UnpooledByteBufAllocator.DEFAULT, responseObject.sessionState))((writer, invocation) => writer.write(invocation))
+      .end()
+    try {
+      buffer.toString(StandardCharsets.UTF_8)
+    } finally {
+      buffer.release()
+    }
+  }
+
+  "Streaming serialization" should {
+    "match ResponseSerializer when no method responses" in {
+      val responseObject = ResponseObject(ResponseObject.SESSION_STATE, Seq())
+
+      stream(responseObject) should be(Json.stringify(ResponseSerializer.serialize(responseObject)))
+    }
+
+    "match ResponseSerializer for several method responses" in {
+      val responseObject = ResponseObject(ResponseObject.SESSION_STATE, Seq(invocation1, invocation2, unsupportedInvocation))
+
+      stream(responseObject) should be(Json.stringify(ResponseSerializer.serialize(responseObject)))
+    }
+
+    "match ResponseSerializer for nested values, numbers and escaped characters" in {
+      val invocation = Invocation(
+        methodName = MethodName("Email/get"),
+        arguments = Arguments(Json.obj(
+          "accountId" -> "29883977c13473ae7cb7678ef767cbfbaffc8a44a6e463d971d23a65c1dc4af6",
+          "list" -> JsArray(Seq(Json.obj(
+            "subject" -> "Quoted \"subject\" with\ttab, unicode é€😀 and \u0001 control",
+            "size" -> 1234567890123L,
+            "ratio" -> BigDecimal("0.25"),
+            "preview" -> JsNull,
+            "keywords" -> Json.obj("$seen" -> true, "$draft" -> false)))),
+          "notFound" -> JsArray())),
+        methodCallId = MethodCallId("c1"))
+      val responseObject = ResponseObject(ResponseObject.SESSION_STATE, Seq(invocation))
+
+      stream(responseObject) should be(Json.stringify(ResponseSerializer.serialize(responseObject)))
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *  http://www.apache.org/licenses/LICENSE-2.0                  *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.routes
+
+import java.io.ByteArrayInputStream
+import java.nio.charset.StandardCharsets
+
+import eu.timepit.refined.auto._
+import org.apache.james.jmap.api.model.Size.Size
+import org.apache.james.jmap.routes.ByteRange.{FullContent, NotSatisfiable, PartialContent}
+import org.scalatest.matchers.must.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import scala.util.{Failure, Success}
+
+class ByteRangeTest extends AnyWordSpec with Matchers {
+  private val blobSize: Size = 1000L
+
+  "resolve" should {
+    "serve full content when no Range header" in {
+      ByteRange.resolve(None, Success(blobSize)) must be(FullContent)
+    }
+
+    "serve full content when size is unknown" in {
+      ByteRange.resolve(Some("bytes=0-10"), Failure(new IllegalArgumentException())) must be(FullContent)
+    }
+
+    "serve full content when unsupported unit" in {
+      ByteRange.resolve(Some("items=0-10"), Success(blobSize)) must be(FullContent)
+    }
+
+    "serve full content when multiple ranges" in {
+      ByteRange.resolve(Some("bytes=0-10,20-30"), Success(blobSize)) must be(FullContent)
+    }
+
+    "serve full content when last byte precedes first byte" in {
+      ByteRange.resolve(Some("bytes=10-5"), Success(blobSize)) must be(FullContent)
+    }
+
+    "serve full content when no bound" in {
+      ByteRange.resolve(Some("bytes=-"), Success(blobSize)) must be(FullContent)
+    }
+
+    "resolve bounded ranges" in {
+      ByteRange.resolve(Some("bytes=10-19"), Success(blobSize)) must be(PartialContent(ByteRange(10, 10), 1000))
+    }
+
+    "truncate ranges exceeding the content" in {
+      ByteRange.resolve(Some("bytes=990-2000"), Success(blobSize)) must be(PartialContent(ByteRange(990, 10), 1000))
+    }
+
+    "resolve open ended ranges" in {
+      ByteRange.resolve(Some("bytes=900-"), Success(blobSize)) must be(PartialContent(ByteRange(900, 100), 1000))
+    }
+
+    "resolve suffix ranges" in {
+      ByteRange.resolve(Some("bytes=-100"), Success(blobSize)) must be(PartialContent(ByteRange(900, 100), 1000))
+    }
+
+    "truncate suffix ranges exceeding the content" in {
+      ByteRange.resolve(Some("bytes=-2000"), Success(blobSize)) must be(PartialContent(ByteRange(0, 1000), 1000))
+    }
+
+    "reject ranges starting after the content" in {
+      ByteRange.resolve(Some("bytes=1000-1010"), Success(blobSize)) must be(NotSatisfiable(1000))
+    }
+
+    "reject empty suffix ranges" in {
+      ByteRange.resolve(Some("bytes=-0"), Success(blobSize)) must be(NotSatisfiable(1000))
+    }
+  }
+
+  "ByteRange" should {
+    "compute the Content-Range header" in {
+      ByteRange(10, 10).contentRange(1000) must be("bytes 10-19/1000")
+    }
+
+    "slice the content" in {
+      val content = new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8))
+
+      new String(ByteRange(2, 5).slice(content).readAllBytes(), StandardCharsets.UTF_8) must be("23456")
+    }
+  }
+}
@@ -25,6 +25,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.FileChannel;
+import java.util.Optional;
 
 import org.apache.james.imap.api.process.ImapSession;
 import org.apache.james.imap.encode.ImapResponseWriter;
@@ -33,6 +34,8 @@ import org.apache.james.util.MDCStructuredLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.primitives.Ints;
+
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
@@ -45,60 +48,69 @@ import io.netty.handler.stream.ChunkedStream;
 /**
  * {@link ImapResponseWriter} implementation which writes the data to a
  * {@link Channel}
+ *
+ * Responses are copied into pooled direct buffers and written without being flushed: the channel is flushed once
+ * pending data exceeds a threshold, before literals, and upon explicit {@link #flush()} calls (end of command,
+ * continuation requests, IDLE notifications...). This coalesces the many small responses of bulk FETCH and SEARCH
+ * commands into fewer, larger socket writes.
  */
 public class ChannelImapResponseWriter implements ImapResponseWriter {
-    @FunctionalInterface
-    interface FlushCallback {
-        void run() throws IOException;
-    }
-
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelImapResponseWriter.class);
+    private static final int FLUSH_THRESHOLD = Optional.ofNullable(System.getProperty("james.imap.write.flush.threshold"))
+        .map(Integer::parseInt)
+        .orElse(65536);
+
     private final Channel channel;
     private final boolean zeroCopy;
-    private FlushCallback flushCallback;
+    private final ImapMetrics imapMetrics;
     private ImapSession imapSession = null;
+    private long pendingBytes = 0;
 
-    public ChannelImapResponseWriter(Channel channel, ImapSession imapSession) {
-        this(channel);
+    public ChannelImapResponseWriter(Channel channel, ImapSession imapSession, ImapMetrics imapMetrics) {
+        this(channel, imapMetrics);
         this.imapSession = imapSession;
     }
 
-    public ChannelImapResponseWriter(Channel channel) {
-        this(channel, true);
+    public ChannelImapResponseWriter(Channel channel, ImapMetrics imapMetrics) {
+        this(channel, true, imapMetrics);
     }
 
-    public ChannelImapResponseWriter(Channel channel, boolean zeroCopy) {
+    public ChannelImapResponseWriter(Channel channel, boolean zeroCopy, ImapMetrics imapMetrics) {
         this.channel = channel;
         this.zeroCopy = zeroCopy;
-        this.flushCallback = () -> {
-
-        };
+        this.imapMetrics = imapMetrics;
     }
 
-    public void setFlushCallback(FlushCallback flushCallback) {
-        this.flushCallback = flushCallback;
+    @Override
+    public void write(byte[] buffer) {
+        write(buffer, 0, buffer.length);
     }
 
     @Override
-    public void write(byte[] buffer) {
+    public void write(byte[] buffer, int offset, int length) {
         if (LOGGER.isTraceEnabled()) {
             if (imapSession != null) {
                 new MDCStructuredLogger(LOGGER)
                         .field("username", retrieveUsername(imapSession))
-                        .log(logger -> logger.trace("Writing IMAP response: {}", new String(buffer)));
+                        .log(logger -> logger.trace("Writing IMAP response: {}", new String(buffer, offset, length)));
             }
         }
         if (channel.isActive()) {
-            channel.writeAndFlush(Unpooled.wrappedBuffer(buffer));
+            channel.write(channel.alloc().directBuffer(length).writeBytes(buffer, offset, length));
+            pendingBytes += length;
+            if (pendingBytes >= FLUSH_THRESHOLD) {
+                flushChannel();
+            }
         }
     }
 
     @Override
     public void write(Literal literal) throws IOException {
-        flushCallback.run();
         if (channel.isActive()) {
+            pendingBytes += literal.size();
             if (literal.asBytesSequence().isPresent()) {
-                channel.writeAndFlush(Unpooled.wrappedBuffer(literal.asBytesSequence().get()));
+                channel.write(Unpooled.wrappedBuffer(literal.asBytesSequence().get()));
+                flushChannel();
                 return;
             }
             InputStream in = literal.getInputStream();
@@ -109,19 +121,28 @@ public class ChannelImapResponseWriter implements ImapResponseWriter {
                 // See JAMES-1305 and JAMES-1306
                 ChannelPipeline cp = channel.pipeline();
                 if (zeroCopy && cp.get(SslHandler.class) == null && cp.get(ZlibEncoder.class) == null) {
-                    channel.writeAndFlush(new DefaultFileRegion(fc, fc.position(), literal.size()));
+                    channel.write(new DefaultFileRegion(fc, fc.position(), literal.size()));
                 } else {
-                    channel.writeAndFlush(new ChunkedNioFile(fc, 8192));
+                    channel.write(new ChunkedNioFile(fc, 8192));
                 }
             } else {
-                channel.writeAndFlush(new ChunkedStream(in));
+                channel.write(new ChunkedStream(in));
             }
+            flushChannel();
         }
     }
-    
-    public void flush() throws IOException {
-        flushCallback.run();
-        channel.flush();
+
+    @Override
+    public void flush() {
+        if (pendingBytes > 0 && channel.isActive()) {
+            flushChannel();
+        }
     }
 
+    private void flushChannel() {
+        channel.flush();
+        imapMetrics.getResponseFlushesMetric().increment();
+        imapMetrics.getResponseFlushedBytesMetric().add(Ints.saturatedCast(pendingBytes));
+        pendingBytes = 0;
+    }
 }
@@ -174,6 +174,7 @@ public class IMAPServer extends AbstractConfigurableAsyncServer implements ImapC
     private int inMemorySizeLimit;
     private int timeout;
     private int literalSizeLimit;
+    private ImapRequestFrameDecoder.LiteralSpooling literalSpooling;
     private AuthenticationConfiguration authenticationConfiguration;
     private Optional<TrafficShapingConfiguration> trafficShaping = Optional.empty();
     private Optional<ConnectionLimitUpstreamHandler> connectionLimitUpstreamHandler = Optional.empty();
@@ -207,6 +208,9 @@ public class IMAPServer extends AbstractConfigurableAsyncServer implements ImapC
             .orElse(DEFAULT_IN_MEMORY_SIZE_LIMIT)
             .asBytes());
         literalSizeLimit = parseLiteralSizeLimit(configuration);
+        literalSpooling = Optional.ofNullable(configuration.getString("literalSpooling", null))
+            .map(ImapRequestFrameDecoder.LiteralSpooling::parse)
+            .orElse(ImapRequestFrameDecoder.LiteralSpooling.FILE);
 
         timeout = configuration.getInt("timeout", DEFAULT_TIMEOUT);
         if (timeout < DEFAULT_TIMEOUT) {
@@ -264,6 +268,7 @@ public class IMAPServer extends AbstractConfigurableAsyncServer implements ImapC
             .withCustomProperties(configuration.getProperties("customProperties"))
             .idFieldsResponse(getIdCommandResponseFields(configuration))
             .adminUsers(adminUsers)
+            .uidMsnConverterMode(ImapConfiguration.UidMsnConverterMode.parse(configuration.getString("uidMsnConverter", "synchronized")))
             .build();
     }
 
@@ -343,7 +348,7 @@ public class IMAPServer extends AbstractConfigurableAsyncServer implements ImapC
                 pipeline.addLast(CHUNK_WRITE_HANDLER, new ChunkedWriteHandler());
 
                 pipeline.addLast(REQUEST_DECODER, new ImapRequestFrameDecoder(decoder, inMemorySizeLimit,
-                    literalSizeLimit, maxLineLength));
+                    literalSizeLimit, maxLineLength, literalSpooling));
 
                 throttlerConfiguration.map(IMAPCommandsThrottler::new)
                     .ifPresent(handler -> pipeline.addLast("commandThrottler", handler));
@@ -183,6 +183,7 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
     private final ImapEncoder encoder;
     private final ImapHeartbeatHandler heartbeatHandler;
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final ImapMetrics imapMetrics;
     private final Metric imapConnectionsMetric;
     private final Metric imapCommandsMetric;
     private final boolean ignoreIDLEUponProcessing;
@@ -201,6 +202,7 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
         this.secure = secure;
         this.compress = compress;
         this.authenticationConfiguration = authenticationConfiguration;
+        this.imapMetrics = imapMetrics;
         this.imapConnectionsMetric = imapMetrics.getConnectionsMetric();
         this.imapCommandsMetric = imapMetrics.getCommandsMetric();
         this.ignoreIDLEUponProcessing = ignoreIDLEUponProcessing;
@@ -232,7 +234,7 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
             LOGGER.info("Connection established from {}", address.getAddress().getHostAddress());
             imapConnectionsMetric.increment();
 
-            ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapsession);
+            ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapsession, imapMetrics);
             ImapResponseComposerImpl response = new ImapResponseComposerImpl(writer);
             // write hello to client
             response.untagged().message("OK").message(hello).end();
@@ -332,7 +334,7 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
                 // command length."
                 //
                 // See also JAMES-1190
-                ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapSession);
+                ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapSession, imapMetrics);
                 ImapResponseComposerImpl response = new ImapResponseComposerImpl(writer);
                 response.untaggedResponse(ImapConstants.BAD + " failed. Maximum command line length exceeded");
                 response.flush();
@@ -359,7 +361,7 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
         if (cause.getImapMessage() instanceof AbstractImapRequest) {
             ImapSession imapSession = ctx.channel().attr(IMAP_SESSION_ATTRIBUTE_KEY).get();
             AbstractImapRequest req = (AbstractImapRequest) cause.getImapMessage();
-            ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapSession);
+            ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), imapSession, imapMetrics);
             ImapResponseComposerImpl response = new ImapResponseComposerImpl(writer);
             new ResponseEncoder(encoder, response)
                 .respond(new ImmutableStatusResponse(StatusResponse.Type.NO, req.getTag(), req.getCommand(),
@@ -416,9 +418,8 @@ public class ImapChannelUpstreamHandler extends ChannelInboundHandlerAdapter imp
             linearalizer.isExecutingRequest.set(true);
         }
 
-        ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), session);
+        ChannelImapResponseWriter writer = new ChannelImapResponseWriter(ctx.channel(), session, imapMetrics);
         ImapResponseComposerImpl response = new ImapResponseComposerImpl(writer);
-        writer.setFlushCallback(response::flush);
         ImapMessage message = (ImapMessage) msg;
 
         beforeIDLEUponProcessing(ctx);
@@ -25,13 +25,19 @@ import org.apache.james.metrics.api.MetricFactory;
 public class ImapMetrics {
     private static final String IMAP_COMMANDS = "imapCommands";
     private static final String IMAP_CONNECTIONS = "imapConnections";
+    private static final String IMAP_RESPONSE_FLUSHES = "imapResponseFlushes";
+    private static final String IMAP_RESPONSE_FLUSHED_BYTES = "imapResponseFlushedBytes";
 
     private final Metric commandsMetric;
     private final Metric connectionsMetric;
+    private final Metric responseFlushesMetric;
+    private final Metric responseFlushedBytesMetric;
 
     public ImapMetrics(MetricFactory metricFactory) {
         commandsMetric = metricFactory.generate(IMAP_COMMANDS);
         connectionsMetric = metricFactory.generate(IMAP_CONNECTIONS);
+        responseFlushesMetric = metricFactory.generate(IMAP_RESPONSE_FLUSHES);
+        responseFlushedBytesMetric = metricFactory.generate(IMAP_RESPONSE_FLUSHED_BYTES);
     }
 
     public Metric getCommandsMetric() {
@@ -41,4 +47,12 @@ public class ImapMetrics {
     public Metric getConnectionsMetric() {
         return connectionsMetric;
     }
+
+    public Metric getResponseFlushesMetric() {
+        return responseFlushesMetric;
+    }
+
+    public Metric getResponseFlushedBytesMetric() {
+        return responseFlushedBytesMetric;
+    }
 }
@@ -22,13 +22,16 @@ package org.apache.james.imapserver.netty;
 import static reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -52,6 +55,8 @@ import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -66,11 +71,45 @@ import reactor.core.scheduler.Schedulers;
  * {@link ByteToMessageDecoder} which will decode via and {@link ImapDecoder} instance
  */
 public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements NettyConstants, LineHandlerAware {
+    /**
+     * Where literals exceeding the in memory size limit are accumulated before being decoded.
+     */
+    public enum LiteralSpooling {
+        /**
+         * Literals are written to a temporary file.
+         */
+        FILE,
+        /**
+         * Literals are accumulated in pooled (off-heap) Netty buffers, without touching the disk.
+         */
+        MEMORY;
+
+        public static LiteralSpooling parse(String value) {
+            return switch (value.toLowerCase(Locale.US)) {
+                case "file" -> FILE;
+                case "memory" -> MEMORY;
+                default -> throw new IllegalArgumentException("Unsupported literal spooling: '" + value + "'. Supported values are 'file' and 'memory'");
+            };
+        }
+    }
+
+    /**
+     * Data of a command whose literal was spooled, read back when decoding it.
+     */
+    public interface Spool {
+        InputStream newInputStream() throws IOException;
+
+        long length();
+
+        void dispose();
+    }
+
     @VisibleForTesting
     static final String NEEDED_DATA = "NEEDED_DATA";
     private static final boolean RETRY = true;
     private static final String SINK = "SINK";
     private static final String SUBSCRIPTION = "SUBSCRIPTION";
+    private static final String MEMORY_SPOOL = "MEMORY_SPOOL";
     public static final int UNAUTHENTICATE_LITERAL_MAX_SIZE = Optional.ofNullable(System.getProperty("james.imap.unauthenticated.literal.max.size"))
         .map(Integer::parseInt)
         .orElse(8192);
@@ -79,16 +118,22 @@ public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements Net
     private final ImapDecoder decoder;
     private final int inMemorySizeLimit;
     private final int literalSizeLimit;
+    private final LiteralSpooling literalSpooling;
     private final Deque<ChannelInboundHandlerAdapter> behaviourOverrides = new ConcurrentLinkedDeque<>();
     private final int maxFrameLength;
     private final AtomicBoolean framingEnabled = new AtomicBoolean(true);
     private ArrayList<byte[]> pending = new ArrayList<>();
 
     public ImapRequestFrameDecoder(ImapDecoder decoder, int inMemorySizeLimit, int literalSizeLimit, int maxFrameLength) {
+        this(decoder, inMemorySizeLimit, literalSizeLimit, maxFrameLength, LiteralSpooling.FILE);
+    }
+
+    public ImapRequestFrameDecoder(ImapDecoder decoder, int inMemorySizeLimit, int literalSizeLimit, int maxFrameLength, LiteralSpooling literalSpooling) {
         this.decoder = decoder;
         this.inMemorySizeLimit = inMemorySizeLimit;
         this.literalSizeLimit = literalSizeLimit;
         this.maxFrameLength = maxFrameLength;
+        this.literalSpooling = literalSpooling;
     }
 
     private int literalSizeLimit(ImapSession session) {
@@ -228,8 +273,11 @@ public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements Net
                     }
 
                     // ok seems like it will not fit in the memory limit so we
-                    // need to store it in a temporary file
-                    uploadToAFile(ctx, in, attachment, size, readerIndex);
+                    // need to spool it
+                    switch (literalSpooling) {
+                        case FILE -> uploadToAFile(ctx, in, attachment, size, readerIndex);
+                        case MEMORY -> spoolInMemory(ctx, in, attachment, size, readerIndex);
+                    }
                     return null;
 
                 } else {
@@ -321,6 +369,85 @@ public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements Net
         }
     }
 
+    private void spoolInMemory(ChannelHandlerContext ctx, ByteBuf in, Map<String, Object> attachment, int size, int readerIndex) {
+        MemoryHolder spool;
+
+        if (attachment.containsKey(MEMORY_SPOOL)) {
+            spool = (MemoryHolder) attachment.get(MEMORY_SPOOL);
+        } else {
+            spool = MemoryHolder.create(ctx.alloc().compositeBuffer(Integer.MAX_VALUE), size + pending.stream().mapToInt(b -> b.length).sum());
+            attachment.put(MEMORY_SPOOL, spool);
+            // Release the buffers if the connection is reset while buffering the literal.
+            attachment.put(SUBSCRIPTION, (Disposable) spool::dispose);
+
+            pending.forEach(bytes -> spool.append(Unpooled.wrappedBuffer(bytes)));
+            pending.clear();
+        }
+
+        // Bytes past the literal belong to the next command and are left for further decoding
+        spool.append(in.readBytes(Math.min(in.readableBytes(), spool.remaining())));
+        if (spool.remaining() == 0) {
+            attachment.remove(MEMORY_SPOOL);
+            // Now on lifecycle of the buffers will be managed by the decoded message.
+            attachment.remove(SUBSCRIPTION);
+            try {
+                ImapRequestLineReader reader = new NettyStreamImapRequestLineReader(ctx.channel(), spool, RETRY, maxFrameLength);
+                parseImapMessage(ctx, null, attachment, Pair.of(reader, size), readerIndex)
+                    .ifPresent(ctx::fireChannelRead);
+            } catch (Exception e) {
+                spool.dispose();
+                ctx.fireExceptionCaught(e);
+            }
+        }
+    }
+
+    public static class MemoryHolderInner extends LeakAware.Resource {
+        private final CompositeByteBuf buffer;
+
+        private MemoryHolderInner(CompositeByteBuf buffer) {
+            super(() -> {
+                if (buffer.refCnt() > 0) {
+                    buffer.release();
+                }
+            });
+            this.buffer = buffer;
+        }
+    }
+
+    public static class MemoryHolder extends LeakAware<MemoryHolderInner> implements Spool {
+        public static MemoryHolder create(CompositeByteBuf buffer, int expectedSize) {
+            return new MemoryHolder(new MemoryHolderInner(buffer), expectedSize);
+        }
+
+        private final CompositeByteBuf buffer;
+        private int remaining;
+
+        private MemoryHolder(MemoryHolderInner inner, int expectedSize) {
+            super(inner);
+            this.buffer = inner.buffer;
+            this.remaining = expectedSize;
+        }
+
+        void append(ByteBuf chunk) {
+            remaining -= chunk.readableBytes();
+            buffer.addComponent(true, chunk);
+        }
+
+        int remaining() {
+            return remaining;
+        }
+
+        @Override
+        public InputStream newInputStream() {
+            return new ByteBufInputStream(buffer.duplicate());
+        }
+
+        @Override
+        public long length() {
+            return buffer.readableBytes();
+        }
+    }
+
     public static class FileHolderInner extends LeakAware.Resource {
         public static FileHolderInner create() throws IOException {
             return new FileHolderInner(Files.createTempFile("imap-literal", ".tmp").toFile());
@@ -338,7 +465,7 @@ public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements Net
         }
     }
 
-    public static class FileHolder extends LeakAware<FileHolderInner> {
+    public static class FileHolder extends LeakAware<FileHolderInner> implements Spool {
         public static FileHolder create() throws IOException {
             return new FileHolder(FileHolderInner.create());
         }
@@ -354,6 +481,15 @@ public class ImapRequestFrameDecoder extends ByteToMessageDecoder implements Net
             return file.file;
         }
 
+        @Override
+        public InputStream newInputStream() throws IOException {
+            return new FileInputStream(file.file);
+        }
+
+        @Override
+        public long length() {
+            return file.file.length();
+        }
     }
 
     static class FileChunkConsumer implements Consumer<byte[]> {
@@ -21,8 +21,6 @@ package org.apache.james.imapserver.netty;
 import static org.apache.james.imapserver.netty.NettyImapRequestLineReader.MAXIMUM_LITERAL_COUNT;
 
 import java.io.Closeable;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -40,25 +38,25 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 public class NettyStreamImapRequestLineReader extends AbstractNettyImapRequestLineReader implements Closeable {
-    private static class FileLiteral implements Literal, Closeable {
+    private static class SpooledLiteral implements Literal, Closeable {
         private final long offset;
         private final int size;
         private final boolean extraCRLF;
-        private final ImapRequestFrameDecoder.FileHolder file;
+        private final ImapRequestFrameDecoder.Spool spool;
         private final AbstractNettyImapRequestLineReader reader;
 
-        private FileLiteral(long offset, int size, boolean extraCRLF, ImapRequestFrameDecoder.FileHolder file, AbstractNettyImapRequestLineReader reader) {
+        private SpooledLiteral(long offset, int size, boolean extraCRLF, ImapRequestFrameDecoder.Spool spool, AbstractNettyImapRequestLineReader reader) {
             this.offset = offset;
             this.size = size;
             this.extraCRLF = extraCRLF;
-            this.file = file;
+            this.spool = spool;
             this.reader = reader;
         }
 
         @Override
         public void close() {
             Mono.fromRunnable(Throwing.runnable(() -> {
-                    file.dispose();
+                    spool.dispose();
                     reader.close();
                 }))
                 .subscribeOn(Schedulers.boundedElastic())
@@ -67,14 +65,14 @@ public class NettyStreamImapRequestLineReader extends AbstractNettyImapRequestLi
 
         @Override
         public long size() {
-            return Math.min(file.getFile().length() - offset, size);
+            return Math.min(spool.length() - offset, size);
         }
 
         @Override
         public InputStream getInputStream() throws IOException {
-            FileInputStream fileInputStream = new FileInputStream(file.getFile());
-            fileInputStream.skip(offset);
-            InputStream limitedStream = ByteStreams.limit(fileInputStream, size);
+            InputStream spoolStream = spool.newInputStream();
+            spoolStream.skip(offset);
+            InputStream limitedStream = ByteStreams.limit(spoolStream, size);
             if (extraCRLF) {
                 return new EolInputStream(reader, limitedStream);
             } else {
@@ -83,20 +81,20 @@ public class NettyStreamImapRequestLineReader extends AbstractNettyImapRequestLi
         }
     }
 
-    private final ImapRequestFrameDecoder.FileHolder backingFile;
+    private final ImapRequestFrameDecoder.Spool backingSpool;
     private final CountingInputStream in;
     private int literalCount = 0;
     private int read = 0;
     private final int maxFrameLength;
 
 
-    public NettyStreamImapRequestLineReader(Channel channel, ImapRequestFrameDecoder.FileHolder file, boolean retry, int maxFrameLength) {
+    public NettyStreamImapRequestLineReader(Channel channel, ImapRequestFrameDecoder.Spool spool, boolean retry, int maxFrameLength) {
         super(channel, retry);
-        this.backingFile = file;
+        this.backingSpool = spool;
         this.maxFrameLength = maxFrameLength;
         try {
-            this.in = new CountingInputStream(new FileInputStream(file.getFile()));
-        } catch (FileNotFoundException e) {
+            this.in = new CountingInputStream(spool.newInputStream());
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
@@ -166,7 +164,7 @@ public class NettyStreamImapRequestLineReader extends AbstractNettyImapRequestLi
         try {
             long offset = in.getCount();
             in.skip(size);
-            return new FileLiteral(offset, size, extraCRLF, backingFile, this);
+            return new SpooledLiteral(offset, size, extraCRLF, backingSpool, this);
         } catch (IOException e) {
             throw new DecodingException(HumanReadableText.SOCKET_IO_FAILURE, "Could not copy litteral", e);
         }
@@ -0,0 +1,118 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.imapserver.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class ChannelImapResponseWriterTest {
+    private static final byte[] RESPONSE = "* 1 FETCH (FLAGS (\\Seen) UID 1)\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private EmbeddedChannel channel;
+    private RecordingMetricFactory metricFactory;
+    private ChannelImapResponseWriter testee;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel();
+        metricFactory = new RecordingMetricFactory();
+        testee = new ChannelImapResponseWriter(channel, new ImapMetrics(metricFactory));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private String readOutbound() {
+        StringBuilder result = new StringBuilder();
+        ByteBuf buffer;
+        while ((buffer = channel.readOutbound()) != null) {
+            result.append(buffer.toString(StandardCharsets.US_ASCII));
+            buffer.release();
+        }
+        return result.toString();
+    }
+
+    @Test
+    void writeShouldNotFlushSmallResponses() {
+        testee.write(RESPONSE);
+        testee.write(RESPONSE);
+
+        assertThat(readOutbound()).isEmpty();
+    }
+
+    @Test
+    void flushShouldSendPendingResponses() {
+        testee.write(RESPONSE);
+        testee.write(RESPONSE);
+
+        testee.flush();
+
+        String expected = new String(RESPONSE, StandardCharsets.US_ASCII);
+        assertThat(readOutbound()).isEqualTo(expected + expected);
+    }
+
+    @Test
+    void writeShouldOnlyConsiderTheGivenSlice() {
+        testee.write(RESPONSE, 2, 5);
+
+        testee.flush();
+
+        assertThat(readOutbound()).isEqualTo("1 FET");
+    }
+
+    @Test
+    void writeShouldFlushWhenPendingDataExceedsThreshold() {
+        int responseCount = 65536 / RESPONSE.length + 1;
+        for (int i = 0; i < responseCount; i++) {
+            testee.write(RESPONSE);
+        }
+
+        assertThat(readOutbound()).hasSize(responseCount * RESPONSE.length);
+    }
+
+    @Test
+    void flushShouldRecordMetrics() {
+        testee.write(RESPONSE);
+        testee.write(RESPONSE);
+
+        testee.flush();
+
+        assertThat(metricFactory.countFor("imapResponseFlushes")).isEqualTo(1);
+        assertThat(metricFactory.countFor("imapResponseFlushedBytes")).isEqualTo(2 * RESPONSE.length);
+    }
+
+    @Test
+    void flushShouldBeNoopWhenNothingIsPending() {
+        testee.flush();
+
+        assertThat(metricFactory.countFor("imapResponseFlushes")).isZero();
+    }
+}
@@ -62,6 +62,7 @@ class IMAPServerConfigurationTest {
         configurationBuilder.addProperty("provisionDefaultMailboxes", "false");
         configurationBuilder.addProperty("customProperties", "abc=def");
         configurationBuilder.addProperty("customProperties", "ghi=jkl");
+        configurationBuilder.addProperty("uidMsnConverter", "run-length");
         ImapConfiguration imapConfiguration = IMAPServer.getImapConfiguration(configurationBuilder);
 
         Properties customProperties = new Properties();
@@ -76,6 +77,7 @@ class IMAPServerConfigurationTest {
                 .concurrentRequests(42)
                 .isProvisionDefaultMailboxes(false)
                 .withCustomProperties(customProperties)
+                .uidMsnConverterMode(ImapConfiguration.UidMsnConverterMode.RUN_LENGTH)
                 .build();
 
         assertThat(imapConfiguration).isEqualTo(expectImapConfiguration);
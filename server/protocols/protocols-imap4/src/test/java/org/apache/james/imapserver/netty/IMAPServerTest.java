@@ -38,6 +38,7 @@ import static org.mockito.Mockito.spy;
 import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
@@ -91,6 +92,7 @@ import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
 import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.FetchGroup;
 import org.apache.james.mailbox.model.MailboxACL;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.MessageRange;
@@ -466,6 +468,57 @@ class IMAPServerTest {
         }
     }
 
+    @Nested
+    class MemoryLiteralSpooling {
+        IMAPServer imapServer;
+        private int port;
+
+        @BeforeEach
+        void beforeEach() throws Exception {
+            imapServer = createImapServer("imapServerMemoryLiteralSpooling.xml");
+            port = imapServer.getListenAddresses().get(0).getPort();
+        }
+
+        @AfterEach
+        void tearDown() {
+            imapServer.destroy();
+        }
+
+        @RepeatedTest(20)
+        void largeAppendsShouldStoreTheLiteral() throws Exception {
+            assertThatCode(() ->
+                testIMAPClient.connect("127.0.0.1", port)
+                    .login(USER.asString(), USER_PASS)
+                    .append("INBOX", _129K_MESSAGE))
+                .doesNotThrowAnyException();
+
+            MailboxSession mailboxSession = mailboxManager.createSystemSession(USER);
+            InputStream content = mailboxManager.getMailbox(MailboxPath.inbox(USER), mailboxSession)
+                .getMessages(MessageRange.all(), FetchGroup.FULL_CONTENT, mailboxSession)
+                .next()
+                .getFullContent()
+                .getInputStream();
+            assertThat(new String(content.readAllBytes(), StandardCharsets.US_ASCII))
+                .isEqualTo(_129K_MESSAGE);
+        }
+
+        @Test
+        void commandPipelinedAfterLargeLiteralShouldBeProcessed() throws Exception {
+            try (SocketChannel clientConnection = SocketChannel.open()) {
+                clientConnection.connect(new InetSocketAddress(LOCALHOST_IP, port));
+                readBytes(clientConnection);
+                clientConnection.write(ByteBuffer.wrap(String.format("a0 LOGIN %s %s\r\n", USER.asString(), USER_PASS).getBytes(StandardCharsets.UTF_8)));
+                readBytes(clientConnection);
+
+                clientConnection.write(ByteBuffer.wrap(("A004 APPEND INBOX {" + _129K_MESSAGE.length() + "+}\r\n" +
+                    _129K_MESSAGE + "\r\nA005 NOOP\r\n").getBytes(StandardCharsets.UTF_8)));
+
+                assertThat(readStringUntil(clientConnection, s -> s.contains("A005 OK")))
+                    .anySatisfy(s -> assertThat(s).contains("APPEND completed."));
+            }
+        }
+    }
+
     @Nested
     class AppendNonSynchronizedLitterals {
         IMAPServer imapServer;
@@ -251,6 +251,7 @@ public abstract class AbstractConfigurableAsyncServer
         }
 
         Optional.ofNullable(config.getBoolean("useEpoll", null)).ifPresent(this::setUseEpoll);
+        Optional.ofNullable(config.getBoolean("useIoUring", null)).ifPresent(this::setUseIoUring);
 
         proxyRequired = config.getBoolean(PROXY_REQUIRED, false);
         proxyFirst = config.getBoolean(PROXY_FIRST, true);
@@ -0,0 +1,301 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.smtpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.james.lifecycle.api.LifecycleUtil;
+import org.apache.james.protocols.api.ProtocolSession;
+import org.apache.james.protocols.api.ProtocolSession.State;
+import org.apache.james.protocols.api.Request;
+import org.apache.james.protocols.api.Response;
+import org.apache.james.protocols.api.handler.CommandHandler;
+import org.apache.james.protocols.api.handler.ExtensibleHandler;
+import org.apache.james.protocols.api.handler.LineHandler;
+import org.apache.james.protocols.api.handler.WiringException;
+import org.apache.james.protocols.smtp.SMTPResponse;
+import org.apache.james.protocols.smtp.SMTPRetCode;
+import org.apache.james.protocols.smtp.SMTPSession;
+import org.apache.james.protocols.smtp.core.ReceivedHeaderGenerator;
+import org.apache.james.protocols.smtp.core.esmtp.EhloExtension;
+import org.apache.james.protocols.smtp.dsn.DSNStatus;
+import org.apache.james.protocols.smtp.hook.HookResult;
+import org.apache.james.protocols.smtp.hook.HookReturnCode;
+import org.apache.james.protocols.smtp.hook.MailParametersHook;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageInputStreamSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Handles the BDAT command of the CHUNKING extension (RFC 3030) as well as the BINARYMIME body type.
+ *
+ * Chunks are read as raw bytes, without line framing, and appended as-is to the message being received: no
+ * dot-stuffing nor end of data detection takes place. Once the last chunk is received the message goes through
+ * the same {@link org.apache.james.protocols.smtp.hook.MessageHook} and {@link JamesMessageHook} than messages
+ * received with DATA.
+ *
+ * {@link org.apache.james.protocols.smtp.core.DataLineFilter} are line based and thus do not apply to chunks. The
+ * Received header is added to the first chunk, and the message size is checked against the configured maximum.
+ */
+public class BdatCmdHandler implements CommandHandler<SMTPSession>, EhloExtension, MailParametersHook, ExtensibleHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BdatCmdHandler.class);
+
+    public static final ProtocolSession.AttachmentKey<Boolean> BINARYMIME = ProtocolSession.AttachmentKey.of("BINARYMIME", Boolean.class);
+    public static final ProtocolSession.AttachmentKey<Long> BDAT_RECEIVED_BYTES = ProtocolSession.AttachmentKey.of("BDAT_RECEIVED_BYTES", Long.class);
+
+    private static final Collection<String> COMMANDS = ImmutableSet.of("BDAT");
+    private static final String LAST = "LAST";
+    private static final String BODY_PARAMETER = "BODY";
+    private static final Collection<String> BODY_TYPES = ImmutableSet.of("7BIT", "8BITMIME", "BINARYMIME");
+    private static final Splitter ARGUMENT_SPLITTER = Splitter.on(' ').omitEmptyStrings().trimResults();
+
+    private static final Response SYNTAX_ERROR = new SMTPResponse(SMTPRetCode.SYNTAX_ERROR_ARGUMENTS, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_INVALID_ARG) + " Usage: BDAT <chunk-size> [LAST]").immutable();
+    private static final Response NO_SENDER = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " No sender specified").immutable();
+    private static final Response NO_RECIPIENT = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " No recipients specified").immutable();
+    private static final Response MESSAGE_TOO_BIG = new SMTPResponse(SMTPRetCode.QUOTA_EXCEEDED, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.SYSTEM_MSG_TOO_BIG) + " Message size exceeds fixed maximum message size").immutable();
+    private static final HookResult INVALID_BODY = HookResult.builder()
+        .hookReturnCode(HookReturnCode.deny())
+        .smtpReturnCode(SMTPRetCode.SYNTAX_ERROR_ARGUMENTS)
+        .smtpDescription(DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_INVALID_ARG) + " Unsupported BODY type")
+        .build();
+
+    private record Chunk(long size, boolean last) {
+    }
+
+    /**
+     * Receives the bytes of a chunk, in buffers of arbitrary size, then answers the BDAT command.
+     */
+    private class ChunkLineHandler implements LineHandler<SMTPSession> {
+        private final Chunk chunk;
+        private final Optional<OutputStream> out;
+        private final Response rejection;
+        private long remaining;
+
+        ChunkLineHandler(Chunk chunk, Optional<OutputStream> out, Response rejection) {
+            this.chunk = chunk;
+            this.out = out;
+            this.rejection = rejection;
+            this.remaining = chunk.size();
+        }
+
+        @Override
+        public Response onLine(SMTPSession session, byte[] buffer) {
+            remaining -= buffer.length;
+            if (out.isPresent() && rejection == null) {
+                try {
+                    out.get().write(buffer);
+                } catch (IOException e) {
+                    LOGGER.error("Unknown error occurred while processing BDAT.", e);
+                    session.popLineHandler();
+                    return ioError(session, e);
+                }
+            }
+            if (remaining > 0) {
+                return null;
+            }
+            session.popLineHandler();
+            if (rejection != null) {
+                return rejection;
+            }
+            return onChunkReceived(session, chunk);
+        }
+    }
+
+    private final DataLineJamesMessageHookHandler messageHookHandler = new DataLineJamesMessageHookHandler();
+    private final ReceivedHeaderGenerator receivedHeaderGenerator = new ReceivedHeaderGenerator();
+
+    @Override
+    public Response onCommand(SMTPSession session, Request request) {
+        Optional<Chunk> maybeChunk = parseChunk(request.getArgument());
+        if (maybeChunk.isEmpty()) {
+            // The chunk size is unknown: its content can not be skipped
+            return SYNTAX_ERROR;
+        }
+        Chunk chunk = maybeChunk.get();
+
+        Response rejection = checkTransaction(session, chunk);
+        if (rejection != null) {
+            return readChunk(session, chunk, Optional.empty(), rejection);
+        }
+
+        try {
+            OutputStream out = messageWriter(session).getWritableOutputStream();
+            return readChunk(session, chunk, Optional.of(out), null);
+        } catch (IOException e) {
+            LOGGER.error("Unknown error occurred while preparing BDAT.", e);
+            return ioError(session, e);
+        }
+    }
+
+    private Response readChunk(SMTPSession session, Chunk chunk, Optional<OutputStream> out, Response rejection) {
+        if (chunk.size() == 0) {
+            return Optional.ofNullable(rejection)
+                .orElseGet(() -> onChunkReceived(session, chunk));
+        }
+        session.pushLineHandler(new ChunkLineHandler(chunk, out, rejection));
+        session.readRawBytes(chunk.size());
+        return null;
+    }
+
+    private Response checkTransaction(SMTPSession session, Chunk chunk) {
+        if (session.getAttachment(SMTPSession.SENDER, State.Transaction).isEmpty()) {
+            return NO_SENDER;
+        }
+        if (session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).isEmpty()) {
+            return NO_RECIPIENT;
+        }
+        long receivedBytes = session.getAttachment(BDAT_RECEIVED_BYTES, State.Transaction).orElse(0L) + chunk.size();
+        long maxMessageSize = session.getConfiguration().getMaxMessageSize();
+        if (maxMessageSize > 0 && receivedBytes > maxMessageSize) {
+            LOGGER.info("Rejected BDAT message from {} exceeding system maximum message size of {}",
+                session.getRemoteAddress().getAddress().getHostAddress(), maxMessageSize);
+            // The transaction is aborted: following chunks will be rejected for lack of sender
+            session.resetState();
+            return MESSAGE_TOO_BIG;
+        }
+        session.setAttachment(BDAT_RECEIVED_BYTES, receivedBytes, State.Transaction);
+        return null;
+    }
+
+    /**
+     * Returns the writer of the message being received, creating it, with its Received header, upon the first chunk.
+     */
+    private MimeMessageInputStreamSource messageWriter(SMTPSession session) throws IOException {
+        ExtendedSMTPSession extendedSMTPSession = (ExtendedSMTPSession) session;
+        MimeMessageInputStreamSource existing = extendedSMTPSession.getMimeMessageWriter();
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            MimeMessageInputStreamSource mmiss = MimeMessageInputStreamSource.create(MailImpl.getId());
+            extendedSMTPSession.setMimeMessageInputStreamSource(mmiss);
+            OutputStream out = mmiss.getWritableOutputStream();
+            receivedHeaderGenerator.generateReceivedHeader(session)
+                .transferTo(session, (s, line) -> {
+                    try {
+                        out.write(line);
+                        return null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            return mmiss;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Response onChunkReceived(SMTPSession session, Chunk chunk) {
+        long receivedBytes = session.getAttachment(BDAT_RECEIVED_BYTES, State.Transaction).orElse(0L);
+        if (!chunk.last()) {
+            return new SMTPResponse(SMTPRetCode.MAIL_OK, DSNStatus.getStatus(DSNStatus.SUCCESS, DSNStatus.UNDEFINED_STATUS) + " " + chunk.size() + " octets received, " + receivedBytes + " in total");
+        }
+        try {
+            return messageHookHandler.processMessage(session, messageWriter(session));
+        } catch (IOException e) {
+            LOGGER.error("Unknown error occurred while processing BDAT.", e);
+            return ioError(session, e);
+        } catch (MessagingException e) {
+            LOGGER.info("Unexpected error handling BDAT stream", e);
+            session.resetState();
+            return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error handling BDAT stream.");
+        }
+    }
+
+    private Response ioError(SMTPSession session, IOException e) {
+        LifecycleUtil.dispose(((ExtendedSMTPSession) session).getMimeMessageWriter());
+        SMTPResponse response = new SMTPResponse(SMTPRetCode.LOCAL_ERROR, DSNStatus.getStatus(DSNStatus.TRANSIENT, DSNStatus.UNDEFINED_STATUS) + " Error processing message: " + e.getMessage());
+        response.setEndSession(true);
+        return response;
+    }
+
+    private Optional<Chunk> parseChunk(String argument) {
+        if (argument == null) {
+            return Optional.empty();
+        }
+        List<String> parts = ARGUMENT_SPLITTER.splitToList(argument);
+        if (parts.isEmpty() || parts.size() > 2) {
+            return Optional.empty();
+        }
+        boolean last = parts.size() == 2;
+        if (last && !parts.get(1).equalsIgnoreCase(LAST)) {
+            return Optional.empty();
+        }
+        try {
+            long size = Long.parseLong(parts.get(0));
+            if (size < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new Chunk(size, last));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public HookResult doMailParameter(SMTPSession session, String paramName, String paramValue) {
+        String bodyType = Optional.ofNullable(paramValue).map(value -> value.toUpperCase(Locale.US)).orElse("");
+        if (!BODY_TYPES.contains(bodyType)) {
+            return INVALID_BODY;
+        }
+        if (bodyType.equals("BINARYMIME")) {
+            session.setAttachment(BINARYMIME, true, State.Transaction);
+        }
+        return HookResult.DECLINED;
+    }
+
+    @Override
+    public String[] getMailParamNames() {
+        return new String[] {BODY_PARAMETER};
+    }
+
+    @Override
+    public List<String> getImplementedEsmtpFeatures(SMTPSession session) {
+        return ImmutableList.of("CHUNKING", "BINARYMIME");
+    }
+
+    @Override
+    public Collection<String> getImplCommands() {
+        return COMMANDS;
+    }
+
+    @Override
+    public List<Class<?>> getMarkerInterfaces() {
+        return messageHookHandler.getMarkerInterfaces();
+    }
+
+    @Override
+    public void wireExtensions(Class<?> interfaceName, List<?> extension) throws WiringException {
+        messageHookHandler.wireExtensions(interfaceName, extension);
+    }
+}
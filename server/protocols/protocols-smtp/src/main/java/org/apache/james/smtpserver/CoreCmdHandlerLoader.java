@@ -50,6 +50,7 @@ public class CoreCmdHandlerLoader implements HandlersPackage {
             CommandDispatcher.class.getName(),
             AuthCmdHandler.class.getName(),
             JamesDataCmdHandler.class.getName(),
+            BdatCmdHandler.class.getName(),
             EhloCmdHandler.class.getName(),
             ExpnCmdHandler.class.getName(),
             HeloCmdHandler.class.getName(),
@@ -99,32 +99,15 @@ public class DataLineJamesMessageHookHandler implements DataLineFilter, Extensib
             // 46 is "."
             // Stream terminated
             if (line.length == 3 && line[0] == 46) {
-                String mailName = mmiss.getSourceId();
-                try (Closeable closeable = SMTPMDCContextFactory.forSession(session).addToContext("mail", mailName).build()) {
-                    out.flush();
-                    out.close();
+                try {
+                    Response response = processMessage(session, mmiss);
 
-                    MailImpl mail = createMail(session, mailName);
-
-                    // store mail in the session so we can be sure it get disposed later
-                    session.setAttachment(SMTPConstants.MAIL, mail, State.Transaction);
-
-                    try {
-                        mail.setMessageContent(mmiss);
-
-                        Response response = processExtensions(session, mail, mmiss);
-
-                        session.popLineHandler();
-                        return response;
-
-                    } catch (MessagingException e) {
-                        // TODO probably return a temporary problem
-                        LOGGER.info("Unexpected error handling DATA stream", e);
-                        return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error handling DATA stream.");
-                    } finally {
-                        LifecycleUtil.dispose(mmiss);
-                        LifecycleUtil.dispose(mail);
-                    }
+                    session.popLineHandler();
+                    return response;
+                } catch (MessagingException e) {
+                    // TODO probably return a temporary problem
+                    LOGGER.info("Unexpected error handling DATA stream", e);
+                    return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error handling DATA stream.");
                 }
 
                 // DotStuffing.
@@ -156,6 +139,32 @@ public class DataLineJamesMessageHookHandler implements DataLineFilter, Extensib
         return null;
     }
 
+    /**
+     * Submits the fully received message to the configured hooks.
+     */
+    Response processMessage(SMTPSession session, MimeMessageInputStreamSource mmiss) throws IOException, MessagingException {
+        String mailName = mmiss.getSourceId();
+        try (Closeable closeable = SMTPMDCContextFactory.forSession(session).addToContext("mail", mailName).build()) {
+            OutputStream out = mmiss.getWritableOutputStream();
+            out.flush();
+            out.close();
+
+            MailImpl mail = createMail(session, mailName);
+
+            // store mail in the session so we can be sure it get disposed later
+            session.setAttachment(SMTPConstants.MAIL, mail, State.Transaction);
+
+            try {
+                mail.setMessageContent(mmiss);
+
+                return processExtensions(session, mail, mmiss);
+            } finally {
+                LifecycleUtil.dispose(mmiss);
+                LifecycleUtil.dispose(mail);
+            }
+        }
+    }
+
     private static MailImpl createMail(SMTPSession session, String mailName) {
         List<MailAddress> recipientCollection = session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).orElse(ImmutableList.of());
         MaybeSender sender = session.getAttachment(SMTPSession.SENDER, State.Transaction).orElse(MaybeSender.nullSender());
@@ -21,10 +21,13 @@ package org.apache.james.smtpserver;
 import jakarta.inject.Inject;
 
 import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.protocols.api.ProtocolSession;
+import org.apache.james.protocols.api.Response;
 import org.apache.james.protocols.smtp.SMTPResponse;
 import org.apache.james.protocols.smtp.SMTPRetCode;
 import org.apache.james.protocols.smtp.SMTPSession;
 import org.apache.james.protocols.smtp.core.DataCmdHandler;
+import org.apache.james.protocols.smtp.dsn.DSNStatus;
 import org.apache.james.server.core.MailImpl;
 import org.apache.james.server.core.MimeMessageInputStreamSource;
 import org.slf4j.Logger;
@@ -35,12 +38,25 @@ import org.slf4j.LoggerFactory;
  */
 public class JamesDataCmdHandler extends DataCmdHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(JamesDataCmdHandler.class);
+    private static final Response BINARYMIME_REQUIRES_BDAT = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " BINARYMIME messages need to be sent with BDAT").immutable();
+    private static final Response BDAT_IN_PROGRESS = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " DATA can not be mixed with BDAT").immutable();
 
     @Inject
     public JamesDataCmdHandler(MetricFactory metricFactory) {
         super(metricFactory);
     }
 
+    @Override
+    protected Response doDATAFilter(SMTPSession session, String argument) {
+        if (session.getAttachment(BdatCmdHandler.BINARYMIME, ProtocolSession.State.Transaction).isPresent()) {
+            return BINARYMIME_REQUIRES_BDAT;
+        }
+        if (session.getAttachment(BdatCmdHandler.BDAT_RECEIVED_BYTES, ProtocolSession.State.Transaction).isPresent()) {
+            return BDAT_IN_PROGRESS;
+        }
+        return super.doDATAFilter(session, argument);
+    }
+
     /**
      * Handler method called upon receipt of a DATA command. Reads in message
      * data, creates header, and delivers to mail server service for delivery.
@@ -45,6 +45,7 @@ public class NoAuthCmdHandlerLoader implements HandlersPackage {
             JamesWelcomeMessageHandler.class.getName(),
             CommandDispatcher.class.getName(),
             JamesDataCmdHandler.class.getName(),
+            BdatCmdHandler.class.getName(),
             EhloCmdHandler.class.getName(),
             ExpnCmdHandler.class.getName(),
             HeloCmdHandler.class.getName(),
@@ -0,0 +1,193 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.smtpserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.util.MimeMessageUtil;
+import org.apache.mailet.Mail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BdatTest {
+    private final SMTPServerTestSystem testSystem = new SMTPServerTestSystem();
+    private final SMTPTestConfiguration smtpConfiguration = new SMTPTestConfiguration();
+
+    private Socket socket;
+    private BufferedReader reader;
+    private OutputStream writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testSystem.preSetUp();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (socket != null) {
+            socket.close();
+        }
+        testSystem.smtpServer.destroy();
+    }
+
+    private void connect() throws Exception {
+        smtpConfiguration.init();
+        testSystem.smtpServer.configure(smtpConfiguration);
+        testSystem.smtpServer.init();
+
+        InetSocketAddress bindedAddress = testSystem.getBindedAddress();
+        socket = new Socket(bindedAddress.getAddress().getHostAddress(), bindedAddress.getPort());
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        writer = socket.getOutputStream();
+        readReply();
+    }
+
+    private String command(String command) throws Exception {
+        send(command + "\r\n");
+        return readReply();
+    }
+
+    private void send(String data) throws Exception {
+        writer.write(data.getBytes(StandardCharsets.US_ASCII));
+        writer.flush();
+    }
+
+    private String readReply() throws Exception {
+        StringBuilder reply = new StringBuilder();
+        String line;
+        do {
+            line = reader.readLine();
+            reply.append(line).append("\n");
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        return reply.toString();
+    }
+
+    @Test
+    void ehloShouldAnnounceChunking() throws Exception {
+        connect();
+
+        assertThat(command("EHLO localhost"))
+            .contains("250-CHUNKING")
+            .contains("250-BINARYMIME");
+    }
+
+    @Test
+    void chunksShouldBeStoredWithoutDotStuffingNorLineFraming() throws Exception {
+        connect();
+        command("EHLO localhost");
+        command("MAIL FROM:<bob@localhost>");
+        command("RCPT TO:<rcpt@localhost>");
+
+        String message = "Subject: test\r\n\r\n.\r\n..leading dot\r\nlast line\r\n";
+        String firstChunk = message.substring(0, 20);
+        String lastChunk = message.substring(20);
+
+        // The chunk ends in the middle of a line and is immediately followed by the next command
+        send("BDAT " + firstChunk.length() + "\r\n" + firstChunk
+            + "BDAT " + lastChunk.length() + " LAST\r\n" + lastChunk);
+
+        assertThat(readReply()).startsWith("250 2.0.0 20 octets received");
+        assertThat(readReply()).startsWith("250");
+
+        Mail mail = testSystem.queue.getLastMail();
+        assertThat(mail).isNotNull();
+        assertThat(MimeMessageUtil.asString(mail.getMessage()))
+            .startsWith("Received:")
+            .endsWith("\r\n\r\n.\r\n..leading dot\r\nlast line\r\n");
+    }
+
+    @Test
+    void emptyLastChunkShouldCompleteTheMessage() throws Exception {
+        connect();
+        command("EHLO localhost");
+        command("MAIL FROM:<bob@localhost> BODY=BINARYMIME");
+        command("RCPT TO:<rcpt@localhost>");
+
+        String message = "Subject: test\r\n\r\nbody\r\n";
+        send("BDAT " + message.length() + "\r\n" + message);
+        readReply();
+
+        assertThat(command("BDAT 0 LAST")).startsWith("250");
+        assertThat(testSystem.queue.getLastMail()).isNotNull();
+    }
+
+    @Test
+    void bdatWithoutTransactionShouldConsumeTheChunk() throws Exception {
+        connect();
+        command("EHLO localhost");
+
+        send("BDAT 6\r\nNOOP\r\n");
+
+        assertThat(readReply()).startsWith("503");
+        assertThat(command("NOOP")).startsWith("250");
+    }
+
+    @Test
+    void dataShouldBeRejectedForBinaryMime() throws Exception {
+        connect();
+        command("EHLO localhost");
+        command("MAIL FROM:<bob@localhost> BODY=BINARYMIME");
+        command("RCPT TO:<rcpt@localhost>");
+
+        assertThat(command("DATA")).startsWith("503");
+    }
+
+    @Test
+    void unknownBodyTypeShouldBeRejected() throws Exception {
+        connect();
+        command("EHLO localhost");
+
+        assertThat(command("MAIL FROM:<bob@localhost> BODY=UNKNOWN")).startsWith("501");
+    }
+
+    @Test
+    void invalidChunkSizeShouldBeRejected() throws Exception {
+        connect();
+        command("EHLO localhost");
+        command("MAIL FROM:<bob@localhost>");
+        command("RCPT TO:<rcpt@localhost>");
+
+        assertThat(command("BDAT abc")).startsWith("501");
+    }
+
+    @Test
+    void chunksExceedingTheMaximumMessageSizeShouldBeRejected() throws Exception {
+        smtpConfiguration.setMaxMessageSize(1);
+        connect();
+        command("EHLO localhost");
+        command("MAIL FROM:<bob@localhost>");
+        command("RCPT TO:<rcpt@localhost>");
+
+        String chunk = "a".repeat(2048);
+        send("BDAT " + chunk.length() + " LAST\r\n" + chunk);
+
+        assertThat(readReply()).startsWith("552");
+        assertThat(testSystem.queue.getLastMail()).isNull();
+        assertThat(command("NOOP")).startsWith("250");
+    }
+}
@@ -285,7 +285,7 @@ public class SMTPServerTest {
 
         assertThat(capabilitieslist)
             .as("capabilities")
-            .hasSize(3);
+            .hasSize(5);
         assertThat(capabilitieslist.contains("PIPELINING"))
             .as("capabilities present PIPELINING")
             .isTrue();
@@ -295,6 +295,9 @@ public class SMTPServerTest {
         assertThat(capabilitieslist.contains("8BITMIME"))
             .as("capabilities present 8BITMIME")
             .isTrue();
+        assertThat(capabilitieslist.contains("CHUNKING"))
+            .as("capabilities present CHUNKING")
+            .isTrue();
 
         smtpProtocol.setSender("mail@localhost");
         smtpProtocol.addRecipient("mail@localhost");
@@ -397,10 +400,10 @@ public class SMTPServerTest {
 
         assertThat(capabilitieslist)
             .as("capabilities")
-            .hasSize(4);
+            .hasSize(6);
         assertThat(capabilitieslist)
-            .as("capabilities present PIPELINING ENHANCEDSTATUSCODES 8BITMIME STARTTLS")
-            .containsOnly("PIPELINING", "ENHANCEDSTATUSCODES", "8BITMIME", "STARTTLS");
+            .as("capabilities present PIPELINING ENHANCEDSTATUSCODES 8BITMIME STARTTLS CHUNKING BINARYMIME")
+            .containsOnly("PIPELINING", "ENHANCEDSTATUSCODES", "8BITMIME", "STARTTLS", "CHUNKING", "BINARYMIME");
 
         smtpProtocol.quit();
         smtpProtocol.disconnect();
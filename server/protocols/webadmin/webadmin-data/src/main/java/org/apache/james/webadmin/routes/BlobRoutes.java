@@ -97,6 +97,11 @@ public class BlobRoutes implements Routes {
 
         int expectedBlobCount = getExpectedBlobCount(request).orElse(EXPECTED_BLOB_COUNT_DEFAULT);
         Optional<Integer> deletionWindowSize = getDeletionWindowSize(request);
+        Optional<Integer> partitionCount = getPartitionCount(request);
+        Optional<Integer> fromPartition = getFromPartition(request);
+        Preconditions.checkArgument(fromPartition.orElse(BlobGCTask.Builder.DEFAULT_FROM_PARTITION)
+                < partitionCount.orElse(BlobGCTask.Builder.DEFAULT_PARTITION_COUNT),
+            "'fromPartition' must be strictly smaller than 'partitionCount'");
         double associatedProbability = getAssociatedProbability(request).orElse(ASSOCIATED_PROBABILITY_DEFAULT);
 
         return BlobGCTask.builder()
@@ -109,6 +114,8 @@ public class BlobRoutes implements Routes {
             .expectedBlobCount(expectedBlobCount)
             .associatedProbability(associatedProbability)
             .deletionWindowSize(deletionWindowSize)
+            .partitionCount(partitionCount)
+            .fromPartition(fromPartition)
             .build();
     }
 
@@ -140,6 +147,34 @@ public class BlobRoutes implements Routes {
         }
     }
 
+    private static Optional<Integer> getPartitionCount(Request req) {
+        try {
+            return Optional.ofNullable(req.queryParams("partitionCount"))
+                .map(Integer::parseInt)
+                .map(partitionCount -> {
+                    Preconditions.checkArgument(partitionCount > 0,
+                        "'partitionCount' must be strictly positive");
+                    return partitionCount;
+                });
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'partitionCount' must be numeric");
+        }
+    }
+
+    private static Optional<Integer> getFromPartition(Request req) {
+        try {
+            return Optional.ofNullable(req.queryParams("fromPartition"))
+                .map(Integer::parseInt)
+                .map(fromPartition -> {
+                    Preconditions.checkArgument(fromPartition >= 0,
+                        "'fromPartition' must be positive");
+                    return fromPartition;
+                });
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'fromPartition' must be numeric");
+        }
+    }
+
     private static Optional<Double> getAssociatedProbability(Request req) {
         try {
             return Optional.ofNullable(req.queryParams("associatedProbability"))
@@ -67,6 +67,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -252,6 +253,75 @@ class BlobRoutesTest {
         );
     }
 
+    @Test
+    void deleteUnReferencedShouldAcceptPartitionCountParam() {
+        String taskId = given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("partitionCount", 4)
+            .delete()
+            .jsonPath()
+            .get("taskId");
+
+        given()
+            .basePath(TasksRoutes.BASE)
+        .when()
+            .get(taskId + "/await")
+        .then()
+            .body("status", is("completed"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedBlobCountParameters")
+    void deleteUnReferencedShouldReturnErrorWhenPartitionCountInvalid(Object partitionCount) {
+        given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("partitionCount", partitionCount)
+            .delete()
+        .then()
+            .statusCode(BAD_REQUEST_400)
+            .contentType(JSON)
+            .body("statusCode", is(BAD_REQUEST_400))
+            .body("type", is("InvalidArgument"))
+            .body("message", is("Invalid arguments supplied in the user request"))
+            .body("details", containsString("partitionCount"));
+    }
+
+    @Test
+    void deleteUnReferencedShouldAcceptFromPartitionParam() {
+        String taskId = given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("partitionCount", 4)
+            .queryParam("fromPartition", 2)
+            .delete()
+            .jsonPath()
+            .get("taskId");
+
+        given()
+            .basePath(TasksRoutes.BASE)
+        .when()
+            .get(taskId + "/await")
+        .then()
+            .body("status", is("completed"))
+            .body("additionalInformation.resumePartition", is(4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-1", "4", "invalid"})
+    void deleteUnReferencedShouldReturnErrorWhenFromPartitionInvalid(String fromPartition) {
+        given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("partitionCount", 4)
+            .queryParam("fromPartition", fromPartition)
+            .delete()
+        .then()
+            .statusCode(BAD_REQUEST_400)
+            .contentType(JSON)
+            .body("statusCode", is(BAD_REQUEST_400))
+            .body("type", is("InvalidArgument"))
+            .body("message", is("Invalid arguments supplied in the user request"))
+            .body("details", containsString("fromPartition"));
+    }
+
     @Test
     void deleteUnReferencedShouldAcceptBloomFilterAssociatedProbabilityParam() {
         String taskId = given()
@@ -0,0 +1,385 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.mailet.Mail;
+import org.reactivestreams.Publisher;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ManageableMailQueue} persisted in a {@link SegmentLog}.
+ *
+ * Mails are kept on disk only: memory holds an index of the pending mails ordered by delivery date, along with
+ * the fields needed to remove them. Mails being processed when the server stops are delivered again upon restart.
+ */
+public class FileMailQueue implements ManageableMailQueue {
+    private static final Comparator<IndexEntry> DELIVERY_ORDER = Comparator.comparingLong(IndexEntry::deliveryEpochMillis)
+        .thenComparingLong(IndexEntry::id);
+
+    private record IndexEntry(long id, long deliveryEpochMillis, SegmentLog.Location location, MailSerializer.Metadata metadata) {
+
+    }
+
+    private class PendingEntry implements Delayed {
+        private final IndexEntry entry;
+
+        private PendingEntry(IndexEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(entry.deliveryEpochMillis() - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return DELIVERY_ORDER.compare(entry, ((PendingEntry) o).entry);
+        }
+    }
+
+    public class FileMailQueueItem implements MailQueue.MailQueueItem {
+        private final Mail mail;
+        private final IndexEntry entry;
+
+        private FileMailQueueItem(Mail mail, IndexEntry entry) {
+            this.mail = mail;
+            this.entry = entry;
+        }
+
+        @Override
+        public Mail getMail() {
+            return mail;
+        }
+
+        @Override
+        public void done(CompletionStatus success) throws MailQueueException {
+            if (success == CompletionStatus.RETRY) {
+                enQueue(mail);
+            }
+            acknowledge(ImmutableList.of(entry));
+        }
+    }
+
+    private final AtomicInteger references = new AtomicInteger(0);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final MailQueueName name;
+    private final Clock clock;
+    private final AtomicLong nextId;
+    private final ConcurrentHashMap<Long, IndexEntry> entries;
+    private final ConcurrentHashMap<Long, PendingEntry> pendingEntries;
+    private final DelayQueue<PendingEntry> pending;
+    private final SegmentLog log;
+    private final Scheduler scheduler;
+    private final Flux<MailQueueItem> flux;
+    private final Runnable onClose;
+
+    public FileMailQueue(MailQueueName name, Path directory, int segmentSize, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory,
+                         Clock clock) throws IOException {
+        this(name, directory, segmentSize, mailQueueItemDecoratorFactory, clock, () -> { });
+    }
+
+    FileMailQueue(MailQueueName name, Path directory, int segmentSize, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory,
+                  Clock clock, Runnable onClose) throws IOException {
+        this.name = name;
+        this.clock = clock;
+        this.onClose = onClose;
+        this.nextId = new AtomicLong(0);
+        this.entries = new ConcurrentHashMap<>();
+        this.pendingEntries = new ConcurrentHashMap<>();
+        this.pending = new DelayQueue<>();
+        this.log = new SegmentLog(directory, segmentSize, new SegmentLog.ReplayListener() {
+            @Override
+            public void onEnqueue(long id, long deliveryEpochMillis, SegmentLog.Location location, byte[] payload) {
+                nextId.accumulateAndGet(id + 1, Math::max);
+                try {
+                    index(new IndexEntry(id, deliveryEpochMillis, location, MailSerializer.readMetadata(payload)));
+                } catch (IOException e) {
+                    throw new RuntimeException("Corrupted record " + id + " in " + directory, e);
+                }
+            }
+
+            @Override
+            public Optional<SegmentLog.Location> onTombstone(long id) {
+                return Optional.ofNullable(unindex(id))
+                    .map(IndexEntry::location);
+            }
+        });
+        this.scheduler = Schedulers.newSingle("file-mail-queue");
+
+        this.flux = Mono.<PendingEntry>create(sink -> {
+                try {
+                    sink.success(pending.poll(10, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    sink.success();
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .repeat()
+            .subscribeOn(scheduler)
+            .filter(pendingEntry -> pendingEntries.remove(pendingEntry.entry.id(), pendingEntry))
+            .flatMap(pendingEntry -> Mono.fromCallable(() -> toItem(pendingEntry.entry)), DEFAULT_CONCURRENCY)
+            .map(item -> mailQueueItemDecoratorFactory.decorate(item, name));
+    }
+
+    public void reference() {
+        references.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        if (references.decrementAndGet() <= 0) {
+            shutdown();
+        }
+    }
+
+    void shutdown() {
+        if (closed.compareAndSet(false, true)) {
+            scheduler.dispose();
+            try {
+                log.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close mail queue " + name.asString(), e);
+            }
+            onClose.run();
+        }
+    }
+
+    @Override
+    public MailQueueName getName() {
+        return name;
+    }
+
+    @Override
+    public void enQueue(Mail mail, Duration delay) throws MailQueueException {
+        try {
+            append(MailSerializer.serialize(mail), calculateNextDelivery(delay));
+        } catch (IOException | MessagingException e) {
+            throw new MailQueueException("Error while serializing mail " + mail.getName(), e);
+        }
+    }
+
+    @Override
+    public void enQueue(Mail mail) throws MailQueueException {
+        enQueue(mail, Duration.ZERO);
+    }
+
+    @Override
+    public Publisher<Void> enqueueReactive(Mail mail) {
+        return Mono.fromRunnable(Throwing.runnable(() -> enQueue(mail)).sneakyThrow())
+            .subscribeOn(Schedulers.boundedElastic())
+            .then();
+    }
+
+    @Override
+    public Flux<MailQueueItem> deQueue() {
+        return flux;
+    }
+
+    @Override
+    public long getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public long flush() {
+        ImmutableList<IndexEntry> delayed = takePending(entry -> true);
+        long now = clock.millis();
+        delayed.forEach(entry -> append(log.read(entry.location()), now));
+        acknowledge(delayed);
+        return delayed.size();
+    }
+
+    @Override
+    public long clear() {
+        ImmutableList<IndexEntry> removed = takePending(entry -> true);
+        acknowledge(removed);
+        return removed.size();
+    }
+
+    @Override
+    public long remove(Type type, String value) {
+        ImmutableList<IndexEntry> removed = takePending(entry -> shouldRemove(entry.metadata(), type, value));
+        acknowledge(removed);
+        return removed.size();
+    }
+
+    @Override
+    public MailQueueIterator browse() {
+        Iterator<DefaultMailQueueItemView> underlying = pendingEntries.values()
+            .stream()
+            .map(pendingEntry -> pendingEntry.entry)
+            .sorted(DELIVERY_ORDER)
+            .collect(ImmutableList.toImmutableList())
+            .stream()
+            .flatMap(entry -> readMail(entry)
+                .map(mail -> new DefaultMailQueueItemView(mail, Instant.ofEpochMilli(entry.deliveryEpochMillis()).atZone(ZoneOffset.UTC)))
+                .stream())
+            .iterator();
+
+        return new MailQueueIterator() {
+            @Override
+            public void close() {
+
+            }
+
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public MailQueueItemView next() {
+                return underlying.next();
+            }
+        };
+    }
+
+    int segmentCount() {
+        return log.segmentCount();
+    }
+
+    private boolean shouldRemove(MailSerializer.Metadata metadata, Type type, String value) {
+        return switch (type) {
+            case Name -> metadata.name().equals(value);
+            case Recipient -> metadata.recipients().contains(value);
+            case Sender -> metadata.sender().equals(value);
+            default -> throw new NotImplementedException("Unknown type " + type);
+        };
+    }
+
+    private void append(byte[] payload, long deliveryEpochMillis) {
+        long id = nextId.getAndIncrement();
+        SegmentLog.Location location = log.appendEnqueue(id, deliveryEpochMillis, payload);
+        try {
+            index(new IndexEntry(id, deliveryEpochMillis, location, MailSerializer.readMetadata(payload)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed reading metadata of mail " + id, e);
+        }
+    }
+
+    private void index(IndexEntry entry) {
+        PendingEntry pendingEntry = new PendingEntry(entry);
+        entries.put(entry.id(), entry);
+        pendingEntries.put(entry.id(), pendingEntry);
+        pending.put(pendingEntry);
+    }
+
+    private IndexEntry unindex(long id) {
+        Optional.ofNullable(pendingEntries.remove(id))
+            .ifPresent(pending::remove);
+        return entries.remove(id);
+    }
+
+    private ImmutableList<IndexEntry> takePending(Predicate<IndexEntry> predicate) {
+        return pendingEntries.values()
+            .stream()
+            .filter(pendingEntry -> predicate.test(pendingEntry.entry))
+            .filter(pendingEntry -> pendingEntries.remove(pendingEntry.entry.id(), pendingEntry))
+            .peek(pending::remove)
+            .map(pendingEntry -> pendingEntry.entry)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private void acknowledge(Collection<IndexEntry> consumed) {
+        log.appendTombstones(consumed.stream()
+            .map(IndexEntry::id)
+            .collect(ImmutableList.toImmutableList()));
+        consumed.forEach(entry -> {
+            entries.remove(entry.id());
+            log.release(entry.location());
+        });
+    }
+
+    private FileMailQueueItem toItem(IndexEntry entry) throws IOException, MessagingException {
+        return new FileMailQueueItem(MailSerializer.deserialize(log.read(entry.location())), entry);
+    }
+
+    private Optional<Mail> readMail(IndexEntry entry) {
+        try {
+            return Optional.of(MailSerializer.deserialize(log.read(entry.location())));
+        } catch (IOException | MessagingException e) {
+            throw new RuntimeException("Failed reading mail " + entry.metadata().name(), e);
+        }
+    }
+
+    private long calculateNextDelivery(Duration delay) {
+        if (!delay.isNegative()) {
+            try {
+                return Math.addExact(clock.millis(), delay.toMillis());
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return clock.millis();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        FileMailQueue that = (FileMailQueue) o;
+
+        return Objects.equal(this.name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+}
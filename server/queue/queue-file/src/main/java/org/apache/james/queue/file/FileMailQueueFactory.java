@@ -0,0 +1,133 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.apache.james.filesystem.api.FileSystem;
+import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.MailQueueName;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * {@link MailQueueFactory} storing each queue in its own directory of memory-mapped segment files.
+ *
+ * Queues found on disk are reopened, with their pending mails, when first requested.
+ */
+public class FileMailQueueFactory implements MailQueueFactory<FileMailQueue> {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final ConcurrentHashMap<MailQueueName, FileMailQueue> mailQueues;
+    private final Path directory;
+    private final int segmentSize;
+    private final MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory;
+    private final Clock clock;
+
+    @Inject
+    public FileMailQueueFactory(FileSystem fileSystem, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock) throws FileNotFoundException {
+        this(fileSystem.getFile("file://var/queue").toPath(), DEFAULT_SEGMENT_SIZE, mailQueueItemDecoratorFactory, clock);
+    }
+
+    public FileMailQueueFactory(Path directory, int segmentSize, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock) {
+        this.mailQueues = new ConcurrentHashMap<>();
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.mailQueueItemDecoratorFactory = mailQueueItemDecoratorFactory;
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void clean() {
+        ImmutableList.copyOf(mailQueues.values())
+            .forEach(FileMailQueue::shutdown);
+        mailQueues.clear();
+    }
+
+    @Override
+    public Set<MailQueueName> listCreatedMailQueues() {
+        return ImmutableSet.<MailQueueName>builder()
+            .addAll(mailQueues.keySet())
+            .addAll(queuesOnDisk())
+            .build();
+    }
+
+    @Override
+    public Optional<FileMailQueue> getQueue(MailQueueName name, PrefetchCount count) {
+        Optional<FileMailQueue> queue = Optional.ofNullable(mailQueues.get(name))
+            .or(() -> Optional.of(name)
+                .filter(queueName -> Files.isDirectory(queueDirectory(queueName)))
+                .map(queueName -> mailQueues.computeIfAbsent(queueName, this::open)));
+        queue.ifPresent(FileMailQueue::reference);
+        return queue;
+    }
+
+    @Override
+    public FileMailQueue createQueue(MailQueueName name, PrefetchCount count) {
+        FileMailQueue queue = mailQueues.computeIfAbsent(name, this::open);
+        queue.reference();
+        return queue;
+    }
+
+    private FileMailQueue open(MailQueueName name) {
+        try {
+            return new FileMailQueue(name, queueDirectory(name), segmentSize, mailQueueItemDecoratorFactory, clock,
+                () -> mailQueues.remove(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open mail queue " + name.asString(), e);
+        }
+    }
+
+    private Path queueDirectory(MailQueueName name) {
+        return directory.resolve(URLEncoder.encode(name.asString(), StandardCharsets.UTF_8));
+    }
+
+    private ImmutableList<MailQueueName> queuesOnDisk() {
+        if (!Files.isDirectory(directory)) {
+            return ImmutableList.of();
+        }
+        try (Stream<Path> queueDirectories = Files.list(directory)) {
+            return queueDirectories
+                .filter(Files::isDirectory)
+                .map(path -> URLDecoder.decode(path.getFileName().toString(), StandardCharsets.UTF_8))
+                .map(MailQueueName::of)
+                .collect(ImmutableList.toImmutableList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list mail queues in " + directory, e);
+        }
+    }
+}
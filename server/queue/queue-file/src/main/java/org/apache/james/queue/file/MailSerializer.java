@@ -0,0 +1,132 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.james.core.MailAddress;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.util.MimeMessageUtil;
+import org.apache.mailet.Mail;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Serialized form of a queued mail.
+ *
+ * Fields needed to browse and remove mails (name, sender, recipients) come first so that they can be read
+ * back without deserializing the mail envelope nor its MIME content.
+ */
+class MailSerializer {
+    record Metadata(String name, String sender, ImmutableList<String> recipients) {
+        static Metadata of(Mail mail) {
+            return new Metadata(mail.getName(),
+                mail.getMaybeSender().asString(),
+                mail.getRecipients()
+                    .stream()
+                    .map(MailAddress::asString)
+                    .collect(ImmutableList.toImmutableList()));
+        }
+    }
+
+    static byte[] serialize(Mail mail) throws IOException, MessagingException {
+        UnsynchronizedByteArrayOutputStream output = UnsynchronizedByteArrayOutputStream.builder().get();
+        DataOutputStream dataOutput = new DataOutputStream(output);
+        writeMetadata(dataOutput, Metadata.of(mail));
+
+        byte[] envelope = serializeEnvelope(mail);
+        dataOutput.writeInt(envelope.length);
+        dataOutput.write(envelope);
+
+        dataOutput.writeBoolean(mail.getMessage() != null);
+        if (mail.getMessage() != null) {
+            dataOutput.flush();
+            mail.getMessage().writeTo(output);
+        }
+        dataOutput.flush();
+        return output.toByteArray();
+    }
+
+    static Metadata readMetadata(byte[] payload) throws IOException {
+        return readMetadata(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+    static Mail deserialize(byte[] payload) throws IOException, MessagingException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        readMetadata(input);
+
+        byte[] envelope = new byte[input.readInt()];
+        input.readFully(envelope);
+        MailImpl mail = deserializeEnvelope(envelope);
+
+        if (input.readBoolean()) {
+            mail.setMessage(MimeMessageUtil.mimeMessageFromStream(input));
+        }
+        return mail;
+    }
+
+    private static void writeMetadata(DataOutputStream output, Metadata metadata) throws IOException {
+        output.writeUTF(metadata.name());
+        output.writeUTF(metadata.sender());
+        output.writeInt(metadata.recipients().size());
+        for (String recipient : metadata.recipients()) {
+            output.writeUTF(recipient);
+        }
+    }
+
+    private static Metadata readMetadata(DataInputStream input) throws IOException {
+        String name = input.readUTF();
+        String sender = input.readUTF();
+        int recipientCount = input.readInt();
+        ImmutableList.Builder<String> recipients = ImmutableList.builderWithExpectedSize(recipientCount);
+        for (int i = 0; i < recipientCount; i++) {
+            recipients.add(input.readUTF());
+        }
+        return new Metadata(name, sender, recipients.build());
+    }
+
+    private static byte[] serializeEnvelope(Mail mail) throws IOException, MessagingException {
+        MailImpl envelope = MailImpl.duplicateWithoutMessage(mail)
+            .state(mail.getState())
+            .build();
+        envelope.setName(mail.getName());
+
+        UnsynchronizedByteArrayOutputStream output = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+            objectOutput.writeObject(envelope);
+        }
+        return output.toByteArray();
+    }
+
+    private static MailImpl deserializeEnvelope(byte[] envelope) throws IOException {
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(envelope))) {
+            return (MailImpl) Throwing.supplier(objectInput::readObject).sneakyThrow().get();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Append-only log of memory-mapped segment files.
+ *
+ * Two kinds of records are appended:
+ *
+ *  - enqueue records: [type][id][delivery epoch millis][payload length][payload CRC32C][payload]
+ *  - tombstones: [type][id], marking a previously enqueued record as consumed
+ *
+ * The type byte of a record is written last so that a torn write is not mistaken for a record. Segments
+ * are deleted once every enqueue record they hold, and every record of the segments before them, has been
+ * tombstoned: deleting only a prefix of the log never lets a record survive its tombstone.
+ */
+class SegmentLog implements Closeable {
+    interface ReplayListener {
+        void onEnqueue(long id, long deliveryEpochMillis, Location location, byte[] payload);
+
+        /**
+         * @return the location of the record the tombstone applies to, if it is still known
+         */
+        Optional<Location> onTombstone(long id);
+    }
+
+    record Location(Segment segment, int payloadOffset, int payloadLength) {
+
+    }
+
+    static class Segment {
+        private final long index;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger liveRecords;
+        private int writePosition;
+
+        Segment(long index, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.liveRecords = new AtomicInteger(0);
+            this.writePosition = 0;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+    }
+
+    private static final byte END = 0;
+    private static final byte ENQUEUE = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final int ENQUEUE_HEADER_SIZE = Byte.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int TOMBSTONE_SIZE = Byte.BYTES + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments;
+    private Segment active;
+
+    SegmentLog(Path directory, int segmentSize, ReplayListener listener) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new ConcurrentSkipListMap<>();
+
+        Files.createDirectories(directory);
+        for (Path path : existingSegments()) {
+            Segment segment = open(indexOf(path), path, Math.toIntExact(Files.size(path)));
+            segments.put(segment.index, segment);
+            replay(segment, listener);
+        }
+        if (segments.isEmpty()) {
+            active = create(0, segmentSize);
+        } else {
+            active = segments.lastEntry().getValue();
+            discardTail(active);
+        }
+        compact();
+    }
+
+    synchronized Location appendEnqueue(long id, long deliveryEpochMillis, byte[] payload) {
+        int size = ENQUEUE_HEADER_SIZE + payload.length;
+        Segment segment = segmentWithRoomFor(size);
+        int position = segment.writePosition;
+        MappedByteBuffer buffer = segment.buffer;
+
+        buffer.putLong(position + 1, id);
+        buffer.putLong(position + 9, deliveryEpochMillis);
+        buffer.putInt(position + 17, payload.length);
+        buffer.putInt(position + 21, checksum(payload));
+        buffer.put(position + ENQUEUE_HEADER_SIZE, payload);
+        buffer.put(position, ENQUEUE);
+        buffer.force(position, size);
+
+        segment.writePosition += size;
+        segment.liveRecords.incrementAndGet();
+        return new Location(segment, position + ENQUEUE_HEADER_SIZE, payload.length);
+    }
+
+    synchronized void appendTombstones(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Segment segment = segmentWithRoomFor(TOMBSTONE_SIZE);
+        int start = segment.writePosition;
+        for (long id : ids) {
+            if (segment.writePosition + TOMBSTONE_SIZE > segment.capacity()) {
+                segment.buffer.force(start, segment.writePosition - start);
+                segment = segmentWithRoomFor(TOMBSTONE_SIZE);
+                start = segment.writePosition;
+            }
+            int position = segment.writePosition;
+            segment.buffer.putLong(position + 1, id);
+            segment.buffer.put(position, TOMBSTONE);
+            segment.writePosition += TOMBSTONE_SIZE;
+        }
+        segment.buffer.force(start, segment.writePosition - start);
+    }
+
+    byte[] read(Location location) {
+        byte[] payload = new byte[location.payloadLength()];
+        location.segment().buffer.get(location.payloadOffset(), payload);
+        return payload;
+    }
+
+    /**
+     * To be called once the tombstone of the record at this location is written.
+     */
+    void release(Location location) {
+        location.segment().liveRecords.decrementAndGet();
+        compact();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    private synchronized void compact() {
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment == active || segment.liveRecords.get() > 0) {
+                return;
+            }
+            segments.remove(entry.getKey());
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to delete consumed segment " + segment.path, e);
+            }
+        }
+    }
+
+    private Segment segmentWithRoomFor(int size) {
+        if (active.writePosition + size <= active.capacity()) {
+            return active;
+        }
+        try {
+            active = create(active.index + 1, Math.max(segmentSize, size));
+            return active;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create a new segment in " + directory, e);
+        }
+    }
+
+    private Segment create(long index, int size) throws IOException {
+        Segment segment = open(index, directory.resolve(SEGMENT_PREFIX + index + SEGMENT_SUFFIX), size);
+        segments.put(index, segment);
+        return segment;
+    }
+
+    private Segment open(long index, Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new Segment(index, path, channel, buffer);
+    }
+
+    private void replay(Segment segment, ReplayListener listener) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position < segment.capacity()) {
+            byte type = buffer.get(position);
+            if (type == ENQUEUE && position + ENQUEUE_HEADER_SIZE <= segment.capacity()) {
+                long id = buffer.getLong(position + 1);
+                long deliveryEpochMillis = buffer.getLong(position + 9);
+                int length = buffer.getInt(position + 17);
+                int checksum = buffer.getInt(position + 21);
+                if (length < 0 || position + ENQUEUE_HEADER_SIZE + length > segment.capacity()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + ENQUEUE_HEADER_SIZE, payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+                segment.liveRecords.incrementAndGet();
+                listener.onEnqueue(id, deliveryEpochMillis, new Location(segment, position + ENQUEUE_HEADER_SIZE, length), payload);
+                position += ENQUEUE_HEADER_SIZE + length;
+            } else if (type == TOMBSTONE && position + TOMBSTONE_SIZE <= segment.capacity()) {
+                listener.onTombstone(buffer.getLong(position + 1))
+                    .ifPresent(location -> location.segment().liveRecords.decrementAndGet());
+                position += TOMBSTONE_SIZE;
+            } else {
+                break;
+            }
+        }
+        segment.writePosition = position;
+    }
+
+    /**
+     * Zeroes what follows the last valid record, so that leftovers of a torn write are never read back.
+     */
+    private void discardTail(Segment segment) {
+        int position = segment.writePosition;
+        int end = segment.capacity();
+        while (end > position && segment.buffer.get(end - 1) == END) {
+            end--;
+        }
+        if (end > position) {
+            segment.buffer.put(position, new byte[end - position]);
+            segment.buffer.force(position, end - position);
+        }
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted((a, b) -> Long.compare(indexOf(a), indexOf(b)))
+                .collect(ImmutableList.toImmutableList());
+        }
+    }
+
+    private static long indexOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
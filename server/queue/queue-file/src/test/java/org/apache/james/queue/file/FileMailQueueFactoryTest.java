@@ -0,0 +1,85 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Clock;
+
+import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.queue.api.MailQueueFactoryContract;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueueFactoryContract;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileMailQueueFactoryTest implements MailQueueFactoryContract<FileMailQueue>,
+    ManageableMailQueueFactoryContract<FileMailQueue> {
+
+    @TempDir
+    Path directory;
+
+    FileMailQueueFactory fileMailQueueFactory;
+
+    @BeforeEach
+    void setup() {
+        fileMailQueueFactory = newFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileMailQueueFactory.clean();
+    }
+
+    private FileMailQueueFactory newFactory() {
+        return new FileMailQueueFactory(directory, FileMailQueueFactory.DEFAULT_SEGMENT_SIZE, new RawMailQueueItemDecoratorFactory(), Clock.systemUTC());
+    }
+
+    @Override
+    public MailQueueFactory<FileMailQueue> getMailQueueFactory() {
+        return fileMailQueueFactory;
+    }
+
+    @Test
+    void queuesShouldBeListedAfterRestart() {
+        fileMailQueueFactory.createQueue(MailQueueName.of("name/with/slash"));
+        fileMailQueueFactory.clean();
+
+        assertThat(newFactory().listCreatedMailQueues())
+            .containsExactly(MailQueueName.of("name/with/slash"));
+    }
+
+    @Test
+    void getQueueShouldReopenQueuesFoundOnDisk() {
+        fileMailQueueFactory.createQueue(MailQueueName.of("name"));
+        fileMailQueueFactory.clean();
+
+        FileMailQueueFactory restarted = newFactory();
+        try {
+            assertThat(restarted.getQueue(MailQueueName.of("name"))).isPresent();
+        } finally {
+            restarted.clean();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one                 *
+ * or more contributor license agreements.  See the NOTICE file               *
+ * distributed with this work for additional information                      *
+ * regarding copyright ownership.  The ASF licenses this file                 *
+ * to you under the Apache License, Version 2.0 (the                          *
+ * "License"); you may not use this file except in compliance                 *
+ * with the License.  You may obtain a copy of the License at                 *
+ *                                                                            *
+ *   http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing,                 *
+ * software distributed under the License is distributed on an                *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY                     *
+ * KIND, either express or implied.  See the License for the                  *
+ * specific language governing permissions and limitations                    *
+ * under the License.                                                         *
+ ******************************************************************************/
+
+package org.apache.james.queue.file;
+
+import static org.apache.james.queue.api.Mails.defaultMail;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.apache.james.queue.api.DelayedManageableMailQueueContract;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+class FileMailQueueTest implements DelayedManageableMailQueueContract {
+    private static final MailQueueName NAME = MailQueueName.of("test");
+    private static final int SEGMENT_SIZE = 16 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private FileMailQueue mailQueue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mailQueue = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailQueue.shutdown();
+    }
+
+    private FileMailQueue open() throws IOException {
+        return new FileMailQueue(NAME, directory, SEGMENT_SIZE, new RawMailQueueItemDecoratorFactory(), Clock.systemUTC());
+    }
+
+    private FileMailQueue restart() throws IOException {
+        mailQueue.shutdown();
+        mailQueue = open();
+        return mailQueue;
+    }
+
+    @Override
+    public MailQueue getMailQueue() {
+        return mailQueue;
+    }
+
+    @Override
+    public ManageableMailQueue getManageableMailQueue() {
+        return mailQueue;
+    }
+
+    @Test
+    void pendingMailsShouldSurviveRestart() throws Exception {
+        mailQueue.enQueue(defaultMail().name("name1").build());
+        mailQueue.enQueue(defaultMail().name("name2").build());
+
+        restart();
+
+        assertThat(Flux.from(mailQueue.deQueue()).take(2).map(item -> item.getMail().getName()).collectList().block())
+            .containsExactly("name1", "name2");
+    }
+
+    @Test
+    void acknowledgedMailsShouldNotBeDeliveredAgainAfterRestart() throws Exception {
+        mailQueue.enQueue(defaultMail().name("name1").build());
+        mailQueue.enQueue(defaultMail().name("name2").build());
+        MailQueue.MailQueueItem item = Flux.from(mailQueue.deQueue()).blockFirst();
+        item.done(MailQueue.MailQueueItem.CompletionStatus.SUCCESS);
+
+        restart();
+
+        assertThat(mailQueue.getSize()).isEqualTo(1);
+        assertThat(Flux.from(mailQueue.deQueue()).blockFirst().getMail().getName())
+            .isEqualTo("name2");
+    }
+
+    @Test
+    void mailsInProcessingShouldBeDeliveredAgainAfterRestart() throws Exception {
+        mailQueue.enQueue(defaultMail().name("name1").build());
+        Flux.from(mailQueue.deQueue()).blockFirst();
+
+        restart();
+
+        assertThat(Flux.from(mailQueue.deQueue()).blockFirst().getMail().getName())
+            .isEqualTo("name1");
+    }
+
+    @Test
+    void removedMailsShouldNotSurviveRestart() throws Exception {
+        mailQueue.enQueue(defaultMail().name("name1").build());
+        mailQueue.enQueue(defaultMail().name("name2").build());
+        mailQueue.remove(ManageableMailQueue.Type.Name, "name1");
+
+        restart();
+
+        assertThat(ImmutableList.copyOf(mailQueue.browse()))
+            .extracting(view -> view.getMail().getName())
+            .containsExactly("name2");
+    }
+
+    @Test
+    void delaysShouldSurviveRestart() throws Exception {
+        mailQueue.enQueue(defaultMail().name("name1").build(), Duration.ofHours(1));
+
+        restart();
+
+        assertThat(ImmutableList.copyOf(mailQueue.browse()))
+            .allSatisfy(view -> assertThat(view.getNextDelivery()).isPresent());
+        assertThat(Flux.from(mailQueue.deQueue()).take(Duration.ofMillis(500)).collectList().block())
+            .isEmpty();
+    }
+
+    @Test
+    void consumedSegmentsShouldBeDeleted() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mailQueue.enQueue(defaultMail().name("name" + i).build());
+        }
+        assertThat(mailQueue.segmentCount()).isGreaterThan(1);
+
+        mailQueue.clear();
+        mailQueue.enQueue(defaultMail().name("last").build());
+
+        assertThat(mailQueue.segmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void consumedSegmentsShouldNotBeReplayedAfterRestart() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mailQueue.enQueue(defaultMail().name("name" + i).build());
+        }
+        mailQueue.clear();
+        mailQueue.enQueue(defaultMail().name("last").build());
+
+        restart();
+
+        assertThat(ImmutableList.copyOf(mailQueue.browse()))
+            .extracting(view -> view.getMail().getName())
+            .containsExactly("last");
+    }
+}